@@ -0,0 +1,251 @@
+package org.play.dependencyinjection.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+/**
+ *    Measures the startup of a {@link DependencyInjectionPool} with synthetic classpaths of different shapes (see
+ * {@link SyntheticClasspath}). Every combination of the given parameters is generated and compiled once, and then
+ * initialized by {@link StartupProbe} in a number of new JVMs (forks), so every measurement is a cold start.
+ *
+ *    The result of every fork is written as a JSON object in one line (JSON Lines), both in the output file and in the
+ * standard output. The parameters are given as --name=value, and all of them but the paths accept a list of values
+ * separated by commas:
+ *
+ *   --interfaces=100,1000,5000,20000   Number of injectable interfaces
+ *   --qualifier-density=0.1            Ratio of interfaces with two qualified implementations
+ *   --nesting-depth=3                  Length of the chains of implementations that use the previous one
+ *   --cross-references=0.05            Ratio of implementations that use a random interface too
+ *   --controllers=100                  Number of controllers
+ *   --seed=42                          Seed of the random choices
+ *   --forks=3                          Number of JVMs started for every combination
+ *   --jvm-args=                        Options of the forked JVMs, separated by spaces (for example: -Xmx2g)
+ *   --work-directory=target/synthetic  Directory in which the synthetic classpaths are stored (and reused)
+ *   --output=target/startup-benchmark.jsonl
+ */
+public final class StartupBenchmark {
+
+	/**
+	 * Parameters and their default values
+	 */
+	private static final Map<String, String> DEFAULT_PARAMETERS = new LinkedHashMap<String, String>();
+	static {
+		DEFAULT_PARAMETERS.put ("interfaces", "100,1000,5000,20000");
+		DEFAULT_PARAMETERS.put ("qualifier-density", "0.1");
+		DEFAULT_PARAMETERS.put ("nesting-depth", "3");
+		DEFAULT_PARAMETERS.put ("cross-references", "0.05");
+		DEFAULT_PARAMETERS.put ("controllers", "100");
+		DEFAULT_PARAMETERS.put ("seed", "42");
+		DEFAULT_PARAMETERS.put ("forks", "3");
+		DEFAULT_PARAMETERS.put ("jvm-args", "");
+		DEFAULT_PARAMETERS.put ("work-directory", "target/synthetic");
+		DEFAULT_PARAMETERS.put ("output", "target/startup-benchmark.jsonl");
+	}
+
+	/**
+	 * Measurements stored by {@link StartupProbe}, in the order in which they are written
+	 */
+	private static final List<String> MEASUREMENTS = Arrays.asList (StartupProbe.SCAN_AND_BIND_NANOS, StartupProbe.INITIALIZE_IMPLEMENTATIONS_NANOS
+			                                                       ,StartupProbe.INITIALIZE_CONTROLLERS_NANOS, StartupProbe.TOTAL_NANOS
+			                                                       ,StartupProbe.PEAK_HEAP_BYTES, StartupProbe.THREADS_STARTED
+			                                                       ,StartupProbe.CLASSES_LOADED, StartupProbe.CONTROLLERS_WIRED);
+
+
+	/**
+	 * Prevents instantiation from external entities
+	 */
+	private StartupBenchmark() {}
+
+
+	public static void main (final String[] args) throws Exception {
+
+		Map<String, String> parameters = parse (args);
+		List<SyntheticClasspath> classpaths = new ArrayList<SyntheticClasspath>();
+		for (String interfaces : split (parameters.get ("interfaces")))
+			for (String qualifierDensity : split (parameters.get ("qualifier-density")))
+				for (String nestingDepth : split (parameters.get ("nesting-depth")))
+					for (String crossReferences : split (parameters.get ("cross-references")))
+						for (String controllers : split (parameters.get ("controllers")))
+							for (String seed : split (parameters.get ("seed")))
+								classpaths.add (new SyntheticClasspath (Integer.parseInt (interfaces), Double.parseDouble (qualifierDensity)
+										                               ,Integer.parseInt (nestingDepth), Double.parseDouble (crossReferences)
+										                               ,Integer.parseInt (controllers), Long.parseLong (seed)));
+
+		int forks = Integer.parseInt (parameters.get ("forks"));
+		List<String> jvmArguments = split (parameters.get ("jvm-args"), " ");
+		File workDirectory = new File (parameters.get ("work-directory"));
+		File outputFile = new File (parameters.get ("output"));
+
+		File outputDirectory = outputFile.getAbsoluteFile().getParentFile();
+		if (outputDirectory != null)
+			outputDirectory.mkdirs();
+
+		try (Writer output = new OutputStreamWriter (new FileOutputStream (outputFile), Charset.forName ("UTF-8"))) {
+
+			for (SyntheticClasspath classpath : classpaths) {
+
+				File classesDirectory = prepare (classpath, workDirectory);
+				for (int fork = 1; fork <= forks; fork++) {
+
+					String result = toJson (classpath, fork, runProbe (classpath, classesDirectory, jvmArguments));
+					output.write (result + "\n");
+					output.flush();
+					System.out.println (result);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Generates and compiles the given synthetic classpath, unless a previous execution already did it.
+	 *
+	 * @return directory with the compiled classes
+	 */
+	static File prepare (final SyntheticClasspath classpath, final File workDirectory) throws DependencyInjectionException {
+
+		File classpathDirectory = new File (workDirectory, classpath.getKey());
+		File classesDirectory = new File (classpathDirectory, "classes");
+		File completedMark = new File (classpathDirectory, "compiled");
+		if (completedMark.isFile())
+			return classesDirectory;
+
+		long startTime = System.nanoTime();
+		classpath.compile (classpath.generate (new File (classpathDirectory, "src")), classesDirectory);
+		try {
+			if (!completedMark.createNewFile())
+				throw new DependencyInjectionException ("The file: " + completedMark + " could not be created");
+
+		} catch (IOException e) {
+			throw new DependencyInjectionException ("The file: " + completedMark + " could not be created", e);
+		}
+		System.err.println ("Synthetic classpath " + classpath.getKey() + " generated in " + (System.nanoTime() - startTime) / 1000000 + " ms");
+		return classesDirectory;
+	}
+
+
+	/**
+	 * Starts a new JVM that runs {@link StartupProbe} with the given classes and returns its measurements.
+	 */
+	private static Properties runProbe (final SyntheticClasspath classpath, final File classesDirectory
+			                           ,final List<String> jvmArguments) throws DependencyInjectionException {
+
+		File resultFile = null;
+		try {
+			resultFile = File.createTempFile ("startup-probe", ".properties");
+
+			List<String> command = new ArrayList<String>();
+			command.add (System.getProperty ("java.home") + File.separator + "bin" + File.separator + "java");
+			command.addAll (jvmArguments);
+			command.add ("-cp");
+			command.add (classesDirectory.getAbsolutePath() + File.pathSeparator + System.getProperty ("java.class.path"));
+			command.add (StartupProbe.class.getName());
+			command.add (resultFile.getAbsolutePath());
+			command.add (String.valueOf (classpath.getNumberOfControllers()));
+
+			Process process = new ProcessBuilder (command).inheritIO().start();
+			if (process.waitFor() != 0)
+				throw new DependencyInjectionException ("The startup of the synthetic classpath: " + classpath.getKey() + " failed");
+
+			Properties result = new Properties();
+			try (InputStream inputStream = new FileInputStream (resultFile)) {
+				result.load (inputStream);
+			}
+			return result;
+
+		} catch (IOException e) {
+			throw new DependencyInjectionException ("The startup of the synthetic classpath: " + classpath.getKey() + " could not be measured", e);
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DependencyInjectionException (e);
+
+		} finally {
+			if (resultFile != null)
+				resultFile.delete();
+		}
+	}
+
+
+	/**
+	 * Returns the parameters of the given synthetic classpath and the given measurements as a JSON object.
+	 */
+	static String toJson (final SyntheticClasspath classpath, final int fork, final Properties measurements) {
+
+		StringBuilder json = new StringBuilder ("{")
+		    .append ("\"interfaces\":").append (classpath.getNumberOfInterfaces())
+		    .append (",\"implementations\":").append (classpath.getNumberOfImplementations())
+		    .append (",\"controllers\":").append (classpath.getNumberOfControllers())
+		    .append (",\"qualifierDensity\":").append (classpath.getQualifierDensity())
+		    .append (",\"nestingDepth\":").append (classpath.getNestingDepth())
+		    .append (",\"crossReferences\":").append (classpath.getCrossReferenceDensity())
+		    .append (",\"seed\":").append (classpath.getSeed())
+		    .append (",\"fork\":").append (fork);
+
+		for (String measurement : MEASUREMENTS)
+			json.append (",\"").append (measurement).append ("\":").append (Long.parseLong (measurements.getProperty (measurement, "0")));
+
+		return json.append (",\"javaVersion\":\"").append (System.getProperty ("java.version"))
+		           .append ("\",\"availableProcessors\":").append (Runtime.getRuntime().availableProcessors())
+		           .append ("}").toString();
+	}
+
+
+	private static Map<String, String> parse (final String[] args) {
+
+		Map<String, String> parameters = new LinkedHashMap<String, String> (DEFAULT_PARAMETERS);
+		for (String arg : args) {
+
+			int separator = arg.indexOf ('=');
+			String name = (arg.startsWith ("--") && separator > 2 ? arg.substring (2, separator) : null);
+			if (name == null || !parameters.containsKey (name))
+				throw new IllegalArgumentException ("Unknown parameter: " + arg + ". Valid ones: --" + join (DEFAULT_PARAMETERS.keySet()));
+
+			parameters.put (name, arg.substring (separator + 1));
+		}
+		return parameters;
+	}
+
+
+	private static List<String> split (final String values) {
+
+		return split (values, ",");
+	}
+
+
+	private static List<String> split (final String values, final String separator) {
+
+		List<String> result = new ArrayList<String>();
+		for (String value : values.split (separator)) {
+			if (!value.trim().isEmpty())
+				result.add (value.trim());
+		}
+		return result;
+	}
+
+
+	private static String join (final Iterable<String> names) {
+
+		StringBuilder result = new StringBuilder();
+		for (String name : names)
+			result.append (result.length() == 0 ? "" : ", --").append (name);
+
+		return result.toString();
+	}
+
+}
\ No newline at end of file
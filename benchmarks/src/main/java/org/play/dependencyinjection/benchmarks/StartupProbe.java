@@ -0,0 +1,113 @@
+package org.play.dependencyinjection.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.util.Properties;
+
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.ClasspathScanner;
+import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+
+/**
+ *    Entry point of the JVMs started by {@link StartupBenchmark}: initializes a {@link DependencyInjectionPool} with the
+ * synthetic classpath (that must be included in the classpath of the current JVM) and stores the measurements in a
+ * properties file. Every JVM initializes the pool only once, so the measurements include the loading of the classes and
+ * the creation of the threads, like a real startup.
+ *
+ *    Usage: StartupProbe &lt;result file&gt; &lt;number of controllers&gt;
+ */
+public final class StartupProbe {
+
+	/**
+	 * Keys of the stored measurements
+	 */
+	static final String SCAN_AND_BIND_NANOS = "scanAndBindNanos";
+	static final String INITIALIZE_IMPLEMENTATIONS_NANOS = "initializeImplementationsNanos";
+	static final String INITIALIZE_CONTROLLERS_NANOS = "initializeControllersNanos";
+	static final String TOTAL_NANOS = "totalNanos";
+	static final String PEAK_HEAP_BYTES = "peakHeapBytes";
+	static final String THREADS_STARTED = "threadsStarted";
+	static final String CLASSES_LOADED = "classesLoaded";
+	static final String CONTROLLERS_WIRED = "controllersWired";
+
+
+	/**
+	 * Prevents instantiation from external entities
+	 */
+	private StartupProbe() {}
+
+
+	public static void main (final String[] args) throws Exception {
+
+		if (args.length != 2)
+			throw new IllegalArgumentException ("Usage: " + StartupProbe.class.getName() + " <result file> <number of controllers>");
+
+		File resultFile = new File (args[0]);
+		int numberOfControllers = Integer.parseInt (args[1]);
+
+		// Only the memory used from here is measured
+		for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (memoryPool.getType() == MemoryType.HEAP)
+				memoryPool.resetPeakUsage();
+		}
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+		long startedThreads = threads.getTotalStartedThreadCount();
+		long loadedClasses = classLoading.getTotalLoadedClassCount();
+
+		long startTime = System.nanoTime();
+		DependencyInjectionPool pool = DependencyInjectionPool.instance();
+		pool.addNewResolver (new DependencyInjectionResolver (SyntheticClasspath.INTERFACES_PACKAGE, SyntheticClasspath.IMPLEMENTATIONS_PACKAGE));
+		long boundTime = System.nanoTime();
+
+		pool.initializeImplementations();
+		long initializedTime = System.nanoTime();
+
+		if (numberOfControllers > 0)
+			pool.initializeControllersResolver (SyntheticClasspath.CONTROLLERS_PACKAGE
+					                           ,ClasspathScanner.loadClass (SyntheticClasspath.PARENT_CONTROLLER_CLASS_NAME));
+		long endTime = System.nanoTime();
+
+		long peakHeap = 0;
+		for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if (memoryPool.getType() == MemoryType.HEAP)
+				peakHeap += memoryPool.getPeakUsage().getUsed();
+		}
+		// The generated classes must have been found
+		Class<?> firstInterface = ClasspathScanner.loadClass (SyntheticClasspath.FIRST_INTERFACE_CLASS_NAME);
+		if (pool.tryGetImplementation (firstInterface, null) == null
+				&& pool.tryGetImplementation (firstInterface, SyntheticClasspath.PRIMARY_QUALIFIER) == null)
+			throw new DependencyInjectionException ("The synthetic classpath is not included in the classpath of the current JVM");
+
+		Properties result = new Properties();
+		result.setProperty (SCAN_AND_BIND_NANOS, String.valueOf (boundTime - startTime));
+		result.setProperty (INITIALIZE_IMPLEMENTATIONS_NANOS, String.valueOf (initializedTime - boundTime));
+		result.setProperty (INITIALIZE_CONTROLLERS_NANOS, String.valueOf (endTime - initializedTime));
+		result.setProperty (TOTAL_NANOS, String.valueOf (endTime - startTime));
+		result.setProperty (PEAK_HEAP_BYTES, String.valueOf (peakHeap));
+		result.setProperty (THREADS_STARTED, String.valueOf (threads.getTotalStartedThreadCount() - startedThreads));
+		result.setProperty (CLASSES_LOADED, String.valueOf (classLoading.getTotalLoadedClassCount() - loadedClasses));
+		result.setProperty (CONTROLLERS_WIRED, String.valueOf (pool.getControllersResolver().getResolvedControllers().size()));
+		store (result, resultFile);
+
+		// The threads of the pool must not keep the JVM alive
+		System.exit (0);
+	}
+
+
+	private static void store (final Properties result, final File resultFile) throws IOException {
+
+		try (OutputStream outputStream = new FileOutputStream (resultFile)) {
+			result.store (outputStream, null);
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,381 @@
+package org.play.dependencyinjection.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+/**
+ *    Generates and compiles a synthetic "dependency injection layer": a number of
+ * {@link org.play.dependencyinjection.annotations.Injectable} interfaces (with one method), their implementations and a
+ * number of controllers that use them. The shape of the graph is given by:
+ *
+ *   - Qualifier density: ratio of interfaces with two implementations (with the qualifiers "primary" and "secondary").
+ *   - Nesting depth: length of the chains of implementations in which each one uses the interface of the previous one.
+ *   - Cross references: ratio of implementations that use, besides, a random interface (cycles are allowed).
+ *
+ *    The same parameters (seed included) always generate the same classes. Interfaces, implementations and controllers are
+ * stored in subpackages of {@link #INTERFACES_PACKAGE}, {@link #IMPLEMENTATIONS_PACKAGE} and {@link #CONTROLLERS_PACKAGE}
+ * with {@link #CLASSES_PER_PACKAGE} classes each one.
+ */
+public final class SyntheticClasspath {
+
+	/**
+	 * Package that stores the "injectable interfaces"
+	 */
+	public static final String INTERFACES_PACKAGE = "synthetic.spi";
+
+	/**
+	 * Package that stores the implementations of the "injectable interfaces"
+	 */
+	public static final String IMPLEMENTATIONS_PACKAGE = "synthetic.impl";
+
+	/**
+	 * Package that stores the controllers
+	 */
+	public static final String CONTROLLERS_PACKAGE = "synthetic.controllers";
+
+	/**
+	 * Name of the class that all controllers extend
+	 */
+	public static final String PARENT_CONTROLLER_CLASS_NAME = CONTROLLERS_PACKAGE + ".SyntheticController";
+
+	/**
+	 * Name of the first interface (generated in all synthetic classpaths)
+	 */
+	public static final String FIRST_INTERFACE_CLASS_NAME = INTERFACES_PACKAGE + ".p0.Service0";
+
+	/**
+	 * Maximum number of classes of the same kind stored in a package
+	 */
+	public static final int CLASSES_PER_PACKAGE = 500;
+
+	/**
+	 * Qualifiers of the interfaces with two implementations
+	 */
+	static final String PRIMARY_QUALIFIER = "primary";
+	static final String SECONDARY_QUALIFIER = "secondary";
+
+	/**
+	 * Interfaces used by every controller
+	 */
+	private static final int PROPERTIES_PER_CONTROLLER = 2;
+
+	private final int numberOfInterfaces;
+	private final double qualifierDensity;
+	private final int nestingDepth;
+	private final double crossReferenceDensity;
+	private final int numberOfControllers;
+	private final long seed;
+
+	/**
+	 * True for the interfaces with two implementations
+	 */
+	private final boolean[] qualified;
+
+
+	/**
+	 * Creates the description of a synthetic classpath.
+	 *
+	 * @param numberOfInterfaces
+	 *    Number of injectable interfaces (greater than 0)
+	 * @param qualifierDensity
+	 *    Ratio of interfaces with two qualified implementations (between 0 and 1)
+	 * @param nestingDepth
+	 *    Length of the chains of implementations that use the previous one (1 = no nesting)
+	 * @param crossReferenceDensity
+	 *    Ratio of implementations that use a random interface too (between 0 and 1)
+	 * @param numberOfControllers
+	 *    Number of controllers (0 or greater)
+	 * @param seed
+	 *    Seed of the random choices
+	 *
+	 * @throws DependencyInjectionException if any parameter is out of range
+	 */
+	public SyntheticClasspath (final int numberOfInterfaces, final double qualifierDensity, final int nestingDepth
+			                  ,final double crossReferenceDensity, final int numberOfControllers, final long seed) throws DependencyInjectionException {
+
+		if (numberOfInterfaces <= 0 || nestingDepth <= 0 || numberOfControllers < 0
+				|| qualifierDensity < 0 || qualifierDensity > 1 || crossReferenceDensity < 0 || crossReferenceDensity > 1)
+			throw new DependencyInjectionException ((numberOfInterfaces <= 0 ? "The given numberOfInterfaces must be greater than 0. " : "")
+                                                  + (nestingDepth <= 0 ? "The given nestingDepth must be greater than 0. " : "")
+                                                  + (numberOfControllers < 0 ? "The given numberOfControllers must not be negative. " : "")
+                                                  + (qualifierDensity < 0 || qualifierDensity > 1 ? "The given qualifierDensity must be between 0 and 1. " : "")
+                                                  + (crossReferenceDensity < 0 || crossReferenceDensity > 1 ? "The given crossReferenceDensity must be between 0 and 1. " : ""));
+
+		this.numberOfInterfaces = numberOfInterfaces;
+		this.qualifierDensity = qualifierDensity;
+		this.nestingDepth = nestingDepth;
+		this.crossReferenceDensity = crossReferenceDensity;
+		this.numberOfControllers = numberOfControllers;
+		this.seed = seed;
+
+		this.qualified = new boolean[numberOfInterfaces];
+		Random random = new Random (seed);
+		for (int i = 0; i < numberOfInterfaces; i++)
+			this.qualified[i] = random.nextDouble() < qualifierDensity;
+	}
+
+
+	public int getNumberOfInterfaces() {
+		return numberOfInterfaces;
+	}
+
+	public double getQualifierDensity() {
+		return qualifierDensity;
+	}
+
+	public int getNestingDepth() {
+		return nestingDepth;
+	}
+
+	public double getCrossReferenceDensity() {
+		return crossReferenceDensity;
+	}
+
+	public int getNumberOfControllers() {
+		return numberOfControllers;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+
+	/**
+	 * Returns the number of implementations (two for every qualified interface).
+	 *
+	 * @return number of implementations
+	 */
+	public int getNumberOfImplementations() {
+
+		int numberOfImplementations = 0;
+		for (boolean isQualified : qualified)
+			numberOfImplementations += (isQualified ? 2 : 1);
+
+		return numberOfImplementations;
+	}
+
+
+	/**
+	 * Returns a name that identifies the current parameters (used as name of the directories of the generated classpath).
+	 *
+	 * @return {@link String}
+	 */
+	public String getKey() {
+
+		return String.format (Locale.ROOT, "i%d-q%s-d%d-x%s-c%d-s%d", numberOfInterfaces, qualifierDensity, nestingDepth
+				             ,crossReferenceDensity, numberOfControllers, seed);
+	}
+
+
+	/**
+	 * Writes the source code of the interfaces, implementations and controllers in the given directory.
+	 *
+	 * @param sourceDirectory
+	 *    Directory in which the source files will be stored
+	 *
+	 * @return {@link List} with the written files
+	 *
+	 * @throws DependencyInjectionException if any file could not be written
+	 */
+	public List<File> generate (final File sourceDirectory) throws DependencyInjectionException {
+
+		if (sourceDirectory == null)
+			throw new DependencyInjectionException ("The given sourceDirectory must not be null");
+
+		List<File> sourceFiles = new ArrayList<File>();
+		Random random = new Random (seed + 1);
+		for (int i = 0; i < numberOfInterfaces; i++) {
+
+			sourceFiles.add (write (sourceDirectory, INTERFACES_PACKAGE, i, "Service" + i, interfaceSource (i)));
+
+			List<Integer> dependencies = dependenciesOf (i, random);
+			if (qualified[i]) {
+				sourceFiles.add (write (sourceDirectory, IMPLEMENTATIONS_PACKAGE, i, "Service" + i + "Primary"
+						               ,implementationSource (i, "Primary", PRIMARY_QUALIFIER, dependencies)));
+				sourceFiles.add (write (sourceDirectory, IMPLEMENTATIONS_PACKAGE, i, "Service" + i + "Secondary"
+						               ,implementationSource (i, "Secondary", SECONDARY_QUALIFIER, dependencies)));
+			}
+			else
+				sourceFiles.add (write (sourceDirectory, IMPLEMENTATIONS_PACKAGE, i, "Service" + i + "Impl"
+						               ,implementationSource (i, "Impl", null, dependencies)));
+		}
+		sourceFiles.add (write (sourceDirectory, CONTROLLERS_PACKAGE, -1, "SyntheticController"
+				               ,"package " + CONTROLLERS_PACKAGE + ";\n\npublic abstract class SyntheticController {}\n"));
+
+		for (int c = 0; c < numberOfControllers; c++) {
+
+			List<Integer> dependencies = new ArrayList<Integer>();
+			while (dependencies.size() < Math.min (PROPERTIES_PER_CONTROLLER, numberOfInterfaces)) {
+
+				int dependency = random.nextInt (numberOfInterfaces);
+				if (!dependencies.contains (dependency))
+					dependencies.add (dependency);
+			}
+			sourceFiles.add (write (sourceDirectory, CONTROLLERS_PACKAGE, c, "Controller" + c, controllerSource (c, dependencies)));
+		}
+		return sourceFiles;
+	}
+
+
+	/**
+	 *    Compiles the given source files (using the compiler of the current JDK). The generated classes only need the
+	 * annotations of Play Dependency Injection, so the classpath of the current JVM is used.
+	 *
+	 * @param sourceFiles
+	 *    Source files returned by {@link #generate(File)}
+	 * @param classesDirectory
+	 *    Directory in which the classes will be stored
+	 *
+	 * @throws DependencyInjectionException if there is no compiler or the sources could not be compiled
+	 */
+	public void compile (final List<File> sourceFiles, final File classesDirectory) throws DependencyInjectionException {
+
+		if (sourceFiles == null || classesDirectory == null)
+			throw new DependencyInjectionException ((sourceFiles      == null ? "The given sourceFiles must not be null. "      : "")
+                                                  + (classesDirectory == null ? "The given classesDirectory must not be null. " : ""));
+
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		if (compiler == null)
+			throw new DependencyInjectionException ("There is no Java compiler in the current JVM (a JDK is required)");
+
+		classesDirectory.mkdirs();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		try (StandardJavaFileManager fileManager = compiler.getStandardFileManager (diagnostics, Locale.ROOT, Charset.forName ("UTF-8"))) {
+
+			List<String> options = Arrays.asList ("-d", classesDirectory.getPath(), "-cp", System.getProperty ("java.class.path")
+					                             ,"-encoding", "UTF-8", "-proc:none", "-g:none", "-nowarn");
+
+			Boolean compiled = compiler.getTask (null, fileManager, diagnostics, options, null
+					                            ,fileManager.getJavaFileObjectsFromFiles (sourceFiles)).call();
+			if (!Boolean.TRUE.equals (compiled)) {
+
+				StringBuilder errors = new StringBuilder();
+				for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics())
+					errors.append ("\n").append (diagnostic.getMessage (Locale.ROOT));
+
+				throw new DependencyInjectionException ("The synthetic classpath: " + getKey() + " could not be compiled:" + errors);
+			}
+		} catch (IOException e) {
+			throw new DependencyInjectionException ("The synthetic classpath: " + getKey() + " could not be compiled", e);
+		}
+	}
+
+
+	/**
+	 * Returns the interfaces used by the implementations of the given one: the previous one in its chain and a random one.
+	 */
+	private List<Integer> dependenciesOf (final int i, final Random random) {
+
+		List<Integer> dependencies = new ArrayList<Integer>();
+		if (i % nestingDepth != 0)
+			dependencies.add (i - 1);
+
+		if (random.nextDouble() < crossReferenceDensity) {
+
+			int crossReference = random.nextInt (numberOfInterfaces);
+			if (crossReference != i && !dependencies.contains (crossReference))
+				dependencies.add (crossReference);
+		}
+		return dependencies;
+	}
+
+
+	private String interfaceSource (final int i) {
+
+		return "package " + packageOf (INTERFACES_PACKAGE, i) + ";\n\n"
+		     + "@org.play.dependencyinjection.annotations.Injectable\n"
+		     + "public interface Service" + i + " {\n\n"
+		     + "\tint value();\n"
+		     + "}\n";
+	}
+
+
+	private String implementationSource (final int i, final String suffix, final String qualifier, final List<Integer> dependencies) {
+
+		StringBuilder source = new StringBuilder ("package ").append (packageOf (IMPLEMENTATIONS_PACKAGE, i)).append (";\n\n");
+		if (qualifier != null)
+			source.append ("@org.play.dependencyinjection.annotations.DependencyInjectionQualifier(\"").append (qualifier).append ("\")\n");
+
+		source.append ("public class Service").append (i).append (suffix).append (" implements ")
+		      .append (interfaceName (i)).append (" {\n");
+
+		appendProperties (source, dependencies, false);
+		return source.append ("\n\t@Override\n\tpublic int value() {\n\t\treturn ").append (i).append (";\n\t}\n}\n").toString();
+	}
+
+
+	private String controllerSource (final int c, final List<Integer> dependencies) {
+
+		StringBuilder source = new StringBuilder ("package ").append (packageOf (CONTROLLERS_PACKAGE, c)).append (";\n\n")
+		                                .append ("public class Controller").append (c).append (" extends ")
+		                                .append (PARENT_CONTROLLER_CLASS_NAME).append (" {\n");
+
+		appendProperties (source, dependencies, true);
+		return source.append ("}\n").toString();
+	}
+
+
+	/**
+	 * Adds a property for every given interface (the qualified ones use the primary implementation).
+	 */
+	private void appendProperties (final StringBuilder source, final List<Integer> dependencies, final boolean isStatic) {
+
+		for (int dependency : dependencies)
+			source.append ("\n\t@org.play.dependencyinjection.annotations.WithDependencyInjection")
+			      .append (qualified[dependency] ? "(\"" + PRIMARY_QUALIFIER + "\")" : "")
+			      .append ("\n\tprivate ").append (isStatic ? "static " : "").append (interfaceName (dependency))
+			      .append (" service").append (dependency).append (";\n");
+	}
+
+
+	private static String interfaceName (final int i) {
+
+		return packageOf (INTERFACES_PACKAGE, i) + ".Service" + i;
+	}
+
+
+	/**
+	 * Returns the subpackage of the given root package in which the class with the given index is stored (the root one if it is negative).
+	 */
+	private static String packageOf (final String rootPackage, final int index) {
+
+		return (index < 0 ? rootPackage : rootPackage + ".p" + (index / CLASSES_PER_PACKAGE));
+	}
+
+
+	private static File write (final File sourceDirectory, final String rootPackage, final int index, final String className
+			                  ,final String source) throws DependencyInjectionException {
+
+		File packageDirectory = new File (sourceDirectory, packageOf (rootPackage, index).replace ('.', File.separatorChar));
+		packageDirectory.mkdirs();
+
+		File sourceFile = new File (packageDirectory, className + ".java");
+		try (Writer writer = new OutputStreamWriter (new FileOutputStream (sourceFile), Charset.forName ("UTF-8"))) {
+
+			writer.write (source);
+			return sourceFile;
+
+		} catch (IOException e) {
+			throw new DependencyInjectionException ("The source file: " + sourceFile + " could not be written", e);
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package org.play.dependencyinjection.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.play.dependencyinjection.blueprint.BlueprintGenerator;
+import org.play.dependencyinjection.blueprint.ContainerBlueprint;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.ClasspathScanner;
+
+/**
+ *    Scans the compiled classes of the project in the same way that the resolvers do when they are initialized, and
+ * passes the result as a {@link ContainerBlueprint} to the goal, while the classes of the project can still be loaded.
+ */
+public abstract class AbstractBlueprintMojo extends AbstractMojo {
+
+	@Parameter(defaultValue = "${project}", readonly = true, required = true)
+	protected MavenProject project;
+
+	/**
+	 * Resolvers to include in the blueprint
+	 */
+	@Parameter
+	private List<Resolver> resolvers = new ArrayList<Resolver>();
+
+	/**
+	 * Controllers to include in the blueprint
+	 */
+	@Parameter
+	private List<Controllers> controllers = new ArrayList<Controllers>();
+
+
+	@Override
+	public void execute() throws MojoExecutionException {
+
+		if (isSkipped()) {
+			getLog().info ("Generation of the " + getGeneratedElement() + " is skipped");
+			return;
+		}
+		ClassLoader currentClassLoader = Thread.currentThread().getContextClassLoader();
+		URLClassLoader projectClassLoader = new URLClassLoader (getProjectClasspath(), getClass().getClassLoader());
+		try {
+			// The scan uses the context classloader to find and load the classes of the project
+			Thread.currentThread().setContextClassLoader (projectClassLoader);
+
+			BlueprintGenerator generator = new BlueprintGenerator();
+			for (Resolver resolver : resolvers)
+				generator.addResolver (resolver.getInterfacesPackage(), resolver.getImplementationPackage()
+						              ,(resolver.getInterfaceToResolve() == null ? null : ClasspathScanner.loadClass (resolver.getInterfaceToResolve())));
+
+			for (Controllers controller : controllers)
+				generator.addControllers (controller.getControllersPackage(), ClasspathScanner.loadClass (controller.getParentControllerClass()));
+
+			execute (generator.generate());
+
+		} catch (DependencyInjectionException e) {
+			throw new MojoExecutionException ("The " + getGeneratedElement() + " could not be generated", e);
+		}
+		finally {
+			Thread.currentThread().setContextClassLoader (currentClassLoader);
+			try {
+				projectClassLoader.close();
+
+			} catch (IOException e) {
+				getLog().warn ("The classloader of the project could not be closed", e);
+			}
+		}
+	}
+
+
+	/**
+	 * Generates the output of the goal from the given blueprint.
+	 *
+	 * @param blueprint
+	 *    {@link ContainerBlueprint} of the configured resolvers and controllers
+	 *
+	 * @throws DependencyInjectionException
+	 * @throws MojoExecutionException
+	 */
+	protected abstract void execute (ContainerBlueprint blueprint) throws DependencyInjectionException, MojoExecutionException;
+
+
+	/**
+	 * Returns true if the goal must not do anything.
+	 */
+	protected abstract boolean isSkipped();
+
+
+	/**
+	 * Returns the description of what the goal generates (used in the log).
+	 */
+	protected abstract String getGeneratedElement();
+
+
+	/**
+	 * Returns the output directory and the compile dependencies of the project.
+	 */
+	private URL[] getProjectClasspath() throws MojoExecutionException {
+
+		try {
+			List<String> classpathElements = project.getCompileClasspathElements();
+			URL[] urls = new URL[classpathElements.size()];
+			for (int i = 0; i < urls.length; i++)
+				urls[i] = new File (classpathElements.get (i)).toURI().toURL();
+
+			return urls;
+
+		} catch (DependencyResolutionRequiredException | MalformedURLException e) {
+			throw new MojoExecutionException ("The classpath of the project could not be resolved", e);
+		}
+	}
+
+}
\ No newline at end of file
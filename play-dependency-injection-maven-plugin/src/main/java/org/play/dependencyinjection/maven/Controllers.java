@@ -0,0 +1,27 @@
+package org.play.dependencyinjection.maven;
+
+/**
+ * Configuration of the controllers to include in the blueprint generated by {@link GenerateBlueprintMojo} and {@link GenerateNativeImageConfigurationMojo}.
+ */
+public class Controllers {
+
+	/**
+	 * Package name that stores the implementation of controllers
+	 */
+	private String controllersPackage;
+
+	/**
+	 * Name of the class to which all controllers must belong
+	 */
+	private String parentControllerClass;
+
+
+	public String getControllersPackage() {
+		return controllersPackage;
+	}
+
+	public String getParentControllerClass() {
+		return parentControllerClass;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package org.play.dependencyinjection.maven;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.play.dependencyinjection.blueprint.ContainerBlueprint;
+
+/**
+ *    Scans the compiled classes of the project in the same way that the resolvers do when they are initialized, and
+ * writes the result as a {@link ContainerBlueprint} inside the output directory, so it will be included in the jar and
+ * replayed at runtime instead of scanning the classpath.
+ */
+@Mojo(name = "generate-blueprint", defaultPhase = LifecyclePhase.PREPARE_PACKAGE
+     ,requiresDependencyResolution = ResolutionScope.COMPILE, threadSafe = true)
+public class GenerateBlueprintMojo extends AbstractBlueprintMojo {
+
+	/**
+	 * Skips the generation of the blueprint
+	 */
+	@Parameter(property = "playDependencyInjection.blueprint.skip", defaultValue = "false")
+	private boolean skip;
+
+
+	@Override
+	protected void execute (final ContainerBlueprint blueprint) throws MojoExecutionException {
+
+		File blueprintFile = new File (project.getBuild().getOutputDirectory(), ContainerBlueprint.RESOURCE_NAME);
+		if (!blueprintFile.getParentFile().isDirectory() && !blueprintFile.getParentFile().mkdirs())
+			throw new MojoExecutionException ("The directory " + blueprintFile.getParent() + " could not be created");
+
+		try (OutputStream outputStream = new FileOutputStream (blueprintFile)) {
+			blueprint.write (outputStream);
+
+		} catch (IOException e) {
+			throw new MojoExecutionException ("The blueprint " + blueprintFile + " could not be written", e);
+		}
+		getLog().info ("Dependency injection blueprint written in " + blueprintFile + " (" + blueprint.getResolvers().size()
+				     + " resolvers, " + blueprint.getControllers().size() + " controllers)");
+	}
+
+
+	@Override
+	protected boolean isSkipped() {
+		return skip;
+	}
+
+
+	@Override
+	protected String getGeneratedElement() {
+		return "dependency injection blueprint";
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package org.play.dependencyinjection.maven;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.play.dependencyinjection.blueprint.ContainerBlueprint;
+import org.play.dependencyinjection.blueprint.NativeImageConfiguration;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+/**
+ *    Writes the reflection and resource configuration that GraalVM native-image needs for the implementations, controllers
+ * and injected properties found in the project. The files are stored in META-INF/native-image/&lt;groupId&gt;/&lt;artifactId&gt;
+ * inside the output directory, where native-image finds them without any extra option. The blueprint written by
+ * {@link GenerateBlueprintMojo} must be included too, because the classpath cannot be scanned in a native image.
+ */
+@Mojo(name = "generate-native-image-configuration", defaultPhase = LifecyclePhase.PREPARE_PACKAGE
+     ,requiresDependencyResolution = ResolutionScope.COMPILE, threadSafe = true)
+public class GenerateNativeImageConfigurationMojo extends AbstractBlueprintMojo {
+
+	/**
+	 * Directory in which the configuration files will be written
+	 */
+	@Parameter(defaultValue = "${project.build.outputDirectory}/META-INF/native-image/${project.groupId}/${project.artifactId}")
+	private File outputDirectory;
+
+	/**
+	 * Skips the generation of the native-image configuration
+	 */
+	@Parameter(property = "playDependencyInjection.nativeImage.skip", defaultValue = "false")
+	private boolean skip;
+
+
+	@Override
+	protected void execute (final ContainerBlueprint blueprint) throws DependencyInjectionException, MojoExecutionException {
+
+		if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs())
+			throw new MojoExecutionException ("The directory " + outputDirectory + " could not be created");
+
+		NativeImageConfiguration configuration = NativeImageConfiguration.of (blueprint);
+		File reflectConfigFile  = new File (outputDirectory, NativeImageConfiguration.REFLECT_CONFIG_NAME);
+		File resourceConfigFile = new File (outputDirectory, NativeImageConfiguration.RESOURCE_CONFIG_NAME);
+
+		try (OutputStream reflectOutputStream  = new FileOutputStream (reflectConfigFile);
+			 OutputStream resourceOutputStream = new FileOutputStream (resourceConfigFile)) {
+
+			configuration.writeReflectConfiguration (reflectOutputStream);
+			configuration.writeResourceConfiguration (resourceOutputStream);
+
+		} catch (IOException e) {
+			throw new MojoExecutionException ("The native-image configuration could not be written in " + outputDirectory, e);
+		}
+		getLog().info ("Native-image configuration written in " + outputDirectory + " (" + configuration.getClassNames().size()
+				     + " classes)");
+	}
+
+
+	@Override
+	protected boolean isSkipped() {
+		return skip;
+	}
+
+
+	@Override
+	protected String getGeneratedElement() {
+		return "native-image configuration";
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package org.play.dependencyinjection.maven;
+
+/**
+ * Configuration of a resolver to include in the blueprint generated by {@link GenerateBlueprintMojo} and {@link GenerateNativeImageConfigurationMojo}.
+ */
+public class Resolver {
+
+	/**
+	 * Package name that stores the "injectable interfaces"
+	 */
+	private String interfacesPackage;
+
+	/**
+	 * Package name that stores the implementation of "injectable interfaces"
+	 */
+	private String implementationPackage;
+
+	/**
+	 * Name of the interface that manages the resolver (optional)
+	 */
+	private String interfaceToResolve;
+
+
+	public String getInterfacesPackage() {
+		return interfacesPackage;
+	}
+
+	public String getImplementationPackage() {
+		return implementationPackage;
+	}
+
+	public String getInterfaceToResolve() {
+		return interfaceToResolve;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,170 @@
+package org.play.dependencyinjection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.annotations.DependencyInjectionQualifier;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.exceptions.DependencyNotFoundException;
+import org.play.dependencyinjection.resolvers.BindingOverlay;
+import org.play.dependencyinjection.resolvers.DestructionHooks;
+import org.play.dependencyinjection.shutdown.ComponentShutdown;
+import org.play.dependencyinjection.shutdown.ShutdownReport;
+
+/**
+ *    Container that inherits all bindings of a {@link DependencyInjectionPool} and overrides some of them (for example,
+ * the ones of a tenant). The lookups search first in a small {@link BindingOverlay} with the overridden implementations
+ * (and new instances of the implementations of the parent that use them), and then in the parent.
+ *
+ *    Every change publishes a new overlay, so the lookups never see a binding whose properties have not been resolved.
+ */
+public final class DependencyInjectionChildPool {
+
+	/**
+	 * Pool whose bindings are inherited
+	 */
+	private final DependencyInjectionPool parent;
+
+	/**
+	 * Overridden bindings (replaced, not modified, on every change)
+	 */
+	private volatile BindingOverlay overlay = BindingOverlay.empty();
+
+
+	DependencyInjectionChildPool (DependencyInjectionPool parent) {
+
+		this.parent = parent;
+	}
+
+
+	/**
+	 *    Overrides in the current child the implementation of the given interface (the qualifier value is the one of
+	 * the {@link DependencyInjectionQualifier} annotation of the given implementation class). The implementations of the
+	 * parent that use the overridden one are created again for this child.
+	 *
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param implementationClazz
+	 *    Class of implementation
+	 * @param preinitializedObject
+	 *    Object that the user has initialized for the given implementationClazz (null to use the default constructor)
+	 *
+	 * @return instance of {@link DependencyInjectionChildPool}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public synchronized <T, E> DependencyInjectionChildPool bind (final Class<T> interfaceClazz, final Class<E> implementationClazz
+			                                                     ,@Nullable final Object preinitializedObject) throws DependencyInjectionException {
+
+		this.overlay = this.overlay.bind (this.parent.getResolversLessGivenInterfacePackage (null), interfaceClazz, implementationClazz
+				                         ,preinitializedObject);
+		return this;
+	}
+
+
+	/**
+	 *    Creates again the implementations of the parent that use the overridden ones, so they take the current state
+	 * of the parent (for example, after reloading one of its resolvers).
+	 *
+	 * @return instance of {@link DependencyInjectionChildPool}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public synchronized DependencyInjectionChildPool refresh() throws DependencyInjectionException {
+
+		this.overlay = this.overlay.refresh (this.parent.getResolversLessGivenInterfacePackage (null));
+		return this;
+	}
+
+
+	/**
+	 * Searches the implementation of the given interface (and qualifier value) in the current child and then in its parent.
+	 *
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param qualifierValue
+	 *    Value of {@link DependencyInjectionQualifier} in an implementation class
+	 *
+	 * @return the implementation of the given interface
+	 *
+	 * @throws DependencyInjectionException if the given interface is null or no resolver manages it
+	 */
+	public <T> T getImplementation (final Class<T> interfaceClazz, @Nullable String qualifierValue) throws DependencyInjectionException {
+
+		if (interfaceClazz == null)
+			throw new DependencyInjectionException ("The given interfaceClazz must not be null");
+
+		T implementation = tryGetImplementation (interfaceClazz, qualifierValue);
+		if (implementation == null)
+			throw new DependencyNotFoundException ("The interface " + interfaceClazz.getCanonicalName()
+					                             + (qualifierValue == null ? "" : " with qualifier value: " + qualifierValue)
+					                             + " has not a resolver that manages the dependency injection");
+		return implementation;
+	}
+
+
+	/**
+	 *    Searches the implementation of the given interface (and qualifier value) in the current child and then in its
+	 * parent without throwing any exception.
+	 *
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param qualifierValue
+	 *    Value of {@link DependencyInjectionQualifier} in an implementation class
+	 *
+	 * @return the implementation of the given interface (or null if no resolver manages it)
+	 */
+	@Nullable
+	public <T> T tryGetImplementation (final Class<T> interfaceClazz, @Nullable String qualifierValue) {
+
+		if (interfaceClazz == null)
+			return null;
+
+		T implementation = this.overlay.findImplementation (interfaceClazz, qualifierValue);
+		return (implementation != null ? implementation : this.parent.tryGetImplementation (interfaceClazz, qualifierValue));
+	}
+
+
+	/**
+	 * Returns the bindings stored in the current child: the overridden ones and the implementations of the parent created again.
+	 *
+	 * @return unmodifiable {@link Map} with the key of every binding (canonical name of the interface + qualifier value)
+	 *         and its implementation
+	 */
+	public Map<String, Object> getBindings() {
+
+		return this.overlay.getImplementationsByKey();
+	}
+
+
+	/**
+	 * Returns the pool whose bindings are inherited.
+	 *
+	 * @return {@link DependencyInjectionPool}
+	 */
+	public DependencyInjectionPool getParent() {
+
+		return this.parent;
+	}
+
+
+	/**
+	 *    Deletes the bindings of the current child, so it uses only the ones of its parent. Before that, the implementations
+	 * created by the child are closed (see {@link DestructionHooks}).
+	 *
+	 * @return {@link ShutdownReport} with the implementations that were slow to close or failed
+	 */
+	public synchronized ShutdownReport destroyResources() {
+
+		long startTime = System.nanoTime();
+		List<ComponentShutdown> components = DestructionHooks.execute (new ArrayList<Object> (this.overlay.getImplementationsByKey().values()));
+
+		this.overlay = BindingOverlay.empty();
+		return new ShutdownReport (components, Collections.<String>emptyList(), System.nanoTime() - startTime);
+	}
+
+}
\ No newline at end of file
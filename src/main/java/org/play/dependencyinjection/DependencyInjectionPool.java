@@ -1,39 +1,228 @@
 package org.play.dependencyinjection;
 
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.play.dependencyinjection.annotations.DependencyInjectionQualifier;
+import org.play.dependencyinjection.annotations.PostInjection;
+import org.play.dependencyinjection.annotations.WarmUp;
 import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.async.ExecutorUsage;
+import org.play.dependencyinjection.async.ExecutorUsageMXBean;
+import org.play.dependencyinjection.async.ManagedExecutors;
+import org.play.dependencyinjection.cache.MethodCache;
+import org.play.dependencyinjection.cache.MethodCacheMXBean;
+import org.play.dependencyinjection.cache.TinyLfuCache;
+import org.play.dependencyinjection.cds.ClassListRecorder;
+import org.play.dependencyinjection.cds.SharedArchiveGenerator;
 import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.exceptions.DependencyNotFoundException;
+import org.play.dependencyinjection.footprint.BindingFootprint;
+import org.play.dependencyinjection.footprint.HeapFootprint;
+import org.play.dependencyinjection.footprint.HeapFootprintEstimator;
+import org.play.dependencyinjection.footprint.HeapFootprintMXBean;
+import org.play.dependencyinjection.footprint.ResolverFootprint;
+import org.play.dependencyinjection.metrics.LatencyHistogram;
+import org.play.dependencyinjection.metrics.MethodLatency;
+import org.play.dependencyinjection.metrics.MethodLatencyMXBean;
+import org.play.dependencyinjection.resolvers.ClasspathScanner;
 import org.play.dependencyinjection.resolvers.DependencyInjectionControllersResolver;
 import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+import org.play.dependencyinjection.resolvers.DestructionHooks;
+import org.play.dependencyinjection.resolvers.LifecycleHooks;
+import org.play.dependencyinjection.shutdown.ComponentShutdown;
+import org.play.dependencyinjection.shutdown.ShutdownReport;
 
 /**
- * Pool that manages all {@link DependencyInjectionResolver}s
+ *    Pool that manages all {@link DependencyInjectionResolver}s. There is one pool for every application classloader
+ * (the context classloader of the current thread), so when Play reloads the application the new one uses a different
+ * pool and the old one can be collected once {@link DependencyInjectionPool#destroyResources()} has been invoked.
  */
 public class DependencyInjectionPool {
 
-	private static final DependencyInjectionPool instance = new DependencyInjectionPool();
+	/**
+	 *    System property with the file in which a training run writes the AppCDS class list. When it is defined, every pool
+	 * records the classes of the injected graph until {@link DependencyInjectionPool#initializeControllersResolver} finishes.
+	 */
+	public static final String CLASS_LIST_PROPERTY = "org.play.dependencyinjection.cds.classList";
+
+	/**
+	 * System property with the file in which a training run dumps the shared archive (optional)
+	 */
+	public static final String SHARED_ARCHIVE_PROPERTY = "org.play.dependencyinjection.cds.sharedArchive";
+
+	/**
+	 *    Pools by application classloader. Every pool reaches its classloader through the classes of its implementations,
+	 * so the values are weak too: the pool is kept alive by the classloader itself (see {@link DependencyInjectionPool#poolsByAnchorClass})
+	 * and does not prevent it from being collected
+	 */
+	private static final Map<ClassLoader, WeakReference<DependencyInjectionPool>> poolsByClassLoader = new WeakHashMap<ClassLoader, WeakReference<DependencyInjectionPool>>();
+
+	/**
+	 *    Pools stored in a class defined by their application classloader (see {@link DependencyInjectionPool#anchorClassOf}),
+	 * so they are only reachable while the classloader is
+	 */
+	private static final ClassValue<DependencyInjectionPool> poolsByAnchorClass = new ClassValue<DependencyInjectionPool>() {
+
+		@Override
+		protected DependencyInjectionPool computeValue (Class<?> anchorClazz) {
+			return new DependencyInjectionPool (anchorClazz.getClassLoader());
+		}
+	};
+
+	/**
+	 * Classloaders used by the destroyed pools, that should be collected by the garbage collector
+	 */
+	private static final List<WeakReference<ClassLoader>> classLoadersToRelease = new ArrayList<WeakReference<ClassLoader>>();
+
+	/**
+	 * Number of times that the garbage collector is requested before reporting a classloader as retained 
+	 */
+	private static int numberOfGarbageCollectionAttempts = 5;
+
+	/**
+	 * Application classloader of the current pool
+	 */
+	private WeakReference<ClassLoader> classLoader;
 
 	/**
-	 * Stores the equivalence between interfaces and {@link DependencyInjectionResolver}
+	 *    Stores the equivalence between interfaces and {@link DependencyInjectionResolver} (the lookups do not block
+	 * while resolvers are added)
 	 */
-	private Map<String, DependencyInjectionResolver> resolversPool = new HashMap<String, DependencyInjectionResolver>();
+	private Map<String, DependencyInjectionResolver> resolversPool = new ConcurrentHashMap<String, DependencyInjectionResolver>();
+
+	/**
+	 * Names of the MBeans registered by the current pool, by their type
+	 */
+	private final Map<String, ObjectName> registeredMBeanNames = new HashMap<String, ObjectName>();
+
+	/**
+	 * Executors of the {@link org.play.dependencyinjection.annotations.Async} methods
+	 */
+	private final ManagedExecutors managedExecutors;
+
+	/**
+	 * Resolver of the controllers whose properties are injected with the implementations of the current pool
+	 */
+	private final DependencyInjectionControllersResolver controllersResolver;
+
+	/**
+	 * Records the loaded classes during a training run (null if there is not a training run in progress)
+	 */
+	private ClassListRecorder classListRecorder;
 
 
 	/**
 	 * Prevents instantiation from external entities
 	 */
-	private DependencyInjectionPool() {}
+	private DependencyInjectionPool (ClassLoader classLoader) {
+
+		this.classLoader = new WeakReference<ClassLoader> (classLoader);
+		this.managedExecutors = new ManagedExecutors (classLoader);
+		this.controllersResolver = new DependencyInjectionControllersResolver (this);
+		if (System.getProperty (CLASS_LIST_PROPERTY) != null)
+			startTrainingRun();
+	}
 
 
 	/**
-	 * Singleton pattern
+	 * Singleton pattern (one instance by application classloader)
 	 */
 	public static DependencyInjectionPool instance() {
-		return instance;
+
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		if (classLoader == null)
+			classLoader = DependencyInjectionPool.class.getClassLoader();
+
+		synchronized (poolsByClassLoader) {
+
+			WeakReference<DependencyInjectionPool> reference = poolsByClassLoader.get (classLoader);
+			DependencyInjectionPool pool = (reference == null ? null : reference.get());
+			if (pool == null) {
+
+				pool = poolsByAnchorClass.get (anchorClassOf (classLoader));
+				poolsByClassLoader.put (classLoader, new WeakReference<DependencyInjectionPool> (pool));
+			}
+			return pool;
+		}
+	}
+
+
+	/**
+	 *    Returns a class defined by the given classloader, in which its pool is stored. It is a proxy class of {@link Runnable},
+	 * because it is visible from every classloader and the same proxy class is reused while the classloader is reachable.
+	 * 
+	 * @param classLoader
+	 *    Application {@link ClassLoader}
+	 * 
+	 * @return {@link Class} whose classloader is the given one
+	 */
+	private static Class<?> anchorClassOf (final ClassLoader classLoader) {
+
+		return Proxy.newProxyInstance (classLoader, new Class<?>[] { Runnable.class }, new InvocationHandler() {
+
+			@Override
+			public Object invoke (Object proxy, Method method, Object[] args) {
+				return null;
+			}
+		}).getClass();
+	}
+
+
+	/**
+	 *    Returns the classloaders used by the destroyed pools that are still reachable, that is, the classloaders
+	 * whose classes are retained by someone after invoking {@link DependencyInjectionPool#destroyResources()}.
+	 * The garbage collector is requested before checking them.
+	 * 
+	 * <h1><strong>IMPORTANT: Use only for diagnostic purpose</strong></h1></br>
+	 * 
+	 * @return {@link Set} of retained {@link ClassLoader}s
+	 */
+	public static Set<ClassLoader> findRetainedClassLoaders() {
+
+		synchronized (classLoadersToRelease) {
+
+			for (int i = 0; i < numberOfGarbageCollectionAttempts && releaseCollectedClassLoaders(); i++) {
+
+				System.gc();
+				try {
+					Thread.sleep (100);
+
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+			Set<ClassLoader> result = new HashSet<ClassLoader>();
+			for (WeakReference<ClassLoader> reference : classLoadersToRelease) {
+
+				ClassLoader retainedClassLoader = reference.get();
+				if (retainedClassLoader != null)
+					result.add (retainedClassLoader);
+			}
+			return result;
+		}
 	}
 
 
@@ -55,9 +244,31 @@ public class DependencyInjectionPool {
 		if (dependencyInjectionResolver.getInterfacesPackage() == null)
 			throw new DependencyInjectionException ("The given dependencyInjectionResolver does not have an interface package to manage");
 
-		instance.resolversPool.put (dependencyInjectionResolver.getInterfacesPackage(), dependencyInjectionResolver);
+		dependencyInjectionResolver.setPool (this);
+		this.resolversPool.put (dependencyInjectionResolver.getInterfacesPackage(), dependencyInjectionResolver);
+
+		return this;
+	}
+
+
+	/**
+	 *    Resolves the properties annotated with {@link WithDependencyInjection} of the implementations of all resolvers
+	 * and, after that, invokes their methods annotated with {@link PostInjection} (in dependency order) and {@link WarmUp}.
+	 * The hooks of every implementation are invoked only once.
+	 * 
+	 * @return instance of {@link DependencyInjectionPool}
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	public DependencyInjectionPool initializeImplementations() throws DependencyInjectionException {
+
+		// Resolves dependencies of the "implementations" inside resolvers
+		Set<DependencyInjectionResolver> resolvers = new HashSet<DependencyInjectionResolver>(resolversPool.values());
+		for (DependencyInjectionResolver resolver : resolvers)
+			resolver.resolveAllClassPropertiesOfImplementations();
 
-		return instance;
+		LifecycleHooks.executeHooksOf (resolvers);
+		return this;
 	}
 
 
@@ -78,12 +289,154 @@ public class DependencyInjectionPool {
 			throw new DependencyInjectionException ((controllersPackage    == null ? "The given controllersPackage must not be null. "    : "")
                                                   + (parentControllerClazz == null ? "The given parentControllerClazz must not be null. " : ""));
 
-		// Resolves dependencies of the "implementations" inside resolvers
-		Set<DependencyInjectionResolver> resolvers = new HashSet<DependencyInjectionResolver>(resolversPool.values());
-		for (DependencyInjectionResolver resolver : resolvers)
-			resolver.resolveAllClassPropertiesOfImplementations();
+		initializeControllersOfPackages (Collections.singletonList (controllersPackage), parentControllerClazz);
+	}
+
+
+	/**
+	 *    Initializes the {@link Controller} properties annotated with {@link WithDependencyInjection} interface of several
+	 * packages, which are scanned and wired in parallel. It can be invoked again (for example, after adding a resolver):
+	 * only the controllers whose implementations have changed are modified.
+	 * 
+	 * @param controllersPackages
+	 *    Package names that store the implementation of {@link Controller}s
+	 * @param parentControllerClazz
+	 *    Class to which all controllers must belong
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	public <T> void initializeControllersOfPackages (final Collection<String> controllersPackages, final Class<T> parentControllerClazz)
+			                                           throws DependencyInjectionException {
+
+		if (controllersPackages == null || controllersPackages.isEmpty() || parentControllerClazz == null)
+			throw new DependencyInjectionException ((controllersPackages == null || controllersPackages.isEmpty() ? "The given controllersPackages must not be empty. " : "")
+                                                  + (parentControllerClazz == null ? "The given parentControllerClazz must not be null. " : ""));
+
+		initializeImplementations();
+		this.controllersResolver.initPackages (controllersPackages, parentControllerClazz);
+
+		String classList = System.getProperty (CLASS_LIST_PROPERTY);
+		if (classList != null && this.classListRecorder != null) {
+
+			String sharedArchive = System.getProperty (SHARED_ARCHIVE_PROPERTY);
+			finishTrainingRun (new File (classList), (sharedArchive == null ? null : new File (sharedArchive)));
+		}
+	}
 
-		DependencyInjectionControllersResolver.instance().init (controllersPackage, parentControllerClazz);
+
+	/**
+	 *    Starts a training run: the classes of the injected graph (implementations, controllers, their supertypes and the
+	 * types of their properties) are recorded while the resolvers and controllers are initialized. It must be invoked
+	 * before creating the resolvers.
+	 * 
+	 * @return instance of {@link DependencyInjectionPool}
+	 */
+	public synchronized DependencyInjectionPool startTrainingRun() {
+
+		if (this.classListRecorder == null)
+			this.classListRecorder = new ClassListRecorder().start();
+
+		return this;
+	}
+
+
+	/**
+	 *    Finishes the current training run, writing the recorded classes as an AppCDS class list and, if sharedArchiveFile
+	 * is given, invoking the JDK to dump a shared archive with them (using the classpath of the current JVM). The JVMs
+	 * started with -XX:SharedArchiveFile=&lt;sharedArchiveFile&gt; and the same classpath do not parse and verify those classes.
+	 * 
+	 * @param classListFile
+	 *    {@link File} in which the class list will be written
+	 * @param sharedArchiveFile
+	 *    {@link File} in which the shared archive will be dumped (null to write only the class list)
+	 * 
+	 * @return {@link List} with the names of the recorded classes
+	 * 
+	 * @throws DependencyInjectionException if there is not a training run in progress or the archive could not be dumped
+	 */
+	public synchronized List<String> finishTrainingRun (final File classListFile, @Nullable final File sharedArchiveFile)
+			                                              throws DependencyInjectionException {
+
+		if (this.classListRecorder == null)
+			throw new DependencyInjectionException ("There is not a training run in progress");
+
+		ClassListRecorder recorder = this.classListRecorder.stop();
+		this.classListRecorder = null;
+
+		recorder.write (classListFile);
+		if (sharedArchiveFile != null)
+			SharedArchiveGenerator.dump (classListFile, sharedArchiveFile, System.getProperty ("java.class.path"));
+
+		return recorder.getClassNames();
+	}
+
+
+	/**
+	 *    Creates a {@link DependencyInjectionChildPool} that inherits all bindings of the current pool and can override
+	 * some of them without modifying the current pool.
+	 * 
+	 * @return new {@link DependencyInjectionChildPool}
+	 */
+	public DependencyInjectionChildPool createChildPool() {
+
+		return new DependencyInjectionChildPool (this);
+	}
+
+
+	/**
+	 *    Rescans the implementation package of the {@link DependencyInjectionResolver} related with the given interface
+	 * package, reusing the implementations that have not changed and injecting again the properties of other resolvers
+	 * and controllers that point to the replaced ones. The rest of resolvers are not modified.
+	 * 
+	 * @param interfacesPackage
+	 *    Package name that stores the "injectable interfaces"
+	 * 
+	 * @return instance of {@link DependencyInjectionPool}
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	public DependencyInjectionPool reload (final String interfacesPackage) throws DependencyInjectionException {
+
+		getResolver (interfacesPackage).reload();
+		return this;
+	}
+
+
+	/**
+	 *    Replaces the implementation of the given interface in the {@link DependencyInjectionResolver} that manages it (with
+	 * the qualifier value of the given implementation class), while the pool is used. See {@link DependencyInjectionResolver#rebind}.
+	 * 
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param implementationClazz
+	 *    Class of implementation
+	 * @param preinitializedObject
+	 *    Object that the user has initialized for the given implementationClazz (null to use the default constructor)
+	 * 
+	 * @return instance of {@link DependencyInjectionPool}
+	 * 
+	 * @throws DependencyInjectionException if the given classes are null or no resolver manages the given interface
+	 */
+	public <T, E> DependencyInjectionPool rebind (final Class<T> interfaceClazz, final Class<E> implementationClazz
+			                                     ,@Nullable final Object preinitializedObject) throws DependencyInjectionException {
+
+		if (interfaceClazz == null || implementationClazz == null)
+			throw new DependencyInjectionException ((interfaceClazz       == null ? "The given interfaceClazz must not be null. " : "")
+                                                  + (implementationClazz == null ? "The given implementationClazz must not be null. " : ""));
+
+		DependencyInjectionQualifier qualifier = implementationClazz.getAnnotation (DependencyInjectionQualifier.class);
+		String qualifierValue = (qualifier == null ? null : qualifier.value());
+		for (DependencyInjectionResolver resolver : this.resolversPool.values()) {
+
+			if (resolver.tryGetImplementation (interfaceClazz, qualifierValue) != null) {
+
+				resolver.rebind (interfaceClazz, implementationClazz, preinitializedObject);
+				return this;
+			}
+		}
+		throw new DependencyNotFoundException ("The interface " + interfaceClazz.getCanonicalName()
+				                             + (qualifierValue == null ? "" : " with qualifier value: " + qualifierValue)
+				                             + " has not a resolver that manages the dependency injection");
 	}
 
 
@@ -102,14 +455,82 @@ public class DependencyInjectionPool {
 		if (interfacesPackage == null)
 			throw new DependencyInjectionException ("The given interfacesPackage must not be null");
 
-		DependencyInjectionResolver resolver = instance.resolversPool.get (interfacesPackage);
+		DependencyInjectionResolver resolver = this.resolversPool.get (interfacesPackage);
 		if (resolver == null)
-			throw new DependencyInjectionException ("The given interface name: " + interfacesPackage
-					                              + " has not a resolver that manages the dependency injection");
+			throw new DependencyNotFoundException ("The given interface name: " + interfacesPackage
+					                             + " has not a resolver that manages the dependency injection");
         return resolver;  
 	}
 
 
+	/**
+	 * Gets the {@link DependencyInjectionResolver} of a specific interface package without throwing any exception.
+	 * 
+	 * @param interfacesPackage
+	 *    Package name that stores the "injectable interfaces"
+	 *
+	 * @return {@link DependencyInjectionResolver} (or null if there is no one for the given interface package)
+	 */
+	@Nullable
+	public DependencyInjectionResolver tryGetResolver (final String interfacesPackage) {
+
+		return (interfacesPackage == null ? null : this.resolversPool.get (interfacesPackage));
+	}
+
+
+	/**
+	 * Searches in all {@link DependencyInjectionResolver}s the implementation of the given interface (and qualifier value).
+	 * 
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param qualifierValue
+	 *    Value of {@link DependencyInjectionQualifier} in an implementation class
+	 *
+	 * @return the implementation of the given interface
+	 * 
+	 * @throws DependencyInjectionException if the given interface is null or no resolver manages it
+	 */
+	public <T> T getImplementation (final Class<T> interfaceClazz, @Nullable String qualifierValue) throws DependencyInjectionException {
+
+		if (interfaceClazz == null)
+			throw new DependencyInjectionException ("The given interfaceClazz must not be null");
+
+		T implementation = tryGetImplementation (interfaceClazz, qualifierValue);
+		if (implementation == null)
+			throw new DependencyNotFoundException ("The interface " + interfaceClazz.getCanonicalName()
+					                             + (qualifierValue == null ? "" : " with qualifier value: " + qualifierValue)
+					                             + " has not a resolver that manages the dependency injection");
+		return implementation;
+	}
+
+
+	/**
+	 *    Searches in all {@link DependencyInjectionResolver}s the implementation of the given interface (and qualifier value)
+	 * without throwing any exception.
+	 * 
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param qualifierValue
+	 *    Value of {@link DependencyInjectionQualifier} in an implementation class
+	 *
+	 * @return the implementation of the given interface (or null if no resolver manages it)
+	 */
+	@Nullable
+	public <T> T tryGetImplementation (final Class<T> interfaceClazz, @Nullable String qualifierValue) {
+
+		if (interfaceClazz == null)
+			return null;
+
+		for (DependencyInjectionResolver resolver : this.resolversPool.values()) {
+
+			T implementation = resolver.tryGetImplementation (interfaceClazz, qualifierValue);
+			if (implementation != null)
+				return implementation;
+		}
+		return null;
+	}
+
+
 	/**
 	 *    Gets all {@link DependencyInjectionResolver}s less the resolver related to the given
 	 * interface package. If the interface is null returns all resolvers in the pool.  
@@ -126,9 +547,9 @@ public class DependencyInjectionPool {
 
 		Set<DependencyInjectionResolver> result = new HashSet<DependencyInjectionResolver>();
 		if (interfacesPackage == null)
-			result.addAll (instance.resolversPool.values());
+			result.addAll (this.resolversPool.values());
 		else {
-			for (Map.Entry<String, DependencyInjectionResolver> entry : instance.resolversPool.entrySet()) {
+			for (Map.Entry<String, DependencyInjectionResolver> entry : this.resolversPool.entrySet()) {
 
 				if (!entry.getKey().equals (interfacesPackage))
 					result.add (entry.getValue());
@@ -139,19 +560,310 @@ public class DependencyInjectionPool {
 
 
 	/**
-	 * Deletes the information contained in the stored {@link DependencyInjectionResolver}
+	 *    Estimates the heap retained by every {@link DependencyInjectionResolver}: for every binding, the objects reachable
+	 * from its implementation without entering into other implementations managed by the pool, and the overhead of the
+	 * resolver itself (keys, maps and metadata).
+	 * 
+	 * <h1><strong>IMPORTANT: It walks all objects of the implementations, use only for diagnostic purpose</strong></h1></br>
+	 * 
+	 * @return {@link List} of {@link ResolverFootprint} sorted by interface package
+	 */
+	public List<ResolverFootprint> estimateHeapFootprint() {
+
+		Map<String, DependencyInjectionResolver> sortedResolvers = new TreeMap<String, DependencyInjectionResolver> (this.resolversPool);
+
+		// The walk must not enter into other implementations, the resolvers or the pool
+		List<Object> managedObjects = new ArrayList<Object>();
+		managedObjects.add (this);
+		for (DependencyInjectionResolver resolver : sortedResolvers.values()) {
+
+			managedObjects.add (resolver);
+			managedObjects.addAll (resolver.getImplementations());
+		}
+
+		HeapFootprintEstimator estimator = new HeapFootprintEstimator (managedObjects);
+		List<ResolverFootprint> result = new ArrayList<ResolverFootprint>();
+		for (DependencyInjectionResolver resolver : sortedResolvers.values()) {
+
+			List<BindingFootprint> bindings = new ArrayList<BindingFootprint>();
+			for (Map.Entry<String, Object> binding : new TreeMap<String, Object> (resolver.getBindings()).entrySet())
+				bindings.add (new BindingFootprint (binding.getKey(), binding.getValue().getClass().getName()
+						                           ,estimator.estimateRetainedBytes (binding.getValue())));
+
+			result.add (new ResolverFootprint (resolver.getInterfacesPackage(), estimator.estimateRetainedBytes (resolver), bindings));
+		}
+		return result;
+	}
+
+
+	/**
+	 *    Registers in the platform {@link MBeanServer} a {@link HeapFootprintMXBean} that publishes the result of
+	 * {@link DependencyInjectionPool#estimateHeapFootprint()}. It is unregistered by
+	 * {@link DependencyInjectionPool#destroyResources()}.
+	 * 
+	 * @return {@link ObjectName} of the registered bean
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	public ObjectName registerHeapFootprintMBean() throws DependencyInjectionException {
+
+		return registerMBean ("HeapFootprint", new HeapFootprint (this));
+	}
+
+
+	/**
+	 *    Returns the histograms of the {@link org.play.dependencyinjection.annotations.Timed} methods of the implementations
+	 * managed by the stored resolvers.
+	 * 
+	 * @return {@link Map} of {@link LatencyHistogram}s by the key of their binding and the signature of their method (separated by #)
+	 */
+	public Map<String, LatencyHistogram> getLatencyHistograms() {
+
+		Map<String, LatencyHistogram> latencyHistograms = new TreeMap<String, LatencyHistogram>();
+		for (DependencyInjectionResolver resolver : this.resolversPool.values())
+			latencyHistograms.putAll (resolver.getLatencyHistograms());
+
+		return latencyHistograms;
+	}
+
+
+	/**
+	 *    Registers in the platform {@link MBeanServer} a {@link MethodLatencyMXBean} that publishes the result of
+	 * {@link DependencyInjectionPool#getLatencyHistograms()}. It is unregistered by
+	 * {@link DependencyInjectionPool#destroyResources()}.
+	 * 
+	 * @return {@link ObjectName} of the registered bean
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	public ObjectName registerMethodLatencyMBean() throws DependencyInjectionException {
+
+		return registerMBean ("MethodLatency", new MethodLatency (this));
+	}
+
+
+	/**
+	 *    Returns the caches of the {@link org.play.dependencyinjection.annotations.Cached} methods of the implementations
+	 * managed by the stored resolvers.
+	 * 
+	 * @return {@link Map} of {@link TinyLfuCache}s by the key of their binding and the signature of their method (separated by #)
+	 */
+	public Map<String, TinyLfuCache<Object, Object>> getMethodCaches() {
+
+		Map<String, TinyLfuCache<Object, Object>> methodCaches = new TreeMap<String, TinyLfuCache<Object, Object>>();
+		for (DependencyInjectionResolver resolver : this.resolversPool.values())
+			methodCaches.putAll (resolver.getMethodCaches());
+
+		return methodCaches;
+	}
+
+
+	/**
+	 *    Registers in the platform {@link MBeanServer} a {@link MethodCacheMXBean} that publishes the statistics of
+	 * {@link DependencyInjectionPool#getMethodCaches()}. It is unregistered by {@link DependencyInjectionPool#destroyResources()}.
+	 * 
+	 * @return {@link ObjectName} of the registered bean
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	public ObjectName registerMethodCacheMBean() throws DependencyInjectionException {
+
+		return registerMBean ("MethodCache", new MethodCache (this));
+	}
+
+
+	/**
+	 * Returns the resolver of the controllers whose properties are injected with the implementations of the current pool.
+	 * 
+	 * @return {@link DependencyInjectionControllersResolver}
+	 */
+	public DependencyInjectionControllersResolver getControllersResolver() {
+
+		return this.controllersResolver;
+	}
+
+
+	/**
+	 *    Returns the executors used by the {@link org.play.dependencyinjection.annotations.Async} methods of the
+	 * implementations managed by the stored resolvers. They are stopped by {@link DependencyInjectionPool#destroyResources()}.
+	 * 
+	 * @return {@link ManagedExecutors}
+	 */
+	public ManagedExecutors getManagedExecutors() {
+
+		return this.managedExecutors;
+	}
+
+
+	/**
+	 *    Registers in the platform {@link MBeanServer} an {@link ExecutorUsageMXBean} that publishes the usage of
+	 * {@link DependencyInjectionPool#getManagedExecutors()}. It is unregistered by {@link DependencyInjectionPool#destroyResources()}.
+	 * 
+	 * @return {@link ObjectName} of the registered bean
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	public ObjectName registerExecutorUsageMBean() throws DependencyInjectionException {
+
+		return registerMBean ("ExecutorUsage", new ExecutorUsage (this));
+	}
+
+
+	/**
+	 *    Deletes the information contained in the stored {@link DependencyInjectionResolver}. Before that, the
+	 * {@link ManagedExecutors} are stopped (waiting for their submitted tasks, for example the asynchronous methods that
+	 * are running) and then the implementations are closed in reverse dependency order (see {@link DestructionHooks}).
 	 * 
 	 * <h1><strong>IMPORTANT: Use only when we will stop the application</strong></h1></br>
+	 * 
+	 * @return {@link ShutdownReport} with the implementations that were slow to close or failed
 	 */
-	public void destroyResources() {
+	public ShutdownReport destroyResources() {
+
+		long startTime = System.nanoTime();
+		Set<ClassLoader> usedClassLoaders = new HashSet<ClassLoader>();
+		addIfReleasable (usedClassLoaders, this.classLoader.get());
 
+		// The submitted tasks may use the implementations, so they are finished while the implementations are still open
+		List<String> interruptedExecutors = this.managedExecutors.shutdown();
+
+		List<ComponentShutdown> components = new ArrayList<ComponentShutdown>();
 		if (this.resolversPool != null) {
-			
-			for (DependencyInjectionResolver dependencyInjectionResolver : this.resolversPool.values())
-				dependencyInjectionResolver.destroyResources();
 
+			// The keys requested before stopping are loaded while the implementations are still open
+			List<Object> implementations = new ArrayList<Object>();
+			for (DependencyInjectionResolver dependencyInjectionResolver : this.resolversPool.values()) {
+				dependencyInjectionResolver.dispatchPendingBatches();
+				implementations.addAll (dependencyInjectionResolver.getImplementations());
+			}
+
+			components = DestructionHooks.execute (implementations);
+			for (DependencyInjectionResolver dependencyInjectionResolver : this.resolversPool.values()) {
+
+				for (Object implementation : dependencyInjectionResolver.getImplementations())
+					addIfReleasable (usedClassLoaders, implementation.getClass().getClassLoader());
+
+				dependencyInjectionResolver.destroyResources();
+			}
 			this.resolversPool.clear();
 		}
+		for (Class<?> controllerClazz : this.controllersResolver.getResolvedControllers())
+			addIfReleasable (usedClassLoaders, controllerClazz.getClassLoader());
+
+		this.controllersResolver.destroyResources();
+		unregisterMBeans();
+		stopTrainingRun();
+
+		// The executors used again while closing the implementations must not retain the classloader of the application
+		interruptedExecutors.addAll (this.managedExecutors.shutdown());
+
+		// The jars kept open by the scans must not prevent a reloaded application from replacing them (the ones that
+		// other applications have scanned are kept, they may be scanning them now)
+		ClasspathScanner.getScanScope().close (this.classLoader.get());
+
+		synchronized (classLoadersToRelease) {
+			for (ClassLoader usedClassLoader : usedClassLoaders)
+				classLoadersToRelease.add (new WeakReference<ClassLoader> (usedClassLoader));
+		}
+		return new ShutdownReport (components, interruptedExecutors, System.nanoTime() - startTime);
+	}
+
+
+	/**
+	 * Discards the current training run (the recorded classes must not retain the classloader of the application).
+	 */
+	private synchronized void stopTrainingRun() {
+
+		if (this.classListRecorder != null) {
+			this.classListRecorder.stop();
+			this.classListRecorder = null;
+		}
+	}
+
+
+	/**
+	 *    Registers the given bean in the platform {@link MBeanServer}, unless the current pool has already registered one of
+	 * the same type. The beans only keep a weak reference to the pool, so one that has not been unregistered does not
+	 * retain the classloader of the application.
+	 *
+	 * @param type
+	 *    Type of the bean, included in its {@link ObjectName}
+	 * @param bean
+	 *    MBean to register
+	 *
+	 * @return {@link ObjectName} of the registered bean
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	private synchronized ObjectName registerMBean (final String type, final Object bean) throws DependencyInjectionException {
+
+		ObjectName name = this.registeredMBeanNames.get (type);
+		if (name == null) {
+			try {
+				name = new ObjectName ("org.play.dependencyinjection:type=" + type + ",pool="
+						             + Integer.toHexString (System.identityHashCode (this)));
+
+				ManagementFactory.getPlatformMBeanServer().registerMBean (bean, name);
+				this.registeredMBeanNames.put (type, name);
+
+			} catch (JMException e) {
+				throw new DependencyInjectionException (e);
+			}
+		}
+		return name;
+	}
+
+
+	private synchronized void unregisterMBeans() {
+
+		for (ObjectName name : this.registeredMBeanNames.values()) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean (name);
+
+			} catch (JMException e) {}
+		}
+		this.registeredMBeanNames.clear();
+	}
+
+
+	/**
+	 *    Adds the given classloader in classLoaders if it could be collected, that is, if it is not the classloader
+	 * of this library or one of its parents.
+	 * 
+	 * @param classLoaders
+	 *    {@link Set} in which the classloader will be added
+	 * @param classLoader
+	 *    {@link ClassLoader} to check
+	 */
+	private static void addIfReleasable (Set<ClassLoader> classLoaders, ClassLoader classLoader) {
+
+		if (classLoader == null)
+			return;
+
+		for (ClassLoader libraryClassLoader = DependencyInjectionPool.class.getClassLoader(); libraryClassLoader != null;
+				 libraryClassLoader = libraryClassLoader.getParent()) {
+
+			if (libraryClassLoader == classLoader)
+				return;
+		}
+		classLoaders.add (classLoader);
+	}
+
+
+	/**
+	 * Removes the collected classloaders from {@link DependencyInjectionPool#classLoadersToRelease}
+	 * 
+	 * @return true if there are classloaders pending to be collected, false otherwise
+	 */
+	private static boolean releaseCollectedClassLoaders() {
+
+		Iterator<WeakReference<ClassLoader>> iterator = classLoadersToRelease.iterator();
+		while (iterator.hasNext()) {
+
+			if (iterator.next().get() == null)
+				iterator.remove();
+		}
+		return !classLoadersToRelease.isEmpty();
 	}
 
 }
\ No newline at end of file
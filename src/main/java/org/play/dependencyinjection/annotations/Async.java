@@ -0,0 +1,23 @@
+package org.play.dependencyinjection.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ *    Specifies the methods of an {@link Injectable} interface that must be invoked in an executor managed by the
+ * {@link org.play.dependencyinjection.DependencyInjectionPool}, instead of the thread of the caller. They must return
+ * void, a {@link java.util.concurrent.Future} or (if this library was built with Java 11 or later) a CompletableFuture
+ * or a CompletionStage.
+ */
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface Async {
+
+	/**
+	 * Name of the executor (configured in {@link org.play.dependencyinjection.async.ManagedExecutors})
+	 */
+	String executor() default "default";
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package org.play.dependencyinjection.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ *    Specifies the methods of an {@link Injectable} interface that search one element by its key and whose invocations
+ * must be grouped in one invocation of a bulk method of the same interface. The bulk method receives a collection
+ * of keys (a {@link java.util.Collection}, {@link java.util.List} or {@link java.util.Set}) and returns a
+ * {@link java.util.Map} with the element of every found key.
+ *
+ *    If the method returns a {@link java.util.concurrent.Future}, the keys requested by the same thread are grouped
+ * until the result of one of them is needed. Otherwise, the keys requested by all threads during the given window
+ * are grouped, and every caller waits until the bulk method returns.
+ */
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface Batched {
+
+	/**
+	 * Name of the bulk method
+	 */
+	String bulkMethod();
+
+	/**
+	 * Maximum number of keys included in every invocation of the bulk method
+	 */
+	int maxBatchSize() default 100;
+
+	/**
+	 * Milliseconds during which the keys requested by several threads are grouped (0 to group only the concurrent ones)
+	 */
+	long windowMillis() default 5;
+}
\ No newline at end of file
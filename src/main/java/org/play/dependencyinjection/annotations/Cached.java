@@ -0,0 +1,27 @@
+package org.play.dependencyinjection.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ *    Specifies the methods of an {@link Injectable} interface whose results must be stored by their arguments. The
+ * implementation bound to that interface is decorated when it is stored, so the next invocations with the same
+ * arguments (compared with equals) return the stored result without invoking the implementation.
+ */
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface Cached {
+
+	/**
+	 * Maximum number of stored results (the least frequently used ones are evicted first)
+	 */
+	int maximumSize() default 1000;
+
+	/**
+	 * Milliseconds since a result is stored until it expires (0 to never expire)
+	 */
+	long expireAfterWriteMillis() default 0;
+}
\ No newline at end of file
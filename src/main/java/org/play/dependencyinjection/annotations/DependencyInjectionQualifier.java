@@ -14,4 +14,10 @@ import java.lang.annotation.Target;
 public @interface DependencyInjectionQualifier {
 
 	String value() default "";
+
+	/**
+	 *    Position of the current implementation when all implementations of the interface are injected together
+	 * (in a {@link java.util.List} or an array). Lower values go first.
+	 */
+	int priority() default 0;
 }
\ No newline at end of file
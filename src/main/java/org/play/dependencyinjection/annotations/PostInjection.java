@@ -0,0 +1,16 @@
+package org.play.dependencyinjection.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ *    Specifies the methods (without parameters) of an implementation invoked once all its properties annotated with
+ * {@link WithDependencyInjection} have been injected. The implementations it depends on are initialized first.
+ */
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface PostInjection {
+}
\ No newline at end of file
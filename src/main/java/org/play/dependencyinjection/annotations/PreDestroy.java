@@ -0,0 +1,22 @@
+package org.play.dependencyinjection.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ *    Specifies the methods (without parameters) of an implementation invoked when its pool is destroyed. The
+ * implementations that depend on it (through their properties annotated with {@link WithDependencyInjection}) are
+ * destroyed first.
+ */
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface PreDestroy {
+
+	/**
+	 * Milliseconds to wait for the hooks of the implementation (0 to use the timeout of the pool)
+	 */
+	long timeoutMillis() default 0;
+}
\ No newline at end of file
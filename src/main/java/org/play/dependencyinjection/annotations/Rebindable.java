@@ -0,0 +1,16 @@
+package org.play.dependencyinjection.annotations;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ *    Specifies an {@link Injectable} interface whose implementation can be replaced while it is used (for example, by
+ * a kill switch). The properties that point to it receive a switch whose implementation is replaced with only one
+ * write, so the callers never block and never see part of the change.
+ */
+@Target(TYPE)
+@Retention(RUNTIME)
+public @interface Rebindable {}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.play.dependencyinjection.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ *    Specifies the methods of an {@link Injectable} interface whose latency must be recorded (all of them if the interface
+ * is annotated). The implementation bound to that interface is decorated when it is stored, and the latencies are
+ * published by {@link org.play.dependencyinjection.metrics.MethodLatencyMXBean}.
+ */
+@Target({TYPE, METHOD})
+@Retention(RUNTIME)
+public @interface Timed {}
\ No newline at end of file
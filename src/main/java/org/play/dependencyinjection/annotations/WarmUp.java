@@ -0,0 +1,21 @@
+package org.play.dependencyinjection.annotations;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ *    Specifies the methods (without parameters) of an implementation that exercise its hot code paths, invoked after
+ * all the methods annotated with {@link PostInjection}, so the JIT compiler has optimized them before the first request.
+ */
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface WarmUp {
+
+	/**
+	 * Number of times the method is invoked
+	 */
+	int iterations() default 1;
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+package org.play.dependencyinjection.async;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.play.dependencyinjection.annotations.Async;
+import org.play.dependencyinjection.decorators.ImplementationDecorator;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+/**
+ *    Decorator of an implementation bound to an interface with {@link Async} methods, that invokes those methods in an
+ * executor of the {@link ManagedExecutors} of the pool. The caller receives:
+ *
+ *  - Nothing, if the method returns void.
+ *  - A {@link Future} with the result of the {@link Future} returned by the implementation.
+ *  - A CompletableFuture (that is also a CompletionStage) completed with the result of the one returned by the implementation.
+ *    It needs the jar built with Java 11 or later.
+ *
+ *    The rest of methods are delegated directly.
+ */
+public final class AsyncDecorator extends ImplementationDecorator {
+
+	/**
+	 * Creates the CompletableFutures (only included in the jar when it is built with Java 11 or later)
+	 */
+	private static final String COMPLETION_STAGE_RESULT_CLASS_NAME = "org.play.dependencyinjection.async.CompletionStageResult";
+
+	private static final AsyncResult VOID_RESULT = new AsyncResult() {
+
+		@Override
+		public Object submit (final ExecutorService executor, final Callable<Object> invocation) {
+
+			executor.execute (new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						invocation.call();
+
+					} catch (RuntimeException e) {
+						throw e;
+					} catch (Exception e) {
+						throw new UndeclaredThrowableException (e);
+					}
+				}
+			});
+			return null;
+		}
+	};
+
+	private static final AsyncResult FUTURE_RESULT = new AsyncResult() {
+
+		@Override
+		public Object submit (final ExecutorService executor, final Callable<Object> invocation) {
+
+			return executor.submit (new Callable<Object>() {
+
+				@Override
+				public Object call() throws Exception {
+
+					Object result = invocation.call();
+					if (!(result instanceof Future))
+						return result;
+
+					try {
+						return ((Future<?>) result).get();
+
+					} catch (ExecutionException e) {
+						if (e.getCause() instanceof Exception)
+							throw (Exception) e.getCause();
+
+						throw e;
+					}
+				}
+			});
+		}
+	};
+
+	/**
+	 * How every {@link Async} method is submitted
+	 */
+	private final Map<Method, AsyncResult> results;
+
+	/**
+	 * Executor of every {@link Async} method
+	 */
+	private final Map<Method, String> executorNames;
+
+	/**
+	 * Executors of the pool that manages the implementation
+	 */
+	private volatile ManagedExecutors executors;
+
+
+	private AsyncDecorator (final Object implementation, final Map<Method, AsyncResult> results, final Map<Method, String> executorNames
+			               ,final ManagedExecutors executors) {
+
+		super (implementation);
+		this.results       = results;
+		this.executorNames = executorNames;
+		this.executors     = executors;
+	}
+
+
+	/**
+	 *    Returns a decorator of the given implementation if any method of the given interface is annotated with
+	 * {@link Async}, or the given implementation otherwise.
+	 *
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param implementation
+	 *    Implementation (or decorator) bound to the given interface
+	 * @param executors
+	 *    {@link ManagedExecutors} of the pool that manages the implementation
+	 *
+	 * @return the decorator or the given implementation
+	 *
+	 * @throws DependencyInjectionException if an {@link Async} method returns a type that is not supported
+	 */
+	public static Object decorate (final Class<?> interfaceClazz, final Object implementation, final ManagedExecutors executors)
+			                          throws DependencyInjectionException {
+
+		if (implementation == null || !interfaceClazz.isInterface() || find (implementation, AsyncDecorator.class) != null)
+			return implementation;
+
+		Map<Method, AsyncResult> results = new HashMap<Method, AsyncResult>();
+		Map<Method, String> executorNames = new HashMap<Method, String>();
+		for (Method method : interfaceClazz.getMethods()) {
+
+			Async async = method.getAnnotation (Async.class);
+			if (async != null) {
+
+				results.put (method, resultOf (interfaceClazz, method));
+				executorNames.put (method, async.executor());
+			}
+		}
+		if (results.isEmpty())
+			return implementation;
+
+		return newProxy (interfaceClazz, implementation, new AsyncDecorator (implementation, results, executorNames, executors));
+	}
+
+
+	/**
+	 * Makes the {@link AsyncDecorator} used by the given implementation (if any) submit its methods to the given executors.
+	 *
+	 * @param implementation
+	 *    Implementation stored in a resolver
+	 * @param executors
+	 *    {@link ManagedExecutors} of the pool that manages the implementation
+	 */
+	public static void useExecutors (final Object implementation, final ManagedExecutors executors) {
+
+		AsyncDecorator decorator = find (implementation, AsyncDecorator.class);
+		if (decorator != null)
+			decorator.executors = executors;
+	}
+
+
+	@Override
+	protected Object invokeDecorated (final Object proxy, final Method method, final Object[] args) throws Throwable {
+
+		AsyncResult result = results.get (method);
+		if (result == null)
+			return invokeImplementation (method, args);
+
+		return result.submit (executors.get (executorNames.get (method)), new Callable<Object>() {
+
+			@Override
+			public Object call() throws Exception {
+				try {
+					return invokeImplementation (method, args);
+
+				} catch (Exception | Error e) {
+					throw e;
+				} catch (Throwable t) {
+					throw new UndeclaredThrowableException (t);
+				}
+			}
+		});
+	}
+
+
+	private static AsyncResult resultOf (final Class<?> interfaceClazz, final Method method) throws DependencyInjectionException {
+
+		Class<?> returnType = method.getReturnType();
+		if (returnType == void.class)
+			return VOID_RESULT;
+
+		if (returnType == Future.class)
+			return FUTURE_RESULT;
+
+		if (returnType.getName().equals ("java.util.concurrent.CompletableFuture")
+				|| returnType.getName().equals ("java.util.concurrent.CompletionStage")) {
+			try {
+				return (AsyncResult) Class.forName (COMPLETION_STAGE_RESULT_CLASS_NAME).getDeclaredConstructor().newInstance();
+
+			} catch (InvocationTargetException e) {
+				throw new DependencyInjectionException ("The result of the method: " + method.getName() + " of the interface: "
+						                              + interfaceClazz.getCanonicalName() + " could not be created", e.getCause());
+
+			} catch (Exception | LinkageError e) {
+				throw new DependencyInjectionException ("The method: " + method.getName() + " of the interface: "
+						                              + interfaceClazz.getCanonicalName() + " returns a " + returnType.getSimpleName()
+						                              + ", that needs this library built with Java 11 or later", e);
+			}
+		}
+		throw new DependencyInjectionException ("The asynchronous method: " + method.getName() + " of the interface: "
+				                              + interfaceClazz.getCanonicalName() + " must return void, a Future, a CompletableFuture"
+				                              + " or a CompletionStage");
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package org.play.dependencyinjection.async;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Submits the invocation of an {@link org.play.dependencyinjection.annotations.Async} method and returns the object expected by its caller.
+ */
+interface AsyncResult {
+
+	/**
+	 * Submits the given invocation to the given executor.
+	 *
+	 * @param executor
+	 *    {@link ExecutorService} in which the invocation is executed
+	 * @param invocation
+	 *    Invocation of the implementation (it returns the result of the implementation)
+	 *
+	 * @return the object returned to the caller
+	 */
+	Object submit (ExecutorService executor, Callable<Object> invocation);
+
+}
\ No newline at end of file
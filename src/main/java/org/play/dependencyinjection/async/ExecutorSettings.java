@@ -0,0 +1,131 @@
+package org.play.dependencyinjection.async;
+
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+/**
+ * Configuration of an executor managed by {@link ManagedExecutors}.
+ */
+public final class ExecutorSettings {
+
+	/**
+	 * Maximum number of threads (they are stopped when they are idle for a minute)
+	 */
+	private int threads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Maximum number of tasks waiting for a thread
+	 */
+	private int queueCapacity = 1000;
+
+	/**
+	 * What to do when the queue is full
+	 */
+	private RejectionPolicy rejectionPolicy = RejectionPolicy.ABORT;
+
+	/**
+	 * Milliseconds to wait for the submitted tasks when the executor is stopped
+	 */
+	private long shutdownTimeoutMillis = 5000;
+
+
+	/**
+	 * Sets the maximum number of threads (by default, the number of available processors).
+	 *
+	 * @param threads
+	 *    Number of threads (greater than 0)
+	 *
+	 * @return instance of {@link ExecutorSettings}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public ExecutorSettings threads (final int threads) throws DependencyInjectionException {
+
+		if (threads < 1)
+			throw new DependencyInjectionException ("The number of threads must be greater than 0");
+
+		this.threads = threads;
+		return this;
+	}
+
+
+	/**
+	 * Sets the maximum number of tasks waiting for a thread (by default 1000).
+	 *
+	 * @param queueCapacity
+	 *    Capacity of the queue (0 to hand over every task directly to a thread)
+	 *
+	 * @return instance of {@link ExecutorSettings}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public ExecutorSettings queueCapacity (final int queueCapacity) throws DependencyInjectionException {
+
+		if (queueCapacity < 0)
+			throw new DependencyInjectionException ("The capacity of the queue must not be negative");
+
+		this.queueCapacity = queueCapacity;
+		return this;
+	}
+
+
+	/**
+	 * Sets what to do with a task when the queue is full (by default {@link RejectionPolicy#ABORT}).
+	 *
+	 * @param rejectionPolicy
+	 *    {@link RejectionPolicy} to use
+	 *
+	 * @return instance of {@link ExecutorSettings}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public ExecutorSettings rejectionPolicy (final RejectionPolicy rejectionPolicy) throws DependencyInjectionException {
+
+		if (rejectionPolicy == null)
+			throw new DependencyInjectionException ("The given rejectionPolicy must not be null");
+
+		this.rejectionPolicy = rejectionPolicy;
+		return this;
+	}
+
+
+	/**
+	 *    Sets how long the submitted tasks are waited for when the executor is stopped (by default 5 seconds). The tasks
+	 * that have not finished then are interrupted.
+	 *
+	 * @param shutdownTimeoutMillis
+	 *    Milliseconds to wait (0 to interrupt the tasks directly)
+	 *
+	 * @return instance of {@link ExecutorSettings}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public ExecutorSettings shutdownTimeoutMillis (final long shutdownTimeoutMillis) throws DependencyInjectionException {
+
+		if (shutdownTimeoutMillis < 0)
+			throw new DependencyInjectionException ("The shutdown timeout must not be negative");
+
+		this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+		return this;
+	}
+
+
+	public int getThreads() {
+		return threads;
+	}
+
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+
+	public RejectionPolicy getRejectionPolicy() {
+		return rejectionPolicy;
+	}
+
+
+	public long getShutdownTimeoutMillis() {
+		return shutdownTimeoutMillis;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package org.play.dependencyinjection.async;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.metrics.LatencyHistogram;
+
+/**
+ *    Implementation of {@link ExecutorUsageMXBean}, that publishes the queues, threads and latencies of the executors
+ * created by the {@link ManagedExecutors} of its pool (an executor appears once it has been used).
+ */
+public class ExecutorUsage implements ExecutorUsageMXBean {
+
+	private final WeakReference<DependencyInjectionPool> pool;
+
+
+	public ExecutorUsage (DependencyInjectionPool pool) {
+
+		this.pool = new WeakReference<DependencyInjectionPool> (pool);
+	}
+
+
+	@Override
+	public Map<String, Long> getQueueDepth() {
+
+		DependencyInjectionPool currentPool = pool.get();
+		return (currentPool == null ? Collections.<String, Long>emptyMap() : currentPool.getManagedExecutors().getQueueDepths());
+	}
+
+
+	@Override
+	public Map<String, Long> getActiveCount() {
+
+		DependencyInjectionPool currentPool = pool.get();
+		return (currentPool == null ? Collections.<String, Long>emptyMap() : currentPool.getManagedExecutors().getActiveCounts());
+	}
+
+
+	@Override
+	public Map<String, Long> getCompletedTaskCount() {
+
+		DependencyInjectionPool currentPool = pool.get();
+		return (currentPool == null ? Collections.<String, Long>emptyMap() : currentPool.getManagedExecutors().getCompletedTaskCounts());
+	}
+
+
+	@Override
+	public Map<String, Long> getRejectedTaskCount() {
+
+		DependencyInjectionPool currentPool = pool.get();
+		return (currentPool == null ? Collections.<String, Long>emptyMap() : currentPool.getManagedExecutors().getRejectedTaskCounts());
+	}
+
+
+	@Override
+	public Map<String, Long> getPercentile99QueueWaitNanos() {
+
+		DependencyInjectionPool currentPool = pool.get();
+		return (currentPool == null ? Collections.<String, Long>emptyMap() : percentile99 (currentPool.getManagedExecutors().getQueueWaits()));
+	}
+
+
+	@Override
+	public Map<String, Long> getMeanTaskNanos() {
+
+		DependencyInjectionPool currentPool = pool.get();
+		if (currentPool == null)
+			return Collections.<String, Long>emptyMap();
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, LatencyHistogram> histogram : currentPool.getManagedExecutors().getTaskDurations().entrySet())
+			result.put (histogram.getKey(), histogram.getValue().getMeanNanos());
+
+		return result;
+	}
+
+
+	@Override
+	public Map<String, Long> getPercentile99TaskNanos() {
+
+		DependencyInjectionPool currentPool = pool.get();
+		return (currentPool == null ? Collections.<String, Long>emptyMap() : percentile99 (currentPool.getManagedExecutors().getTaskDurations()));
+	}
+
+
+	private static Map<String, Long> percentile99 (final Map<String, LatencyHistogram> histograms) {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, LatencyHistogram> histogram : histograms.entrySet())
+			result.put (histogram.getKey(), histogram.getValue().getValueAtPercentile (99));
+
+		return result;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package org.play.dependencyinjection.async;
+
+import java.util.Map;
+
+/**
+ *    Publishes through JMX the usage of the {@link ManagedExecutors} of a {@link org.play.dependencyinjection.DependencyInjectionPool}.
+ * The keys of every attribute are the names of the executors. The latencies are in nanoseconds.
+ */
+public interface ExecutorUsageMXBean {
+
+	/**
+	 * Returns the number of tasks waiting in the queue of every executor.
+	 */
+	Map<String, Long> getQueueDepth();
+
+	/**
+	 * Returns the number of threads executing a task.
+	 */
+	Map<String, Long> getActiveCount();
+
+	/**
+	 * Returns the number of finished tasks.
+	 */
+	Map<String, Long> getCompletedTaskCount();
+
+	/**
+	 * Returns the number of tasks rejected because the queue was full.
+	 */
+	Map<String, Long> getRejectedTaskCount();
+
+	/**
+	 * Returns the 99th percentile of the time that the tasks have waited in the queue.
+	 */
+	Map<String, Long> getPercentile99QueueWaitNanos();
+
+	/**
+	 * Returns the mean time that the tasks have been running.
+	 */
+	Map<String, Long> getMeanTaskNanos();
+
+	/**
+	 * Returns the 99th percentile of the time that the tasks have been running.
+	 */
+	Map<String, Long> getPercentile99TaskNanos();
+
+}
\ No newline at end of file
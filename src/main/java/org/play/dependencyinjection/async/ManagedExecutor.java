@@ -0,0 +1,117 @@
+package org.play.dependencyinjection.async;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.play.dependencyinjection.metrics.LatencyHistogram;
+
+/**
+ *    Executor created by {@link ManagedExecutors}, that records how long every task waits in the queue and how long it
+ * runs. Only its {@link ManagedExecutors} can stop it, so the implementations that receive it cannot shut down an
+ * executor shared with other ones.
+ */
+final class ManagedExecutor extends ThreadPoolExecutor {
+
+	private final long shutdownTimeoutMillis;
+
+	private final LatencyHistogram queueWaits = new LatencyHistogram();
+
+	private final LatencyHistogram taskDurations = new LatencyHistogram();
+
+
+	ManagedExecutor (final ExecutorSettings settings, final BlockingQueue<Runnable> queue, final ThreadFactory threadFactory
+			        ,final RejectedExecutionHandler rejectionHandler, final long keepAliveSeconds) {
+
+		super (settings.getThreads(), settings.getThreads(), keepAliveSeconds, TimeUnit.SECONDS, queue, threadFactory, rejectionHandler);
+		this.shutdownTimeoutMillis = settings.getShutdownTimeoutMillis();
+	}
+
+
+	@Override
+	public void execute (final Runnable task) {
+
+		// The tasks submitted with submit or invokeAll are executed using this method too
+		super.execute (new TimedTask (task));
+	}
+
+
+	@Override
+	public void shutdown() {
+
+		throw new UnsupportedOperationException ("This executor is managed by the pool, that stops it in destroyResources");
+	}
+
+
+	@Override
+	public List<Runnable> shutdownNow() {
+
+		throw new UnsupportedOperationException ("This executor is managed by the pool, that stops it in destroyResources");
+	}
+
+
+	LatencyHistogram getQueueWaits() {
+		return queueWaits;
+	}
+
+
+	LatencyHistogram getTaskDurations() {
+		return taskDurations;
+	}
+
+
+	/**
+	 *    Stops accepting tasks and waits until the submitted ones have finished, interrupting them if they have not
+	 * finished in the configured timeout.
+	 *
+	 * @return false if the tasks have been interrupted
+	 */
+	boolean stop() {
+
+		super.shutdown();
+		try {
+			if (awaitTermination (shutdownTimeoutMillis, TimeUnit.MILLISECONDS))
+				return true;
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		super.shutdownNow();
+		return false;
+	}
+
+
+	/**
+	 * Records the latencies of a task.
+	 */
+	private final class TimedTask implements Runnable {
+
+		private final Runnable task;
+
+		private final long submitTime = System.nanoTime();
+
+
+		TimedTask (final Runnable task) {
+
+			this.task = task;
+		}
+
+
+		@Override
+		public void run() {
+
+			long startTime = System.nanoTime();
+			queueWaits.record (startTime - submitTime);
+			try {
+				task.run();
+
+			} finally {
+				taskDurations.record (System.nanoTime() - startTime);
+			}
+		}
+	}
+
+}
\ No newline at end of file
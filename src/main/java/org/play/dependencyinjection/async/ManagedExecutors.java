@@ -0,0 +1,415 @@
+package org.play.dependencyinjection.async;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.metrics.LatencyHistogram;
+
+/**
+ *    Executors of a {@link org.play.dependencyinjection.DependencyInjectionPool} identified by their name, used by the
+ * {@link org.play.dependencyinjection.annotations.Async} methods and injected in the {@link ExecutorService} and
+ * {@link Executor} properties annotated with {@link org.play.dependencyinjection.annotations.WithDependencyInjection}
+ * (whose value is the name of the executor). Every executor has a bounded queue and is created the first time it is
+ * used, with the {@link ExecutorSettings} configured for its name. Only the {@link ManagedExecutors#DEFAULT_EXECUTOR}
+ * can be used without being configured (with the default settings).
+ *
+ *    Their threads are daemon threads whose context classloader is the one of the pool, so they find the same pool
+ * as the threads of the application. The executors can only be stopped by {@link ManagedExecutors#shutdown()}.
+ */
+public final class ManagedExecutors {
+
+	/**
+	 * Name of the executor used by default
+	 */
+	public static final String DEFAULT_EXECUTOR = "default";
+
+	/**
+	 * Prefix of the properties used by {@link ManagedExecutors#configure(Properties)}
+	 */
+	public static final String PROPERTY_PREFIX = "executor.";
+
+	/**
+	 * Keep-alive time of the idle threads
+	 */
+	private static final long KEEP_ALIVE_SECONDS = 60;
+
+	private final WeakReference<ClassLoader> classLoader;
+
+	private final Map<String, ExecutorSettings> settingsByName = new ConcurrentHashMap<String, ExecutorSettings>();
+
+	private final Map<String, ManagedExecutor> executorsByName = new ConcurrentHashMap<String, ManagedExecutor>();
+
+	/**
+	 * Executors in the order in which they were created
+	 */
+	private final List<ManagedExecutor> executorsInCreationOrder = new ArrayList<ManagedExecutor>();
+
+
+	public ManagedExecutors (final ClassLoader classLoader) {
+
+		this.classLoader = new WeakReference<ClassLoader> (classLoader);
+	}
+
+
+	/**
+	 * Configures the executor with the given name (it must be done before the executor is used for the first time).
+	 *
+	 * @param name
+	 *    Name of the executor
+	 * @param settings
+	 *    {@link ExecutorSettings} of the executor
+	 *
+	 * @return instance of {@link ManagedExecutors}
+	 *
+	 * @throws DependencyInjectionException if the executor has already been created
+	 */
+	public synchronized ManagedExecutors configure (final String name, final ExecutorSettings settings) throws DependencyInjectionException {
+
+		if (name == null || settings == null)
+			throw new DependencyInjectionException ((name     == null ? "The given name must not be null. "     : "")
+                                                  + (settings == null ? "The given settings must not be null. " : ""));
+
+		if (executorsByName.containsKey (name))
+			throw new DependencyInjectionException ("The executor: " + name + " is already in use");
+
+		settingsByName.put (name, settings);
+		return this;
+	}
+
+
+	/**
+	 *    Configures the executors included in the given properties, whose keys are: executor.&lt;name&gt;.&lt;setting&gt;,
+	 * being the setting one of: threads, queueCapacity, rejectionPolicy or shutdownTimeoutMillis. For example:
+	 *
+	 *    executor.io-pool.threads=16
+	 *    executor.io-pool.queueCapacity=500
+	 *
+	 *    The settings not included keep their default values and the rest of properties are ignored.
+	 *
+	 * @param properties
+	 *    {@link Properties} with the configuration of the executors
+	 *
+	 * @return instance of {@link ManagedExecutors}
+	 *
+	 * @throws DependencyInjectionException if a value is not valid or an executor has already been created (in that case,
+	 *                                      none of the executors is configured)
+	 */
+	public synchronized ManagedExecutors configure (final Properties properties) throws DependencyInjectionException {
+
+		if (properties == null)
+			throw new DependencyInjectionException ("The given properties must not be null");
+
+		Map<String, ExecutorSettings> settingsOfProperties = new HashMap<String, ExecutorSettings>();
+		for (String key : properties.stringPropertyNames()) {
+
+			int settingStart = key.lastIndexOf ('.');
+			if (!key.startsWith (PROPERTY_PREFIX) || settingStart <= PROPERTY_PREFIX.length())
+				continue;
+
+			String name = key.substring (PROPERTY_PREFIX.length(), settingStart);
+			ExecutorSettings settings = settingsOfProperties.get (name);
+			if (settings == null) {
+				settings = new ExecutorSettings();
+				settingsOfProperties.put (name, settings);
+			}
+			applySetting (settings, key, key.substring (settingStart + 1), properties.getProperty (key).trim());
+		}
+		// Nothing is configured if any executor has already been created
+		for (String name : settingsOfProperties.keySet()) {
+
+			if (executorsByName.containsKey (name))
+				throw new DependencyInjectionException ("The executor: " + name + " is already in use");
+		}
+		settingsByName.putAll (settingsOfProperties);
+		return this;
+	}
+
+
+	/**
+	 * Returns true if the properties of the given type receive an executor managed by the pool.
+	 *
+	 * @param type
+	 *    Type of a property annotated with {@link org.play.dependencyinjection.annotations.WithDependencyInjection}
+	 *
+	 * @return true if the given type is {@link ExecutorService} or {@link Executor}
+	 */
+	public static boolean isInjectable (final Class<?> type) {
+
+		return type == ExecutorService.class || type == Executor.class;
+	}
+
+
+	/**
+	 * Returns true if the executor with the given name can be used: it has been configured or it is the default one.
+	 *
+	 * @param name
+	 *    Name of the executor
+	 *
+	 * @return true if the executor can be used, false otherwise
+	 */
+	public boolean isConfigured (final String name) {
+
+		return DEFAULT_EXECUTOR.equals (name) || (name != null && settingsByName.containsKey (name));
+	}
+
+
+	/**
+	 * Returns the executor with the given name, creating it if it does not exist.
+	 *
+	 * @param name
+	 *    Name of the executor
+	 *
+	 * @return {@link ExecutorService}
+	 *
+	 * @throws DependencyInjectionException if the executor has not been configured (and it is not the default one)
+	 */
+	public ExecutorService get (final String name) throws DependencyInjectionException {
+
+		ManagedExecutor executor = executorsByName.get (name);
+		if (executor != null)
+			return executor;
+
+		if (!isConfigured (name))
+			throw new DependencyInjectionException ("The executor: " + name + " has not been configured");
+
+		return create (name);
+	}
+
+
+	/**
+	 * Returns the number of tasks waiting in the queue of every executor.
+	 *
+	 * @return {@link Map} with the name of every executor and the size of its queue
+	 */
+	public Map<String, Long> getQueueDepths() {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, ManagedExecutor> executor : executorsByName.entrySet())
+			result.put (executor.getKey(), (long) executor.getValue().getQueue().size());
+
+		return result;
+	}
+
+
+	/**
+	 * Returns the number of threads executing a task in every executor.
+	 *
+	 * @return {@link Map} with the name of every executor and its number of active threads
+	 */
+	public Map<String, Long> getActiveCounts() {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, ManagedExecutor> executor : executorsByName.entrySet())
+			result.put (executor.getKey(), (long) executor.getValue().getActiveCount());
+
+		return result;
+	}
+
+
+	/**
+	 * Returns the number of tasks finished by every executor.
+	 *
+	 * @return {@link Map} with the name of every executor and its number of completed tasks
+	 */
+	public Map<String, Long> getCompletedTaskCounts() {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, ManagedExecutor> executor : executorsByName.entrySet())
+			result.put (executor.getKey(), executor.getValue().getCompletedTaskCount());
+
+		return result;
+	}
+
+
+	/**
+	 * Returns the number of tasks rejected by every executor because its queue was full.
+	 *
+	 * @return {@link Map} with the name of every executor and its number of rejected tasks
+	 */
+	public Map<String, Long> getRejectedTaskCounts() {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, ManagedExecutor> executor : executorsByName.entrySet())
+			result.put (executor.getKey(), ((CountingRejectionHandler) executor.getValue().getRejectedExecutionHandler()).count.get());
+
+		return result;
+	}
+
+
+	/**
+	 * Returns the time that the tasks of every executor have waited in its queue.
+	 *
+	 * @return {@link Map} with the name of every executor and its {@link LatencyHistogram}
+	 */
+	public Map<String, LatencyHistogram> getQueueWaits() {
+
+		Map<String, LatencyHistogram> result = new TreeMap<String, LatencyHistogram>();
+		for (Map.Entry<String, ManagedExecutor> executor : executorsByName.entrySet())
+			result.put (executor.getKey(), executor.getValue().getQueueWaits());
+
+		return result;
+	}
+
+
+	/**
+	 * Returns the time that the tasks of every executor have been running.
+	 *
+	 * @return {@link Map} with the name of every executor and its {@link LatencyHistogram}
+	 */
+	public Map<String, LatencyHistogram> getTaskDurations() {
+
+		Map<String, LatencyHistogram> result = new TreeMap<String, LatencyHistogram>();
+		for (Map.Entry<String, ManagedExecutor> executor : executorsByName.entrySet())
+			result.put (executor.getKey(), executor.getValue().getTaskDurations());
+
+		return result;
+	}
+
+
+	/**
+	 *    Stops all executors, from the last created to the first one: every executor stops accepting tasks and waits
+	 * for the submitted ones during its shutdown timeout, interrupting them after that. The executors are created again
+	 * if they are used later.
+	 *
+	 * @return names of the executors whose tasks were interrupted
+	 */
+	public synchronized List<String> shutdown() {
+
+		List<String> interruptedExecutors = new ArrayList<String>();
+		for (int i = executorsInCreationOrder.size() - 1; i >= 0; i--) {
+
+			ManagedExecutor executor = executorsInCreationOrder.get (i);
+			if (!executor.stop())
+				interruptedExecutors.add (((ManagedThreadFactory) executor.getThreadFactory()).executorName);
+		}
+		executorsInCreationOrder.clear();
+		executorsByName.clear();
+		return interruptedExecutors;
+	}
+
+
+	private synchronized ExecutorService create (final String name) {
+
+		ManagedExecutor executor = executorsByName.get (name);
+		if (executor == null) {
+
+			ExecutorSettings settings = settingsByName.get (name);
+			if (settings == null)
+				settings = new ExecutorSettings();   // The default executor
+
+			BlockingQueue<Runnable> queue = (settings.getQueueCapacity() == 0 ? new SynchronousQueue<Runnable>()
+					                                                          : new ArrayBlockingQueue<Runnable> (settings.getQueueCapacity()));
+
+			executor = new ManagedExecutor (settings, queue, new ManagedThreadFactory (name, classLoader)
+					                       ,new CountingRejectionHandler (settings.getRejectionPolicy() == RejectionPolicy.CALLER_RUNS
+					                                                          ? new ThreadPoolExecutor.CallerRunsPolicy()
+					                                                          : new ThreadPoolExecutor.AbortPolicy())
+					                       ,KEEP_ALIVE_SECONDS);
+			executor.allowCoreThreadTimeOut (true);
+			executorsInCreationOrder.add (executor);
+			executorsByName.put (name, executor);
+		}
+		return executor;
+	}
+
+
+	private static void applySetting (final ExecutorSettings settings, final String key, final String setting
+			                         ,final String value) throws DependencyInjectionException {
+		try {
+			if ("threads".equals (setting))
+				settings.threads (Integer.parseInt (value));
+
+			else if ("queueCapacity".equals (setting))
+				settings.queueCapacity (Integer.parseInt (value));
+
+			else if ("rejectionPolicy".equals (setting))
+				settings.rejectionPolicy (RejectionPolicy.valueOf (value));
+
+			else if ("shutdownTimeoutMillis".equals (setting))
+				settings.shutdownTimeoutMillis (Long.parseLong (value));
+
+			else
+				throw new DependencyInjectionException ("The setting: " + setting + " of the property: " + key + " does not exist");
+
+		} catch (IllegalArgumentException e) {
+			throw new DependencyInjectionException ("The property: " + key + " has a wrong value: " + value, e);
+		}
+	}
+
+
+	/**
+	 * Counts the rejected tasks before applying the {@link RejectionPolicy}.
+	 */
+	private static final class CountingRejectionHandler implements RejectedExecutionHandler {
+
+		private final AtomicLong count = new AtomicLong();
+
+		private final RejectedExecutionHandler policy;
+
+
+		CountingRejectionHandler (final RejectedExecutionHandler policy) {
+
+			this.policy = policy;
+		}
+
+
+		@Override
+		public void rejectedExecution (Runnable task, ThreadPoolExecutor executor) {
+
+			count.incrementAndGet();
+			policy.rejectedExecution (task, executor);
+		}
+	}
+
+
+	private static final class ManagedThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadNumber = new AtomicInteger (1);
+
+		private final String executorName;
+
+		/**
+		 * Classloader of the pool, shared with {@link ManagedExecutors} (the idle threads of an executor must not keep it alive)
+		 */
+		private final WeakReference<ClassLoader> contextClassLoader;
+
+
+		ManagedThreadFactory (final String executorName, final WeakReference<ClassLoader> contextClassLoader) {
+
+			this.executorName       = executorName;
+			this.contextClassLoader = contextClassLoader;
+		}
+
+
+		@Override
+		public Thread newThread (Runnable task) {
+
+			Thread thread = new Thread (task, "dependency-injection-" + executorName + "-" + threadNumber.getAndIncrement());
+			thread.setDaemon (true);
+
+			ClassLoader classLoader = contextClassLoader.get();
+			if (classLoader != null)
+				thread.setContextClassLoader (classLoader);
+
+			return thread;
+		}
+	}
+
+}
\ No newline at end of file
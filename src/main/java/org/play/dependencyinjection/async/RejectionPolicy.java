@@ -0,0 +1,18 @@
+package org.play.dependencyinjection.async;
+
+/**
+ *    What an executor managed by {@link ManagedExecutors} does with a task when all its threads are busy and its queue is
+ * full. The tasks are never discarded, because their callers would wait for their results forever.
+ */
+public enum RejectionPolicy {
+
+	/**
+	 * The invocation throws a {@link java.util.concurrent.RejectedExecutionException}
+	 */
+	ABORT,
+
+	/**
+	 * The task is executed by the thread of the caller (slowing it down until the executor has room again)
+	 */
+	CALLER_RUNS
+}
\ No newline at end of file
@@ -0,0 +1,423 @@
+package org.play.dependencyinjection.batch;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.play.dependencyinjection.annotations.Batched;
+import org.play.dependencyinjection.decorators.ImplementationDecorator;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+/**
+ *    Decorator of an implementation bound to an interface with {@link Batched} methods, that groups the keys requested
+ * to those methods and sends them to their bulk method, so an implementation that searches in a database does only
+ * one query instead of one per key. Every caller receives the element of its own key (null if the bulk method has not
+ * returned it). The rest of methods are delegated directly.
+ *
+ *  - The methods that return a {@link Future} group the keys requested by the same thread (for example, while a request
+ *    is processed) until the result of one of them is needed or the batch is full. The batches of the threads that have
+ *    finished are discarded, and the pending ones are dispatched when the pool is destroyed.
+ *  - The rest of methods group the keys requested by all threads during a time window: the first caller waits until
+ *    the window finishes (or the batch is full) and invokes the bulk method, the others wait for its result.
+ */
+public final class BatchedDecorator extends ImplementationDecorator {
+
+	/**
+	 * Loader of every {@link Batched} method of the interface
+	 */
+	private final Map<Method, BatchLoader> loaders = new HashMap<Method, BatchLoader>();
+
+
+	private BatchedDecorator (final Object implementation) {
+
+		super (implementation);
+	}
+
+
+	/**
+	 *    Returns a decorator of the given implementation if any method of the given interface is annotated with
+	 * {@link Batched}, or the given implementation otherwise.
+	 *
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param implementation
+	 *    Implementation (or decorator) bound to the given interface
+	 *
+	 * @return the decorator or the given implementation
+	 *
+	 * @throws DependencyInjectionException if a {@link Batched} method or its bulk method are not valid
+	 */
+	public static Object decorate (final Class<?> interfaceClazz, final Object implementation) throws DependencyInjectionException {
+
+		if (implementation == null || !interfaceClazz.isInterface() || find (implementation, BatchedDecorator.class) != null)
+			return implementation;
+
+		BatchedDecorator decorator = new BatchedDecorator (implementation);
+		for (Method method : interfaceClazz.getMethods()) {
+
+			Batched batched = method.getAnnotation (Batched.class);
+			if (batched != null)
+				decorator.loaders.put (method, decorator.new BatchLoader (method, bulkMethodOf (interfaceClazz, method, batched), batched));
+		}
+		if (decorator.loaders.isEmpty())
+			return implementation;
+
+		return newProxy (interfaceClazz, implementation, decorator);
+	}
+
+
+	/**
+	 *    Sends to their bulk methods the pending keys of the {@link Batched} methods that return a {@link Future}, requested
+	 * by any thread, if the given implementation is decorated by a {@link BatchedDecorator}.
+	 *
+	 * @param implementation
+	 *    Implementation stored in a resolver
+	 */
+	public static void dispatchPending (final Object implementation) {
+
+		BatchedDecorator decorator = find (implementation, BatchedDecorator.class);
+		if (decorator != null) {
+			for (BatchLoader loader : decorator.loaders.values())
+				loader.dispatchPending();
+		}
+	}
+
+
+	@Override
+	protected Object invokeDecorated (final Object proxy, final Method method, final Object[] args) throws Throwable {
+
+		BatchLoader loader = loaders.get (method);
+		return (loader == null ? invokeImplementation (method, args) : loader.load (args[0]));
+	}
+
+
+	/**
+	 * Returns the bulk method of the given {@link Batched} method, checking both of them.
+	 */
+	private static Method bulkMethodOf (final Class<?> interfaceClazz, final Method method, final Batched batched) throws DependencyInjectionException {
+
+		String methodName = "The batched method: " + method.getName() + " of the interface: " + interfaceClazz.getCanonicalName();
+		if (method.getParameterTypes().length != 1)
+			throw new DependencyInjectionException (methodName + " must receive only one key");
+
+		if (method.getReturnType() == void.class || method.getReturnType().isPrimitive())
+			throw new DependencyInjectionException (methodName + " must return an object (null is returned for the keys not found)");
+
+		if (Future.class.isAssignableFrom (method.getReturnType()) && method.getReturnType() != Future.class)
+			throw new DependencyInjectionException (methodName + " must return a Future, and not a subtype of it");
+
+		if (batched.maxBatchSize() < 1 || batched.windowMillis() < 0)
+			throw new DependencyInjectionException (methodName + " must have a maximum batch size greater than 0 and a window"
+					                              + " equal to or greater than 0");
+
+		for (Method bulkMethod : interfaceClazz.getMethods()) {
+
+			if (!bulkMethod.getName().equals (batched.bulkMethod()) || bulkMethod.getParameterTypes().length != 1)
+				continue;
+
+			Class<?> keysType = bulkMethod.getParameterTypes()[0];
+			if (Map.class.isAssignableFrom (bulkMethod.getReturnType())
+					&& (keysType.isAssignableFrom (ArrayList.class) || keysType.isAssignableFrom (LinkedHashSet.class)))
+				return bulkMethod;
+		}
+		throw new DependencyInjectionException (methodName + " needs the bulk method: " + batched.bulkMethod() + ", that must receive"
+				                              + " a Collection, List or Set of keys and return a Map with the found elements");
+	}
+
+
+	/**
+	 * Groups the keys requested to a {@link Batched} method.
+	 */
+	final class BatchLoader {
+
+		private final Method bulkMethod;
+
+		/**
+		 * True if the bulk method receives a {@link Set} instead of a {@link java.util.List}
+		 */
+		private final boolean keysInSet;
+
+		private final boolean returnsFuture;
+
+		private final int maxBatchSize;
+
+		private final long windowNanos;
+
+		/**
+		 *    Pending keys of every thread (only used if the method returns a {@link Future}). The threads are weakly referenced,
+		 * so the batch of a finished thread does not remain forever
+		 */
+		private final Map<Thread, ThreadBatch> pendingByThread = new WeakHashMap<Thread, ThreadBatch>();
+
+		/**
+		 * Batch whose window has not finished (only used if the method does not return a {@link Future})
+		 */
+		private WindowBatch openBatch;
+
+
+		BatchLoader (final Method method, final Method bulkMethod, final Batched batched) {
+
+			this.bulkMethod    = bulkMethod;
+			this.keysInSet     = !bulkMethod.getParameterTypes()[0].isAssignableFrom (ArrayList.class);
+			this.returnsFuture = method.getReturnType() == Future.class;
+			this.maxBatchSize  = batched.maxBatchSize();
+			this.windowNanos   = TimeUnit.MILLISECONDS.toNanos (batched.windowMillis());
+		}
+
+
+		Object load (final Object key) throws Throwable {
+
+			return (returnsFuture ? loadLater (key) : loadInWindow (key));
+		}
+
+
+		/**
+		 * Adds the given key in the pending batch of the current thread.
+		 */
+		private Future<Object> loadLater (final Object key) {
+
+			Thread owner = Thread.currentThread();
+			while (true) {
+
+				ThreadBatch batch;
+				synchronized (pendingByThread) {
+
+					batch = pendingByThread.get (owner);
+					if (batch == null) {
+						batch = new ThreadBatch (this, owner);
+						pendingByThread.put (owner, batch);
+					}
+				}
+				BatchedFuture future;
+				synchronized (batch) {
+
+					// The batch was dispatched by another thread that needed one of its results
+					if (batch.dispatched)
+						continue;
+
+					future = batch.futures.get (key);
+					if (future == null) {
+						future = new BatchedFuture (batch);
+						batch.futures.put (key, future);
+					}
+					if (batch.futures.size() < maxBatchSize)
+						return future;
+				}
+				batch.dispatch();
+				return future;
+			}
+		}
+
+
+		/**
+		 * Dispatches the pending batches of all threads.
+		 */
+		void dispatchPending() {
+
+			List<ThreadBatch> batches;
+			synchronized (pendingByThread) {
+				batches = new ArrayList<ThreadBatch> (pendingByThread.values());
+			}
+			for (ThreadBatch batch : batches) {
+
+				batch.dispatch();
+				awaitUninterruptibly (batch.completed, -1);
+			}
+		}
+
+
+		/**
+		 * Adds the given key in the batch of the current window and waits for its result.
+		 */
+		private Object loadInWindow (final Object key) throws Throwable {
+
+			WindowBatch batch;
+			boolean leader = false;
+			synchronized (this) {
+
+				if (openBatch == null) {
+					openBatch = new WindowBatch();
+					leader = true;
+				}
+				batch = openBatch;
+				batch.keys.add (key);
+				if (batch.keys.size() >= maxBatchSize) {
+					openBatch = null;
+					batch.full.countDown();
+				}
+			}
+			if (leader) {
+				awaitUninterruptibly (batch.full, windowNanos);
+				synchronized (this) {
+					if (openBatch == batch)
+						openBatch = null;
+				}
+				try {
+					batch.results = invokeBulk (batch.keys);
+
+				} catch (Throwable t) {
+					batch.failure = t;
+				}
+				batch.done.countDown();
+			}
+			else
+				awaitUninterruptibly (batch.done, -1);
+
+			if (batch.failure != null)
+				throw batch.failure;
+
+			return batch.results.get (key);
+		}
+
+
+		/**
+		 * Invokes the bulk method with the given keys.
+		 */
+		Map<?, ?> invokeBulk (final Collection<Object> keys) throws Throwable {
+
+			Collection<Object> argument = (keysInSet ? new LinkedHashSet<Object> (keys) : new ArrayList<Object> (keys));
+			Map<?, ?> results = (Map<?, ?>) invokeImplementation (bulkMethod, new Object[] { argument });
+			return (results == null ? Collections.emptyMap() : results);
+		}
+	}
+
+
+	/**
+	 * Keys requested by a thread to a {@link Batched} method that returns a {@link Future}.
+	 */
+	static final class ThreadBatch {
+
+		private final BatchLoader loader;
+
+		/**
+		 * Weakly referenced, because the batch is the value of its owner in {@link BatchLoader#pendingByThread}
+		 */
+		private final WeakReference<Thread> owner;
+
+		private final Map<Object, BatchedFuture> futures = new LinkedHashMap<Object, BatchedFuture>();
+
+		/**
+		 *    Only changed inside the lock of the batch, but read without it by {@link BatchedFuture}, so a thread that needs
+		 * a result does not wait for that lock
+		 */
+		private volatile boolean dispatched;
+
+		/**
+		 * Released when the results of all keys have been completed
+		 */
+		private final CountDownLatch completed = new CountDownLatch (1);
+
+
+		ThreadBatch (final BatchLoader loader, final Thread owner) {
+
+			this.loader = loader;
+			this.owner  = new WeakReference<Thread> (owner);
+		}
+
+
+		boolean isDispatched() {
+
+			return dispatched;
+		}
+
+
+		/**
+		 *    Sends the keys of the current batch to the bulk method and completes their results (only once). The lock of the
+		 * batch is only held to close it, so no more keys are added, and not while the bulk method is invoked.
+		 */
+		void dispatch() {
+
+			synchronized (this) {
+
+				if (dispatched)
+					return;
+
+				dispatched = true;
+			}
+			synchronized (loader.pendingByThread) {
+
+				Thread currentOwner = owner.get();
+				if (currentOwner != null && loader.pendingByThread.get (currentOwner) == this)
+					loader.pendingByThread.remove (currentOwner);
+			}
+
+			Map<?, ?> results = null;
+			Throwable failure = null;
+			try {
+				results = loader.invokeBulk (futures.keySet());
+
+			} catch (Throwable t) {
+				failure = t;
+			}
+			for (Map.Entry<Object, BatchedFuture> entry : futures.entrySet())
+				entry.getValue().complete ((results == null ? null : results.get (entry.getKey())), failure);
+
+			completed.countDown();
+		}
+	}
+
+
+	/**
+	 * Keys requested by all threads during a window. It is only modified inside the lock of its {@link BatchLoader}.
+	 */
+	private static final class WindowBatch {
+
+		private final Set<Object> keys = new LinkedHashSet<Object>();
+
+		/**
+		 * Released when the batch reaches its maximum size
+		 */
+		private final CountDownLatch full = new CountDownLatch (1);
+
+		/**
+		 * Released when the bulk method has returned
+		 */
+		private final CountDownLatch done = new CountDownLatch (1);
+
+		private volatile Map<?, ?> results;
+
+		private volatile Throwable failure;
+	}
+
+
+	/**
+	 *    Waits until the given latch is released or the given nanoseconds (without limit if they are negative) have
+	 * elapsed. An interruption is kept until the end, because the other callers of a batch depend on the current one.
+	 */
+	static void awaitUninterruptibly (final CountDownLatch latch, final long nanos) {
+
+		boolean interrupted = false;
+		long deadline = System.nanoTime() + nanos;
+		try {
+			for (long remaining = nanos; nanos < 0 || remaining > 0; remaining = deadline - System.nanoTime()) {
+				try {
+					if (nanos < 0) {
+						latch.await();
+						return;
+					}
+					if (latch.await (remaining, TimeUnit.NANOSECONDS))
+						return;
+
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		} finally {
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+
+}
\ No newline at end of file
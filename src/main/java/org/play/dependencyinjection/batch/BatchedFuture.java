@@ -0,0 +1,100 @@
+package org.play.dependencyinjection.batch;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ *    Result of a key requested to a {@link org.play.dependencyinjection.annotations.Batched} method that returns a
+ * {@link Future}. The first time the result is needed, all pending keys of its batch are sent to the bulk method.
+ */
+final class BatchedFuture implements Future<Object> {
+
+	/**
+	 * Batch that includes the key of this result
+	 */
+	private final BatchedDecorator.ThreadBatch batch;
+
+	private final CountDownLatch done = new CountDownLatch (1);
+
+	private Object value;
+
+	private Throwable failure;
+
+
+	BatchedFuture (final BatchedDecorator.ThreadBatch batch) {
+
+		this.batch = batch;
+	}
+
+
+	@Override
+	public boolean cancel (boolean mayInterruptIfRunning) {
+
+		return false;
+	}
+
+
+	@Override
+	public boolean isCancelled() {
+
+		return false;
+	}
+
+
+	@Override
+	public boolean isDone() {
+
+		return done.getCount() == 0;
+	}
+
+
+	@Override
+	public Object get() throws ExecutionException {
+
+		// The batch is dispatched by the current thread, or it is being dispatched by another one
+		if (!batch.isDispatched())
+			batch.dispatch();
+
+		BatchedDecorator.awaitUninterruptibly (done, -1);
+		return result();
+	}
+
+
+	/**
+	 *    Returns the result, waiting at most the given time. If the batch has not been dispatched yet, it is dispatched by
+	 * the current thread before: the timeout only limits the wait for a batch that is being dispatched by another thread,
+	 * not the invocation of the bulk method done by the current one.
+	 */
+	@Override
+	public Object get (long timeout, TimeUnit unit) throws ExecutionException, InterruptedException, TimeoutException {
+
+		if (!batch.isDispatched())
+			batch.dispatch();
+
+		if (!done.await (timeout, unit))
+			throw new TimeoutException();
+
+		return result();
+	}
+
+
+	void complete (final Object value, final Throwable failure) {
+
+		this.value   = value;
+		this.failure = failure;
+		done.countDown();
+	}
+
+
+	private Object result() throws ExecutionException {
+
+		if (failure != null)
+			throw new ExecutionException (failure);
+
+		return value;
+	}
+
+}
\ No newline at end of file
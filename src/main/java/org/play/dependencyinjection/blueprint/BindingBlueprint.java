@@ -0,0 +1,48 @@
+package org.play.dependencyinjection.blueprint;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.annotations.DependencyInjectionQualifier;
+
+/**
+ * Relation between an "injectable interface" and one of its implementations stored in a {@link ContainerBlueprint}
+ */
+public final class BindingBlueprint {
+
+	/**
+	 * Name of the class of interface
+	 */
+	private final String interfaceClassName;
+
+	/**
+	 * Value of {@link DependencyInjectionQualifier} in the implementation class (null if it does not have one)
+	 */
+	private final String qualifierValue;
+
+	/**
+	 * Name of the class of implementation
+	 */
+	private final String implementationClassName;
+
+
+	public BindingBlueprint (String interfaceClassName, @Nullable String qualifierValue, String implementationClassName) {
+
+		this.interfaceClassName      = interfaceClassName;
+		this.qualifierValue          = qualifierValue;
+		this.implementationClassName = implementationClassName;
+	}
+
+
+	public String getInterfaceClassName() {
+		return interfaceClassName;
+	}
+
+	public String getQualifierValue() {
+		return qualifierValue;
+	}
+
+	public String getImplementationClassName() {
+		return implementationClassName;
+	}
+
+}
\ No newline at end of file
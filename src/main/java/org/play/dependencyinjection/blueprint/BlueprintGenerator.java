@@ -0,0 +1,267 @@
+package org.play.dependencyinjection.blueprint;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.annotations.DependencyInjectionQualifier;
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.ClasspathScanner;
+import org.reflections.ReflectionUtils;
+
+/**
+ *    Generates a {@link ContainerBlueprint} performing the same searches that the resolvers do when they are initialized,
+ * but without creating any implementation. Used at build time.
+ */
+public class BlueprintGenerator {
+
+	/**
+	 * Resolvers to include in the blueprint
+	 */
+	private List<ResolverConfiguration> resolvers = new ArrayList<ResolverConfiguration>();
+
+	/**
+	 * Controllers to include in the blueprint
+	 */
+	private List<ControllersConfiguration> controllers = new ArrayList<ControllersConfiguration>();
+
+
+	/**
+	 * Adds the information of a resolver to the blueprint.
+	 *
+	 * @param interfacesPackage
+	 *    Package name that stores the "injectable interfaces"
+	 * @param implementationPackage
+	 *    Package name that stores the implementation of "injectable interfaces"
+	 * @param interfaceToResolve
+	 *    Interface that manages the resolver
+	 *
+	 * @return instance of {@link BlueprintGenerator}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public BlueprintGenerator addResolver (final String interfacesPackage, final String implementationPackage
+			                              ,@Nullable final Class<?> interfaceToResolve) throws DependencyInjectionException {
+
+		if (interfacesPackage == null || implementationPackage == null)
+			throw new DependencyInjectionException ((interfacesPackage     == null ? "The given interfacesPackage must not be null. "     : "")
+                                                  + (implementationPackage == null ? "The given implementationPackage must not be null. " : ""));
+
+		resolvers.add (new ResolverConfiguration (interfacesPackage, implementationPackage, interfaceToResolve));
+		return this;
+	}
+
+
+	/**
+	 * Adds the information of the controllers to the blueprint.
+	 *
+	 * @param controllersPackage
+	 *    Package name that stores the implementation of controllers
+	 * @param parentControllerClazz
+	 *    Class to which all controllers must belong
+	 *
+	 * @return instance of {@link BlueprintGenerator}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public BlueprintGenerator addControllers (final String controllersPackage, final Class<?> parentControllerClazz)
+			                                     throws DependencyInjectionException {
+
+		if (controllersPackage == null || parentControllerClazz == null)
+			throw new DependencyInjectionException ((controllersPackage    == null ? "The given controllersPackage must not be null. "    : "")
+                                                  + (parentControllerClazz == null ? "The given parentControllerClazz must not be null. " : ""));
+
+		controllers.add (new ControllersConfiguration (controllersPackage, parentControllerClazz));
+		return this;
+	}
+
+
+	/**
+	 * Scans the classpath and generates the {@link ContainerBlueprint} of the added resolvers and controllers.
+	 *
+	 * @return {@link ContainerBlueprint}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public ContainerBlueprint generate() throws DependencyInjectionException {
+
+		List<ResolverBlueprint> resolverBlueprints = new ArrayList<ResolverBlueprint>();
+		for (ResolverConfiguration resolver : resolvers)
+			resolverBlueprints.add (generateResolver (resolver.interfacesPackage, resolver.implementationPackage, resolver.interfaceToResolve));
+
+		List<ControllersBlueprint> controllersBlueprints = new ArrayList<ControllersBlueprint>();
+		for (ControllersConfiguration controller : controllers)
+			controllersBlueprints.add (generateControllers (controller.controllersPackage, controller.parentControllerClazz));
+
+		return new ContainerBlueprint (resolverBlueprints, controllersBlueprints);
+	}
+
+
+	private ResolverBlueprint generateResolver (final String interfacesPackage, final String implementationPackage
+			                                   ,@Nullable final Class<?> interfaceToResolve) throws DependencyInjectionException {
+
+		// Key of every binding (interface name + qualifier value) with the binding and the class of its implementation
+		Map<String, BindingBlueprint> bindingsByKey = new LinkedHashMap<String, BindingBlueprint>();
+		Map<String, Class<?>> implementationsByKey  = new HashMap<String, Class<?>>();
+
+		for (Map.Entry<Class<?>, Set<Class<?>>> entry : ClasspathScanner.findImplementationsOfInjectableInterfaces (interfacesPackage
+				                                                                                                   ,implementationPackage
+				                                                                                                   ,interfaceToResolve).entrySet()) {
+			for (Class<?> implementationClazz : entry.getValue()) {
+
+				DependencyInjectionQualifier qualifier = implementationClazz.getAnnotation (DependencyInjectionQualifier.class);
+				String qualifierValue = (qualifier == null || qualifier.value().trim().isEmpty() ? null : qualifier.value());
+
+				String key = buildKey (entry.getKey().getName(), qualifierValue);
+				if (bindingsByKey.containsKey (key))
+					throw new DependencyInjectionException ("The interface " + entry.getKey().getCanonicalName() + " and 'key value' = " + key
+                                                          + " has more than one implementation");
+
+				bindingsByKey.put (key, new BindingBlueprint (entry.getKey().getName(), qualifierValue, implementationClazz.getName()));
+				implementationsByKey.put (key, implementationClazz);
+			}
+		}
+		List<String> sortedKeys = new ArrayList<String>(bindingsByKey.keySet());
+		Collections.sort (sortedKeys);
+
+		// Injection points of every implementation (sorted to generate always the same content)
+		Map<String, List<InjectionPointBlueprint>> injectionPointsByKey = new HashMap<String, List<InjectionPointBlueprint>>();
+		List<InjectionPointBlueprint> injectionPoints = new ArrayList<InjectionPointBlueprint>();
+		Set<Class<?>> implementationClasses = new HashSet<Class<?>>();
+		for (String key : sortedKeys) {
+
+			List<InjectionPointBlueprint> injectionPointsOfImplementation = findInjectionPoints (implementationsByKey.get (key));
+			injectionPointsByKey.put (key, injectionPointsOfImplementation);
+
+			// The same class could implement several interfaces
+			if (implementationClasses.add (implementationsByKey.get (key)))
+				injectionPoints.addAll (injectionPointsOfImplementation);
+		}
+		// Sorts the bindings so the dependencies of an implementation are before it
+		List<BindingBlueprint> sortedBindings = new ArrayList<BindingBlueprint>();
+		Set<String> visitedKeys = new HashSet<String>();
+		for (String key : sortedKeys)
+			addInTopologicalOrder (key, bindingsByKey, injectionPointsByKey, visitedKeys, sortedBindings);
+
+		return new ResolverBlueprint (interfacesPackage, implementationPackage
+				                     ,(interfaceToResolve == null ? null : interfaceToResolve.getName())
+				                     ,sortedBindings, injectionPoints);
+	}
+
+
+	private ControllersBlueprint generateControllers (final String controllersPackage, final Class<?> parentControllerClazz)
+			                                            throws DependencyInjectionException {
+
+		List<Class<?>> controllerClasses = new ArrayList<Class<?>>(ClasspathScanner.findControllers (controllersPackage, parentControllerClazz));
+		Collections.sort (controllerClasses, new Comparator<Class<?>>() {
+
+			@Override
+			public int compare (Class<?> first, Class<?> second) {
+				return first.getName().compareTo (second.getName());
+			}
+		});
+		List<String> controllerClassNames = new ArrayList<String>();
+		List<InjectionPointBlueprint> injectionPoints = new ArrayList<InjectionPointBlueprint>();
+		for (Class<?> controllerClazz : controllerClasses) {
+
+			controllerClassNames.add (controllerClazz.getName());
+			injectionPoints.addAll (findInjectionPoints (controllerClazz));
+		}
+		return new ControllersBlueprint (controllersPackage, parentControllerClazz.getName(), controllerClassNames, injectionPoints);
+	}
+
+
+	/**
+	 * Depth-first search that adds the dependencies of a binding before it. Cross references are added only once.
+	 */
+	private void addInTopologicalOrder (String key, Map<String, BindingBlueprint> bindingsByKey
+			                           ,Map<String, List<InjectionPointBlueprint>> injectionPointsByKey
+			                           ,Set<String> visitedKeys, List<BindingBlueprint> sortedBindings) {
+
+		if (!bindingsByKey.containsKey (key) || !visitedKeys.add (key))
+			return;
+
+		for (InjectionPointBlueprint injectionPoint : injectionPointsByKey.get (key))
+			addInTopologicalOrder (buildKey (injectionPoint.getFieldTypeName(), injectionPoint.getQualifierValue())
+					              ,bindingsByKey, injectionPointsByKey, visitedKeys, sortedBindings);
+
+		sortedBindings.add (bindingsByKey.get (key));
+	}
+
+
+	/**
+	 * Returns the properties of the given class annotated with {@link WithDependencyInjection}, sorted by name.
+	 */
+	@SuppressWarnings("unchecked")
+	private List<InjectionPointBlueprint> findInjectionPoints (final Class<?> clazz) {
+
+		List<Field> fields = new ArrayList<Field>(ReflectionUtils.getAllFields (clazz, ReflectionUtils.withAnnotation (WithDependencyInjection.class)));
+		Collections.sort (fields, new Comparator<Field>() {
+
+			@Override
+			public int compare (Field first, Field second) {
+
+				int result = first.getDeclaringClass().getName().compareTo (second.getDeclaringClass().getName());
+				return (result != 0 ? result : first.getName().compareTo (second.getName()));
+			}
+		});
+		List<InjectionPointBlueprint> injectionPoints = new ArrayList<InjectionPointBlueprint>();
+		for (Field field : fields) {
+
+			String qualifierValue = field.getAnnotation (WithDependencyInjection.class).value();
+			injectionPoints.add (new InjectionPointBlueprint (field.getDeclaringClass().getName(), field.getName(), field.getType().getName()
+					                                         ,(qualifierValue.trim().isEmpty() ? null : qualifierValue)));
+		}
+		return injectionPoints;
+	}
+
+
+	private static String buildKey (String interfaceClassName, @Nullable String qualifierValue) {
+
+		return (qualifierValue == null ? interfaceClassName : interfaceClassName + "-" + qualifierValue);
+	}
+
+
+	private static final class ResolverConfiguration {
+
+		private final String interfacesPackage;
+
+		private final String implementationPackage;
+
+		private final Class<?> interfaceToResolve;
+
+
+		ResolverConfiguration (String interfacesPackage, String implementationPackage, Class<?> interfaceToResolve) {
+
+			this.interfacesPackage     = interfacesPackage;
+			this.implementationPackage = implementationPackage;
+			this.interfaceToResolve    = interfaceToResolve;
+		}
+	}
+
+
+	private static final class ControllersConfiguration {
+
+		private final String controllersPackage;
+
+		private final Class<?> parentControllerClazz;
+
+
+		ControllersConfiguration (String controllersPackage, Class<?> parentControllerClazz) {
+
+			this.controllersPackage    = controllersPackage;
+			this.parentControllerClazz = parentControllerClazz;
+		}
+	}
+
+}
\ No newline at end of file
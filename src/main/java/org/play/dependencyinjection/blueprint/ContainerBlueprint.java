@@ -0,0 +1,438 @@
+package org.play.dependencyinjection.blueprint;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.DependencyInjectionControllersResolver;
+import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+
+/**
+ *    Precomputed wiring of the container (bindings, qualifiers, injection points and the order in which the implementations
+ * depend on each other) generated at build time. When the classpath contains the resource {@link ContainerBlueprint#RESOURCE_NAME},
+ * {@link DependencyInjectionResolver} and {@link DependencyInjectionControllersResolver} use the stored information instead of
+ * scanning the classpath.
+ *
+ *    The binary format is: a header (magic number and version), a table with every distinct string, and the resolvers and
+ * controllers whose strings are stored as indexes of that table.
+ */
+public final class ContainerBlueprint {
+
+	/**
+	 * Name of the resource that stores the blueprint
+	 */
+	public static final String RESOURCE_NAME = "META-INF/play-dependency-injection/blueprint.bin";
+
+	/**
+	 * System property used to ignore the blueprint (for example, in development mode)
+	 */
+	public static final String DISABLED_PROPERTY = "org.play.dependencyinjection.blueprint.disabled";
+
+	/**
+	 * First bytes of a blueprint ("PDIB")
+	 */
+	private static final int MAGIC_NUMBER = 0x50444942;
+
+	private static final short VERSION = 1;
+
+	/**
+	 * Index used to store a null string
+	 */
+	private static final int NULL_INDEX = -1;
+
+	/**
+	 *    Blueprints loaded by classloader (weak keys, so they do not prevent the classloader from being collected).
+	 * The blueprints only store strings.
+	 */
+	private static final Map<ClassLoader, ContainerBlueprint> blueprintsByClassLoader = new WeakHashMap<ClassLoader, ContainerBlueprint>();
+
+	/**
+	 * Used to mark the classloaders without blueprint
+	 */
+	private static final ContainerBlueprint EMPTY = new ContainerBlueprint (new ArrayList<ResolverBlueprint>(), new ArrayList<ControllersBlueprint>());
+
+	private final List<ResolverBlueprint> resolvers;
+
+	private final List<ControllersBlueprint> controllers;
+
+
+	public ContainerBlueprint (List<ResolverBlueprint> resolvers, List<ControllersBlueprint> controllers) {
+
+		this.resolvers   = Collections.unmodifiableList (resolvers);
+		this.controllers = Collections.unmodifiableList (controllers);
+	}
+
+
+	public List<ResolverBlueprint> getResolvers() {
+		return resolvers;
+	}
+
+	public List<ControllersBlueprint> getControllers() {
+		return controllers;
+	}
+
+
+	/**
+	 *    Returns the blueprint stored in the classpath of the context classloader (the one of the application), loading it
+	 * only the first time.
+	 *
+	 * @return {@link ContainerBlueprint} or null if there is not one or it has been disabled using {@link ContainerBlueprint#DISABLED_PROPERTY}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public static ContainerBlueprint forContextClassLoader() throws DependencyInjectionException {
+
+		if (Boolean.getBoolean (DISABLED_PROPERTY))
+			return null;
+
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		if (classLoader == null)
+			classLoader = ContainerBlueprint.class.getClassLoader();
+
+		synchronized (blueprintsByClassLoader) {
+
+			ContainerBlueprint blueprint = blueprintsByClassLoader.get (classLoader);
+			if (blueprint == null) {
+
+				URL resource = classLoader.getResource (RESOURCE_NAME);
+				blueprint = (resource == null ? EMPTY : load (resource));
+				blueprintsByClassLoader.put (classLoader, blueprint);
+			}
+			return (blueprint == EMPTY ? null : blueprint);
+		}
+	}
+
+
+	/**
+	 * Loads the blueprint stored in the given resource. If it is a file, it is memory-mapped instead of being copied.
+	 *
+	 * @param resource
+	 *    {@link URL} of the blueprint
+	 *
+	 * @return {@link ContainerBlueprint}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public static ContainerBlueprint load (final URL resource) throws DependencyInjectionException {
+
+		try {
+			if ("file".equals (resource.getProtocol())) {
+
+				RandomAccessFile file = new RandomAccessFile (new File (resource.toURI()), "r");
+				try {
+					FileChannel channel = file.getChannel();
+					return read (channel.map (FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+				}
+				finally {
+					file.close();
+				}
+			}
+			InputStream inputStream = resource.openStream();
+			try {
+				ByteArrayOutputStream content = new ByteArrayOutputStream();
+				byte[] buffer = new byte[8192];
+				for (int read = inputStream.read (buffer); read != -1; read = inputStream.read (buffer))
+					content.write (buffer, 0, read);
+
+				return read (ByteBuffer.wrap (content.toByteArray()));
+			}
+			finally {
+				inputStream.close();
+			}
+		} catch (DependencyInjectionException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new DependencyInjectionException ("The blueprint: " + resource + " could not be loaded", e);
+		}
+	}
+
+
+	/**
+	 * Reads a blueprint from the given buffer.
+	 *
+	 * @param buffer
+	 *    {@link ByteBuffer} with the content of a blueprint
+	 *
+	 * @return {@link ContainerBlueprint}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public static ContainerBlueprint read (final ByteBuffer buffer) throws DependencyInjectionException {
+
+		DataInputStream input = new DataInputStream (new ByteBufferInputStream (buffer));
+		try {
+			if (input.readInt() != MAGIC_NUMBER)
+				throw new DependencyInjectionException ("The given content is not a blueprint");
+
+			short version = input.readShort();
+			if (version != VERSION)
+				throw new DependencyInjectionException ("The version: " + version + " of the blueprint is not supported");
+
+			String[] strings = new String[input.readInt()];
+			for (int i = 0; i < strings.length; i++)
+				strings[i] = input.readUTF();
+
+			List<ResolverBlueprint> resolvers = new ArrayList<ResolverBlueprint>();
+			for (int numberOfResolvers = input.readInt(); numberOfResolvers > 0; numberOfResolvers--) {
+
+				String interfacesPackage      = readString (input, strings);
+				String implementationPackage  = readString (input, strings);
+				String interfaceToResolveName = readString (input, strings);
+
+				List<BindingBlueprint> bindings = new ArrayList<BindingBlueprint>();
+				for (int numberOfBindings = input.readInt(); numberOfBindings > 0; numberOfBindings--)
+					bindings.add (new BindingBlueprint (readString (input, strings), readString (input, strings), readString (input, strings)));
+
+				resolvers.add (new ResolverBlueprint (interfacesPackage, implementationPackage, interfaceToResolveName, bindings
+						                             ,readInjectionPoints (input, strings)));
+			}
+			List<ControllersBlueprint> controllers = new ArrayList<ControllersBlueprint>();
+			for (int numberOfControllers = input.readInt(); numberOfControllers > 0; numberOfControllers--) {
+
+				String controllersPackage        = readString (input, strings);
+				String parentControllerClassName = readString (input, strings);
+
+				List<String> controllerClassNames = new ArrayList<String>();
+				for (int numberOfClasses = input.readInt(); numberOfClasses > 0; numberOfClasses--)
+					controllerClassNames.add (readString (input, strings));
+
+				controllers.add (new ControllersBlueprint (controllersPackage, parentControllerClassName, controllerClassNames
+						                                  ,readInjectionPoints (input, strings)));
+			}
+			return new ContainerBlueprint (resolvers, controllers);
+
+		} catch (IOException e) {
+			throw new DependencyInjectionException ("The given content is not a valid blueprint", e);
+		}
+	}
+
+
+	/**
+	 * Writes the current blueprint in the given {@link OutputStream}.
+	 *
+	 * @param outputStream
+	 *    {@link OutputStream} in which the blueprint will be written
+	 *
+	 * @throws IOException
+	 */
+	public void write (final OutputStream outputStream) throws IOException {
+
+		// Builds the table of strings
+		Map<String, Integer> stringIndexes = new LinkedHashMap<String, Integer>();
+		for (ResolverBlueprint resolver : resolvers) {
+
+			addString (stringIndexes, resolver.getInterfacesPackage());
+			addString (stringIndexes, resolver.getImplementationPackage());
+			addString (stringIndexes, resolver.getInterfaceToResolveName());
+			for (BindingBlueprint binding : resolver.getBindings()) {
+
+				addString (stringIndexes, binding.getInterfaceClassName());
+				addString (stringIndexes, binding.getQualifierValue());
+				addString (stringIndexes, binding.getImplementationClassName());
+			}
+			addStrings (stringIndexes, resolver.getInjectionPoints());
+		}
+		for (ControllersBlueprint controller : controllers) {
+
+			addString (stringIndexes, controller.getControllersPackage());
+			addString (stringIndexes, controller.getParentControllerClassName());
+			for (String controllerClassName : controller.getControllerClassNames())
+				addString (stringIndexes, controllerClassName);
+
+			addStrings (stringIndexes, controller.getInjectionPoints());
+		}
+		DataOutputStream output = new DataOutputStream (outputStream);
+		output.writeInt (MAGIC_NUMBER);
+		output.writeShort (VERSION);
+
+		output.writeInt (stringIndexes.size());
+		for (String string : stringIndexes.keySet())
+			output.writeUTF (string);
+
+		output.writeInt (resolvers.size());
+		for (ResolverBlueprint resolver : resolvers) {
+
+			writeString (output, stringIndexes, resolver.getInterfacesPackage());
+			writeString (output, stringIndexes, resolver.getImplementationPackage());
+			writeString (output, stringIndexes, resolver.getInterfaceToResolveName());
+
+			output.writeInt (resolver.getBindings().size());
+			for (BindingBlueprint binding : resolver.getBindings()) {
+
+				writeString (output, stringIndexes, binding.getInterfaceClassName());
+				writeString (output, stringIndexes, binding.getQualifierValue());
+				writeString (output, stringIndexes, binding.getImplementationClassName());
+			}
+			writeInjectionPoints (output, stringIndexes, resolver.getInjectionPoints());
+		}
+		output.writeInt (controllers.size());
+		for (ControllersBlueprint controller : controllers) {
+
+			writeString (output, stringIndexes, controller.getControllersPackage());
+			writeString (output, stringIndexes, controller.getParentControllerClassName());
+
+			output.writeInt (controller.getControllerClassNames().size());
+			for (String controllerClassName : controller.getControllerClassNames())
+				writeString (output, stringIndexes, controllerClassName);
+
+			writeInjectionPoints (output, stringIndexes, controller.getInjectionPoints());
+		}
+		output.flush();
+	}
+
+
+	/**
+	 * Returns the stored information of the resolver with the given configuration.
+	 *
+	 * @param interfacesPackage
+	 *    Package name that stores the "injectable interfaces"
+	 * @param implementationPackage
+	 *    Package name that stores the implementation of "injectable interfaces"
+	 * @param interfaceToResolve
+	 *    Interface that manages the resolver
+	 *
+	 * @return {@link ResolverBlueprint} or null if the blueprint does not contain that resolver
+	 */
+	public ResolverBlueprint findResolver (final String interfacesPackage, final String implementationPackage
+			                              ,@Nullable final Class<?> interfaceToResolve) {
+
+		String interfaceToResolveName = (interfaceToResolve == null ? null : interfaceToResolve.getName());
+		for (ResolverBlueprint resolver : resolvers) {
+
+			if (resolver.getInterfacesPackage().equals (interfacesPackage) &&
+				resolver.getImplementationPackage().equals (implementationPackage) &&
+				(interfaceToResolveName == null ? resolver.getInterfaceToResolveName() == null
+						                        : interfaceToResolveName.equals (resolver.getInterfaceToResolveName())))
+				return resolver;
+		}
+		return null;
+	}
+
+
+	/**
+	 * Returns the stored information of the controllers with the given configuration.
+	 *
+	 * @param controllersPackage
+	 *    Package name that stores the implementation of controllers
+	 * @param parentControllerClazz
+	 *    Class to which all controllers must belong
+	 *
+	 * @return {@link ControllersBlueprint} or null if the blueprint does not contain those controllers
+	 */
+	public ControllersBlueprint findControllers (final String controllersPackage, final Class<?> parentControllerClazz) {
+
+		for (ControllersBlueprint controller : controllers) {
+
+			if (controller.getControllersPackage().equals (controllersPackage) &&
+				controller.getParentControllerClassName().equals (parentControllerClazz.getName()))
+				return controller;
+		}
+		return null;
+	}
+
+
+	private static void addString (Map<String, Integer> stringIndexes, String string) {
+
+		if (string != null && !stringIndexes.containsKey (string))
+			stringIndexes.put (string, stringIndexes.size());
+	}
+
+
+	private static void addStrings (Map<String, Integer> stringIndexes, List<InjectionPointBlueprint> injectionPoints) {
+
+		for (InjectionPointBlueprint injectionPoint : injectionPoints) {
+
+			addString (stringIndexes, injectionPoint.getDeclaringClassName());
+			addString (stringIndexes, injectionPoint.getFieldName());
+			addString (stringIndexes, injectionPoint.getFieldTypeName());
+			addString (stringIndexes, injectionPoint.getQualifierValue());
+		}
+	}
+
+
+	private static void writeString (DataOutputStream output, Map<String, Integer> stringIndexes, String string) throws IOException {
+
+		output.writeInt (string == null ? NULL_INDEX : stringIndexes.get (string));
+	}
+
+
+	private static void writeInjectionPoints (DataOutputStream output, Map<String, Integer> stringIndexes
+			                                 ,List<InjectionPointBlueprint> injectionPoints) throws IOException {
+
+		output.writeInt (injectionPoints.size());
+		for (InjectionPointBlueprint injectionPoint : injectionPoints) {
+
+			writeString (output, stringIndexes, injectionPoint.getDeclaringClassName());
+			writeString (output, stringIndexes, injectionPoint.getFieldName());
+			writeString (output, stringIndexes, injectionPoint.getFieldTypeName());
+			writeString (output, stringIndexes, injectionPoint.getQualifierValue());
+		}
+	}
+
+
+	private static String readString (DataInputStream input, String[] strings) throws IOException {
+
+		int index = input.readInt();
+		return (index == NULL_INDEX ? null : strings[index]);
+	}
+
+
+	private static List<InjectionPointBlueprint> readInjectionPoints (DataInputStream input, String[] strings) throws IOException {
+
+		List<InjectionPointBlueprint> injectionPoints = new ArrayList<InjectionPointBlueprint>();
+		for (int numberOfInjectionPoints = input.readInt(); numberOfInjectionPoints > 0; numberOfInjectionPoints--)
+			injectionPoints.add (new InjectionPointBlueprint (readString (input, strings), readString (input, strings)
+					                                         ,readString (input, strings), readString (input, strings)));
+		return injectionPoints;
+	}
+
+
+	/**
+	 * Reads the content of a {@link ByteBuffer} without copying it
+	 */
+	private static final class ByteBufferInputStream extends InputStream {
+
+		private final ByteBuffer buffer;
+
+
+		ByteBufferInputStream (ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+
+		@Override
+		public int read() {
+			return (buffer.hasRemaining() ? buffer.get() & 0xFF : -1);
+		}
+
+
+		@Override
+		public int read (byte[] bytes, int offset, int length) {
+
+			if (!buffer.hasRemaining())
+				return -1;
+
+			int numberOfBytes = Math.min (length, buffer.remaining());
+			buffer.get (bytes, offset, numberOfBytes);
+			return numberOfBytes;
+		}
+	}
+
+}
\ No newline at end of file
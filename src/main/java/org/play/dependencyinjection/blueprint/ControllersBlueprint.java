@@ -0,0 +1,92 @@
+package org.play.dependencyinjection.blueprint;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.ClasspathScanner;
+import org.play.dependencyinjection.resolvers.DependencyInjectionControllersResolver;
+
+/**
+ * Precomputed information of the controllers managed by {@link DependencyInjectionControllersResolver}
+ */
+public final class ControllersBlueprint {
+
+	/**
+	 * Package name that stores the implementation of controllers
+	 */
+	private final String controllersPackage;
+
+	/**
+	 * Name of the class to which all controllers must belong
+	 */
+	private final String parentControllerClassName;
+
+	/**
+	 * Names of the controller classes
+	 */
+	private final List<String> controllerClassNames;
+
+	/**
+	 * Static properties of the controllers that need dependency injection
+	 */
+	private final List<InjectionPointBlueprint> injectionPoints;
+
+
+	public ControllersBlueprint (String controllersPackage, String parentControllerClassName, List<String> controllerClassNames
+			                    ,List<InjectionPointBlueprint> injectionPoints) {
+
+		this.controllersPackage        = controllersPackage;
+		this.parentControllerClassName = parentControllerClassName;
+		this.controllerClassNames      = Collections.unmodifiableList (controllerClassNames);
+		this.injectionPoints           = Collections.unmodifiableList (injectionPoints);
+	}
+
+
+	public String getControllersPackage() {
+		return controllersPackage;
+	}
+
+	public String getParentControllerClassName() {
+		return parentControllerClassName;
+	}
+
+	public List<String> getControllerClassNames() {
+		return controllerClassNames;
+	}
+
+	public List<InjectionPointBlueprint> getInjectionPoints() {
+		return injectionPoints;
+	}
+
+
+	/**
+	 *    Loads the stored controller classes, returning the same information that {@link ClasspathScanner#findControllers}
+	 * returns after scanning the classpath.
+	 *
+	 * @param parentControllerClazz
+	 *    Class to which all controllers must belong
+	 *
+	 * @return {@link Set} of controller classes
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Set<Class<? extends T>> loadControllers (final Class<T> parentControllerClazz) throws DependencyInjectionException {
+
+		Set<Class<? extends T>> result = new LinkedHashSet<Class<? extends T>>();
+		for (String controllerClassName : controllerClassNames) {
+
+			Class<?> controllerClazz = ClasspathScanner.loadClass (controllerClassName);
+			if (!parentControllerClazz.isAssignableFrom (controllerClazz))
+				throw new DependencyInjectionException ("The controller: " + controllerClassName + " does not belong to the class: "
+						                              + parentControllerClazz.getCanonicalName());
+
+			result.add ((Class<? extends T>) controllerClazz);
+		}
+		return result;
+	}
+
+}
\ No newline at end of file
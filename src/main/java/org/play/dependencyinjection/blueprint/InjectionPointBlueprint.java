@@ -0,0 +1,58 @@
+package org.play.dependencyinjection.blueprint;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+
+/**
+ * Property annotated with {@link WithDependencyInjection} stored in a {@link ContainerBlueprint}
+ */
+public final class InjectionPointBlueprint {
+
+	/**
+	 * Name of the class that declares the property
+	 */
+	private final String declaringClassName;
+
+	/**
+	 * Name of the property
+	 */
+	private final String fieldName;
+
+	/**
+	 * Name of the class of the property
+	 */
+	private final String fieldTypeName;
+
+	/**
+	 * Value of {@link WithDependencyInjection} in the property (null if it is empty)
+	 */
+	private final String qualifierValue;
+
+
+	public InjectionPointBlueprint (String declaringClassName, String fieldName, String fieldTypeName, @Nullable String qualifierValue) {
+
+		this.declaringClassName = declaringClassName;
+		this.fieldName          = fieldName;
+		this.fieldTypeName      = fieldTypeName;
+		this.qualifierValue     = qualifierValue;
+	}
+
+
+	public String getDeclaringClassName() {
+		return declaringClassName;
+	}
+
+	public String getFieldName() {
+		return fieldName;
+	}
+
+	public String getFieldTypeName() {
+		return fieldTypeName;
+	}
+
+	public String getQualifierValue() {
+		return qualifierValue;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,227 @@
+package org.play.dependencyinjection.blueprint;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.play.dependencyinjection.annotations.Async;
+import org.play.dependencyinjection.annotations.Batched;
+import org.play.dependencyinjection.annotations.Cached;
+import org.play.dependencyinjection.annotations.DependencyInjectionQualifier;
+import org.play.dependencyinjection.annotations.Injectable;
+import org.play.dependencyinjection.annotations.PostInjection;
+import org.play.dependencyinjection.annotations.PreDestroy;
+import org.play.dependencyinjection.annotations.Rebindable;
+import org.play.dependencyinjection.annotations.Timed;
+import org.play.dependencyinjection.annotations.WarmUp;
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.events.DependencyInjectionEventListener;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.ClasspathScanner;
+
+/**
+ *    Configuration that GraalVM native-image needs to build an application that uses a {@link ContainerBlueprint}: the
+ * classes loaded by name, created by their default constructor or whose properties and hooks are accessed by reflection
+ * (reflect-config.json), and the resources read at runtime (resource-config.json).
+ *
+ *    Implementations, controllers and their superclasses are registered with all their declared constructors, methods and
+ * properties; interfaces and types of properties only by their name.
+ */
+public final class NativeImageConfiguration {
+
+	/**
+	 * Name of the file with the reflection configuration
+	 */
+	public static final String REFLECT_CONFIG_NAME = "reflect-config.json";
+
+	/**
+	 * Name of the file with the resource configuration
+	 */
+	public static final String RESOURCE_CONFIG_NAME = "resource-config.json";
+
+	/**
+	 * Annotations read by reflection at runtime
+	 */
+	private static final List<Class<?>> ANNOTATIONS = Arrays.<Class<?>>asList (Injectable.class, DependencyInjectionQualifier.class
+			                                                                   ,WithDependencyInjection.class, PostInjection.class, WarmUp.class, Timed.class
+			                                                                   ,Cached.class, Async.class, Batched.class, PreDestroy.class, Rebindable.class);
+
+	/**
+	 * Resources read at runtime
+	 */
+	private static final List<String> RESOURCES = Arrays.asList (ContainerBlueprint.RESOURCE_NAME
+			                                                    ,"META-INF/services/" + DependencyInjectionEventListener.class.getName());
+
+	/**
+	 * Registered classes (by name) with true if all their members must be registered too
+	 */
+	private final Map<String, Boolean> classes = new LinkedHashMap<String, Boolean>();
+
+
+	private NativeImageConfiguration() {}
+
+
+	/**
+	 *    Returns the configuration of the classes included in the given {@link ContainerBlueprint}. The classes are loaded
+	 * to find their superclasses, so they must be reachable from the context classloader.
+	 *
+	 * @param blueprint
+	 *    {@link ContainerBlueprint} generated by {@link BlueprintGenerator}
+	 *
+	 * @return {@link NativeImageConfiguration}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public static NativeImageConfiguration of (final ContainerBlueprint blueprint) throws DependencyInjectionException {
+
+		if (blueprint == null)
+			throw new DependencyInjectionException ("The given blueprint must not be null");
+
+		NativeImageConfiguration configuration = new NativeImageConfiguration();
+		for (Class<?> annotation : ANNOTATIONS)
+			configuration.addMembersOf (annotation);
+
+		for (ResolverBlueprint resolver : blueprint.getResolvers()) {
+
+			if (resolver.getInterfaceToResolveName() != null)
+				configuration.addName (resolver.getInterfaceToResolveName());
+
+			for (BindingBlueprint binding : resolver.getBindings()) {
+
+				configuration.addName (binding.getInterfaceClassName());
+				configuration.addMembersOfHierarchy (ClasspathScanner.loadClass (binding.getImplementationClassName()));
+			}
+			configuration.addTypesOf (resolver.getInjectionPoints());
+		}
+		for (ControllersBlueprint controllers : blueprint.getControllers()) {
+
+			configuration.addName (controllers.getParentControllerClassName());
+			for (String controllerClassName : controllers.getControllerClassNames())
+				configuration.addMembersOfHierarchy (ClasspathScanner.loadClass (controllerClassName));
+
+			configuration.addTypesOf (controllers.getInjectionPoints());
+		}
+		return configuration;
+	}
+
+
+	/**
+	 * Returns the names of the registered classes.
+	 *
+	 * @return {@link List} of class names
+	 */
+	public List<String> getClassNames() {
+
+		return new ArrayList<String> (classes.keySet());
+	}
+
+
+	/**
+	 * Writes the content of reflect-config.json in the given {@link OutputStream} (it is not closed).
+	 *
+	 * @param outputStream
+	 *    {@link OutputStream} in which the configuration will be written
+	 *
+	 * @throws IOException
+	 */
+	public void writeReflectConfiguration (final OutputStream outputStream) throws IOException {
+
+		StringBuilder json = new StringBuilder ("[");
+		boolean first = true;
+		for (Map.Entry<String, Boolean> entry : classes.entrySet()) {
+
+			json.append (first ? "\n" : ",\n")
+			    .append ("  {\n    \"name\" : ").append (quote (entry.getKey()));
+
+			if (entry.getValue())
+				json.append (",\n    \"allDeclaredConstructors\" : true")
+				    .append (",\n    \"allDeclaredMethods\" : true")
+				    .append (",\n    \"allDeclaredFields\" : true");
+
+			json.append ("\n  }");
+			first = false;
+		}
+		write (outputStream, json.append ("\n]\n").toString());
+	}
+
+
+	/**
+	 * Writes the content of resource-config.json in the given {@link OutputStream} (it is not closed).
+	 *
+	 * @param outputStream
+	 *    {@link OutputStream} in which the configuration will be written
+	 *
+	 * @throws IOException
+	 */
+	public void writeResourceConfiguration (final OutputStream outputStream) throws IOException {
+
+		StringBuilder json = new StringBuilder ("{\n  \"resources\" : {\n    \"includes\" : [");
+		for (int i = 0; i < RESOURCES.size(); i++)
+			json.append (i == 0 ? "\n" : ",\n")
+			    .append ("      { \"pattern\" : ").append (quote ("\\Q" + RESOURCES.get (i) + "\\E")).append (" }");
+
+		write (outputStream, json.append ("\n    ]\n  }\n}\n").toString());
+	}
+
+
+	/**
+	 * Registers the types of the given properties (an array is created by reflection when all implementations are injected).
+	 */
+	private void addTypesOf (final List<InjectionPointBlueprint> injectionPoints) {
+
+		for (InjectionPointBlueprint injectionPoint : injectionPoints) {
+
+			String typeName = injectionPoint.getFieldTypeName();
+			if (typeName.startsWith ("[L") && typeName.endsWith (";"))
+				addName (typeName.substring (2, typeName.length() - 1) + "[]");
+
+			else if (!typeName.startsWith ("["))
+				addName (typeName);
+		}
+	}
+
+
+	/**
+	 * Registers the given class and its superclasses (their properties are read using {@link Class#getDeclaredFields()}).
+	 */
+	private void addMembersOfHierarchy (final Class<?> clazz) {
+
+		for (Class<?> currentClazz = clazz; currentClazz != null && currentClazz != Object.class; currentClazz = currentClazz.getSuperclass())
+			addMembersOf (currentClazz);
+	}
+
+
+	private void addMembersOf (final Class<?> clazz) {
+
+		classes.put (clazz.getName(), Boolean.TRUE);
+	}
+
+
+	private void addName (final String className) {
+
+		if (!classes.containsKey (className))
+			classes.put (className, Boolean.FALSE);
+	}
+
+
+	private static void write (final OutputStream outputStream, final String content) throws IOException {
+
+		Writer writer = new OutputStreamWriter (outputStream, Charset.forName ("UTF-8"));
+		writer.write (content);
+		writer.flush();
+	}
+
+
+	private static String quote (final String value) {
+
+		return "\"" + value.replace ("\\", "\\\\").replace ("\"", "\\\"") + "\"";
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package org.play.dependencyinjection.blueprint;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.ClasspathScanner;
+import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+
+/**
+ * Precomputed information of a {@link DependencyInjectionResolver} stored in a {@link ContainerBlueprint}
+ */
+public final class ResolverBlueprint {
+
+	/**
+	 * Package name that stores the "injectable interfaces"
+	 */
+	private final String interfacesPackage;
+
+	/**
+	 * Package name that stores the implementation of "injectable interfaces"
+	 */
+	private final String implementationPackage;
+
+	/**
+	 * Name of the interface that manages the resolver (null if the resolver manages all "injectable interfaces")
+	 */
+	private final String interfaceToResolveName;
+
+	/**
+	 * Relations between interfaces and implementations, sorted so the dependencies of an implementation are before it
+	 */
+	private final List<BindingBlueprint> bindings;
+
+	/**
+	 * Properties of the implementations that need dependency injection
+	 */
+	private final List<InjectionPointBlueprint> injectionPoints;
+
+
+	public ResolverBlueprint (String interfacesPackage, String implementationPackage, @Nullable String interfaceToResolveName
+			                 ,List<BindingBlueprint> bindings, List<InjectionPointBlueprint> injectionPoints) {
+
+		this.interfacesPackage      = interfacesPackage;
+		this.implementationPackage  = implementationPackage;
+		this.interfaceToResolveName = interfaceToResolveName;
+		this.bindings               = Collections.unmodifiableList (bindings);
+		this.injectionPoints        = Collections.unmodifiableList (injectionPoints);
+	}
+
+
+	public String getInterfacesPackage() {
+		return interfacesPackage;
+	}
+
+	public String getImplementationPackage() {
+		return implementationPackage;
+	}
+
+	public String getInterfaceToResolveName() {
+		return interfaceToResolveName;
+	}
+
+	public List<BindingBlueprint> getBindings() {
+		return bindings;
+	}
+
+	public List<InjectionPointBlueprint> getInjectionPoints() {
+		return injectionPoints;
+	}
+
+
+	/**
+	 *    Loads the classes of the stored bindings, returning the same information that
+	 * {@link ClasspathScanner#findImplementationsOfInjectableInterfaces} returns after scanning the classpath.
+	 *
+	 * @return {@link Map} with:
+	 *  - Key: class of an "injectable interface".
+	 *  - Value: classes of its implementations.
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public Map<Class<?>, Set<Class<?>>> loadImplementationsOfInjectableInterfaces() throws DependencyInjectionException {
+
+		Map<Class<?>, Set<Class<?>>> result = new LinkedHashMap<Class<?>, Set<Class<?>>>();
+		for (BindingBlueprint binding : bindings) {
+
+			Class<?> interfaceClazz = ClasspathScanner.loadClass (binding.getInterfaceClassName());
+
+			Set<Class<?>> implementationClasses = result.get (interfaceClazz);
+			if (implementationClasses == null) {
+
+				implementationClasses = new LinkedHashSet<Class<?>>();
+				result.put (interfaceClazz, implementationClasses);
+			}
+			implementationClasses.add (ClasspathScanner.loadClass (binding.getImplementationClassName()));
+		}
+		return result;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,182 @@
+package org.play.dependencyinjection.cache;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.annotations.Cached;
+import org.play.dependencyinjection.decorators.ImplementationDecorator;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+/**
+ *    Decorator of an implementation bound to an interface with {@link Cached} methods, that stores the result of those
+ * methods in a {@link TinyLfuCache} by their arguments. The results equal to null are stored too, but not the
+ * exceptions. The rest of methods are delegated directly.
+ *
+ *    A method without arguments uses a constant key and a method with only one argument uses that argument as key, so
+ * only the methods with several arguments (or an array) create a new object to build the key.
+ */
+public final class CachedDecorator extends ImplementationDecorator {
+
+	/**
+	 * Stored instead of null results
+	 */
+	private static final Object NULL_VALUE = new Object();
+
+	/**
+	 * Key of the methods without arguments (or with a null argument)
+	 */
+	private static final Object NO_ARGUMENTS = new Object();
+
+	/**
+	 * Cache of every {@link Cached} method of the interface
+	 */
+	private final Map<Method, TinyLfuCache<Object, Object>> caches;
+
+	/**
+	 * Caches by the signature of their methods
+	 */
+	private final Map<String, TinyLfuCache<Object, Object>> cachesBySignature;
+
+
+	private CachedDecorator (final Object implementation, final Map<Method, TinyLfuCache<Object, Object>> caches
+			                ,final Map<String, TinyLfuCache<Object, Object>> cachesBySignature) {
+
+		super (implementation);
+		this.caches            = caches;
+		this.cachesBySignature = Collections.unmodifiableMap (cachesBySignature);
+	}
+
+
+	/**
+	 *    Returns a decorator of the given implementation if any method of the given interface is annotated with
+	 * {@link Cached}, or the given implementation otherwise.
+	 *
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param implementation
+	 *    Implementation (or decorator) bound to the given interface
+	 *
+	 * @return the decorator or the given implementation
+	 *
+	 * @throws DependencyInjectionException if a {@link Cached} method does not return anything or its cache is not valid
+	 */
+	public static Object decorate (final Class<?> interfaceClazz, final Object implementation) throws DependencyInjectionException {
+
+		if (implementation == null || !interfaceClazz.isInterface() || find (implementation, CachedDecorator.class) != null)
+			return implementation;
+
+		Map<Method, TinyLfuCache<Object, Object>> caches = new HashMap<Method, TinyLfuCache<Object, Object>>();
+		Map<String, TinyLfuCache<Object, Object>> cachesBySignature = new TreeMap<String, TinyLfuCache<Object, Object>>();
+		for (Method method : interfaceClazz.getMethods()) {
+
+			Cached cached = method.getAnnotation (Cached.class);
+			if (cached == null)
+				continue;
+
+			if (method.getReturnType() == void.class)
+				throw new DependencyInjectionException ("The method: " + method.getName() + " of the interface: "
+						                              + interfaceClazz.getCanonicalName() + " is cached but it does not return anything");
+
+			String signature = signatureOf (method);
+			TinyLfuCache<Object, Object> cache = cachesBySignature.get (signature);
+			if (cache == null) {
+				cache = new TinyLfuCache<Object, Object> (cached.maximumSize(), cached.expireAfterWriteMillis());
+				cachesBySignature.put (signature, cache);
+			}
+			caches.put (method, cache);
+		}
+		if (caches.isEmpty())
+			return implementation;
+
+		return newProxy (interfaceClazz, implementation, new CachedDecorator (implementation, caches, cachesBySignature));
+	}
+
+
+	/**
+	 * Returns the caches of the given decorator by the signature of their methods (for example: find(String,int)).
+	 *
+	 * @param implementation
+	 *    Implementation stored in a resolver
+	 *
+	 * @return unmodifiable {@link Map} of caches (or null if the given object is not decorated by a {@link CachedDecorator})
+	 */
+	@Nullable
+	public static Map<String, TinyLfuCache<Object, Object>> cachesOf (final Object implementation) {
+
+		CachedDecorator decorator = find (implementation, CachedDecorator.class);
+		return (decorator == null ? null : decorator.cachesBySignature);
+	}
+
+
+	@Override
+	protected Object invokeDecorated (final Object proxy, final Method method, final Object[] args) throws Throwable {
+
+		TinyLfuCache<Object, Object> cache = caches.get (method);
+		if (cache == null)
+			return invokeImplementation (method, args);
+
+		Object key = keyOf (args);
+		Object value = cache.get (key);
+		if (value == null) {
+
+			value = invokeImplementation (method, args);
+			cache.put (key, (value == null ? NULL_VALUE : value));
+			return value;
+		}
+		return (value == NULL_VALUE ? null : value);
+	}
+
+
+	private static Object keyOf (final Object[] args) {
+
+		if (args == null || args.length == 0)
+			return NO_ARGUMENTS;
+
+		if (args.length == 1 && (args[0] == null || !args[0].getClass().isArray()))
+			return (args[0] == null ? NO_ARGUMENTS : args[0]);
+
+		return new ArgumentsKey (args);
+	}
+
+
+	/**
+	 * Key of the methods with several arguments (the array of arguments is created by the proxy in every invocation)
+	 */
+	private static final class ArgumentsKey {
+
+		private final Object[] args;
+
+		private final int hashCode;
+
+
+		ArgumentsKey (final Object[] args) {
+
+			this.args     = args;
+			this.hashCode = Arrays.deepHashCode (args);
+		}
+
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+
+		@Override
+		public boolean equals (Object obj) {
+
+			if (this == obj)  return true;
+			if (!(obj instanceof ArgumentsKey))  return false;
+
+			ArgumentsKey other = (ArgumentsKey) obj;
+			return hashCode == other.hashCode && Arrays.deepEquals (args, other.args);
+		}
+	}
+
+}
\ No newline at end of file
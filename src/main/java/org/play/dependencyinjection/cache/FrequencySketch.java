@@ -0,0 +1,90 @@
+package org.play.dependencyinjection.cache;
+
+/**
+ *    Count-Min sketch with 4-bit counters that estimates how many times a key has been used recently. When the number
+ * of increments reaches 10 times its width, all counters are halved, so the old frequencies fade away.
+ *
+ *    It is not thread-safe: {@link TinyLfuCache} only uses it while it holds its eviction lock.
+ */
+final class FrequencySketch {
+
+	private static final int[] SEEDS = { 0x97cb3127, 0xab1b4f1f, 0x5c4b3f1d, 0x1b873593 };
+
+	private static final int MAXIMUM_FREQUENCY = 15;
+
+	private final byte[][] table;
+
+	private final int mask;
+
+	private final int sampleSize;
+
+	private int additions;
+
+
+	FrequencySketch (final int maximumSize) {
+
+		int width = Integer.highestOneBit (Math.max (16, Math.min (maximumSize, 1 << 24)) - 1) << 1;
+		this.table      = new byte[SEEDS.length][width];
+		this.mask       = width - 1;
+		this.sampleSize = 10 * width;
+	}
+
+
+	/**
+	 * Increments the frequency of the given key.
+	 */
+	void increment (final Object key) {
+
+		int hash = spread (key.hashCode());
+		boolean added = false;
+		for (int i = 0; i < SEEDS.length; i++) {
+
+			int index = indexOf (hash, i);
+			if (table[i][index] < MAXIMUM_FREQUENCY) {
+				table[i][index]++;
+				added = true;
+			}
+		}
+		if (added && ++additions == sampleSize)
+			reset();
+	}
+
+
+	/**
+	 * Returns the estimated frequency of the given key (between 0 and 15).
+	 */
+	int frequency (final Object key) {
+
+		int hash = spread (key.hashCode());
+		int frequency = MAXIMUM_FREQUENCY;
+		for (int i = 0; i < SEEDS.length; i++)
+			frequency = Math.min (frequency, table[i][indexOf (hash, i)]);
+
+		return frequency;
+	}
+
+
+	private void reset() {
+
+		for (byte[] row : table)
+			for (int i = 0; i < row.length; i++)
+				row[i] >>= 1;
+
+		additions /= 2;
+	}
+
+
+	private int indexOf (final int hash, final int row) {
+
+		int h = (hash ^ SEEDS[row]) * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+
+	private static int spread (final int hash) {
+
+		int h = hash * 0x85EBCA6B;
+		return h ^ (h >>> 13);
+	}
+
+}
\ No newline at end of file
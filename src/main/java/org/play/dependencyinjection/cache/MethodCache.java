@@ -0,0 +1,83 @@
+package org.play.dependencyinjection.cache;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.play.dependencyinjection.DependencyInjectionPool;
+
+/**
+ *    Implementation of {@link MethodCacheMXBean}, that reads the counters of the caches of the
+ * {@link org.play.dependencyinjection.annotations.Cached} methods of its pool when an attribute is read.
+ */
+public class MethodCache implements MethodCacheMXBean {
+
+	private final WeakReference<DependencyInjectionPool> pool;
+
+
+	public MethodCache (DependencyInjectionPool pool) {
+
+		this.pool = new WeakReference<DependencyInjectionPool> (pool);
+	}
+
+
+	@Override
+	public Map<String, Long> getHitCount() {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, TinyLfuCache<Object, Object>> cache : caches().entrySet())
+			result.put (cache.getKey(), cache.getValue().getHitCount());
+
+		return result;
+	}
+
+
+	@Override
+	public Map<String, Long> getMissCount() {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, TinyLfuCache<Object, Object>> cache : caches().entrySet())
+			result.put (cache.getKey(), cache.getValue().getMissCount());
+
+		return result;
+	}
+
+
+	@Override
+	public Map<String, Long> getEvictionCount() {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, TinyLfuCache<Object, Object>> cache : caches().entrySet())
+			result.put (cache.getKey(), cache.getValue().getEvictionCount());
+
+		return result;
+	}
+
+
+	@Override
+	public Map<String, Long> getSize() {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, TinyLfuCache<Object, Object>> cache : caches().entrySet())
+			result.put (cache.getKey(), (long) cache.getValue().size());
+
+		return result;
+	}
+
+
+	@Override
+	public void invalidateAll() {
+
+		for (TinyLfuCache<Object, Object> cache : caches().values())
+			cache.invalidateAll();
+	}
+
+
+	private Map<String, TinyLfuCache<Object, Object>> caches() {
+
+		DependencyInjectionPool currentPool = pool.get();
+		return (currentPool == null ? Collections.<String, TinyLfuCache<Object, Object>>emptyMap() : currentPool.getMethodCaches());
+	}
+
+}
\ No newline at end of file
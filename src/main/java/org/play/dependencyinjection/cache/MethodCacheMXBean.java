@@ -0,0 +1,38 @@
+package org.play.dependencyinjection.cache;
+
+import java.util.Map;
+
+/**
+ *    Publishes through JMX the statistics of the caches of the {@link org.play.dependencyinjection.annotations.Cached}
+ * methods of the implementations of a {@link org.play.dependencyinjection.DependencyInjectionPool}. The keys of every
+ * attribute are the key of the binding (canonical name of the interface + qualifier value) and the signature of the
+ * method, separated by #.
+ */
+public interface MethodCacheMXBean {
+
+	/**
+	 * Returns the number of invocations whose result was stored.
+	 */
+	Map<String, Long> getHitCount();
+
+	/**
+	 * Returns the number of invocations that needed the implementation.
+	 */
+	Map<String, Long> getMissCount();
+
+	/**
+	 * Returns the number of results evicted to respect the maximum size of every cache.
+	 */
+	Map<String, Long> getEvictionCount();
+
+	/**
+	 * Returns the number of stored results.
+	 */
+	Map<String, Long> getSize();
+
+	/**
+	 * Removes the stored results of all methods.
+	 */
+	void invalidateAll();
+
+}
\ No newline at end of file
@@ -0,0 +1,444 @@
+package org.play.dependencyinjection.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+/**
+ *    Concurrent cache with a maximum number of entries that uses the W-TinyLFU eviction policy: a new entry stays in a
+ * small LRU window (1% of the size) and, when it leaves it, it is only admitted into the main space (a segmented LRU)
+ * if it has been used more frequently than the entry that would be evicted instead. The frequencies are estimated with
+ * a {@link FrequencySketch}, so a burst of keys used only once does not evict the popular ones.
+ *
+ *    The lookups do not take any lock: the entries are stored in a {@link ConcurrentHashMap} and their accesses are
+ * recorded in a buffer that is applied to the policy later (if it is full, the access is discarded). The writes update
+ * the policy while holding a lock.
+ *
+ * @param <K>
+ *    Type of the keys
+ * @param <V>
+ *    Type of the values
+ */
+public final class TinyLfuCache<K, V> {
+
+	private static final int READ_BUFFER_SIZE = 128;
+
+	/**
+	 * Number of recorded accesses that makes a lookup apply them to the policy
+	 */
+	private static final int READ_BUFFER_DRAIN_THRESHOLD = 32;
+
+	private static final int NONE = 0, WINDOW = 1, PROBATION = 2, PROTECTED = 3;
+
+	private final int maximumSize;
+
+	private final int windowMaximumSize;
+
+	private final int protectedMaximumSize;
+
+	private final long expireAfterWriteNanos;
+
+	private final ConcurrentHashMap<K, Node<K, V>> data;
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	/**
+	 * Policy (guarded by evictionLock)
+	 */
+	private final FrequencySketch sketch;
+
+	private final AccessOrderDeque<K, V> window = new AccessOrderDeque<K, V>();
+
+	private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<K, V>();
+
+	private final AccessOrderDeque<K, V> protectedSegment = new AccessOrderDeque<K, V>();
+
+	/**
+	 * Accesses pending to be applied to the policy
+	 */
+	private final AtomicReferenceArray<Node<K, V>> readBuffer = new AtomicReferenceArray<Node<K, V>> (READ_BUFFER_SIZE);
+
+	private final AtomicLong readBufferWrites = new AtomicLong();
+
+	private volatile long readBufferReads;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	private final AtomicLong evictionCount = new AtomicLong();
+
+
+	/**
+	 * @param maximumSize
+	 *    Maximum number of entries
+	 * @param expireAfterWriteMillis
+	 *    Milliseconds since an entry is stored until it expires (0 to never expire)
+	 *
+	 * @throws DependencyInjectionException if maximumSize is lower than 1 or expireAfterWriteMillis is negative
+	 */
+	public TinyLfuCache (final int maximumSize, final long expireAfterWriteMillis) throws DependencyInjectionException {
+
+		if (maximumSize < 1 || expireAfterWriteMillis < 0)
+			throw new DependencyInjectionException ((maximumSize < 1 ? "The maximum size must be greater than 0. " : "")
+					                              + (expireAfterWriteMillis < 0 ? "The expiration must not be negative. " : ""));
+
+		int mainMaximumSize = maximumSize - Math.max (1, maximumSize / 100);
+
+		this.maximumSize           = maximumSize;
+		this.windowMaximumSize     = maximumSize - mainMaximumSize;
+		this.protectedMaximumSize  = (int) (mainMaximumSize * 0.8);
+		this.expireAfterWriteNanos = expireAfterWriteMillis * 1000000;
+		this.data                  = new ConcurrentHashMap<K, Node<K, V>> (Math.min (maximumSize, 1024));
+		this.sketch                = new FrequencySketch (maximumSize);
+	}
+
+
+	/**
+	 * Returns the value stored for the given key.
+	 *
+	 * @param key
+	 *    Key of the entry
+	 *
+	 * @return the value (or null if there is no one or it has expired)
+	 */
+	@Nullable
+	public V get (final K key) {
+
+		Node<K, V> node = data.get (key);
+		if (node == null) {
+			missCount.incrementAndGet();
+			return null;
+		}
+		if (expireAfterWriteNanos > 0 && System.nanoTime() - node.writeTime >= expireAfterWriteNanos) {
+
+			missCount.incrementAndGet();
+			if (data.remove (key, node)) {
+				evictionLock.lock();
+				try {
+					discard (node);
+				} finally {
+					evictionLock.unlock();
+				}
+			}
+			return null;
+		}
+		hitCount.incrementAndGet();
+		recordAccess (node);
+		return node.value;
+	}
+
+
+	/**
+	 * Stores the given value, evicting other entries if the maximum size is exceeded.
+	 *
+	 * @param key
+	 *    Key of the entry
+	 * @param value
+	 *    Value of the entry
+	 */
+	public void put (final K key, final V value) {
+
+		if (key == null || value == null)
+			throw new NullPointerException ("The key and the value must not be null");
+
+		Node<K, V> node = new Node<K, V> (key, value, System.nanoTime());
+		Node<K, V> previousNode = data.put (key, node);
+
+		evictionLock.lock();
+		try {
+			if (previousNode != null)
+				discard (previousNode);
+
+			if (!node.discarded) {
+				sketch.increment (key);
+				window.addLast (node, WINDOW);
+			}
+			drainReadBuffer();
+			evict();
+
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+
+	/**
+	 * Removes all entries.
+	 */
+	public void invalidateAll() {
+
+		evictionLock.lock();
+		try {
+			for (Node<K, V> node : data.values()) {
+
+				if (data.remove (node.key, node))
+					discard (node);
+			}
+		} finally {
+			evictionLock.unlock();
+		}
+	}
+
+
+	/**
+	 * Returns the number of entries (some of them could have expired).
+	 */
+	public int size() {
+
+		return data.size();
+	}
+
+
+	/**
+	 * Returns the maximum number of entries.
+	 */
+	public int getMaximumSize() {
+
+		return maximumSize;
+	}
+
+
+	/**
+	 * Returns the number of lookups that have found a value.
+	 */
+	public long getHitCount() {
+
+		return hitCount.get();
+	}
+
+
+	/**
+	 * Returns the number of lookups that have not found a value.
+	 */
+	public long getMissCount() {
+
+		return missCount.get();
+	}
+
+
+	/**
+	 * Returns the number of entries removed to respect the maximum size.
+	 */
+	public long getEvictionCount() {
+
+		return evictionCount.get();
+	}
+
+
+	/**
+	 * Adds the given node to the read buffer, applying the buffer to the policy if enough accesses are pending.
+	 */
+	private void recordAccess (final Node<K, V> node) {
+
+		long writes = readBufferWrites.get();
+		long pending = writes - readBufferReads;
+		if (pending < READ_BUFFER_SIZE && readBufferWrites.compareAndSet (writes, writes + 1)) {
+
+			readBuffer.lazySet ((int) (writes & (READ_BUFFER_SIZE - 1)), node);
+			pending++;
+		}
+		if (pending >= READ_BUFFER_DRAIN_THRESHOLD && evictionLock.tryLock()) {
+			try {
+				drainReadBuffer();
+			} finally {
+				evictionLock.unlock();
+			}
+		}
+	}
+
+
+	/**
+	 * Applies the recorded accesses to the policy (evictionLock must be held).
+	 */
+	private void drainReadBuffer() {
+
+		long reads = readBufferReads;
+		long writes = readBufferWrites.get();
+		for (; reads < writes; reads++) {
+
+			int index = (int) (reads & (READ_BUFFER_SIZE - 1));
+			Node<K, V> node = readBuffer.get (index);
+			// The writer has not stored it yet
+			if (node == null)
+				break;
+
+			readBuffer.lazySet (index, null);
+			onAccess (node);
+		}
+		readBufferReads = reads;
+	}
+
+
+	private void onAccess (final Node<K, V> node) {
+
+		if (node.queue == NONE)
+			return;
+
+		sketch.increment (node.key);
+		if (node.queue == WINDOW)
+			window.moveToLast (node);
+
+		else if (node.queue == PROTECTED)
+			protectedSegment.moveToLast (node);
+
+		else {
+			probation.remove (node);
+			protectedSegment.addLast (node, PROTECTED);
+			if (protectedSegment.size > protectedMaximumSize)
+				probation.addLast (protectedSegment.removeFirst(), PROBATION);
+		}
+	}
+
+
+	/**
+	 *    Moves the entries that exceed the window to the main space, evicting the candidate or the least recently used entry
+	 * of the main space (the one with the lower frequency) when it is full.
+	 */
+	private void evict() {
+
+		int mainMaximumSize = maximumSize - windowMaximumSize;
+		while (window.size > windowMaximumSize) {
+
+			Node<K, V> candidate = window.removeFirst();
+			if (probation.size + protectedSegment.size < mainMaximumSize) {
+				probation.addLast (candidate, PROBATION);
+				continue;
+			}
+			Node<K, V> victim = (probation.first != null ? probation.first : protectedSegment.first);
+			if (victim != null && sketch.frequency (candidate.key) > sketch.frequency (victim.key)) {
+
+				(victim.queue == PROBATION ? probation : protectedSegment).remove (victim);
+				evict (victim);
+				probation.addLast (candidate, PROBATION);
+			}
+			else
+				evict (candidate);
+		}
+	}
+
+
+	private void evict (final Node<K, V> node) {
+
+		node.discarded = true;
+		if (data.remove (node.key, node))
+			evictionCount.incrementAndGet();
+	}
+
+
+	/**
+	 * Removes the given node from the policy (evictionLock must be held).
+	 */
+	private void discard (final Node<K, V> node) {
+
+		node.discarded = true;
+		if (node.queue == WINDOW)
+			window.remove (node);
+
+		else if (node.queue == PROBATION)
+			probation.remove (node);
+
+		else if (node.queue == PROTECTED)
+			protectedSegment.remove (node);
+	}
+
+
+	private static final class Node<K, V> {
+
+		final K key;
+
+		final V value;
+
+		final long writeTime;
+
+		/**
+		 * Fields guarded by evictionLock
+		 */
+		int queue = NONE;
+
+		boolean discarded;
+
+		Node<K, V> previous;
+
+		Node<K, V> next;
+
+
+		Node (final K key, final V value, final long writeTime) {
+
+			this.key       = key;
+			this.value     = value;
+			this.writeTime = writeTime;
+		}
+	}
+
+
+	/**
+	 * Doubly linked list of nodes, from the least to the most recently used one.
+	 */
+	private static final class AccessOrderDeque<K, V> {
+
+		Node<K, V> first;
+
+		Node<K, V> last;
+
+		int size;
+
+
+		void addLast (final Node<K, V> node, final int queue) {
+
+			node.queue    = queue;
+			node.previous = last;
+			node.next     = null;
+			if (last == null)
+				first = node;
+			else
+				last.next = node;
+
+			last = node;
+			size++;
+		}
+
+
+		Node<K, V> removeFirst() {
+
+			Node<K, V> node = first;
+			remove (node);
+			return node;
+		}
+
+
+		void remove (final Node<K, V> node) {
+
+			if (node.previous == null)
+				first = node.next;
+			else
+				node.previous.next = node.next;
+
+			if (node.next == null)
+				last = node.previous;
+			else
+				node.next.previous = node.previous;
+
+			node.previous = null;
+			node.next     = null;
+			node.queue    = NONE;
+			size--;
+		}
+
+
+		void moveToLast (final Node<K, V> node) {
+
+			if (node != last) {
+				int queue = node.queue;
+				remove (node);
+				addLast (node, queue);
+			}
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+package org.play.dependencyinjection.cds;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.play.dependencyinjection.events.DependencyInjectionEventListener;
+import org.play.dependencyinjection.events.DependencyInjectionEvents;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+/**
+ *    Records the classes of the injected graph while it is built: every instantiated implementation and every class whose
+ * properties are injected (implementations and controllers), together with their superclasses, interfaces, annotations
+ * and the types of their properties. The result is written as an AppCDS class list (one class per line, with / as
+ * separator), in which every class goes after its supertypes.
+ *
+ *    Proxies and classes generated at runtime are ignored, because they cannot be stored in a shared archive.
+ */
+public final class ClassListRecorder implements DependencyInjectionEventListener {
+
+	/**
+	 * Recorded classes (in the order in which they must be loaded)
+	 */
+	private final Set<Class<?>> recordedClasses = new LinkedHashSet<Class<?>>();
+
+
+	/**
+	 * Registers the current recorder in {@link DependencyInjectionEvents}.
+	 *
+	 * @return instance of {@link ClassListRecorder}
+	 */
+	public ClassListRecorder start() {
+
+		DependencyInjectionEvents.addListener (this);
+		return this;
+	}
+
+
+	/**
+	 * Unregisters the current recorder from {@link DependencyInjectionEvents}.
+	 *
+	 * @return instance of {@link ClassListRecorder}
+	 */
+	public ClassListRecorder stop() {
+
+		DependencyInjectionEvents.removeListener (this);
+		return this;
+	}
+
+
+	/**
+	 * Records the given class, its supertypes, its annotations and the types of its properties.
+	 *
+	 * @param clazz
+	 *    Class to record
+	 */
+	public synchronized void record (final Class<?> clazz) {
+
+		addWithSupertypes (clazz);
+		for (Annotation annotation : clazz.getAnnotations())
+			addWithSupertypes (annotation.annotationType());
+
+		for (Class<?> currentClazz = clazz; currentClazz != null; currentClazz = currentClazz.getSuperclass()) {
+			for (Field field : currentClazz.getDeclaredFields())
+				addWithSupertypes (field.getType());
+		}
+	}
+
+
+	/**
+	 * Returns the names of the recorded classes, using the format of an AppCDS class list (for example: java/lang/Object).
+	 *
+	 * @return {@link List} of class names
+	 */
+	public synchronized List<String> getClassNames() {
+
+		List<String> classNames = new ArrayList<String>();
+		for (Class<?> clazz : recordedClasses)
+			classNames.add (clazz.getName().replace ('.', '/'));
+
+		return classNames;
+	}
+
+
+	/**
+	 * Writes the recorded classes in the given file, that can be used in -XX:SharedClassListFile.
+	 *
+	 * @param classListFile
+	 *    {@link File} to write
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public void write (final File classListFile) throws DependencyInjectionException {
+
+		if (classListFile == null)
+			throw new DependencyInjectionException ("The given classListFile must not be null");
+
+		File parentDirectory = classListFile.getAbsoluteFile().getParentFile();
+		if (parentDirectory != null)
+			parentDirectory.mkdirs();
+
+		try (Writer writer = new OutputStreamWriter (new FileOutputStream (classListFile), Charset.forName ("UTF-8"))) {
+
+			for (String className : getClassNames())
+				writer.write (className + "\n");
+
+		} catch (IOException e) {
+			throw new DependencyInjectionException ("The class list: " + classListFile + " could not be written", e);
+		}
+	}
+
+
+	@Override
+	public void scanFinished (String packageName, int urlCount, int classCount, long durationNanos) {}
+
+
+	@Override
+	public void implementationInstantiated (Class<?> implementationClazz, long durationNanos) {
+
+		record (implementationClazz);
+	}
+
+
+	@Override
+	public void propertiesInjected (Class<?> clazz, int fieldCount, long durationNanos) {
+
+		record (clazz);
+	}
+
+
+	@Override
+	public void crossResolverFallback (Class<?> clazz, String fieldName, String interfacesPackage, String resolverInterfacesPackage) {}
+
+
+	/**
+	 * Adds the given class after its superclasses and interfaces.
+	 */
+	private void addWithSupertypes (Class<?> clazz) {
+
+		while (clazz.isArray())
+			clazz = clazz.getComponentType();
+
+		if (clazz.isPrimitive() || recordedClasses.contains (clazz) || !isArchivable (clazz))
+			return;
+
+		if (clazz.getSuperclass() != null)
+			addWithSupertypes (clazz.getSuperclass());
+
+		for (Class<?> interfaceClazz : clazz.getInterfaces())
+			addWithSupertypes (interfaceClazz);
+
+		recordedClasses.add (clazz);
+	}
+
+
+	/**
+	 * Returns false for the proxies and the classes generated at runtime (like the ones of lambdas).
+	 */
+	private static boolean isArchivable (final Class<?> clazz) {
+
+		return !Proxy.isProxyClass (clazz) && clazz.getName().indexOf ('/') < 0;
+	}
+
+}
\ No newline at end of file
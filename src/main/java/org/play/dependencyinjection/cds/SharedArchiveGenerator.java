@@ -0,0 +1,89 @@
+package org.play.dependencyinjection.cds;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+/**
+ *    Invokes the JDK (Java 10 or later) to dump a shared archive with the classes of a class list. The JVMs started with
+ * -XX:SharedArchiveFile=&lt;archive&gt; and the same classpath load those classes from the archive, without parsing and
+ * verifying them again.
+ */
+public final class SharedArchiveGenerator {
+
+
+	/**
+	 * Prevents instantiation from external entities
+	 */
+	private SharedArchiveGenerator() {}
+
+
+	/**
+	 * Dumps a shared archive using the java executable of the current JVM.
+	 *
+	 * @param classListFile
+	 *    {@link File} with the class list (written by {@link ClassListRecorder#write(File)})
+	 * @param sharedArchiveFile
+	 *    {@link File} in which the archive will be stored
+	 * @param classPath
+	 *    Classpath used by the application (the same one must be used by the JVMs that map the archive)
+	 *
+	 * @throws DependencyInjectionException if the JDK could not dump the archive
+	 */
+	public static void dump (final File classListFile, final File sharedArchiveFile, final String classPath) throws DependencyInjectionException {
+
+		if (classListFile == null || sharedArchiveFile == null || classPath == null)
+			throw new DependencyInjectionException ((classListFile     == null ? "The given classListFile must not be null. "     : "")
+                                                  + (sharedArchiveFile == null ? "The given sharedArchiveFile must not be null. " : "")
+                                                  + (classPath         == null ? "The given classPath must not be null. "         : ""));
+
+		if (!classListFile.isFile())
+			throw new DependencyInjectionException ("The class list: " + classListFile + " does not exist");
+
+		File parentDirectory = sharedArchiveFile.getAbsoluteFile().getParentFile();
+		if (parentDirectory != null)
+			parentDirectory.mkdirs();
+
+		List<String> command = new ArrayList<String>();
+		command.add (System.getProperty ("java.home") + File.separator + "bin" + File.separator + "java");
+		command.add ("-Xshare:dump");
+		command.add ("-XX:SharedClassListFile=" + classListFile.getAbsolutePath());
+		command.add ("-XX:SharedArchiveFile=" + sharedArchiveFile.getAbsolutePath());
+		command.add ("-cp");
+		command.add (classPath);
+		try {
+			Process process = new ProcessBuilder (command).redirectErrorStream (true).start();
+			String output = readAll (process.getInputStream());
+
+			if (process.waitFor() != 0 || !sharedArchiveFile.isFile())
+				throw new DependencyInjectionException ("The shared archive: " + sharedArchiveFile + " could not be dumped:\n" + output);
+
+		} catch (IOException e) {
+			throw new DependencyInjectionException ("The shared archive: " + sharedArchiveFile + " could not be dumped", e);
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DependencyInjectionException (e);
+		}
+	}
+
+
+	private static String readAll (final InputStream inputStream) throws IOException {
+
+		try (InputStream input = inputStream) {
+
+			ByteArrayOutputStream output = new ByteArrayOutputStream();
+			byte[] buffer = new byte[8192];
+			for (int read = input.read (buffer); read != -1; read = input.read (buffer))
+				output.write (buffer, 0, read);
+
+			return output.toString ("UTF-8");
+		}
+	}
+
+}
\ No newline at end of file
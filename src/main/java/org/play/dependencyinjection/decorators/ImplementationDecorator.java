@@ -0,0 +1,203 @@
+package org.play.dependencyinjection.decorators;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ *    Base of the decorators that the resolvers store instead of an implementation (for example, to record the latency
+ * of its methods). A decorator is the {@link InvocationHandler} of a {@link Proxy} of all the interfaces of the
+ * implementation, created only once when the implementation is bound, and it can decorate another decorator.
+ *
+ *    When a decorator decorates the proxy of another one, it is chained directly to the other decorator, so only the
+ * outermost proxy is used: an invocation goes through the chain with plain calls and only pays one dispatch of
+ * {@link Proxy} and one reflective invocation of the implementation, whatever the number of decorators.
+ */
+public abstract class ImplementationDecorator implements InvocationHandler {
+
+	/**
+	 * Decorated implementation (or the next decorator of the chain)
+	 */
+	protected final Object implementation;
+
+
+	protected ImplementationDecorator (final Object implementation) {
+
+		ImplementationDecorator decorator = decoratorOf (implementation);
+		this.implementation = (decorator == null ? implementation : decorator);
+	}
+
+
+	/**
+	 *    Invokes a method of the {@link Proxy}. The methods of {@link Object} are not decorated: a proxy is only equal to
+	 * itself (so it can be found in the collections of implementations) and toString is delegated to the implementation.
+	 */
+	@Override
+	public final Object invoke (final Object proxy, final Method method, final Object[] args) throws Throwable {
+
+		if (method.getDeclaringClass() == Object.class) {
+
+			if ("equals".equals (method.getName()))
+				return (proxy == args[0]);
+
+			if ("hashCode".equals (method.getName()))
+				return System.identityHashCode (proxy);
+
+			return invokeImplementation (method, args);
+		}
+		return invokeDecorated (proxy, method, args);
+	}
+
+
+	/**
+	 * Invokes a method of the interfaces of the {@link Proxy} (see {@link ImplementationDecorator#invoke}).
+	 */
+	protected abstract Object invokeDecorated (final Object proxy, final Method method, final Object[] args) throws Throwable;
+
+
+	/**
+	 * Returns the implementation decorated by the given object, or the given object if it is not a decorator.
+	 *
+	 * @param implementation
+	 *    Implementation stored in a resolver
+	 *
+	 * @return the decorated implementation
+	 */
+	public static Object unwrap (final Object implementation) {
+
+		Object result = implementation;
+		for (ImplementationDecorator decorator = decoratorOf (result); decorator != null; decorator = decoratorOf (result))
+			result = decorator.decorated();
+
+		return result;
+	}
+
+
+	/**
+	 * Returns the decorator of the given class used by the given object (that can decorate other decorators).
+	 *
+	 * @param implementation
+	 *    Implementation stored in a resolver
+	 * @param decoratorClazz
+	 *    Class of the decorator to find
+	 *
+	 * @return the decorator (or null if the given object is not decorated by the given class of decorator)
+	 */
+	@Nullable
+	public static <D extends ImplementationDecorator> D find (final Object implementation, final Class<D> decoratorClazz) {
+
+		for (ImplementationDecorator decorator = decoratorOf (implementation); decorator != null; decorator = decoratorOf (decorator.decorated())) {
+
+			if (decoratorClazz.isInstance (decorator))
+				return decoratorClazz.cast (decorator);
+		}
+		return null;
+	}
+
+
+	/**
+	 *    Returns the decorated implementation (or decorator). Overridden by the decorators whose implementation can be
+	 * replaced after they are created.
+	 */
+	protected Object decorated() {
+
+		return implementation;
+	}
+
+
+	/**
+	 *    Invokes the given method in the decorated implementation (through the next decorators of the chain, if any),
+	 * throwing the same exceptions that it throws.
+	 */
+	protected final Object invokeImplementation (final Method method, final Object[] args) throws Throwable {
+
+		Object decorated = decorated();
+		ImplementationDecorator nextDecorator = decoratorOf (decorated);
+		if (nextDecorator != null)
+			return nextDecorator.invoke (decorated, method, args);
+
+		try {
+			return method.invoke (decorated, args);
+
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+
+	/**
+	 * Creates the {@link Proxy} of the given implementation that uses the given decorator.
+	 *
+	 * @param interfaceClazz
+	 *    Interface to which the implementation is bound
+	 * @param implementation
+	 *    Implementation (or decorator) to decorate
+	 * @param decorator
+	 *    {@link ImplementationDecorator} of the proxy
+	 *
+	 * @return {@link Proxy} of all the interfaces of the given implementation
+	 */
+	protected static Object newProxy (final Class<?> interfaceClazz, final Object implementation, final ImplementationDecorator decorator) {
+
+		Class<?> implementationClazz = unwrap (implementation).getClass();
+		ClassLoader classLoader = implementationClazz.getClassLoader();
+		try {
+			return Proxy.newProxyInstance (classLoader, interfacesOf (implementationClazz), decorator);
+
+		} catch (IllegalArgumentException e) {
+			// Some interface is not visible from the classloader of the implementation
+			return Proxy.newProxyInstance (classLoader, new Class<?>[] { interfaceClazz }, decorator);
+		}
+	}
+
+
+	/**
+	 * Returns the signature of the given method (for example: find(String,int)).
+	 */
+	protected static String signatureOf (final Method method) {
+
+		StringBuilder signature = new StringBuilder (method.getName()).append ('(');
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		for (int i = 0; i < parameterTypes.length; i++)
+			signature.append (i == 0 ? "" : ",").append (parameterTypes[i].getSimpleName());
+
+		return signature.append (')').toString();
+	}
+
+
+	/**
+	 * Returns the given object if it is a decorator of a chain, or the decorator of the given {@link Proxy}.
+	 */
+	@Nullable
+	private static ImplementationDecorator decoratorOf (final Object implementation) {
+
+		if (implementation instanceof ImplementationDecorator)
+			return (ImplementationDecorator) implementation;
+
+		if (implementation == null || !Proxy.isProxyClass (implementation.getClass()))
+			return null;
+
+		InvocationHandler handler = Proxy.getInvocationHandler (implementation);
+		return (handler instanceof ImplementationDecorator ? (ImplementationDecorator) handler : null);
+	}
+
+
+	/**
+	 * Returns the interfaces implemented by the given class and its superclasses.
+	 */
+	private static Class<?>[] interfacesOf (final Class<?> implementationClazz) {
+
+		Set<Class<?>> interfaces = new LinkedHashSet<Class<?>>();
+		for (Class<?> currentClazz = implementationClazz; currentClazz != null; currentClazz = currentClazz.getSuperclass())
+			interfaces.addAll (Arrays.asList (currentClazz.getInterfaces()));
+
+		return interfaces.toArray (new Class<?>[interfaces.size()]);
+	}
+
+}
\ No newline at end of file
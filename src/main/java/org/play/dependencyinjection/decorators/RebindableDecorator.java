@@ -0,0 +1,96 @@
+package org.play.dependencyinjection.decorators;
+
+import java.lang.reflect.Method;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.annotations.Rebindable;
+
+/**
+ *    Decorator of an implementation bound to a {@link Rebindable} interface. It is the outermost decorator and the one
+ * that other implementations and controllers receive, so when the binding changes the resolver replaces only its
+ * target (the new implementation or decorator) instead of injecting the properties again. Every invocation reads the
+ * target once, so it runs entirely in the old or in the new implementation.
+ */
+public final class RebindableDecorator extends ImplementationDecorator {
+
+	/**
+	 * Current implementation (or decorator)
+	 */
+	private volatile Object target;
+
+
+	private RebindableDecorator (final Object target) {
+
+		super (null);
+		this.target = target;
+	}
+
+
+	/**
+	 * Returns a decorator of the given implementation if the given interface is annotated with {@link Rebindable}, or the given
+	 * implementation otherwise.
+	 *
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param implementation
+	 *    Implementation (or decorator) bound to the given interface
+	 *
+	 * @return the decorator or the given implementation
+	 */
+	public static Object decorate (final Class<?> interfaceClazz, final Object implementation) {
+
+		if (implementation == null || !interfaceClazz.isInterface() || !interfaceClazz.isAnnotationPresent (Rebindable.class)
+				|| find (implementation, RebindableDecorator.class) != null)
+			return implementation;
+
+		return newProxy (interfaceClazz, implementation, new RebindableDecorator (implementation));
+	}
+
+
+	/**
+	 * Returns the target of the given decorator, that is, the implementation (or decorator) that it uses.
+	 *
+	 * @param implementation
+	 *    Implementation stored in a resolver
+	 *
+	 * @return the target (or null if the given object is not decorated by a {@link RebindableDecorator})
+	 */
+	@Nullable
+	public static Object targetOf (final Object implementation) {
+
+		RebindableDecorator decorator = find (implementation, RebindableDecorator.class);
+		return (decorator == null ? null : decorator.target);
+	}
+
+
+	/**
+	 * Replaces the target of the given decorator: the invocations that start after it use the given one.
+	 *
+	 * @param implementation
+	 *    Implementation stored in a resolver (decorated by a {@link RebindableDecorator})
+	 * @param target
+	 *    New implementation (or decorator)
+	 */
+	public static void retarget (final Object implementation, final Object target) {
+
+		RebindableDecorator decorator = find (implementation, RebindableDecorator.class);
+		if (decorator != null)
+			decorator.target = target;
+	}
+
+
+	@Override
+	protected Object invokeDecorated (final Object proxy, final Method method, final Object[] args) throws Throwable {
+
+		return invokeImplementation (method, args);
+	}
+
+
+	@Override
+	protected Object decorated() {
+
+		return target;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package org.play.dependencyinjection.events;
+
+/**
+ *    Receives what the dependency injection is doing. The listeners are registered using {@link DependencyInjectionEvents#addListener}
+ * or declaring them in META-INF/services/org.play.dependencyinjection.events.DependencyInjectionEventListener.
+ * They are invoked by the thread that does the work, so they must be fast and thread safe.
+ */
+public interface DependencyInjectionEventListener {
+
+	/**
+	 * Invoked when the scan of a package finishes.
+	 *
+	 * @param packageName
+	 *    Scanned package
+	 * @param urlCount
+	 *    Number of classpath roots (jars or directories) scanned
+	 * @param classCount
+	 *    Number of classes found in the package
+	 * @param durationNanos
+	 *    Duration of the scan in nanoseconds
+	 */
+	void scanFinished (String packageName, int urlCount, int classCount, long durationNanos);
+
+	/**
+	 * Invoked when an implementation has been created using its default constructor.
+	 *
+	 * @param implementationClazz
+	 *    Class of the implementation
+	 * @param durationNanos
+	 *    Duration of the creation in nanoseconds
+	 */
+	void implementationInstantiated (Class<?> implementationClazz, long durationNanos);
+
+	/**
+	 * Invoked when the properties of an implementation or a controller have been injected.
+	 *
+	 * @param clazz
+	 *    Class of the implementation or controller
+	 * @param fieldCount
+	 *    Number of injected properties
+	 * @param durationNanos
+	 *    Duration of the injection in nanoseconds
+	 */
+	void propertiesInjected (Class<?> clazz, int fieldCount, long durationNanos);
+
+	/**
+	 * Invoked when the implementation of a property has been found in a resolver different from the one of its class.
+	 *
+	 * @param clazz
+	 *    Class that contains the property
+	 * @param fieldName
+	 *    Name of the property
+	 * @param interfacesPackage
+	 *    Package of "injectable interfaces" of the resolver that manages the class
+	 * @param resolverInterfacesPackage
+	 *    Package of "injectable interfaces" of the resolver in which the implementation was found
+	 */
+	void crossResolverFallback (Class<?> clazz, String fieldName, String interfacesPackage, String resolverInterfacesPackage);
+
+}
\ No newline at end of file
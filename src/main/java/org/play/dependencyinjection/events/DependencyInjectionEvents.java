@@ -0,0 +1,132 @@
+package org.play.dependencyinjection.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ *    Publishes the events of the dependency injection to the registered {@link DependencyInjectionEventListener}s.
+ * When the JVM offers Java Flight Recorder (Java 11 or later) a listener that emits JFR events is registered
+ * automatically.
+ *
+ *    The code that publishes an event must check {@link DependencyInjectionEvents#isEnabled()} before measuring
+ * anything, so the cost is one volatile read when there are no listeners.
+ */
+public final class DependencyInjectionEvents {
+
+	/**
+	 * Listener that emits JFR events (only included in the jar when it is built with Java 11 or later)
+	 */
+	private static final String JFR_LISTENER_CLASS_NAME = "org.play.dependencyinjection.events.jfr.JfrEventListener";
+
+	/**
+	 * Registered listeners (replaced, not modified, when a listener is added or removed)
+	 */
+	private static volatile DependencyInjectionEventListener[] listeners = loadListeners();
+
+
+	/**
+	 * Prevents instantiation from external entities
+	 */
+	private DependencyInjectionEvents() {}
+
+
+	/**
+	 * Returns true if there is any listener, that is, if the events must be published.
+	 */
+	public static boolean isEnabled() {
+		return listeners.length > 0;
+	}
+
+
+	/**
+	 * Registers the given listener.
+	 *
+	 * @param listener
+	 *    {@link DependencyInjectionEventListener} to add
+	 */
+	public static synchronized void addListener (final DependencyInjectionEventListener listener) {
+
+		if (listener != null) {
+
+			DependencyInjectionEventListener[] newListeners = Arrays.copyOf (listeners, listeners.length + 1);
+			newListeners[listeners.length] = listener;
+			listeners = newListeners;
+		}
+	}
+
+
+	/**
+	 * Unregisters the given listener.
+	 *
+	 * @param listener
+	 *    {@link DependencyInjectionEventListener} to remove
+	 */
+	public static synchronized void removeListener (final DependencyInjectionEventListener listener) {
+
+		List<DependencyInjectionEventListener> newListeners = new ArrayList<DependencyInjectionEventListener> (Arrays.asList (listeners));
+		newListeners.remove (listener);
+		listeners = newListeners.toArray (new DependencyInjectionEventListener[newListeners.size()]);
+	}
+
+
+	public static void scanFinished (String packageName, int urlCount, int classCount, long durationNanos) {
+
+		for (DependencyInjectionEventListener listener : listeners)
+			listener.scanFinished (packageName, urlCount, classCount, durationNanos);
+	}
+
+
+	public static void implementationInstantiated (Class<?> implementationClazz, long durationNanos) {
+
+		for (DependencyInjectionEventListener listener : listeners)
+			listener.implementationInstantiated (implementationClazz, durationNanos);
+	}
+
+
+	public static void propertiesInjected (Class<?> clazz, int fieldCount, long durationNanos) {
+
+		for (DependencyInjectionEventListener listener : listeners)
+			listener.propertiesInjected (clazz, fieldCount, durationNanos);
+	}
+
+
+	public static void crossResolverFallback (Class<?> clazz, String fieldName, String interfacesPackage, String resolverInterfacesPackage) {
+
+		for (DependencyInjectionEventListener listener : listeners)
+			listener.crossResolverFallback (clazz, fieldName, interfacesPackage, resolverInterfacesPackage);
+	}
+
+
+	/**
+	 * Returns the JFR listener (if it is available) and the ones declared as services.
+	 */
+	private static DependencyInjectionEventListener[] loadListeners() {
+
+		List<DependencyInjectionEventListener> result = new ArrayList<DependencyInjectionEventListener>();
+		try {
+			result.add ((DependencyInjectionEventListener) Class.forName (JFR_LISTENER_CLASS_NAME).getDeclaredConstructor().newInstance());
+
+		} catch (Exception | LinkageError e) {
+			// Built or running with a version of Java without JFR
+		}
+		Iterator<DependencyInjectionEventListener> iterator = ServiceLoader.load (DependencyInjectionEventListener.class
+				                                                                 ,DependencyInjectionEvents.class.getClassLoader()).iterator();
+		while (true) {
+			try {
+				if (!iterator.hasNext())
+					break;
+
+				result.add (iterator.next());
+
+			} catch (ServiceConfigurationError | LinkageError e) {
+				break;
+			}
+		}
+		return result.toArray (new DependencyInjectionEventListener[result.size()]);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package org.play.dependencyinjection.exceptions;
+
+/**
+ *    Thrown when the requested resolver or implementation is not managed by the dependency injection. It is an
+ * expected situation, so the stack trace is not filled in (that is the expensive part of creating an exception).
+ */
+public class DependencyNotFoundException extends DependencyInjectionException {
+
+	private static final long serialVersionUID = 2877432365095138651L;
+
+    /**
+     * Constructs a new exception with the specified detail message and without stack trace.
+     *
+     * @param   message   the detail message. The detail message is saved for
+     *          later retrieval by the {@link #getMessage()} method.
+     */
+    public DependencyNotFoundException (String message) {
+        super (message, null, false, false);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package org.play.dependencyinjection.footprint;
+
+/**
+ * Estimation of the heap retained by the implementation of a binding.
+ */
+public class BindingFootprint {
+
+	/**
+	 * Key of the binding (canonical name of the interface + qualifier value)
+	 */
+	private final String key;
+
+	/**
+	 * Name of the class of the implementation
+	 */
+	private final String implementationClassName;
+
+	/**
+	 *    Bytes of the objects reachable from the implementation, without entering into other objects managed by
+	 * the dependency injection
+	 */
+	private final long retainedBytes;
+
+
+	public BindingFootprint (String key, String implementationClassName, long retainedBytes) {
+
+		this.key                     = key;
+		this.implementationClassName = implementationClassName;
+		this.retainedBytes           = retainedBytes;
+	}
+
+
+	public String getKey() {
+		return key;
+	}
+
+	public String getImplementationClassName() {
+		return implementationClassName;
+	}
+
+	public long getRetainedBytes() {
+		return retainedBytes;
+	}
+
+
+	@Override
+	public String toString() {
+		return key + " (" + implementationClassName + "): " + retainedBytes + " bytes";
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package org.play.dependencyinjection.footprint;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.play.dependencyinjection.DependencyInjectionPool;
+
+/**
+ *    Implementation of {@link HeapFootprintMXBean}, that estimates the footprint of the bindings of its pool again every
+ * time an attribute is read (so it is as expensive as {@link DependencyInjectionPool#estimateHeapFootprint()}).
+ */
+public class HeapFootprint implements HeapFootprintMXBean {
+
+	private final WeakReference<DependencyInjectionPool> pool;
+
+
+	public HeapFootprint (DependencyInjectionPool pool) {
+
+		this.pool = new WeakReference<DependencyInjectionPool> (pool);
+	}
+
+
+	@Override
+	public long getTotalRetainedBytes() {
+
+		long result = 0;
+		for (ResolverFootprint resolver : estimate())
+			result += resolver.getRetainedBytes();
+
+		return result;
+	}
+
+
+	@Override
+	public long getContainerOverheadBytes() {
+
+		long result = 0;
+		for (ResolverFootprint resolver : estimate())
+			result += resolver.getContainerOverheadBytes();
+
+		return result;
+	}
+
+
+	@Override
+	public Map<String, Long> getRetainedBytesByResolver() {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (ResolverFootprint resolver : estimate())
+			result.put (resolver.getInterfacesPackage(), resolver.getRetainedBytes());
+
+		return result;
+	}
+
+
+	@Override
+	public Map<String, Long> getRetainedBytesByBinding() {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (ResolverFootprint resolver : estimate())
+			for (BindingFootprint binding : resolver.getBindings())
+				result.put (binding.getKey(), binding.getRetainedBytes());
+
+		return result;
+	}
+
+
+	private List<ResolverFootprint> estimate() {
+
+		DependencyInjectionPool currentPool = pool.get();
+		return (currentPool == null ? Collections.<ResolverFootprint>emptyList() : currentPool.estimateHeapFootprint());
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,294 @@
+package org.play.dependencyinjection.footprint;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+/**
+ *    Estimates the heap retained by an object walking the graph of objects reachable from it. The size of every object
+ * is calculated from its fields using the layout of HotSpot (object header, size of references and alignment), so
+ * the result is an estimation, not an exact measure.
+ *
+ *    The walk does not enter into:
+ *
+ *  - The objects of the given boundary (the ones managed by the dependency injection), except the root.
+ *  - Classes, classloaders, threads and enums, that are shared by the whole application.
+ *
+ *    When the fields of a class cannot be read (for example, the internal ones of the JDK since Java 9), {@link Collection}s
+ * and {@link Map}s are walked using their public methods, adding an estimation of their internal structure.
+ */
+public class HeapFootprintEstimator {
+
+	/**
+	 * Alignment of the objects in the heap
+	 */
+	private static final int OBJECT_ALIGNMENT = 8;
+
+	/**
+	 * Estimated size of the internal node that stores every entry of a {@link Map} (hash, key, value and next)
+	 */
+	private static final int MAP_ENTRY_OVERHEAD = 32;
+
+	/**
+	 * Size of a reference (4 bytes with compressed references, 8 without them)
+	 */
+	private static final int referenceSize = (isUsingCompressedReferences() ? 4 : 8);
+
+	/**
+	 * Size of the header of an object
+	 */
+	private static final int objectHeaderSize = (referenceSize == 4 ? 12 : 16);
+
+	/**
+	 * Size of the header of an array (object header + length)
+	 */
+	private static final int arrayHeaderSize = objectHeaderSize + 4;
+
+	/**
+	 * Since Java 9, the {@link String}s that only contain latin1 characters use one byte per character
+	 */
+	private static final boolean compactStrings = !System.getProperty ("java.specification.version", "1.").startsWith ("1.");
+
+	/**
+	 * Objects managed by the dependency injection, whose retained heap is counted separately
+	 */
+	private final Set<Object> boundary;
+
+	/**
+	 * Layout of the classes found in the walks (not static, so it does not keep the classes of the application)
+	 */
+	private final Map<Class<?>, ClassLayout> layouts = new HashMap<Class<?>, ClassLayout>();
+
+
+	/**
+	 * @param boundary
+	 *    Objects whose retained heap must not be included in others (compared by identity)
+	 */
+	public HeapFootprintEstimator (Collection<?> boundary) {
+
+		this.boundary = Collections.newSetFromMap (new IdentityHashMap<Object, Boolean>());
+		this.boundary.addAll (boundary);
+	}
+
+
+	/**
+	 *    Estimates the bytes of the objects reachable from the given one, without entering into the objects of the boundary
+	 * (different from the given one). The objects shared with other roots are counted in every one of them.
+	 *
+	 * @param root
+	 *    Object whose retained heap will be estimated
+	 *
+	 * @return estimated number of bytes
+	 */
+	public long estimateRetainedBytes (Object root) {
+
+		if (root == null)
+			return 0;
+
+		Set<Object> visited = Collections.newSetFromMap (new IdentityHashMap<Object, Boolean>());
+		Deque<Object> pending = new ArrayDeque<Object>();
+		pending.push (root);
+		visited.add (root);
+
+		long result = 0;
+		while (!pending.isEmpty()) {
+
+			Object current = pending.pop();
+			result += estimateAndAddReferences (current, pending, visited);
+		}
+		return result;
+	}
+
+
+	/**
+	 * Returns the estimated size of the given object and adds in pending the objects it references.
+	 */
+	private long estimateAndAddReferences (Object object, Deque<Object> pending, Set<Object> visited) {
+
+		Class<?> clazz = object.getClass();
+		if (clazz.isArray()) {
+
+			int length = Array.getLength (object);
+			Class<?> componentType = clazz.getComponentType();
+			if (!componentType.isPrimitive()) {
+				for (Object element : (Object[]) object)
+					addPending (element, pending, visited);
+			}
+			return align (arrayHeaderSize + (long) length * sizeOf (componentType));
+		}
+		ClassLayout layout = getLayout (clazz);
+		if (object instanceof String)
+			return layout.shallowSize + estimateCharactersOf ((String) object);
+
+		if (layout.readable) {
+			for (Field field : layout.referenceFields) {
+				try {
+					addPending (field.get (object), pending, visited);
+
+				} catch (IllegalAccessException e) {}
+			}
+			return layout.shallowSize;
+		}
+		// Internal structure that cannot be read: uses its public methods
+		long internalSize = 0;
+		if (object instanceof Map) {
+
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+
+				addPending (entry.getKey(), pending, visited);
+				addPending (entry.getValue(), pending, visited);
+				internalSize += MAP_ENTRY_OVERHEAD + referenceSize;
+			}
+		}
+		else if (object instanceof Collection) {
+
+			for (Object element : (Collection<?>) object) {
+
+				addPending (element, pending, visited);
+				internalSize += referenceSize;
+			}
+		}
+		return layout.shallowSize + internalSize;
+	}
+
+
+	private void addPending (Object object, Deque<Object> pending, Set<Object> visited) {
+
+		if (object == null || object instanceof Class || object instanceof ClassLoader || object instanceof Thread || object instanceof Enum
+				|| boundary.contains (object) || !visited.add (object))
+			return;
+
+		pending.push (object);
+	}
+
+
+	/**
+	 * Returns the layout of the given class, calculating it the first time.
+	 */
+	private ClassLayout getLayout (Class<?> clazz) {
+
+		ClassLayout layout = layouts.get (clazz);
+		if (layout == null) {
+
+			long fieldsSize = 0;
+			boolean readable = true;
+			List<Field> referenceFields = new ArrayList<Field>();
+			for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+				for (Field field : current.getDeclaredFields()) {
+
+					if (Modifier.isStatic (field.getModifiers()))
+						continue;
+
+					fieldsSize += sizeOf (field.getType());
+					if (!field.getType().isPrimitive()) {
+						try {
+							field.setAccessible (true);
+							referenceFields.add (field);
+
+						} catch (RuntimeException e) {
+							// The module of the class does not allow to read its fields
+							readable = false;
+						}
+					}
+				}
+			}
+			layout = new ClassLayout (align (objectHeaderSize + fieldsSize), readable, referenceFields);
+			layouts.put (clazz, layout);
+		}
+		return layout;
+	}
+
+
+	/**
+	 * Returns the size of the array that stores the characters of the given {@link String}.
+	 */
+	private static long estimateCharactersOf (String value) {
+
+		boolean latin1 = compactStrings;
+		for (int i = 0; latin1 && i < value.length(); i++)
+			latin1 = (value.charAt (i) <= 0xFF);
+
+		return align (arrayHeaderSize + (long) value.length() * (latin1 ? 1 : 2));
+	}
+
+
+	private static int sizeOf (Class<?> type) {
+
+		if (!type.isPrimitive())
+			return referenceSize;
+
+		if (type == long.class || type == double.class)
+			return 8;
+
+		if (type == int.class || type == float.class)
+			return 4;
+
+		if (type == short.class || type == char.class)
+			return 2;
+
+		return 1;
+	}
+
+
+	private static long align (long size) {
+
+		return (size + OBJECT_ALIGNMENT - 1) / OBJECT_ALIGNMENT * OBJECT_ALIGNMENT;
+	}
+
+
+	/**
+	 *    Asks HotSpot if it uses compressed references. If the JVM does not offer that information, they are supposed to be
+	 * used in 64 bits (the default value for heaps smaller than 32 GB).
+	 */
+	private static boolean isUsingCompressedReferences() {
+
+		if ("32".equals (System.getProperty ("sun.arch.data.model")))
+			return true;
+		try {
+			CompositeData option = (CompositeData) ManagementFactory.getPlatformMBeanServer().invoke (
+					                                   new ObjectName ("com.sun.management:type=HotSpotDiagnostic"), "getVMOption"
+					                                  ,new Object[] { "UseCompressedOops" }, new String[] { String.class.getName() });
+
+			return Boolean.parseBoolean ((String) option.get ("value"));
+
+		} catch (Exception e) {
+			return true;
+		}
+	}
+
+
+	/**
+	 * Size and references of the instances of a class
+	 */
+	private static final class ClassLayout {
+
+		private final long shallowSize;
+
+		private final boolean readable;
+
+		private final List<Field> referenceFields;
+
+
+		ClassLayout (long shallowSize, boolean readable, List<Field> referenceFields) {
+
+			this.shallowSize     = shallowSize;
+			this.readable        = readable;
+			this.referenceFields = referenceFields;
+		}
+	}
+
+}
\ No newline at end of file
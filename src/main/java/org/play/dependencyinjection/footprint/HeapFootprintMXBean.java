@@ -0,0 +1,32 @@
+package org.play.dependencyinjection.footprint;
+
+import java.util.Map;
+
+/**
+ *    Publishes through JMX the estimation of the heap retained by the resolvers of a
+ * {@link org.play.dependencyinjection.DependencyInjectionPool}. Every attribute calculates it again, so it
+ * should not be read with a high frequency.
+ */
+public interface HeapFootprintMXBean {
+
+	/**
+	 * Returns the bytes retained by all resolvers (their implementations and their overhead).
+	 */
+	long getTotalRetainedBytes();
+
+	/**
+	 * Returns the bytes used by the resolvers themselves (keys, maps and metadata).
+	 */
+	long getContainerOverheadBytes();
+
+	/**
+	 * Returns the bytes retained by every resolver, by its package of "injectable interfaces".
+	 */
+	Map<String, Long> getRetainedBytesByResolver();
+
+	/**
+	 * Returns the bytes retained by every binding, by its key (canonical name of the interface + qualifier value).
+	 */
+	Map<String, Long> getRetainedBytesByBinding();
+
+}
\ No newline at end of file
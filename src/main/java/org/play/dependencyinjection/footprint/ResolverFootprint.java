@@ -0,0 +1,68 @@
+package org.play.dependencyinjection.footprint;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Estimation of the heap retained by a resolver: its bindings and its own overhead.
+ */
+public class ResolverFootprint {
+
+	/**
+	 * Package name of the "injectable interfaces" managed by the resolver
+	 */
+	private final String interfacesPackage;
+
+	/**
+	 * Bytes used by the resolver itself (keys, maps and metadata), without its implementations
+	 */
+	private final long containerOverheadBytes;
+
+	/**
+	 * Footprint of every binding, sorted by key
+	 */
+	private final List<BindingFootprint> bindings;
+
+
+	public ResolverFootprint (String interfacesPackage, long containerOverheadBytes, List<BindingFootprint> bindings) {
+
+		this.interfacesPackage      = interfacesPackage;
+		this.containerOverheadBytes = containerOverheadBytes;
+		this.bindings               = Collections.unmodifiableList (bindings);
+	}
+
+
+	public String getInterfacesPackage() {
+		return interfacesPackage;
+	}
+
+	public long getContainerOverheadBytes() {
+		return containerOverheadBytes;
+	}
+
+	public List<BindingFootprint> getBindings() {
+		return bindings;
+	}
+
+
+	/**
+	 * Returns the sum of the bytes retained by the bindings and the overhead of the resolver.
+	 * 
+	 * @return number of bytes
+	 */
+	public long getRetainedBytes() {
+
+		long result = containerOverheadBytes;
+		for (BindingFootprint binding : bindings)
+			result += binding.getRetainedBytes();
+
+		return result;
+	}
+
+
+	@Override
+	public String toString() {
+		return interfacesPackage + ": " + getRetainedBytes() + " bytes (" + containerOverheadBytes + " of overhead)";
+	}
+
+}
\ No newline at end of file
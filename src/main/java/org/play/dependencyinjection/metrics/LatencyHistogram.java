@@ -0,0 +1,151 @@
+package org.play.dependencyinjection.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *    Histogram of latencies (in nanoseconds) that can be updated by several threads without locks. As in HdrHistogram,
+ * the values lower than 64 have their own bucket and the rest are stored in buckets whose width is 1/32 of their
+ * power of 2, so every value is reported with an error lower than 3.2%. The values greater than 2^41 nanoseconds
+ * (about 36 minutes) are stored in the last bucket.
+ */
+public final class LatencyHistogram {
+
+	/**
+	 * Number of buckets by power of 2 (the precision of the histogram)
+	 */
+	private static final int SUB_BUCKET_BITS = 5;
+
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * Values lower than this one have their own bucket
+	 */
+	private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT << 1;
+
+	/**
+	 * Greatest power of 2 with its own buckets
+	 */
+	private static final int MAX_EXPONENT = 41;
+
+	private static final int BUCKET_COUNT = LINEAR_LIMIT + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray buckets = new AtomicLongArray (BUCKET_COUNT);
+
+	private final AtomicLong count = new AtomicLong();
+
+	private final AtomicLong totalNanos = new AtomicLong();
+
+	private final AtomicLong maxNanos = new AtomicLong();
+
+
+	/**
+	 * Records the given latency.
+	 *
+	 * @param nanos
+	 *    Latency in nanoseconds (negative values are recorded as 0)
+	 */
+	public void record (final long nanos) {
+
+		long value = Math.max (0, nanos);
+		buckets.incrementAndGet (indexOf (value));
+		count.incrementAndGet();
+		totalNanos.addAndGet (value);
+
+		long currentMax = maxNanos.get();
+		while (value > currentMax && !maxNanos.compareAndSet (currentMax, value))
+			currentMax = maxNanos.get();
+	}
+
+
+	/**
+	 * Returns the number of recorded latencies.
+	 */
+	public long getCount() {
+
+		return count.get();
+	}
+
+
+	/**
+	 * Returns the mean of the recorded latencies (0 if there is no one).
+	 */
+	public long getMeanNanos() {
+
+		long currentCount = count.get();
+		return (currentCount == 0 ? 0 : totalNanos.get() / currentCount);
+	}
+
+
+	/**
+	 * Returns the greatest recorded latency.
+	 */
+	public long getMaxNanos() {
+
+		return maxNanos.get();
+	}
+
+
+	/**
+	 *    Returns the latency lower than or equal to the given percentage of the recorded ones (the greatest value of its
+	 * bucket, so it is never lower than the real one).
+	 *
+	 * @param percentile
+	 *    Value between 0 and 100
+	 *
+	 * @return latency in nanoseconds (0 if nothing has been recorded)
+	 */
+	public long getValueAtPercentile (final double percentile) {
+
+		long[] snapshot = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			snapshot[i] = buckets.get (i);
+			total += snapshot[i];
+		}
+		if (total == 0)
+			return 0;
+
+		long target = Math.max (1, (long) Math.ceil (Math.min (100, Math.max (0, percentile)) / 100 * total));
+		long accumulated = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+
+			accumulated += snapshot[i];
+			if (accumulated >= target)
+				return Math.min (highestValueOf (i), maxNanos.get());
+		}
+		return maxNanos.get();
+	}
+
+
+	/**
+	 * Returns the bucket of the given value.
+	 */
+	static int indexOf (final long value) {
+
+		if (value < LINEAR_LIMIT)
+			return (int) value;
+
+		int exponent = 63 - Long.numberOfLeadingZeros (value);
+		if (exponent > MAX_EXPONENT)
+			return BUCKET_COUNT - 1;
+
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+		return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+
+	/**
+	 * Returns the greatest value stored in the given bucket.
+	 */
+	static long highestValueOf (final int index) {
+
+		if (index < LINEAR_LIMIT)
+			return index;
+
+		int exponent = SUB_BUCKET_BITS + 1 + (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT;
+		int subBucket = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+		return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+	}
+
+}
\ No newline at end of file
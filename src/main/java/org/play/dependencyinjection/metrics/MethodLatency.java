@@ -0,0 +1,89 @@
+package org.play.dependencyinjection.metrics;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.play.dependencyinjection.DependencyInjectionPool;
+
+/**
+ *    Implementation of {@link MethodLatencyMXBean}, that reads the histograms of the
+ * {@link org.play.dependencyinjection.annotations.Timed} methods of its pool when an attribute is read, so it also
+ * publishes the methods of the implementations bound after registering it.
+ */
+public class MethodLatency implements MethodLatencyMXBean {
+
+	private final WeakReference<DependencyInjectionPool> pool;
+
+
+	public MethodLatency (DependencyInjectionPool pool) {
+
+		this.pool = new WeakReference<DependencyInjectionPool> (pool);
+	}
+
+
+	@Override
+	public Map<String, Long> getInvocationCount() {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, LatencyHistogram> histogram : histograms().entrySet())
+			result.put (histogram.getKey(), histogram.getValue().getCount());
+
+		return result;
+	}
+
+
+	@Override
+	public Map<String, Long> getMeanNanos() {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, LatencyHistogram> histogram : histograms().entrySet())
+			result.put (histogram.getKey(), histogram.getValue().getMeanNanos());
+
+		return result;
+	}
+
+
+	@Override
+	public Map<String, Long> getPercentile50Nanos() {
+
+		return percentile (50);
+	}
+
+
+	@Override
+	public Map<String, Long> getPercentile99Nanos() {
+
+		return percentile (99);
+	}
+
+
+	@Override
+	public Map<String, Long> getMaxNanos() {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, LatencyHistogram> histogram : histograms().entrySet())
+			result.put (histogram.getKey(), histogram.getValue().getMaxNanos());
+
+		return result;
+	}
+
+
+	private Map<String, Long> percentile (final double percentile) {
+
+		Map<String, Long> result = new TreeMap<String, Long>();
+		for (Map.Entry<String, LatencyHistogram> histogram : histograms().entrySet())
+			result.put (histogram.getKey(), histogram.getValue().getValueAtPercentile (percentile));
+
+		return result;
+	}
+
+
+	private Map<String, LatencyHistogram> histograms() {
+
+		DependencyInjectionPool currentPool = pool.get();
+		return (currentPool == null ? Collections.<String, LatencyHistogram>emptyMap() : currentPool.getLatencyHistograms());
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package org.play.dependencyinjection.metrics;
+
+import java.util.Map;
+
+/**
+ *    Publishes through JMX the latencies of the {@link org.play.dependencyinjection.annotations.Timed} methods of the
+ * implementations of a {@link org.play.dependencyinjection.DependencyInjectionPool}. The keys of every attribute are
+ * the key of the binding (canonical name of the interface + qualifier value) and the signature of the method, separated
+ * by #. The latencies are in nanoseconds.
+ */
+public interface MethodLatencyMXBean {
+
+	/**
+	 * Returns the number of invocations of every method.
+	 */
+	Map<String, Long> getInvocationCount();
+
+	/**
+	 * Returns the mean latency of every method.
+	 */
+	Map<String, Long> getMeanNanos();
+
+	/**
+	 * Returns the median latency of every method.
+	 */
+	Map<String, Long> getPercentile50Nanos();
+
+	/**
+	 * Returns the 99th percentile of the latency of every method.
+	 */
+	Map<String, Long> getPercentile99Nanos();
+
+	/**
+	 * Returns the greatest latency of every method.
+	 */
+	Map<String, Long> getMaxNanos();
+
+}
\ No newline at end of file
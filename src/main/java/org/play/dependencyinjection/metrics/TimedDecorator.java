@@ -0,0 +1,113 @@
+package org.play.dependencyinjection.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.annotations.Timed;
+import org.play.dependencyinjection.decorators.ImplementationDecorator;
+
+/**
+ *    Decorator of an implementation bound to an interface with {@link Timed} methods, that records the latency of every
+ * invocation of those methods in a {@link LatencyHistogram}. The decorator and its histograms are created only once,
+ * when the implementation is bound, so an invocation only adds the lookup of its histogram and the measurement. The
+ * rest of methods are delegated directly.
+ */
+public final class TimedDecorator extends ImplementationDecorator {
+
+	/**
+	 * Histogram of every {@link Timed} method of the interface
+	 */
+	private final Map<Method, LatencyHistogram> histograms;
+
+	/**
+	 * Histograms by the signature of their methods
+	 */
+	private final Map<String, LatencyHistogram> histogramsBySignature;
+
+
+	private TimedDecorator (final Object implementation, final Map<Method, LatencyHistogram> histograms
+			               ,final Map<String, LatencyHistogram> histogramsBySignature) {
+
+		super (implementation);
+		this.histograms            = histograms;
+		this.histogramsBySignature = Collections.unmodifiableMap (histogramsBySignature);
+	}
+
+
+	/**
+	 *    Returns a decorator of the given implementation if the given interface (or any of its methods) is annotated with
+	 * {@link Timed}, or the given implementation otherwise.
+	 *
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param implementation
+	 *    Implementation (or decorator) bound to the given interface
+	 *
+	 * @return the decorator or the given implementation
+	 */
+	public static Object decorate (final Class<?> interfaceClazz, final Object implementation) {
+
+		if (implementation == null || !interfaceClazz.isInterface() || find (implementation, TimedDecorator.class) != null)
+			return implementation;
+
+		boolean allMethods = interfaceClazz.isAnnotationPresent (Timed.class);
+		Map<Method, LatencyHistogram> histograms = new HashMap<Method, LatencyHistogram>();
+		Map<String, LatencyHistogram> histogramsBySignature = new TreeMap<String, LatencyHistogram>();
+		for (Method method : interfaceClazz.getMethods()) {
+
+			if (allMethods || method.isAnnotationPresent (Timed.class)) {
+
+				String signature = signatureOf (method);
+				LatencyHistogram histogram = histogramsBySignature.get (signature);
+				if (histogram == null) {
+					histogram = new LatencyHistogram();
+					histogramsBySignature.put (signature, histogram);
+				}
+				histograms.put (method, histogram);
+			}
+		}
+		if (histograms.isEmpty())
+			return implementation;
+
+		return newProxy (interfaceClazz, implementation, new TimedDecorator (implementation, histograms, histogramsBySignature));
+	}
+
+
+	/**
+	 * Returns the histograms of the given decorator by the signature of their methods (for example: find(String,int)).
+	 *
+	 * @param implementation
+	 *    Implementation stored in a resolver
+	 *
+	 * @return unmodifiable {@link Map} of histograms (or null if the given object is not decorated by a {@link TimedDecorator})
+	 */
+	@Nullable
+	public static Map<String, LatencyHistogram> histogramsOf (final Object implementation) {
+
+		TimedDecorator decorator = find (implementation, TimedDecorator.class);
+		return (decorator == null ? null : decorator.histogramsBySignature);
+	}
+
+
+	@Override
+	protected Object invokeDecorated (final Object proxy, final Method method, final Object[] args) throws Throwable {
+
+		LatencyHistogram histogram = histograms.get (method);
+		if (histogram == null)
+			return invokeImplementation (method, args);
+
+		long startTime = System.nanoTime();
+		try {
+			return invokeImplementation (method, args);
+		}
+		finally {
+			histogram.record (System.nanoTime() - startTime);
+		}
+	}
+
+}
\ No newline at end of file
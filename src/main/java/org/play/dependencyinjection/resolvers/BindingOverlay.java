@@ -0,0 +1,399 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.decorators.ImplementationDecorator;
+import org.play.dependencyinjection.events.DependencyInjectionEvents;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.reflections.ReflectionUtils;
+
+/**
+ *    Bindings that a child pool overrides over the ones of the resolvers of its parent. It only stores:
+ *
+ *  - The implementations bound in the child.
+ *  - A new instance of every implementation of the parent that (directly or through other ones) uses an overridden
+ *    implementation, whose properties point to the implementations of the child.
+ *
+ *    The rest of lookups go to the parent, so its memory grows with the number of overrides and not with the size of the
+ * graph. An instance is never modified once it has been published: {@link BindingOverlay#bind} returns a new one.
+ */
+public final class BindingOverlay {
+
+	/**
+	 * Overlay without any binding
+	 */
+	private static final BindingOverlay EMPTY = new BindingOverlay (new InternalInformationOfResolver (null)
+			                                                       ,Collections.<String, Object>emptyMap());
+
+	/**
+	 * Bindings added by the user
+	 */
+	private final InternalInformationOfResolver overrides;
+
+	/**
+	 *    Implementations of the overlay (the added ones and the new instances of their dependents) by key, behind the
+	 * same decorators as the ones of the parent
+	 */
+	private final Map<String, Object> implementationsByKey;
+
+
+	private BindingOverlay (InternalInformationOfResolver overrides, Map<String, Object> implementationsByKey) {
+
+		this.overrides            = overrides;
+		this.implementationsByKey = implementationsByKey;
+	}
+
+
+	/**
+	 * Returns an overlay without any binding.
+	 *
+	 * @return {@link BindingOverlay}
+	 */
+	public static BindingOverlay empty() {
+
+		return EMPTY;
+	}
+
+
+	/**
+	 *    Returns a new overlay with the bindings of the current one and the given one, whose implementations (and the
+	 * ones of the parent that depend on them) have their properties resolved.
+	 *
+	 * @param parentResolvers
+	 *    {@link DependencyInjectionResolver}s of the parent pool
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param implementationClazz
+	 *    Class of implementation
+	 * @param preinitializedObject
+	 *    Object that the user has initialized for the given implementationClazz (null to use the default constructor)
+	 *
+	 * @return new {@link BindingOverlay}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public BindingOverlay bind (final Collection<DependencyInjectionResolver> parentResolvers, final Class<?> interfaceClazz
+			                   ,final Class<?> implementationClazz, @Nullable final Object preinitializedObject) throws DependencyInjectionException {
+
+		if (interfaceClazz == null || implementationClazz == null)
+			throw new DependencyInjectionException ((interfaceClazz      == null ? "The given interfaceClazz must not be null. "      : "")
+                                                  + (implementationClazz == null ? "The given implementationClazz must not be null. " : ""));
+
+		if (!interfaceClazz.isInterface() || !interfaceClazz.isAssignableFrom (implementationClazz)
+				                          || (preinitializedObject != null && !implementationClazz.isInstance (preinitializedObject)))
+			throw new DependencyInjectionException ("The class: " + implementationClazz.getCanonicalName() + " is not an implementation"
+					                              + " of the interface: " + interfaceClazz.getCanonicalName());
+
+		// The asynchronous methods use the executors of the parent pool
+		InternalInformationOfResolver newOverrides = new InternalInformationOfResolver (null, (parentResolvers.isEmpty() ? null
+				                                                                                : parentResolvers.iterator().next()));
+		newOverrides.keepManualBindingsOf (this.overrides);
+		newOverrides.addInformationOfElementToInject (interfaceClazz, implementationClazz, true, preinitializedObject);
+
+		List<Object> createdImplementations = new ArrayList<Object>();
+		if (preinitializedObject == null)
+			createdImplementations.add (newOverrides.findImplementation (interfaceClazz
+					                   ,InternalInformationOfResolver.getQualifierValueInDependencyInjectionQualifierAnnotation (implementationClazz)));
+
+		return build (parentResolvers, newOverrides, createdImplementations);
+	}
+
+
+	/**
+	 *    Returns a new overlay with the same bindings, whose dependents are created again from the current implementations
+	 * of the parent (for example, after reloading one of its resolvers).
+	 *
+	 * @param parentResolvers
+	 *    {@link DependencyInjectionResolver}s of the parent pool
+	 *
+	 * @return new {@link BindingOverlay}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public BindingOverlay refresh (final Collection<DependencyInjectionResolver> parentResolvers) throws DependencyInjectionException {
+
+		return (this == EMPTY ? EMPTY : build (parentResolvers, this.overrides, new ArrayList<Object>()));
+	}
+
+
+	/**
+	 * Gets the implementation of the given interface (and qualifier value) stored in the overlay.
+	 *
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param qualifierValue
+	 *    Value of {@link org.play.dependencyinjection.annotations.DependencyInjectionQualifier} in an implementation class
+	 *
+	 * @return the implementation (or null if the overlay does not override it)
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T findImplementation (final Class<T> interfaceClazz, @Nullable String qualifierValue) {
+
+		return (T) this.implementationsByKey.get (InternalInformationOfResolver.buildKeyInInterfaceImplementationEquivalence (interfaceClazz
+				                                                                                                            ,qualifierValue));
+	}
+
+
+	/**
+	 * Returns the implementations stored in the overlay.
+	 *
+	 * @return unmodifiable {@link Map} with the key of every binding (canonical name of the interface + qualifier value)
+	 *         and its implementation
+	 */
+	public Map<String, Object> getImplementationsByKey() {
+
+		return this.implementationsByKey;
+	}
+
+
+	/**
+	 *    Creates the overlay of the given overrides: finds the implementations of the parent that use them, creates a new
+	 * instance of every one and resolves the properties of all of them before returning it.
+	 */
+	private static BindingOverlay build (final Collection<DependencyInjectionResolver> parentResolvers
+			                            ,final InternalInformationOfResolver overrides, final List<Object> createdImplementations)
+			                               throws DependencyInjectionException {
+
+		Map<String, Object> parentBindings = new LinkedHashMap<String, Object>();
+		for (DependencyInjectionResolver resolver : parentResolvers) {
+			for (Map.Entry<String, Object> binding : resolver.getBindings().entrySet()) {
+
+				if (!parentBindings.containsKey (binding.getKey()))
+					parentBindings.put (binding.getKey(), binding.getValue());
+			}
+		}
+		// The properties are injected in the implementations, but the lookups and the other properties use their decorators
+		Map<String, Object> implementationsByKey = new HashMap<String, Object> (overrides.getImplementationsByKey());
+		Map<String, Object> decoratedImplementationsByKey = new HashMap<String, Object>();
+		for (Map.Entry<String, Object> override : implementationsByKey.entrySet())
+			decoratedImplementationsByKey.put (override.getKey(), overrides.exposedImplementationOf (override.getKey(), override.getValue()));
+
+		// Implementation of the parent => the (decorated) one that replaces it in the child
+		Map<Object, Object> replacedImplementations = new IdentityHashMap<Object, Object>();
+		for (Map.Entry<String, Object> override : implementationsByKey.entrySet()) {
+
+			Object parentImplementation = parentBindings.get (override.getKey());
+			if (parentImplementation != null && parentImplementation != override.getValue())
+				replacedImplementations.put (parentImplementation, decoratedImplementationsByKey.get (override.getKey()));
+		}
+		// The dependents of a replaced implementation are replaced too, until none is added
+		Map<Object, Object> copies = new IdentityHashMap<Object, Object>();
+		boolean added = !replacedImplementations.isEmpty();
+		while (added) {
+
+			added = false;
+			for (Map.Entry<String, Object> binding : parentBindings.entrySet()) {
+
+				if (implementationsByKey.containsKey (binding.getKey()))
+					continue;
+
+				Object copy = copies.get (binding.getValue());
+				if (copy == null && usesAnyOf (binding.getValue(), replacedImplementations)) {
+
+					copy = newInstanceOf (binding.getValue().getClass());
+					copies.put (binding.getValue(), copy);
+					createdImplementations.add (copy);
+					added = true;
+				}
+				if (copy != null) {
+
+					Object decoratedCopy = overrides.decorate (interfaceOf (binding.getKey(), copy.getClass()), copy);
+					implementationsByKey.put (binding.getKey(), copy);
+					decoratedImplementationsByKey.put (binding.getKey(), decoratedCopy);
+					if (!replacedImplementations.containsKey (binding.getValue()))
+						replacedImplementations.put (binding.getValue(), decoratedCopy);
+				}
+			}
+		}
+		// Calculates all properties before applying anyone of them
+		List<InjectionPoint> injectionPoints = new ArrayList<InjectionPoint>();
+		Set<Object> implementations = Collections.newSetFromMap (new IdentityHashMap<Object, Boolean>());
+		implementations.addAll (implementationsByKey.values());
+		for (Object implementation : implementations)
+			collectInjectionPoints (implementation, decoratedImplementationsByKey, replacedImplementations, parentResolvers, overrides
+					               ,injectionPoints);
+
+		for (InjectionPoint injectionPoint : injectionPoints)
+			injectionPoint.apply();
+
+		LifecycleHooks.execute (createdImplementations);
+		return new BindingOverlay (overrides, Collections.unmodifiableMap (decoratedImplementationsByKey));
+	}
+
+
+	/**
+	 * Adds in injectionPoints the values of the properties (annotated with {@link WithDependencyInjection}) of the given implementation.
+	 */
+	@SuppressWarnings("unchecked")
+	private static void collectInjectionPoints (final Object implementation, final Map<String, Object> implementationsByKey
+			                                   ,final Map<Object, Object> replacedImplementations
+			                                   ,final Collection<DependencyInjectionResolver> parentResolvers
+			                                   ,final InternalInformationOfResolver overrides, final List<InjectionPoint> injectionPoints)
+			                                      throws DependencyInjectionException {
+
+		for (Field field : ReflectionUtils.getAllFields (implementation.getClass(), ReflectionUtils.withAnnotation (WithDependencyInjection.class))) {
+
+			Object value = null;
+			if (MultiBinding.findInterfaceOf (field) == null)
+				value = implementationsByKey.get (InternalInformationOfResolver.buildKeyInInterfaceImplementationEquivalence (field.getType()
+						                                                                ,field.getAnnotation (WithDependencyInjection.class).value()));
+			if (value == null) {
+				for (DependencyInjectionResolver resolver : parentResolvers) {
+
+					value = resolver.tryGetImplementationOfField (field);
+					if (value != null)
+						break;
+				}
+				if (value == null)
+					value = overrides.findImplementationOfField (field);
+
+				else if (MultiBinding.findInterfaceOf (field) != null)
+					value = replaceElementsOf (value, replacedImplementations);
+			}
+			if (value == null)
+				throw new DependencyInjectionException ("The property: " + field.getName() + " in the class: "
+						                              + implementation.getClass().getCanonicalName() + " has not an implementation");
+
+			injectionPoints.add (new InjectionPoint (implementation, field, value));
+		}
+	}
+
+
+	/**
+	 * Returns true if any property (annotated with {@link WithDependencyInjection}) of the given implementation uses one of the replaced ones.
+	 */
+	@SuppressWarnings("unchecked")
+	private static boolean usesAnyOf (final Object implementation, final Map<Object, Object> replacedImplementations)
+			                            throws DependencyInjectionException {
+
+		for (Field field : ReflectionUtils.getAllFields (implementation.getClass(), ReflectionUtils.withAnnotation (WithDependencyInjection.class))) {
+
+			Object value = valueOf (implementation, field);
+			if (value == null)
+				continue;
+
+			if (MultiBinding.findInterfaceOf (field) == null ? replacedImplementations.containsKey (ImplementationDecorator.unwrap (value))
+					                                         : replaceElementsOf (value, replacedImplementations) != value)
+				return true;
+		}
+		return false;
+	}
+
+
+	/**
+	 *    Returns a copy of the given {@link List}, {@link Map} or array of implementations in which the replaced ones
+	 * are changed, or the given value if none of them has been replaced.
+	 */
+	private static Object replaceElementsOf (final Object value, final Map<Object, Object> replacedImplementations) {
+
+		boolean anyReplaced = false;
+		for (Object element : MultiBinding.implementationsOf (value))
+			anyReplaced |= replacedImplementations.containsKey (ImplementationDecorator.unwrap (element));
+
+		if (!anyReplaced)
+			return value;
+
+		if (value.getClass().isArray()) {
+
+			Object[] elements = ((Object[]) value).clone();
+			for (int i = 0; i < elements.length; i++)
+				elements[i] = replacementOf (elements[i], replacedImplementations);
+
+			return elements;
+		}
+		if (value instanceof Map) {
+
+			Map<Object, Object> elements = new LinkedHashMap<Object, Object>();
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet())
+				elements.put (entry.getKey(), replacementOf (entry.getValue(), replacedImplementations));
+
+			return Collections.unmodifiableMap (elements);
+		}
+		List<Object> elements = new ArrayList<Object>();
+		for (Object element : (List<?>) value)
+			elements.add (replacementOf (element, replacedImplementations));
+
+		return Collections.unmodifiableList (elements);
+	}
+
+
+	private static Object valueOf (final Object implementation, final Field field) throws DependencyInjectionException {
+
+		// Due to is a private property
+		field.setAccessible (true);
+		try {
+			return field.get (implementation);
+
+		} catch (IllegalAccessException e) {
+			throw new DependencyInjectionException (e);
+		}
+		finally {
+			field.setAccessible (false);
+		}
+	}
+
+
+	private static Object replacementOf (final Object implementation, final Map<Object, Object> replacedImplementations) {
+
+		Object replacement = replacedImplementations.get (ImplementationDecorator.unwrap (implementation));
+		return (replacement == null ? implementation : replacement);
+	}
+
+
+	/**
+	 *    Returns the interface of the given binding key (canonical name of the interface + qualifier value) among the
+	 * ones of the given implementation class.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Class<?> interfaceOf (final String interfaceKey, final Class<?> implementationClazz) throws DependencyInjectionException {
+
+		String qualifierValue = InternalInformationOfResolver.getQualifierValueInDependencyInjectionQualifierAnnotation (implementationClazz);
+		for (Class<?> type : ReflectionUtils.getAllSuperTypes (implementationClazz)) {
+
+			if (type.isInterface() && InternalInformationOfResolver.buildKeyInInterfaceImplementationEquivalence (type, qualifierValue)
+					                                               .equals (interfaceKey))
+				return type;
+		}
+		throw new DependencyInjectionException ("The class: " + implementationClazz.getCanonicalName() + " does not implement the interface"
+				                              + " of the binding: " + interfaceKey);
+	}
+
+
+	/**
+	 * Creates a new instance of an implementation of the parent using its default constructor.
+	 */
+	private static Object newInstanceOf (final Class<?> implementationClazz) throws DependencyInjectionException {
+
+		boolean eventsEnabled = DependencyInjectionEvents.isEnabled();
+		long startTime = (eventsEnabled ? System.nanoTime() : 0);
+		try {
+			Object implementation = implementationClazz.getDeclaredConstructor().newInstance();
+			if (eventsEnabled)
+				DependencyInjectionEvents.implementationInstantiated (implementationClazz, System.nanoTime() - startTime);
+
+			return implementation;
+
+		} catch (InvocationTargetException e) {
+			throw new DependencyInjectionException ("The class: " + implementationClazz.getCanonicalName() + " uses an overridden"
+					                              + " implementation and its default constructor has failed", e.getCause());
+		} catch (Exception e) {
+			throw new DependencyInjectionException ("The class: " + implementationClazz.getCanonicalName() + " uses an overridden"
+					                              + " implementation and could not be created again using its default constructor", e);
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,253 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+/**
+ *    Scans a package reading the class files directly from the jars and directories of the classpath, so no class is
+ * loaded. Every location is scanned in parallel.
+ */
+final class BytecodeScanner {
+
+	private static final String CLASS_EXTENSION = ".class";
+
+
+	/**
+	 * Prevents instantiation from external entities
+	 */
+	private BytecodeScanner() {}
+
+
+	/**
+	 * Reads the class files of the given package (and its subpackages).
+	 *
+	 * @param packageName
+	 *    Package name to scan
+	 * @param locations
+	 *    Jars and directories that contain the package (returned by {@link BytecodeScanner#findLocations(String, ClassLoader)})
+	 * @param scanScope
+	 *    {@link ScanScope} that manages the opened jars
+	 * @param classLoader
+	 *    {@link ClassLoader} whose classes are scanned
+	 *
+	 * @return {@link Map} with the name of every class and its {@link ClassFileInfo}, or null if the package is stored
+	 *         in a location that is not a jar or a directory
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	@Nullable
+	static Map<String, ClassFileInfo> scan (final String packageName, final Collection<URL> locations
+			                               ,final ScanScope scanScope, final ClassLoader classLoader) throws DependencyInjectionException {
+
+		final String packagePath = packageName.replace ('.', '/') + "/";
+
+		List<Callable<List<ClassFileInfo>>> tasks = new ArrayList<Callable<List<ClassFileInfo>>>();
+		for (URL location : locations) {
+
+			final File file = toFile (location);
+			if (file == null)
+				return null;
+
+			tasks.add (new Callable<List<ClassFileInfo>>() {
+
+				@Override
+				public List<ClassFileInfo> call() throws Exception {
+
+					return (file.isDirectory() ? scanDirectory (file, packagePath) : scanJar (file, packagePath, scanScope, classLoader));
+				}
+			});
+		}
+		// Keeps the first class found, following the order of the classpath ("package-info" and "module-info" are not classes)
+		Map<String, ClassFileInfo> classes = new LinkedHashMap<String, ClassFileInfo>();
+		for (List<ClassFileInfo> classesOfLocation : invokeAll (tasks))
+			for (ClassFileInfo classFileInfo : classesOfLocation)
+				if (!classFileInfo.getClassName().endsWith ("-info") && !classes.containsKey (classFileInfo.getClassName()))
+					classes.put (classFileInfo.getClassName(), classFileInfo);
+
+		return classes;
+	}
+
+
+	/**
+	 * Returns the names of the classes of the given scan annotated with the given annotation, sorted by name.
+	 *
+	 * @param classes
+	 *    Result of a scan
+	 * @param annotationName
+	 *    Name of the annotation
+	 *
+	 * @return {@link Set} of class names
+	 */
+	static Set<String> findTypesAnnotatedWith (final Map<String, ClassFileInfo> classes, final String annotationName) {
+
+		Set<String> annotatedTypes = new TreeSet<String>();
+		for (ClassFileInfo classFileInfo : classes.values())
+			if (classFileInfo.getAnnotationNames().contains (annotationName))
+				annotatedTypes.add (classFileInfo.getClassName());
+
+		return annotatedTypes;
+	}
+
+
+	/**
+	 * Returns the jars and directories of the classpath that contain the given package.
+	 *
+	 * @param packageName
+	 *    Package name to scan
+	 * @param classLoader
+	 *    {@link ClassLoader} used to find the locations
+	 *
+	 * @return {@link Collection} of {@link URL}s
+	 */
+	static Collection<URL> findLocations (final String packageName, final ClassLoader classLoader) {
+
+		String resourceName = packageName.replace ('.', '/');
+		Set<URL> locations = new LinkedHashSet<URL>();
+		try {
+			for (Enumeration<URL> resources = classLoader.getResources (resourceName); resources.hasMoreElements();) {
+
+				String externalForm = resources.nextElement().toExternalForm();
+				int index = externalForm.lastIndexOf (resourceName);
+				if (index >= 0)
+					locations.add (new URL (externalForm.substring (0, index)));
+			}
+		} catch (IOException e) {
+			// The same that Reflections does: the package is not found
+		}
+		return locations;
+	}
+
+
+	/**
+	 * Returns the jar or directory of the given location, or null if it is not stored in the file system.
+	 */
+	@Nullable
+	private static File toFile (final URL location) {
+
+		try {
+			String externalForm = location.toExternalForm();
+			if ("jar".equals (location.getProtocol())) {
+
+				int separatorIndex = externalForm.indexOf ("!/");
+				if (separatorIndex < 0 || separatorIndex + 2 != externalForm.length())
+					return null;
+
+				externalForm = externalForm.substring ("jar:".length(), separatorIndex);
+			}
+			if (!externalForm.startsWith ("file:"))
+				return null;
+
+			File file = new File (new URI (externalForm));
+			return (file.exists() ? file : null);
+
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+
+	private static List<ClassFileInfo> scanDirectory (final File directory, final String packagePath) throws IOException {
+
+		final List<ClassFileInfo> classes = new ArrayList<ClassFileInfo>();
+
+		Path packageDirectory = directory.toPath().resolve (packagePath);
+		if (Files.isDirectory (packageDirectory)) {
+
+			Files.walkFileTree (packageDirectory, new SimpleFileVisitor<Path>() {
+
+				@Override
+				public FileVisitResult visitFile (Path file, BasicFileAttributes attributes) throws IOException {
+
+					if (file.getFileName().toString().endsWith (CLASS_EXTENSION))
+						classes.add (parse (ByteBuffer.wrap (Files.readAllBytes (file)), file.toString()));
+
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		}
+		return classes;
+	}
+
+
+	private static List<ClassFileInfo> scanJar (final File jarFile, final String packagePath, final ScanScope scanScope
+			                                   ,final ClassLoader classLoader) throws IOException {
+
+		ZipArchive archive = scanScope.getZipArchive (jarFile, classLoader);
+		boolean closeArchive = (archive == null);
+		if (closeArchive)
+			archive = ZipArchive.open (jarFile);
+
+		try {
+			List<ClassFileInfo> classes = new ArrayList<ClassFileInfo>();
+			for (ByteBuffer classFile : archive.readClassFiles (packagePath))
+				classes.add (parse (classFile, jarFile.toString()));
+
+			return classes;
+		}
+		finally {
+			if (closeArchive)
+				archive.close();
+		}
+	}
+
+
+	private static ClassFileInfo parse (final ByteBuffer classFile, final String location) throws IOException {
+
+		try {
+			return ClassFileParser.parse (classFile);
+
+		} catch (DependencyInjectionException e) {
+			throw new IOException ("Could not read a class file of " + location, e);
+		}
+	}
+
+
+	private static List<List<ClassFileInfo>> invokeAll (final List<Callable<List<ClassFileInfo>>> tasks) throws DependencyInjectionException {
+
+		ExecutorService executorService = ClasspathScanner.newScanExecutorService();
+		try {
+			List<List<ClassFileInfo>> results = new ArrayList<List<ClassFileInfo>>();
+			for (Future<List<ClassFileInfo>> future : executorService.invokeAll (tasks))
+				results.add (future.get());
+
+			return results;
+
+		} catch (ExecutionException e) {
+			throw new DependencyInjectionException (e.getCause());
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DependencyInjectionException (e);
+
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+}
\ No newline at end of file
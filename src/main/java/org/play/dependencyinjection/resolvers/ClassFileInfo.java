@@ -0,0 +1,104 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+/**
+ *    Information of a class read directly from its class file by {@link ClassFileParser}, without loading it.
+ */
+final class ClassFileInfo {
+
+	private static final int ACC_INTERFACE = 0x0200;
+
+	private static final int ACC_ABSTRACT = 0x0400;
+
+	/**
+	 * Name of the class (using dots: <i>org.play.Example$Inner</i>)
+	 */
+	private final String className;
+
+	/**
+	 * Name of the parent class (null in {@link Object})
+	 */
+	private final String superClassName;
+
+	/**
+	 * Names of the implemented interfaces (or extended ones if this class is an interface)
+	 */
+	private final List<String> interfaceNames;
+
+	/**
+	 * Names of the annotations of the class visible at runtime
+	 */
+	private final Set<String> annotationNames;
+
+	/**
+	 * Value of the {@link org.play.dependencyinjection.annotations.DependencyInjectionQualifier} (null if it does not have one)
+	 */
+	private final String qualifierValue;
+
+	/**
+	 * Priority of the {@link org.play.dependencyinjection.annotations.DependencyInjectionQualifier}
+	 */
+	private final int qualifierPriority;
+
+	private final int accessFlags;
+
+
+	ClassFileInfo (final String className, @Nullable final String superClassName, final List<String> interfaceNames
+			      ,final Set<String> annotationNames, @Nullable final String qualifierValue, final int qualifierPriority
+			      ,final int accessFlags) {
+
+		this.className         = className;
+		this.superClassName    = superClassName;
+		this.interfaceNames    = interfaceNames;
+		this.annotationNames   = annotationNames;
+		this.qualifierValue    = qualifierValue;
+		this.qualifierPriority = qualifierPriority;
+		this.accessFlags       = accessFlags;
+	}
+
+
+	@Override
+	public String toString() {
+		return className;
+	}
+
+
+	String getClassName() {
+		return className;
+	}
+
+	@Nullable
+	String getSuperClassName() {
+		return superClassName;
+	}
+
+	List<String> getInterfaceNames() {
+		return interfaceNames;
+	}
+
+	Set<String> getAnnotationNames() {
+		return annotationNames;
+	}
+
+	@Nullable
+	String getQualifierValue() {
+		return qualifierValue;
+	}
+
+	int getQualifierPriority() {
+		return qualifierPriority;
+	}
+
+	boolean isInterface() {
+		return (accessFlags & ACC_INTERFACE) != 0;
+	}
+
+	boolean isAbstract() {
+		return (accessFlags & ACC_ABSTRACT) != 0;
+	}
+
+}
\ No newline at end of file
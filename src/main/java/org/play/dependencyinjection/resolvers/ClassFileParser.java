@@ -0,0 +1,344 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.annotations.DependencyInjectionQualifier;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+/**
+ *    Reads the information that the resolvers need (name, parent class, interfaces and annotations) from a class file,
+ * following the format of the chapter 4 of the Java Virtual Machine Specification. Only the constant pool entries
+ * that are used are decoded, the fields and methods are skipped.
+ */
+final class ClassFileParser {
+
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+	private static final String QUALIFIER_DESCRIPTOR = "L" + DependencyInjectionQualifier.class.getName().replace ('.', '/') + ";";
+
+	// Tags of the constant pool
+	private static final int CONSTANT_UTF8 = 1;
+	private static final int CONSTANT_INTEGER = 3;
+	private static final int CONSTANT_FLOAT = 4;
+	private static final int CONSTANT_LONG = 5;
+	private static final int CONSTANT_DOUBLE = 6;
+	private static final int CONSTANT_CLASS = 7;
+	private static final int CONSTANT_STRING = 8;
+	private static final int CONSTANT_FIELDREF = 9;
+	private static final int CONSTANT_METHODREF = 10;
+	private static final int CONSTANT_INTERFACE_METHODREF = 11;
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+	private static final int CONSTANT_METHOD_HANDLE = 15;
+	private static final int CONSTANT_METHOD_TYPE = 16;
+	private static final int CONSTANT_DYNAMIC = 17;
+	private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+	private static final int CONSTANT_MODULE = 19;
+	private static final int CONSTANT_PACKAGE = 20;
+
+
+	/**
+	 * Prevents instantiation from external entities
+	 */
+	private ClassFileParser() {}
+
+
+	/**
+	 * Reads the given class file.
+	 *
+	 * @param classFile
+	 *    Content of the class file (from its current position)
+	 *
+	 * @return {@link ClassFileInfo}
+	 *
+	 * @throws DependencyInjectionException if the content is not a valid class file
+	 */
+	static ClassFileInfo parse (final ByteBuffer classFile) throws DependencyInjectionException {
+
+		try {
+			ByteBuffer buffer = classFile.slice();
+			if (buffer.getInt() != MAGIC)
+				throw new DependencyInjectionException ("The given content is not a class file");
+
+			// Minor and major version
+			buffer.getInt();
+
+			// Position of every entry of the constant pool (the first one is not used)
+			int[] constantPositions = new int[buffer.getShort() & 0xFFFF];
+			for (int i = 1; i < constantPositions.length; i++) {
+
+				constantPositions[i] = buffer.position();
+				int tag = buffer.get() & 0xFF;
+				switch (tag) {
+					case CONSTANT_UTF8:
+						int length = buffer.getShort() & 0xFFFF;
+						buffer.position (buffer.position() + length);
+						break;
+
+					case CONSTANT_CLASS:
+					case CONSTANT_STRING:
+					case CONSTANT_METHOD_TYPE:
+					case CONSTANT_MODULE:
+					case CONSTANT_PACKAGE:
+						buffer.position (buffer.position() + 2);
+						break;
+
+					case CONSTANT_METHOD_HANDLE:
+						buffer.position (buffer.position() + 3);
+						break;
+
+					case CONSTANT_INTEGER:
+					case CONSTANT_FLOAT:
+					case CONSTANT_FIELDREF:
+					case CONSTANT_METHODREF:
+					case CONSTANT_INTERFACE_METHODREF:
+					case CONSTANT_NAME_AND_TYPE:
+					case CONSTANT_DYNAMIC:
+					case CONSTANT_INVOKE_DYNAMIC:
+						buffer.position (buffer.position() + 4);
+						break;
+
+					case CONSTANT_LONG:
+					case CONSTANT_DOUBLE:
+						// Uses two entries of the constant pool
+						buffer.position (buffer.position() + 8);
+						i++;
+						break;
+
+					default:
+						throw new DependencyInjectionException ("Unknown tag " + tag + " in the constant pool");
+				}
+			}
+			ConstantPool constantPool = new ConstantPool (buffer, constantPositions);
+
+			int accessFlags = buffer.getShort() & 0xFFFF;
+			String className = constantPool.getClassName (buffer.getShort() & 0xFFFF);
+			int superClassIndex = buffer.getShort() & 0xFFFF;
+			String superClassName = (superClassIndex == 0 ? null : constantPool.getClassName (superClassIndex));
+
+			int numberOfInterfaces = buffer.getShort() & 0xFFFF;
+			List<String> interfaceNames = new ArrayList<String> (numberOfInterfaces);
+			for (int i = 0; i < numberOfInterfaces; i++)
+				interfaceNames.add (constantPool.getClassName (buffer.getShort() & 0xFFFF));
+
+			// Fields and methods
+			skipMembers (buffer);
+			skipMembers (buffer);
+
+			Set<String> annotationNames = Collections.emptySet();
+			QualifierReader qualifier = new QualifierReader();
+
+			int numberOfAttributes = buffer.getShort() & 0xFFFF;
+			for (int i = 0; i < numberOfAttributes; i++) {
+
+				String attributeName = constantPool.getUtf8 (buffer.getShort() & 0xFFFF);
+				int attributeLength = buffer.getInt();
+				int attributeEnd = buffer.position() + attributeLength;
+
+				if (RUNTIME_VISIBLE_ANNOTATIONS.equals (attributeName))
+					annotationNames = readAnnotations (buffer, constantPool, qualifier);
+
+				buffer.position (attributeEnd);
+			}
+			return new ClassFileInfo (className, superClassName, interfaceNames, annotationNames
+					                 ,qualifier.value, qualifier.priority, accessFlags);
+
+		} catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new DependencyInjectionException ("The given content is not a valid class file", e);
+		}
+	}
+
+
+	private static void skipMembers (final ByteBuffer buffer) {
+
+		int numberOfMembers = buffer.getShort() & 0xFFFF;
+		for (int i = 0; i < numberOfMembers; i++) {
+
+			// Access flags, name and descriptor
+			buffer.position (buffer.position() + 6);
+			skipAttributes (buffer);
+		}
+	}
+
+
+	private static void skipAttributes (final ByteBuffer buffer) {
+
+		int numberOfAttributes = buffer.getShort() & 0xFFFF;
+		for (int i = 0; i < numberOfAttributes; i++) {
+
+			buffer.getShort();
+			int attributeLength = buffer.getInt();
+			buffer.position (buffer.position() + attributeLength);
+		}
+	}
+
+
+	/**
+	 * Reads the annotations of the class, storing the values of {@link DependencyInjectionQualifier} in the given qualifier.
+	 */
+	private static Set<String> readAnnotations (final ByteBuffer buffer, final ConstantPool constantPool
+			                                   ,final QualifierReader qualifier) throws DependencyInjectionException {
+
+		int numberOfAnnotations = buffer.getShort() & 0xFFFF;
+		Set<String> annotationNames = new HashSet<String>();
+		for (int i = 0; i < numberOfAnnotations; i++) {
+
+			String descriptor = constantPool.getUtf8 (buffer.getShort() & 0xFFFF);
+			annotationNames.add (descriptorToClassName (descriptor));
+
+			boolean isQualifier = QUALIFIER_DESCRIPTOR.equals (descriptor);
+			if (isQualifier)
+				qualifier.value = "";
+
+			int numberOfPairs = buffer.getShort() & 0xFFFF;
+			for (int j = 0; j < numberOfPairs; j++) {
+
+				String elementName = constantPool.getUtf8 (buffer.getShort() & 0xFFFF);
+				int tag = buffer.get() & 0xFF;
+				if (isQualifier && "value".equals (elementName) && tag == 's')
+					qualifier.value = constantPool.getUtf8 (buffer.getShort() & 0xFFFF);
+
+				else if (isQualifier && "priority".equals (elementName) && tag == 'I')
+					qualifier.priority = constantPool.getInteger (buffer.getShort() & 0xFFFF);
+
+				else
+					skipElementValue (buffer, tag);
+			}
+		}
+		return annotationNames;
+	}
+
+
+	private static void skipElementValue (final ByteBuffer buffer, final int tag) throws DependencyInjectionException {
+
+		switch (tag) {
+			case 'B': case 'C': case 'D': case 'F': case 'I': case 'J': case 'S': case 'Z': case 's': case 'c':
+				buffer.getShort();
+				break;
+
+			case 'e':
+				buffer.getInt();
+				break;
+
+			case '@':
+				buffer.getShort();
+				int numberOfPairs = buffer.getShort() & 0xFFFF;
+				for (int i = 0; i < numberOfPairs; i++) {
+					buffer.getShort();
+					skipElementValue (buffer, buffer.get() & 0xFF);
+				}
+				break;
+
+			case '[':
+				int numberOfValues = buffer.getShort() & 0xFFFF;
+				for (int i = 0; i < numberOfValues; i++)
+					skipElementValue (buffer, buffer.get() & 0xFF);
+				break;
+
+			default:
+				throw new DependencyInjectionException ("Unknown tag " + tag + " in an annotation");
+		}
+	}
+
+
+	/**
+	 * Converts a field descriptor (<i>Lorg/play/Example;</i>) into a class name (<i>org.play.Example</i>).
+	 */
+	private static String descriptorToClassName (final String descriptor) {
+
+		if (descriptor.length() > 2 && descriptor.charAt (0) == 'L' && descriptor.charAt (descriptor.length() - 1) == ';')
+			return descriptor.substring (1, descriptor.length() - 1).replace ('/', '.');
+
+		return descriptor;
+	}
+
+
+	/**
+	 * Decodes on demand the entries of the constant pool.
+	 */
+	private static final class ConstantPool {
+
+		private final ByteBuffer buffer;
+
+		private final int[] constantPositions;
+
+
+		ConstantPool (final ByteBuffer buffer, final int[] constantPositions) {
+
+			this.buffer            = buffer;
+			this.constantPositions = constantPositions;
+		}
+
+
+		String getClassName (final int index) throws DependencyInjectionException {
+
+			int position = getPosition (index, CONSTANT_CLASS);
+			return getUtf8 (buffer.getShort (position + 1) & 0xFFFF).replace ('/', '.');
+		}
+
+
+		int getInteger (final int index) throws DependencyInjectionException {
+
+			return buffer.getInt (getPosition (index, CONSTANT_INTEGER) + 1);
+		}
+
+
+		/**
+		 * Decodes the "modified UTF-8" used in the class files.
+		 */
+		String getUtf8 (final int index) throws DependencyInjectionException {
+
+			int position = getPosition (index, CONSTANT_UTF8);
+			int length = buffer.getShort (position + 1) & 0xFFFF;
+
+			char[] characters = new char[length];
+			int numberOfCharacters = 0;
+			for (int i = position + 3, end = position + 3 + length; i < end;) {
+
+				int first = buffer.get (i++) & 0xFF;
+				if (first < 0x80)
+					characters[numberOfCharacters++] = (char) first;
+
+				else if ((first & 0xE0) == 0xC0)
+					characters[numberOfCharacters++] = (char) (((first & 0x1F) << 6) | (buffer.get (i++) & 0x3F));
+
+				else {
+					int second = buffer.get (i++) & 0x3F;
+					characters[numberOfCharacters++] = (char) (((first & 0x0F) << 12) | (second << 6) | (buffer.get (i++) & 0x3F));
+				}
+			}
+			return new String (characters, 0, numberOfCharacters);
+		}
+
+
+		private int getPosition (final int index, final int expectedTag) throws DependencyInjectionException {
+
+			if (index <= 0 || index >= constantPositions.length || (buffer.get (constantPositions[index]) & 0xFF) != expectedTag)
+				throw new DependencyInjectionException ("The entry " + index + " of the constant pool has not the tag " + expectedTag);
+
+			return constantPositions[index];
+		}
+	}
+
+
+	/**
+	 * Values of {@link DependencyInjectionQualifier} found in the annotations of a class.
+	 */
+	private static final class QualifierReader {
+
+		@Nullable
+		private String value;
+
+		private int priority;
+	}
+
+}
\ No newline at end of file
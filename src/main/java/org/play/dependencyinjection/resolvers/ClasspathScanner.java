@@ -0,0 +1,408 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.annotations.Injectable;
+import org.play.dependencyinjection.events.DependencyInjectionEvents;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.ScopedReflections.ScopedConfiguration;
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.FilterBuilder;
+
+/**
+ *    Searches in the classpath the "injectable interfaces", their implementations and the controllers. The threads
+ * used in every scan are stopped when it finishes, so they do not keep any reference to the classloader of the application.
+ */
+public final class ClasspathScanner {
+
+	/**
+	 * In the operations related with the searching of information about interfaces and implementations, the number of threads
+	 */
+	private static int numberOfParallelThreads = 2;
+
+	/**
+	 * Used to give a different name to every scan thread
+	 */
+	private static final AtomicInteger threadNumber = new AtomicInteger (1);
+
+	/**
+	 * Restrictions of the locations included in every scan
+	 */
+	private static volatile ScanScope scanScope = new ScanScope();
+
+
+	/**
+	 * Prevents instantiation from external entities
+	 */
+	private ClasspathScanner() {}
+
+
+	/**
+	 *    Sets the {@link ScanScope} used by the following scans. The jars opened by the previous one are closed.
+	 *
+	 * @param newScanScope
+	 *    {@link ScanScope} to use
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public static void setScanScope (final ScanScope newScanScope) throws DependencyInjectionException {
+
+		if (newScanScope == null)
+			throw new DependencyInjectionException ("The given scanScope must not be null");
+
+		ScanScope previousScanScope = scanScope;
+		scanScope = newScanScope;
+		if (previousScanScope != newScanScope)
+			previousScanScope.close();
+	}
+
+
+	/**
+	 * Returns the {@link ScanScope} used by the scans.
+	 *
+	 * @return {@link ScanScope}
+	 */
+	public static ScanScope getScanScope() {
+
+		return scanScope;
+	}
+
+
+	/**
+	 *    Searches all interfaces with the annotation {@link Injectable} and their implementations.
+	 *
+	 * @param interfacesPackage
+	 *    Package name that stores the "injectable interfaces"
+	 * @param implementationPackage
+	 *    Package name that stores the implementation of "injectable interfaces"
+	 * @param interfaceToResolve
+	 *    Interface that manages the resolver (if it is not null only its subinterfaces will be included)
+	 *
+	 * @return {@link Map} with:
+	 *  - Key: class of an "injectable interface".
+	 *  - Value: classes of its implementations.
+	 *
+	 * @throws DependencyInjectionException if an "injectable interface" has not an implementation
+	 */
+	public static Map<Class<?>, Set<Class<?>>> findImplementationsOfInjectableInterfaces (final String interfacesPackage
+			                                                                             ,final String implementationPackage
+			                                                                             ,@Nullable final Class<?> interfaceToResolve)
+			                                                                                throws DependencyInjectionException {
+
+		ScanScope currentScanScope = scanScope;
+		if (currentScanScope.isBytecodeScannerUsed()) {
+
+			Map<String, ClassFileInfo> interfaceClassFiles = scanClassFiles (interfacesPackage, currentScanScope);
+			Map<String, ClassFileInfo> implementationClassFiles = (interfaceClassFiles == null ? null
+					                                                                          : scanClassFiles (implementationPackage, currentScanScope));
+			if (implementationClassFiles != null)
+				return findImplementationsOfInjectableInterfaces (interfaceClassFiles, implementationClassFiles, interfaceToResolve);
+		}
+		// Gets classes of interfaces with Injectable annotation
+		Set<Class<?>> interfaceClasses = getInterfaceClassesWithInjectableAnnotation (interfacesPackage, interfaceToResolve);
+		List<String> interfaceNames = new ArrayList<String>();
+		if (interfaceClasses != null)
+			for (Class<?> interfaceClazz : interfaceClasses)
+				interfaceNames.add (interfaceClazz.getName());
+
+		// Gets implementations
+		return findImplementationsOfInterfaces (interfaceNames, SubtypeIndex.of (scan (implementationPackage)));
+	}
+
+
+	/**
+	 * Searches all subclasses of the given parent controller class.
+	 *
+	 * @param controllersPackage
+	 *    Package name that stores the implementation of {@link Controller}s
+	 * @param parentControllerClazz
+	 *    Class to which all controllers must belong
+	 *
+	 * @return {@link Set} of controller classes
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public static <T> Set<Class<? extends T>> findControllers (final String controllersPackage, final Class<T> parentControllerClazz)
+			                                                      throws DependencyInjectionException {
+
+		ScanScope currentScanScope = scanScope;
+		if (currentScanScope.isBytecodeScannerUsed()) {
+
+			Map<String, ClassFileInfo> controllerClassFiles = scanClassFiles (controllersPackage, currentScanScope);
+			if (controllerClassFiles != null) {
+
+				// Only the controllers are loaded
+				Set<Class<? extends T>> controllers = new LinkedHashSet<Class<? extends T>>();
+				for (String controllerClassName : SubtypeIndex.of (controllerClassFiles).findSubTypes (parentControllerClazz.getName()))
+					controllers.add (loadClass (controllerClassName).asSubclass (parentControllerClazz));
+
+				return controllers;
+			}
+		}
+		return scan (controllersPackage).getSubTypesOf (parentControllerClazz);
+	}
+
+
+	/**
+	 *    Loads the class with the given name using the context classloader (the one of the application), or the
+	 * classloader of this library if there is not a context classloader.
+	 *
+	 * @param className
+	 *    Name of the class to load
+	 *
+	 * @return {@link Class}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public static Class<?> loadClass (final String className) throws DependencyInjectionException {
+
+		try {
+			return Class.forName (className, false, getClassLoader());
+
+		} catch (ClassNotFoundException e) {
+			throw new DependencyInjectionException (e);
+		}
+	}
+
+
+	/**
+	 *    Returns the context classloader (the one of the application), or the classloader of this library if there
+	 * is not a context classloader.
+	 */
+	private static ClassLoader getClassLoader() {
+
+		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		return (classLoader == null ? ClasspathScanner.class.getClassLoader() : classLoader);
+	}
+
+
+	/**
+	 *    Returns a new {@link ExecutorService} with the threads used in a scan. It must be stopped when the scan
+	 * finishes, so its threads do not keep any reference to the classloader of the application.
+	 *
+	 * @return {@link ExecutorService}
+	 */
+	static ExecutorService newScanExecutorService() {
+
+		return Executors.newFixedThreadPool (numberOfParallelThreads, new ThreadFactory() {
+
+			@Override
+			public Thread newThread (Runnable runnable) {
+
+				Thread thread = new Thread (runnable, "dependency-injection-scan-" + threadNumber.getAndIncrement());
+				thread.setDaemon (true);
+				return thread;
+			}
+		});
+	}
+
+
+	/**
+	 * Reads the class files of the given package using {@link BytecodeScanner}, without loading any class.
+	 *
+	 * @param packageName
+	 *    Package name to scan
+	 * @param currentScanScope
+	 *    {@link ScanScope} with the locations that can be scanned
+	 *
+	 * @return {@link Map} with the name of every class and its {@link ClassFileInfo}, or null if the package
+	 *         must be scanned by {@link Reflections}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	@Nullable
+	private static Map<String, ClassFileInfo> scanClassFiles (final String packageName, final ScanScope currentScanScope)
+			                                                     throws DependencyInjectionException {
+
+		boolean eventsEnabled = DependencyInjectionEvents.isEnabled();
+		long startTime = (eventsEnabled ? System.nanoTime() : 0);
+
+		ClassLoader classLoader = getClassLoader();
+		Collection<URL> urls = currentScanScope.select (BytecodeScanner.findLocations (packageName, classLoader));
+		Map<String, ClassFileInfo> classFiles = BytecodeScanner.scan (packageName, urls, currentScanScope, classLoader);
+
+		if (eventsEnabled && classFiles != null)
+			DependencyInjectionEvents.scanFinished (packageName, urls.size(), classFiles.size(), System.nanoTime() - startTime);
+
+		return classFiles;
+	}
+
+
+	/**
+	 *    Searches the "injectable interfaces" and their implementations in the given class files. Only the classes
+	 * of the result are loaded.
+	 *
+	 * @param interfaceClassFiles
+	 *    Class files of the package that stores the "injectable interfaces"
+	 * @param implementationClassFiles
+	 *    Class files of the package that stores the implementation of "injectable interfaces"
+	 * @param interfaceToResolve
+	 *    Interface that manages the resolver (if it is not null only its subinterfaces will be included)
+	 *
+	 * @return {@link Map} with:
+	 *  - Key: class of an "injectable interface".
+	 *  - Value: classes of its implementations.
+	 *
+	 * @throws DependencyInjectionException if an "injectable interface" has not an implementation
+	 */
+	private static Map<Class<?>, Set<Class<?>>> findImplementationsOfInjectableInterfaces (final Map<String, ClassFileInfo> interfaceClassFiles
+			                                                                              ,final Map<String, ClassFileInfo> implementationClassFiles
+			                                                                              ,@Nullable final Class<?> interfaceToResolve)
+			                                                                                 throws DependencyInjectionException {
+
+		// The subtypes of the annotated interfaces are "injectable interfaces" too (the same that Reflections does)
+		SubtypeIndex interfaceIndex = SubtypeIndex.of (interfaceClassFiles);
+		Set<String> interfaceNames = BytecodeScanner.findTypesAnnotatedWith (interfaceClassFiles, Injectable.class.getName());
+		interfaceNames.addAll (interfaceIndex.findAllSubTypes (new ArrayList<String> (interfaceNames)));
+
+		// Filter by the interface indicated as parameter
+		if (interfaceToResolve != null) {
+
+			boolean flagContainsInterfaceToResolve = interfaceNames.contains (interfaceToResolve.getName());
+
+			interfaceNames.retainAll (interfaceIndex.findSubTypes (interfaceToResolve.getName()));
+			if (flagContainsInterfaceToResolve)
+				interfaceNames.add (interfaceToResolve.getName());
+		}
+		return findImplementationsOfInterfaces (interfaceNames, SubtypeIndex.of (implementationClassFiles));
+	}
+
+
+	/**
+	 *    Searches the implementations of all given interfaces with a single pass over the implementation classes.
+	 * Only the classes of the result are loaded.
+	 *
+	 * @param interfaceNames
+	 *    Names of the "injectable interfaces"
+	 * @param implementationIndex
+	 *    {@link SubtypeIndex} of the package that stores the implementation of "injectable interfaces"
+	 *
+	 * @return {@link Map} with:
+	 *  - Key: class of an "injectable interface".
+	 *  - Value: classes of its implementations.
+	 *
+	 * @throws DependencyInjectionException if an "injectable interface" has not an implementation
+	 */
+	private static Map<Class<?>, Set<Class<?>>> findImplementationsOfInterfaces (final Collection<String> interfaceNames
+			                                                                    ,final SubtypeIndex implementationIndex)
+			                                                                       throws DependencyInjectionException {
+
+		Map<String, Set<String>> implementationNamesByInterface = implementationIndex.findSubTypes (interfaceNames);
+
+		Map<Class<?>, Set<Class<?>>> result = new LinkedHashMap<Class<?>, Set<Class<?>>>();
+		for (Map.Entry<String, Set<String>> entry : implementationNamesByInterface.entrySet()) {
+
+			Class<?> interfaceClazz = loadClass (entry.getKey());
+			if (entry.getValue().isEmpty())
+				throw new DependencyInjectionException ("The interface " + interfaceClazz.getCanonicalName()
+                                                      + " has not an implementation");
+
+			Set<Class<?>> implementationClasses = new LinkedHashSet<Class<?>>();
+			for (String implementationName : entry.getValue())
+				implementationClasses.add (loadClass (implementationName));
+
+			result.put (interfaceClazz, implementationClasses);
+		}
+		return result;
+	}
+
+
+	/**
+	 *    Scans the given package looking for subtypes and annotated types. Only the jars and directories included
+	 * in the current {@link ScanScope} are opened.
+	 *
+	 * @param packageName
+	 *    Package name to scan
+	 *
+	 * @return {@link Reflections} with the result of the scan
+	 */
+	static Reflections scan (final String packageName) {
+
+		ExecutorService executorService = newScanExecutorService();
+		boolean eventsEnabled = DependencyInjectionEvents.isEnabled();
+		long startTime = (eventsEnabled ? System.nanoTime() : 0);
+		try {
+			ScanScope currentScanScope = scanScope;
+			Collection<URL> urls = currentScanScope.select (ClasspathHelper.forPackage (packageName));
+			ScopedConfiguration configuration = new ScopedConfiguration (currentScanScope, getClassLoader());
+			configuration.filterInputsBy (new FilterBuilder().includePackage (packageName))
+			             .setUrls (urls)
+			             .setScanners (new SubTypesScanner()
+			                          ,new TypeAnnotationsScanner())
+			             .setExecutorService (executorService);
+
+			Reflections reflections = new ScopedReflections (configuration);
+			if (eventsEnabled)
+				DependencyInjectionEvents.scanFinished (packageName, urls.size(), countClasses (reflections), System.nanoTime() - startTime);
+
+			return reflections;
+		}
+		finally {
+			executorService.shutdownNow();
+		}
+	}
+
+
+	/**
+	 * Returns the number of different classes stored in the result of a scan.
+	 */
+	private static int countClasses (final Reflections reflections) {
+
+		Set<String> classNames = new HashSet<String>();
+		for (String index : reflections.getStore().keySet())
+			classNames.addAll (reflections.getStore().get (index).values());
+
+		return classNames.size();
+	}
+
+
+	/**
+	 * Returns classes of interfaces with {@link Injectable} annotation
+	 *
+	 * @param interfacesPackage
+	 *    Package name that stores the "injectable interfaces"
+	 * @param interfaceToResolve
+	 *    Interface that manages the resolver
+	 *
+	 * @return {@link Set} of classes with {@link Injectable} annotation
+	 */
+	private static Set<Class<?>> getInterfaceClassesWithInjectableAnnotation (final String interfacesPackage
+			                                                                 ,@Nullable final Class<?> interfaceToResolve) {
+
+		// Get "injectable interfaces"
+		Reflections interfaceReflections = scan (interfacesPackage);
+
+		Set<Class<?>> interfaceClasses = interfaceReflections.getTypesAnnotatedWith (Injectable.class);
+
+		// Filter by the interface indicated as parameter
+		if (interfaceToResolve != null) {
+
+			boolean flagContainsInterfaceToResolve = false;
+			if (interfaceClasses.contains (interfaceToResolve))
+				flagContainsInterfaceToResolve = true;
+
+			interfaceClasses.retainAll (interfaceReflections.getSubTypesOf (interfaceToResolve));
+			if (flagContainsInterfaceToResolve)
+				interfaceClasses.add (interfaceToResolve);
+		}
+		return interfaceClasses;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.lang.reflect.Field;
+import java.util.Set;
+
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.reflections.ReflectionUtils;
+
+/**
+ *    Injection points of a controller (its static properties annotated with {@link WithDependencyInjection}) and the
+ * fingerprint of the last wiring: the implementations stored in them. A controller is wired again only when the
+ * implementations found for its properties are not the same ones.
+ */
+class ControllerWiring {
+
+	/**
+	 * Properties annotated with {@link WithDependencyInjection}
+	 */
+	private final Field[] injectionPoints;
+
+	/**
+	 * Implementations stored in the injection points by the last wiring (null if the controller has not been wired)
+	 */
+	private volatile Object[] fingerprint;
+
+	/**
+	 * Value of {@link DependencyInjectionControllersResolver#generation} when the fingerprint was stored
+	 */
+	private volatile int generation;
+
+
+	@SuppressWarnings("unchecked")
+	ControllerWiring (Class<?> controllerClazz) {
+
+		Set<Field> properties = ReflectionUtils.getAllFields (controllerClazz, ReflectionUtils.withAnnotation (WithDependencyInjection.class));
+		this.injectionPoints = properties.toArray (new Field[properties.size()]);
+	}
+
+
+	Field[] getInjectionPoints() {
+		return injectionPoints;
+	}
+
+
+	/**
+	 * Returns true if the given implementations are the ones stored by the last wiring of the given generation.
+	 *
+	 * @param implementations
+	 *    Implementations of the injection points (in the same order)
+	 * @param currentGeneration
+	 *    Current value of {@link DependencyInjectionControllersResolver#generation}
+	 *
+	 * @return true if the controller does not need to be wired again
+	 */
+	boolean isWiredWith (Object[] implementations, int currentGeneration) {
+
+		Object[] currentFingerprint = this.fingerprint;
+		if (currentFingerprint == null || this.generation != currentGeneration)
+			return false;
+
+		for (int i = 0; i < implementations.length; i++)
+			if (currentFingerprint[i] != implementations[i])
+				return false;
+
+		return true;
+	}
+
+
+	/**
+	 * Stores the implementations of the last wiring.
+	 *
+	 * @param implementations
+	 *    Implementations stored in the injection points (in the same order)
+	 * @param currentGeneration
+	 *    Current value of {@link DependencyInjectionControllersResolver#generation}
+	 */
+	void wiredWith (Object[] implementations, int currentGeneration) {
+
+		this.generation  = currentGeneration;
+		this.fingerprint = implementations;
+	}
+
+}
\ No newline at end of file
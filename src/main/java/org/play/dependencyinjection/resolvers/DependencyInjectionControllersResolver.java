@@ -1,39 +1,111 @@
 package org.play.dependencyinjection.resolvers;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Executors;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.blueprint.ContainerBlueprint;
+import org.play.dependencyinjection.blueprint.ControllersBlueprint;
 import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.events.DependencyInjectionEvents;
 import org.play.dependencyinjection.exceptions.DependencyInjectionException;
-import org.reflections.ReflectionUtils;
-import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
-import org.reflections.util.FilterBuilder;
 
 /**
- * Class that manages the dependency injection inside the {@link Controller} objects.
+ *    Class that manages the dependency injection inside the {@link Controller} objects. The controllers of several packages
+ * are found and wired in parallel, and a controller is only wired again when the implementations of its properties
+ * have changed since the last time (see {@link ControllerWiring}). The controllers found in a package are remembered,
+ * so the package is only scanned again by other classloader.
  */
 public class DependencyInjectionControllersResolver {
-	
-	private static final DependencyInjectionControllersResolver instance = new DependencyInjectionControllersResolver();
 
+	/**
+	 * Used to give a different name to every thread
+	 */
+	private static final AtomicInteger threadNumber = new AtomicInteger (1);
+
+	/**
+	 * Seconds that an idle thread of {@link DependencyInjectionControllersResolver#executorService} is kept
+	 */
+	private static final long KEEP_ALIVE_SECONDS = 30;
+
+	/**
+	 *    Controllers whose properties have been resolved. They are weakly referenced, so they do not prevent
+	 * the classloader of a reloaded application from being collected
+	 */
+	private Set<Class<?>> resolvedControllers = Collections.synchronizedSet (Collections.newSetFromMap (new WeakHashMap<Class<?>, Boolean>()));
+
+	/**
+	 *    Injection points and fingerprint of the last wiring of every controller. They are stored in the controller class itself,
+	 * so they do not prevent its classloader from being collected
+	 */
+	private final ClassValue<ControllerWiring> wirings = new ClassValue<ControllerWiring>() {
+
+		@Override
+		protected ControllerWiring computeValue (Class<?> controllerClazz) {
+			return new ControllerWiring (controllerClazz);
+		}
+	};
+
+	/**
+	 * Incremented when the resources are destroyed, so the fingerprints stored before are not used
+	 */
+	private volatile int generation;
 
 	/**
-	 * Prevents instantiation from external entities
+	 *    Controllers found in every package (and parent controller class) by the classloader that scanned it. The classloaders
+	 * and the controllers are weakly referenced, so they do not prevent a reloaded application from being collected
 	 */
-	private DependencyInjectionControllersResolver() {}
+	private final Map<ClassLoader, Map<String, List<WeakReference<Class<?>>>>> controllersByClassLoader =
+			new WeakHashMap<ClassLoader, Map<String, List<WeakReference<Class<?>>>>>();
+
+	/**
+	 * Threads that find and wire the controllers, shared by all invocations (they finish when they are idle)
+	 */
+	private ThreadPoolExecutor executorService;
+
+	/**
+	 * {@link DependencyInjectionPool} whose resolvers store the implementations injected in the controllers
+	 */
+	private final DependencyInjectionPool pool;
+
+
+	/**
+	 *    Creates the resolver of the controllers of the given pool.
+	 * 
+	 * <h1><strong>IMPORTANT: Invoked by {@link DependencyInjectionPool}, use {@link DependencyInjectionPool#getControllersResolver()}</strong></h1></br>
+	 * 
+	 * @param pool
+	 *    {@link DependencyInjectionPool} whose resolvers store the implementations injected in the controllers
+	 */
+	public DependencyInjectionControllersResolver (final DependencyInjectionPool pool) {
+		this.pool = pool;
+	}
 
 
 	/**
-	 * Singleton pattern
+	 * Returns the resolver of the controllers of the {@link DependencyInjectionPool} of the current application
 	 */
 	public static DependencyInjectionControllersResolver instance() {
-		return instance;
+		return DependencyInjectionPool.instance().getControllersResolver();
 	}
 
 
@@ -46,101 +118,317 @@ public class DependencyInjectionControllersResolver {
 	 * @param parentControllerClazz
 	 *    Class to which all controllers must belong   
 	 * 
+	 * @return number of controllers whose properties have been injected (the rest of them already had the same implementations)
+	 * 
 	 * @throws DependencyInjectionException
 	 */
-	public <T> void init (final String controllersPackage, final Class<T> parentControllerClazz) throws DependencyInjectionException {
+	public <T> int init (final String controllersPackage, final Class<T> parentControllerClazz) throws DependencyInjectionException {
 
 		if (controllersPackage == null || parentControllerClazz == null)
 			throw new DependencyInjectionException ((controllersPackage    == null ? "The given controllersPackage must not be null. "    : "")
                                                   + (parentControllerClazz == null ? "The given parentControllerClazz must not be null. " : ""));
-		// Get implementation of controllers
-		Set<Class<? extends T>> controllers = new Reflections (new ConfigurationBuilder()
-                                                                  .filterInputsBy (new FilterBuilder().includePackage (controllersPackage))
-                                                                  .setUrls (ClasspathHelper.forPackage (controllersPackage))
-                                                                  .setScanners (new SubTypesScanner()
-                                                                               ,new TypeAnnotationsScanner())
-                                                                  .setExecutorService (Executors.newFixedThreadPool (2)))
-		                                                     .getSubTypesOf (parentControllerClazz);
-		if (controllers != null) {
-
-			for (Class<?> controllerClass : controllers) {
-
-				try {
-					Class<?> concreteClass = Class.forName (controllerClass.toString().replace("class ", ""));
-
-					// Resolves dependency injection of the properties inside the current controller
-					resolveDependenciesOfClass (concreteClass);
-
-				} catch (Exception e) {
-					throw new DependencyInjectionException (e);
+
+		return initPackages (Collections.singletonList (controllersPackage), parentControllerClazz);
+	}
+
+
+	/**
+	 *    Initializes the dependency injections of the properties inside the {@link Controller}s of the given packages
+	 * annotated with {@link WithDependencyInjection} interface. The packages are scanned and the controllers wired in
+	 * parallel (using at most {@link LifecycleHooks#setNumberOfParallelThreads} threads). The packages already scanned by the
+	 * classloader of the current thread are not scanned again and the controllers whose properties already store the
+	 * implementations found for them are not modified, so it can be invoked again cheaply (for example, after adding a resolver).
+	 * 
+	 * @param controllersPackages
+	 *    Package names that store the implementation of {@link Controller}s
+	 * @param parentControllerClazz
+	 *    Class to which all controllers must belong   
+	 * 
+	 * @return number of controllers whose properties have been injected (the rest of them already had the same implementations)
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	public synchronized <T> int initPackages (final Collection<String> controllersPackages, final Class<T> parentControllerClazz)
+			                                     throws DependencyInjectionException {
+
+		if (controllersPackages == null || controllersPackages.isEmpty() || controllersPackages.contains (null) || parentControllerClazz == null)
+			throw new DependencyInjectionException ((controllersPackages == null || controllersPackages.isEmpty() ? "The given controllersPackages must not be empty. " : "")
+					                              + (controllersPackages != null && controllersPackages.contains (null) ? "The given controllersPackages must not contain null. " : "")
+                                                  + (parentControllerClazz == null ? "The given parentControllerClazz must not be null. " : ""));
+
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		Map<String, List<WeakReference<Class<?>>>> controllersByPackage = this.controllersByClassLoader.get (contextClassLoader);
+		if (controllersByPackage == null) {
+			controllersByPackage = new HashMap<String, List<WeakReference<Class<?>>>>();
+			this.controllersByClassLoader.put (contextClassLoader, controllersByPackage);
+		}
+		ThreadPoolExecutor executorService = getExecutorService();
+		try {
+			// Get implementation of controllers (from the blueprint if it contains them) of the packages not found before
+			Map<String, Set<Class<?>>> controllersOfPackages = new LinkedHashMap<String, Set<Class<?>>>();
+			Map<String, Callable<Set<Class<? extends T>>>> scans = new LinkedHashMap<String, Callable<Set<Class<? extends T>>>>();
+			for (String controllersPackage : new LinkedHashSet<String> (controllersPackages)) {
+
+				String scanKey = controllersPackage + "#" + parentControllerClazz.getName();
+				Set<Class<?>> foundControllers = foundControllersOf (controllersByPackage.get (scanKey));
+				controllersOfPackages.put (scanKey, foundControllers);
+				if (foundControllers == null)
+					scans.put (scanKey, newScan (ContainerBlueprint.forContextClassLoader(), controllersPackage, parentControllerClazz));
+			}
+			List<Future<Set<Class<? extends T>>>> finishedScans = executorService.invokeAll (scans.values());
+			int scanIndex = 0;
+			for (String scanKey : scans.keySet()) {
+
+				Set<Class<? extends T>> controllersOfPackage = finishedScans.get (scanIndex++).get();
+				List<WeakReference<Class<?>>> references = new ArrayList<WeakReference<Class<?>>>();
+				if (controllersOfPackage != null) {
+					for (Class<?> controllerClazz : controllersOfPackage)
+						references.add (new WeakReference<Class<?>> (controllerClazz));
 				}
+				controllersByPackage.put (scanKey, references);
+				controllersOfPackages.put (scanKey, (controllersOfPackage == null ? Collections.<Class<?>>emptySet()
+						                                                          : new LinkedHashSet<Class<?>> (controllersOfPackage)));
 			}
+			Set<Class<?>> controllers = new LinkedHashSet<Class<?>>();
+			for (Set<Class<?>> controllersOfPackage : controllersOfPackages.values())
+				controllers.addAll (controllersOfPackage);
+
+			// Resolves dependency injection of the properties inside every controller
+			final int currentGeneration = this.generation;
+			List<Callable<Boolean>> wirings = new ArrayList<Callable<Boolean>>();
+			for (final Class<?> controllerClazz : controllers)
+				wirings.add (new Callable<Boolean>() {
+
+					@Override
+					public Boolean call() throws DependencyInjectionException {
+						return resolveDependenciesOfClass (controllerClazz, currentGeneration);
+					}
+				});
+
+			int wiredControllers = 0;
+			for (Future<Boolean> wiring : executorService.invokeAll (wirings))
+				wiredControllers += (wiring.get() ? 1 : 0);
+
+			resolvedControllers.addAll (controllers);
+			return wiredControllers;
+
+		} catch (ExecutionException e) {
+			throw (e.getCause() instanceof DependencyInjectionException ? (DependencyInjectionException) e.getCause()
+					                                                    : new DependencyInjectionException (e.getCause()));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DependencyInjectionException (e);
+		}
+	}
+
+
+	/**
+	 *    Adds in injectionPoints the static properties of the resolved controllers whose current value is one
+	 * of the replaced implementations.
+	 *
+	 * @param replacedImplementations
+	 *    {@link Map} (by identity) with the current implementation as key and the one that replaces it as value
+	 * @param reloadedInformation
+	 *    {@link InternalInformationOfResolver} of the reloaded resolver
+	 * @param injectionPoints
+	 *    {@link List} in which the properties to update will be added
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	void collectReplacedInjectionPoints (Map<Object, Object> replacedImplementations, InternalInformationOfResolver reloadedInformation
+			                            ,List<InjectionPoint> injectionPoints) throws DependencyInjectionException {
+
+		synchronized (resolvedControllers) {
+			for (Class<?> controllerClazz : resolvedControllers)
+				InjectionPoint.collectReplacedInjectionPoints (controllerClazz, controllerClazz, replacedImplementations
+						                                      ,reloadedInformation, injectionPoints);
+		}
+	}
+
+
+	/**
+	 * Returns the controllers whose properties have been resolved.
+	 * 
+	 * @return {@link Set} of controller classes
+	 */
+	public Set<Class<?>> getResolvedControllers() {
+
+		synchronized (resolvedControllers) {
+			return new HashSet<Class<?>> (resolvedControllers);
+		}
+	}
+
+
+	/**
+	 * Deletes the information contained in the current object.
+	 * 
+	 * <h1><strong>IMPORTANT: Use only when we will stop the application</strong></h1></br>
+	 */
+	public synchronized void destroyResources() {
+
+		generation++;
+		resolvedControllers.clear();
+		controllersByClassLoader.clear();
+		if (executorService != null) {
+			executorService.shutdownNow();
+			executorService = null;
+		}
+	}
+
+
+	/**
+	 *    Returns the threads that find and wire the controllers, adapted to the current value of
+	 * {@link LifecycleHooks#getNumberOfParallelThreads}.
+	 */
+	private ThreadPoolExecutor getExecutorService() {
+
+		int numberOfThreads = LifecycleHooks.getNumberOfParallelThreads();
+		if (this.executorService == null) {
+
+			this.executorService = new ThreadPoolExecutor (numberOfThreads, numberOfThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS
+					                                      ,new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+
+				@Override
+				public Thread newThread (Runnable runnable) {
+
+					// The threads are created by the caller of initPackages, so they use the classloader of its application
+					Thread thread = new Thread (runnable, "dependency-injection-controllers-" + threadNumber.getAndIncrement());
+					thread.setContextClassLoader (Thread.currentThread().getContextClassLoader());
+					thread.setDaemon (true);
+					return thread;
+				}
+			});
+			this.executorService.allowCoreThreadTimeOut (true);
+		}
+		// The maximum size can not be lower than the core one
+		else if (numberOfThreads > this.executorService.getMaximumPoolSize()) {
+			this.executorService.setMaximumPoolSize (numberOfThreads);
+			this.executorService.setCorePoolSize (numberOfThreads);
+		}
+		else if (numberOfThreads < this.executorService.getMaximumPoolSize()) {
+			this.executorService.setCorePoolSize (numberOfThreads);
+			this.executorService.setMaximumPoolSize (numberOfThreads);
 		}
+		return this.executorService;
+	}
+
+
+	/**
+	 * Returns the controllers found before in a package, or null if they were not found or any of them has been collected.
+	 */
+	private static Set<Class<?>> foundControllersOf (final List<WeakReference<Class<?>>> references) {
+
+		if (references == null)
+			return null;
+
+		Set<Class<?>> controllers = new LinkedHashSet<Class<?>>();
+		for (WeakReference<Class<?>> reference : references) {
+
+			Class<?> controllerClazz = reference.get();
+			if (controllerClazz == null)
+				return null;
+
+			controllers.add (controllerClazz);
+		}
+		return controllers;
+	}
+
+
+	/**
+	 *    Returns the task that finds the controllers of the given package (in the given blueprint if it contains them).
+	 */
+	private static <T> Callable<Set<Class<? extends T>>> newScan (final ContainerBlueprint blueprint, final String controllersPackage
+			                                                     ,final Class<T> parentControllerClazz) {
+
+		return new Callable<Set<Class<? extends T>>>() {
+
+			@Override
+			public Set<Class<? extends T>> call() throws DependencyInjectionException {
+
+				ControllersBlueprint controllersBlueprint = (blueprint == null ? null : blueprint.findControllers (controllersPackage, parentControllerClazz));
+				return (controllersBlueprint != null ? controllersBlueprint.loadControllers (parentControllerClazz)
+						                             : ClasspathScanner.findControllers (controllersPackage, parentControllerClazz));
+			}
+		};
 	}
 
 
 	/**
 	 *    Resolves the dependencies within the class clazz (the properties
-	 * with the {@link WithDependencyInjection} annotation).
+	 * with the {@link WithDependencyInjection} annotation), unless they already store the same implementations.
 	 * 
 	 * @param controllerClazz
 	 *    Class of current controller
+	 * @param currentGeneration
+	 *    Value of {@link DependencyInjectionControllersResolver#generation} when the wiring started
+	 * 
+	 * @return true if the properties have been injected
 	 * 
 	 * @throws DependencyInjectionException
 	 */
-	@SuppressWarnings("unchecked")
-	private void resolveDependenciesOfClass (Class<?> controllerClazz) throws DependencyInjectionException {
-
-		// Get all controller properties with WithDependencyInjection annotation
-		Set<Field> controllerProperties = ReflectionUtils.getAllFields (controllerClazz,
-				                                                        ReflectionUtils.withAnnotation (WithDependencyInjection.class));
-		if (controllerProperties != null) {
-
-			for (Field field : controllerProperties) {
-
-				// Due to is a private property
-				field.setAccessible (true);
-				try {
-					// Searching inside the resolvers
-					Object controllerPropertyImplementation = findInResolvers (field);
-					if (controllerPropertyImplementation != null)
-						field.set (controllerClazz, controllerPropertyImplementation);
-					else
-						throw new DependencyInjectionException ("The property: " + field.getName() + " in the class: "
-								                              + controllerClazz.getCanonicalName() 
-								                              + "  has not an implementation");							
-				} catch (Exception e) {
-					throw new DependencyInjectionException (e);
-				}
-				finally {
-					field.setAccessible (false);
-				}
+	private boolean resolveDependenciesOfClass (Class<?> controllerClazz, int currentGeneration) throws DependencyInjectionException {
+
+		boolean eventsEnabled = DependencyInjectionEvents.isEnabled();
+		long startTime = (eventsEnabled ? System.nanoTime() : 0);
+
+		ControllerWiring wiring = wirings.get (controllerClazz);
+		Field[] controllerProperties = wiring.getInjectionPoints();
+
+		// Searching inside the resolvers
+		Object[] implementations = new Object[controllerProperties.length];
+		for (int i = 0; i < controllerProperties.length; i++) {
+
+			implementations[i] = findInResolvers (controllerProperties[i]);
+			if (implementations[i] == null)
+				throw new DependencyInjectionException ("The property: " + controllerProperties[i].getName() + " in the class: "
+						                              + controllerClazz.getCanonicalName() 
+						                              + "  has not an implementation");
+		}
+		if (wiring.isWiredWith (implementations, currentGeneration))
+			return false;
+
+		for (int i = 0; i < controllerProperties.length; i++) {
+
+			Field field = controllerProperties[i];
+
+			// Due to is a private property
+			field.setAccessible (true);
+			try {
+				field.set (controllerClazz, implementations[i]);
+
+			} catch (Exception e) {
+				throw new DependencyInjectionException (e);
+			}
+			finally {
+				field.setAccessible (false);
 			}
 		}
+		wiring.wiredWith (implementations, currentGeneration);
+		if (eventsEnabled)
+			DependencyInjectionEvents.propertiesInjected (controllerClazz, controllerProperties.length, System.nanoTime() - startTime);
+
+		return true;
 	}
 
 
 	/**
-	 *   Searches in {@link DependencyInjectionPool} the implementation of a given property
+	 *   Searches in the {@link DependencyInjectionPool} of the current resolver the implementation of a given property
 	 * annotated with {@link WithDependencyInjection} interface.
 	 * 
 	 * @param field
 	 *    Property for which we need to find its implementation
 	 * 
-	 * @return implementation of the given property
+	 * @return implementation of the given property (or null if no resolver manages it)
 	 * 
 	 * @throws DependencyInjectionException
 	 */
 	private Object findInResolvers (Field field) throws DependencyInjectionException {
 
-		for (DependencyInjectionResolver additionalResolver : DependencyInjectionPool.instance()
-				                                                                     .getResolversLessGivenInterfacePackage (null)) {
-			try {
-				Object implementation = additionalResolver.getImplementationOfField (field); 
-				if (implementation != null)
-					return implementation;
+		for (DependencyInjectionResolver additionalResolver : this.pool.getResolversLessGivenInterfacePackage (null)) {
 
-			} catch (DependencyInjectionException e) {}
+			Object implementation = additionalResolver.tryGetImplementationOfField (field);
+			if (implementation != null)
+				return implementation;
 		}
 		return null;
 	}
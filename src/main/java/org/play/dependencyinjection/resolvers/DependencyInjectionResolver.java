@@ -1,26 +1,32 @@
 package org.play.dependencyinjection.resolvers;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Executors;
 
 import javax.annotation.Nullable;
 
 import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.blueprint.ContainerBlueprint;
+import org.play.dependencyinjection.blueprint.ResolverBlueprint;
 import org.play.dependencyinjection.annotations.DependencyInjectionQualifier;
 import org.play.dependencyinjection.annotations.Injectable;
+import org.play.dependencyinjection.annotations.Rebindable;
 import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.batch.BatchedDecorator;
+import org.play.dependencyinjection.cache.TinyLfuCache;
+import org.play.dependencyinjection.decorators.RebindableDecorator;
+import org.play.dependencyinjection.events.DependencyInjectionEvents;
 import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.metrics.LatencyHistogram;
 import org.reflections.ReflectionUtils;
-import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
-import org.reflections.util.FilterBuilder;
 
 /**
  * Main class that manages the dependency injection.
@@ -28,14 +34,45 @@ import org.reflections.util.FilterBuilder;
 public class DependencyInjectionResolver {
 	
 	/**
-	 * In the operations related with the searching of information about interfaces and implementations, the number of threads 
+	 * Used to store the necessary information that the current resolver needs to manage 
 	 */
-	private static int numberOfParallelThreads = 2;
-	
+	private volatile InternalInformationOfResolver internalInformationOfResolver;
+
 	/**
-	 * Used to store the necessary information that the current resolver needs to manage 
+	 * Package name that stores the implementation of "injectable interfaces" (used again when the resolver is reloaded)
 	 */
-	private InternalInformationOfResolver internalInformationOfResolver;
+	private String implementationPackage;
+
+	/**
+	 * Interface that manages this resolver (used again when the resolver is reloaded)
+	 */
+	private Class<?> interfaceToResolve;
+
+	/**
+	 * {@link List} of {@link Object}s preinitialized by the user (used again when the resolver is reloaded)
+	 */
+	private List<Object> preInitializedObjects;
+
+	/**
+	 * Indicates if the properties of the implementations have already been resolved
+	 */
+	private volatile boolean propertiesOfImplementationsResolved;
+
+	/**
+	 * Indicates if the hooks of the implementations have already been invoked by {@link LifecycleHooks}
+	 */
+	volatile boolean lifecycleHooksExecuted;
+
+	/**
+	 *    Hooks already invoked by {@link LifecycleHooks} of every implementation (by identity), kept until all of them
+	 * have finished, so a failed initialization can be retried without invoking them again
+	 */
+	final Map<Object, Set<Method>> invokedLifecycleHooks = new IdentityHashMap<Object, Set<Method>>();
+
+	/**
+	 * {@link DependencyInjectionPool} that manages this resolver (null until it is added to one)
+	 */
+	private volatile DependencyInjectionPool pool;
 
 
 	/**
@@ -53,7 +90,7 @@ public class DependencyInjectionResolver {
 		if (interfacesPackage == null)
 			throw new DependencyInjectionException ("The given interfacesPackage must not be null");
 
-		this.internalInformationOfResolver = new InternalInformationOfResolver (interfacesPackage);
+		this.internalInformationOfResolver = new InternalInformationOfResolver (interfacesPackage, this);
 	}
 
 
@@ -123,7 +160,8 @@ public class DependencyInjectionResolver {
 	 *    Interface that manages this resolver
 	 * @param preInitializedObjects
 	 *    {@link List} of {@link Object}s preinitialized by the user (for example,
-	 *    because he/she does not want to use the default constructor)
+	 *    because he/she does not want to use the default constructor). The list
+	 *    is read again every time the resolver is reloaded
 	 * 
 	 * @throws DependencyInjectionException
 	 */
@@ -140,10 +178,15 @@ public class DependencyInjectionResolver {
 		if (!errorMessage.isEmpty())
 			throw new DependencyInjectionException (errorMessage);	
 		
-		this.internalInformationOfResolver = new InternalInformationOfResolver (interfacesPackage);
-		
+		this.implementationPackage = implementationPackage;
+		this.interfaceToResolve    = interfaceToResolve;
+		this.preInitializedObjects = preInitializedObjects;
+
+		InternalInformationOfResolver internalInformation = new InternalInformationOfResolver (interfacesPackage, this);
+
 		// Executes the first step of dependency injection process: creates the relation between interface - implementation  
-		buildDependencyInjectionOfInterfacesAndImplementations (implementationPackage, interfaceToResolve, preInitializedObjects);	
+		buildDependencyInjectionOfInterfacesAndImplementations (internalInformation, null);
+		this.internalInformationOfResolver = internalInformation;
 	}
 
 
@@ -179,15 +222,103 @@ public class DependencyInjectionResolver {
 	 * @return instance of {@link DependencyInjectionResolver}
 	 * 
 	 * @throws DependencyInjectionException
+	 * 
+	 * @see DependencyInjectionResolver#rebind to replace an implementation while the resolver is used
 	 */
-	public <T, E> DependencyInjectionResolver bind (final Class<T> interfaceClazz, final Class<E> implementationClazz
-			                                       ,@Nullable final Object preinitializedObject) throws DependencyInjectionException {
+	public synchronized <T, E> DependencyInjectionResolver bind (final Class<T> interfaceClazz, final Class<E> implementationClazz
+			                                                    ,@Nullable final Object preinitializedObject) throws DependencyInjectionException {
 
 		if (interfaceClazz == null || implementationClazz == null)
 			throw new DependencyInjectionException ((interfaceClazz       == null ? "The given interfaceClazz must not be null. " : "")
                                                   + (implementationClazz == null ? "The given implementationClazz must not be null. " : ""));
 
-		internalBind (interfaceClazz, implementationClazz, true, preinitializedObject);
+		// The lookups of other threads never see a partially modified state
+		InternalInformationOfResolver boundInformation = this.internalInformationOfResolver.copy();
+		internalBind (boundInformation, interfaceClazz, implementationClazz, true, preinitializedObject);
+
+		this.internalInformationOfResolver = boundInformation;
+		return this;
+	}
+
+
+	/**
+	 *    Rescans the implementation package of the current resolver and replaces its equivalence between "interfaces"
+	 * and "implementations" with the new one:
+	 * 
+	 *  - The implementations whose class has not changed are reused.
+	 *  - The implementations bound manually using {@link DependencyInjectionResolver#bind} are kept.
+	 *  - The properties (annotated with {@link WithDependencyInjection}) of other implementations and controllers that point
+	 *    to a replaced implementation are injected again.
+	 *  - The replaced implementations are closed (see {@link DestructionHooks}) after publishing the new state.
+	 *
+	 *    All changes are calculated before publishing anyone of them, so if something fails the current state is not modified.
+	 * As in {@link DependencyInjectionResolver#rebind}, the properties injected again only change atomically if they point
+	 * to a {@link Rebindable} interface.
+	 * 
+	 * @return instance of {@link DependencyInjectionResolver}
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	public synchronized DependencyInjectionResolver reload() throws DependencyInjectionException {
+
+		if (this.implementationPackage == null)
+			throw new DependencyInjectionException ("The resolver of the interface package: " + getInterfacesPackage()
+					                              + " does not have an implementation package to rescan");
+
+		InternalInformationOfResolver currentInformation  = this.internalInformationOfResolver;
+		InternalInformationOfResolver reloadedInformation = new InternalInformationOfResolver (currentInformation.getInterfacesPackage(), this);
+
+		buildDependencyInjectionOfInterfacesAndImplementations (reloadedInformation, currentInformation);
+		reloadedInformation.keepManualBindingsOf (currentInformation);
+		reloadedInformation.keepDecoratorsOf (currentInformation);
+
+		publish (currentInformation, reloadedInformation);
+		return this;
+	}
+
+
+	/**
+	 *    Replaces the implementation of the given interface while the resolver is used (for example, to enable a kill switch
+	 * or a degraded mode). Unlike {@link DependencyInjectionResolver#bind}, the current state is not modified: the new binding
+	 * is stored in a copy of it, which is published with only one write when:
+	 * 
+	 *  - The properties of the new implementation have been resolved and its hooks (see {@link LifecycleHooks}) invoked.
+	 *  - The properties (annotated with {@link WithDependencyInjection}) of other implementations and controllers that point
+	 *    to the replaced implementation have been found.
+	 *
+	 *    Those properties are injected again after the publication. If the interface is annotated with {@link Rebindable},
+	 * they point to a {@link RebindableDecorator} that is not replaced, so only its target changes and every invocation
+	 * runs entirely in the old or in the new implementation. Otherwise they are injected one by one, so until the last one
+	 * is written a thread can see some of them pointing to the new implementation and others to the old one: the change
+	 * is only atomic for the dependents that use a {@link Rebindable} interface.
+	 *
+	 *    After that, the replaced implementation is closed (see {@link DestructionHooks}) unless it is still bound to another
+	 * interface, so it must not be bound again.
+	 * 
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param implementationClazz
+	 *    Class of implementation
+	 * @param preinitializedObject
+	 *    Object that the user has initialized for the given implementationClazz (for example, because he/she does not want
+	 * to use the default constructor)
+	 * 
+	 * @return instance of {@link DependencyInjectionResolver}
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	public synchronized <T, E> DependencyInjectionResolver rebind (final Class<T> interfaceClazz, final Class<E> implementationClazz
+			                                                      ,@Nullable final Object preinitializedObject) throws DependencyInjectionException {
+
+		if (interfaceClazz == null || implementationClazz == null)
+			throw new DependencyInjectionException ((interfaceClazz       == null ? "The given interfaceClazz must not be null. " : "")
+                                                  + (implementationClazz == null ? "The given implementationClazz must not be null. " : ""));
+
+		InternalInformationOfResolver currentInformation = this.internalInformationOfResolver;
+		InternalInformationOfResolver reboundInformation = currentInformation.copy();
+
+		internalBind (reboundInformation, interfaceClazz, implementationClazz, true, preinitializedObject);
+		publish (currentInformation, reboundInformation);
 		return this;
 	}
 
@@ -210,6 +341,63 @@ public class DependencyInjectionResolver {
 	}
 
 
+	/**
+	 *    Gets the implementation of the given interface (and qualifier value) without throwing any exception, so it
+	 * can be used when it is expected that the current resolver does not manage the interface.
+	 * 
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param qualifierValue
+	 *    Value of {@link DependencyInjectionQualifier} in an implementation class
+	 * 
+	 * @return the implementation of the given interface (or null if the current {@link DependencyInjectionResolver}
+	 *         does not manage it)
+	 */
+	@Nullable
+	public <T> T tryGetImplementation (final Class<T> interfaceClazz, @Nullable String qualifierValue) {
+
+		return (interfaceClazz == null ? null : this.internalInformationOfResolver.findImplementation (interfaceClazz, qualifierValue));
+	}
+
+
+	/**
+	 *    Gets all implementations of the given interface (whatever their qualifier value), sorted by the priority of
+	 * their {@link DependencyInjectionQualifier} annotation.
+	 * 
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * 
+	 * @return unmodifiable {@link List} of implementations (empty if the current {@link DependencyInjectionResolver}
+	 *         does not manage the given class of an interface)
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	public <T> List<T> getAllImplementations (final Class<T> interfaceClazz) throws DependencyInjectionException {
+
+		return this.internalInformationOfResolver.getAllImplementations (interfaceClazz);
+	}
+
+
+	/**
+	 *    Gets all implementations of the given interface by the value of their {@link DependencyInjectionQualifier}
+	 * annotation (an empty {@link String} for the implementation without qualifier). The returned {@link Map} is
+	 * immutable and built only once, so it is better to keep it than calling {@link #getImplementation} with a
+	 * different qualifier value in every request.
+	 * 
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * 
+	 * @return {@link Map} of implementations (empty if the current {@link DependencyInjectionResolver} does not manage
+	 *         the given class of an interface)
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	public <T> Map<String, T> getImplementationsByQualifier (final Class<T> interfaceClazz) throws DependencyInjectionException {
+
+		return this.internalInformationOfResolver.getImplementationsByQualifier (interfaceClazz);
+	}
+
+
 	/**
 	 *    Returns the valid value (implementation) of the given {@link Field} if the current {@link DependencyInjectionResolver}
 	 * manages the relation interface-implementation of the field.
@@ -231,6 +419,70 @@ public class DependencyInjectionResolver {
 	}
 
 
+	/**
+	 *    Returns the valid value (implementation) of the given {@link Field} annotated with {@link WithDependencyInjection},
+	 * or null if the current {@link DependencyInjectionResolver} does not manage it (without throwing any exception).
+	 * 
+	 * @param field
+	 *    {@link Field} whose value needs to be manage using the dependency injection functionality
+	 * 
+	 * @return the value of the given field (or null if the current {@link DependencyInjectionResolver}
+	 *         does not manage the given field)
+	 */
+	@Nullable
+	Object tryGetImplementationOfField (Field field) {
+
+		return this.internalInformationOfResolver.findImplementationOfField (field);
+	}
+
+
+	/**
+	 * Returns all implementations managed by the current {@link DependencyInjectionResolver}
+	 * 
+	 * @return {@link Collection} of {@link Object}
+	 */
+	public Collection<Object> getImplementations() {
+
+		return Collections.unmodifiableCollection (this.internalInformationOfResolver.getImplementations());
+	}
+
+
+	/**
+	 * Returns the bindings managed by the current {@link DependencyInjectionResolver}
+	 * 
+	 * @return unmodifiable {@link Map} with the key of every binding (canonical name of the interface + qualifier value)
+	 *         and its implementation
+	 */
+	public Map<String, Object> getBindings() {
+
+		return this.internalInformationOfResolver.getImplementationsByKey();
+	}
+
+
+	/**
+	 *    Returns the histograms of the {@link org.play.dependencyinjection.annotations.Timed} methods of the implementations
+	 * managed by the current {@link DependencyInjectionResolver}
+	 * 
+	 * @return {@link Map} of {@link LatencyHistogram}s by the key of their binding and the signature of their method (separated by #)
+	 */
+	public Map<String, LatencyHistogram> getLatencyHistograms() {
+
+		return this.internalInformationOfResolver.getLatencyHistograms();
+	}
+
+
+	/**
+	 *    Returns the caches of the {@link org.play.dependencyinjection.annotations.Cached} methods of the implementations
+	 * managed by the current {@link DependencyInjectionResolver}
+	 * 
+	 * @return {@link Map} of {@link TinyLfuCache}s by the key of their binding and the signature of their method (separated by #)
+	 */
+	public Map<String, TinyLfuCache<Object, Object>> getMethodCaches() {
+
+		return this.internalInformationOfResolver.getMethodCaches();
+	}
+
+
 	/**
 	 * Returns the package name of the "injectable interfaces" managed by the current {@link DependencyInjectionResolver}
 	 * 
@@ -241,14 +493,60 @@ public class DependencyInjectionResolver {
 	}
 
 
+	/**
+	 *    Returns the {@link DependencyInjectionPool} that manages the current {@link DependencyInjectionResolver}, or the
+	 * pool of the context classloader of the current thread if it has not been added to anyone yet.
+	 * 
+	 * @return {@link DependencyInjectionPool} in which the other resolvers are searched
+	 */
+	public DependencyInjectionPool getPool() {
+
+		DependencyInjectionPool ownerPool = this.pool;
+		return (ownerPool == null ? DependencyInjectionPool.instance() : ownerPool);
+	}
+
+
+	/**
+	 *    Sets the {@link DependencyInjectionPool} that manages the current {@link DependencyInjectionResolver}. The
+	 * {@link org.play.dependencyinjection.annotations.Async} methods of its implementations use the executors of that pool.
+	 * 
+	 * <h1><strong>IMPORTANT: Invoked by {@link DependencyInjectionPool#addNewResolver}</strong></h1></br>
+	 * 
+	 * @param pool
+	 *    {@link DependencyInjectionPool} to which the current resolver has been added
+	 */
+	public synchronized void setPool (final DependencyInjectionPool pool) {
+
+		if (pool != this.pool) {
+			this.pool = pool;
+			this.internalInformationOfResolver.useManagedExecutors (pool.getManagedExecutors());
+		}
+	}
+
+
+	/**
+	 *    Sends to their bulk methods the keys still pending of the {@link org.play.dependencyinjection.annotations.Batched}
+	 * methods of the implementations, so nobody waits for them (for example, before closing the implementations).
+	 */
+	public void dispatchPendingBatches() {
+
+		this.internalInformationOfResolver.dispatchPendingBatches();
+	}
+
+
 	/**
 	 * Deletes the information contained in the current object.
 	 * 
 	 * <h1><strong>IMPORTANT: Use only when we will stop the application</strong></h1></br>
 	 */
-	public void destroyResources() {
+	public synchronized void destroyResources() {
+
+		// The lookups in progress keep using the previous state
+		this.internalInformationOfResolver = new InternalInformationOfResolver (getInterfacesPackage(), this);
 
-		this.internalInformationOfResolver.destroyResources();
+		// If the resolver is used again, its new implementations are resolved and initialized from scratch
+		this.propertiesOfImplementationsResolved = false;
+		LifecycleHooks.forget (this);
 	}
 
 
@@ -260,10 +558,13 @@ public class DependencyInjectionResolver {
 	 */
 	public void resolveAllClassPropertiesOfImplementations() throws DependencyInjectionException {
 
-		if (this.internalInformationOfResolver != null) {
+		InternalInformationOfResolver internalInformation = this.internalInformationOfResolver;
+		if (internalInformation != null) {
 
-			for (Object implementation : this.internalInformationOfResolver.getImplementations())
-				resolvePropertiesOfImplementation (implementation);
+			for (Object implementation : internalInformation.getImplementations())
+				resolvePropertiesOfImplementation (internalInformation, implementation);
+
+			this.propertiesOfImplementationsResolved = true;
 		}
 	}
 
@@ -284,61 +585,138 @@ public class DependencyInjectionResolver {
 	public <T> void resolveDependenciesOfInterface (final Class<T> interfaceClazz, @Nullable String qualifierValue)
 			                                           throws DependencyInjectionException {
 
-		resolvePropertiesOfImplementation (getImplementation (interfaceClazz, qualifierValue));
+		resolvePropertiesOfImplementation (this.internalInformationOfResolver, getImplementation (interfaceClazz, qualifierValue));
+	}
+
+
+	/**
+	 *    Replaces the given current state of the resolver with the given new one, after calculating the properties of other
+	 * implementations and controllers that must be injected again and initializing the new implementations. The readers
+	 * of the resolver see the new state after only one write, and the {@link RebindableDecorator}s are reused (the rest of
+	 * properties are injected again one by one). Finally, the implementations that are not bound any more are closed.
+	 * 
+	 * @param currentInformation
+	 *    {@link InternalInformationOfResolver} currently published
+	 * @param newInformation
+	 *    {@link InternalInformationOfResolver} that will replace it
+	 *    
+	 * @throws DependencyInjectionException
+	 */
+	private void publish (final InternalInformationOfResolver currentInformation, final InternalInformationOfResolver newInformation)
+			                 throws DependencyInjectionException {
+
+		Map<Object, Object> newTargetsOfSwitches = newInformation.keepSwitchesOf (currentInformation);
+		Map<Object, Object> replacedImplementations = currentInformation.findReplacedImplementations (newInformation);
+		List<InjectionPoint> injectionPoints = new ArrayList<InjectionPoint>();
+		List<Object> newImplementations = new ArrayList<Object>();
+
+		if (this.propertiesOfImplementationsResolved) {
+
+			Set<Object> currentImplementations = Collections.newSetFromMap (new IdentityHashMap<Object, Boolean>());
+			currentImplementations.addAll (currentInformation.getImplementations());
+
+			// The new implementations need their own properties
+			for (Object implementation : newInformation.getImplementations()) {
+
+				if (!currentImplementations.contains (implementation)) {
+					resolvePropertiesOfImplementation (newInformation, implementation);
+					newImplementations.add (implementation);
+				}
+				else
+					InjectionPoint.collectReplacedInjectionPoints (implementation, implementation.getClass(), replacedImplementations
+							                                      ,newInformation, injectionPoints);
+			}
+			// Implementations of other resolvers and controllers that use the replaced ones
+			for (DependencyInjectionResolver additionalResolver : getPool().getResolversLessGivenInterfacePackage (getInterfacesPackage())) {
+				for (Object implementation : additionalResolver.internalInformationOfResolver.getImplementations())
+					InjectionPoint.collectReplacedInjectionPoints (implementation, implementation.getClass(), replacedImplementations
+							                                      ,newInformation, injectionPoints);
+			}
+			getPool().getControllersResolver().collectReplacedInjectionPoints (replacedImplementations, newInformation, injectionPoints);
+		}
+		// The new implementations are initialized as the replaced ones were, before they can be used
+		if (this.lifecycleHooksExecuted)
+			LifecycleHooks.execute (newImplementations);
+
+		// Implementations that are not bound any more, and their decorators
+		Set<Object> keptImplementations = Collections.newSetFromMap (new IdentityHashMap<Object, Boolean>());
+		keptImplementations.addAll (newInformation.getImplementations());
+
+		List<Object> removedImplementations = new ArrayList<Object>();
+		for (Object implementation : currentInformation.getImplementations()) {
+
+			if (!keptImplementations.contains (implementation))
+				removedImplementations.add (implementation);
+		}
+		List<Object> replacedDecorators = new ArrayList<Object> (replacedImplementations.keySet());
+		for (Object currentSwitch : newTargetsOfSwitches.keySet())
+			replacedDecorators.add (RebindableDecorator.targetOf (currentSwitch));
+
+		// Publishes the new state
+		this.internalInformationOfResolver = newInformation;
+		for (Map.Entry<Object, Object> entry : newTargetsOfSwitches.entrySet())
+			RebindableDecorator.retarget (entry.getKey(), entry.getValue());
+
+		for (InjectionPoint injectionPoint : injectionPoints)
+			injectionPoint.apply();
+
+		// The keys requested before the change are loaded while the replaced implementations are still open
+		for (Object replacedDecorator : replacedDecorators)
+			BatchedDecorator.dispatchPending (replacedDecorator);
+
+		DestructionHooks.execute (removedImplementations);
 	}
 
 
 	/**
 	 *    Resolves the dependency injections between interfaces and its implementation, that is, searches all
-	 * interfaces with the annotation {@link Injectable} and tries to find an implementation of those interfaces.     
-	 * 
-	 * @param implementationPackage
-	 *    Package name that stores the implementation of "injectable interfaces"
-	 * @param interfaceToResolve
-	 *    Interface that manages this resolver
-	 * @param preInitializedObjects
-	 *    {@link List} of {@link Object}s preinitialized by the user (for example,
-	 *    because he/she does not want to use the default constructor)
+	 * interfaces with the annotation {@link Injectable} and tries to find an implementation of those interfaces.
+	 * If the classpath contains a {@link ContainerBlueprint} with the information of this resolver, it is used
+	 * instead of scanning the classpath.
+	 * 
+	 * @param internalInformation
+	 *    {@link InternalInformationOfResolver} in which the relations will be stored
+	 * @param previousInformation
+	 *    {@link InternalInformationOfResolver} whose implementations can be reused (when the resolver is reloaded)
 	 *    
 	 * @throws DependencyInjectionException   
 	 */
-	private void buildDependencyInjectionOfInterfacesAndImplementations (final String implementationPackage, @Nullable final Class<?> interfaceToResolve
-			                                                            ,@Nullable final List<Object> preInitializedObjects) throws DependencyInjectionException {
-			
-		// Gets classes of interfaces with Injectable annotation
-		Set<Class<?>> interfaceClasses = getInterfaceClassesWithInjectableAnnotation (interfaceToResolve);
-		if (interfaceClasses != null) {
-
-			// Gets implementations
-			Reflections implementationReflections = new Reflections (new ConfigurationBuilder()
-                                                                        .filterInputsBy (new FilterBuilder().includePackage (implementationPackage))
-                                                                        .setUrls (ClasspathHelper.forPackage (implementationPackage))
-                                                                        .setScanners (new SubTypesScanner()
-                                                                                     ,new TypeAnnotationsScanner())
-                                                                        .setExecutorService (Executors.newFixedThreadPool (numberOfParallelThreads)));
-			// Gets a map of preinitialized objects easy to use
-			Map<String, Object> preInitializedObjectsMap = structurePreInitializeObjects (preInitializedObjects);
-
-			// Links the interface with its implementation
-			for (Class<?> interfaceClazz : interfaceClasses) {
-
-				Set<?> implementationClasses = implementationReflections.getSubTypesOf (interfaceClazz);
-				if (implementationClasses == null || implementationClasses.isEmpty())
-					throw new DependencyInjectionException ("The interface " + interfaceClazz.getCanonicalName()
-                                                          + " has not an implementation");
-
-				// Insert in the "equivalence Map": interface -> implementation
-				for (Object implementationClass : implementationClasses) {
-
-					try {
-						Class<?> implementationClazz = Class.forName (implementationClass.toString().replace("class ", ""));
-
-						// Stores the relation between interfaceClazz and implementationClazz
-						internalBind (interfaceClazz, implementationClazz, false, preInitializedObjectsMap.get (implementationClazz.getCanonicalName()));
-
-					} catch (Exception e) {
-						throw new DependencyInjectionException (e);
-					}
+	private void buildDependencyInjectionOfInterfacesAndImplementations (final InternalInformationOfResolver internalInformation
+			                                                            ,@Nullable final InternalInformationOfResolver previousInformation)
+			                                                               throws DependencyInjectionException {
+
+		Map<Class<?>, Set<Class<?>>> implementationsOfInterfaces = null;
+
+		ContainerBlueprint blueprint = ContainerBlueprint.forContextClassLoader();
+		ResolverBlueprint resolverBlueprint = (blueprint == null ? null : blueprint.findResolver (internalInformation.getInterfacesPackage()
+				                                                                                ,this.implementationPackage, this.interfaceToResolve));
+		if (resolverBlueprint != null)
+			implementationsOfInterfaces = resolverBlueprint.loadImplementationsOfInjectableInterfaces();
+		else
+			implementationsOfInterfaces = ClasspathScanner.findImplementationsOfInjectableInterfaces (internalInformation.getInterfacesPackage()
+					                                                                                 ,this.implementationPackage, this.interfaceToResolve);
+
+		// Gets a map of preinitialized objects easy to use
+		Map<String, Object> preInitializedObjectsMap = structurePreInitializeObjects (this.preInitializedObjects);
+
+		// Links the interface with its implementation
+		for (Map.Entry<Class<?>, Set<Class<?>>> entry : implementationsOfInterfaces.entrySet()) {
+
+			Class<?> interfaceClazz = entry.getKey();
+
+			// Insert in the "equivalence Map": interface -> implementation
+			for (Class<?> implementationClazz : entry.getValue()) {
+
+				try {
+					Object preinitializedObject = preInitializedObjectsMap.get (implementationClazz.getCanonicalName());
+					if (preinitializedObject == null && previousInformation != null)
+						preinitializedObject = previousInformation.findReusableImplementation (interfaceClazz, implementationClazz);
+
+					// Stores the relation between interfaceClazz and implementationClazz
+					internalBind (internalInformation, interfaceClazz, implementationClazz, false, preinitializedObject);
+
+				} catch (Exception e) {
+					throw new DependencyInjectionException (e);
 				}
 			}
 		}
@@ -352,66 +730,32 @@ public class DependencyInjectionResolver {
 	 * @param field
 	 *    Property for which we need to find its implementation
 	 * 
-	 * @return implementation of the given property
+	 * @return implementation of the given property (or null if no resolver manages it)
 	 * 
 	 * @throws DependencyInjectionException
 	 */
 	private Object findInAdditionalResolversTheImplementation (Field field) throws DependencyInjectionException {
 
-		// Gets qualifier value (in WithDependencyInjection annotation) of current property
-		String qualifierValue = this.internalInformationOfResolver.getQualifierValueInWithDependencyInjectionAnnotation (field);
+		for (DependencyInjectionResolver additionalResolver : getPool().getResolversLessGivenInterfacePackage (getInterfacesPackage())) {
 
-		for (DependencyInjectionResolver additionalResolver : DependencyInjectionPool.instance()
-				                                                                     .getResolversLessGivenInterfacePackage (getInterfacesPackage())) {
-			try {
-				Object implementation = additionalResolver.getImplementation ((Class<?>) field.getType(), qualifierValue);
-				if (implementation != null)
-					return implementation;
+			Object implementation = additionalResolver.tryGetImplementationOfField (field);
+			if (implementation != null) {
 
-			} catch (DependencyInjectionException e) {}
+				if (DependencyInjectionEvents.isEnabled())
+					DependencyInjectionEvents.crossResolverFallback (field.getDeclaringClass(), field.getName(), getInterfacesPackage()
+							                                        ,additionalResolver.getInterfacesPackage());
+				return implementation;
+			}
 		}
 		return null;
 	}
 
 
-	/**
-	 * Returns classes of interfaces with {@link Injectable} annotation
-	 * 
-	 * @param interfaceToResolve
-	 *    Interface that manages this resolver
-	 * 
-	 * @return {@link Set} of classes with {@link Injectable} annotation
-	 */
-	private Set<Class<?>> getInterfaceClassesWithInjectableAnnotation (@Nullable final Class<?> interfaceToResolve) {
-
-		// Get "injectable interfaces"
-		Reflections interfaceReflections = new Reflections (new ConfigurationBuilder()
-                                                               .filterInputsBy (new FilterBuilder().includePackage (this.internalInformationOfResolver.getInterfacesPackage()))
-                                                               .setUrls (ClasspathHelper.forPackage (this.internalInformationOfResolver.getInterfacesPackage()))
-                                                               .setScanners (new SubTypesScanner()
-                                                                            ,new TypeAnnotationsScanner())
-                                                               .setExecutorService (Executors.newFixedThreadPool (numberOfParallelThreads)));
-
-		Set<Class<?>> interfaceClasses = interfaceReflections.getTypesAnnotatedWith (Injectable.class);
-
-		// Filter by the interface indicated as parameter 
-		if (interfaceToResolve != null) {
-
-			boolean flagContainsInterfaceToResolve = false;
-			if (interfaceClasses.contains (interfaceToResolve))
-				flagContainsInterfaceToResolve = true;
-
-			interfaceClasses.retainAll (interfaceReflections.getSubTypesOf (interfaceToResolve));
-			if (flagContainsInterfaceToResolve)
-				interfaceClasses.add (interfaceToResolve);
-		}
-		return interfaceClasses;
-	}
-
-
 	/**
 	 * Binds one interface with its implementation.
 	 * 
+	 * @param internalInformation
+	 *    {@link InternalInformationOfResolver} in which the relation will be stored
 	 * @param interfaceClazz
 	 *    Class of interface
 	 * @param implementationClazz
@@ -425,10 +769,11 @@ public class DependencyInjectionResolver {
 	 * 
 	 * @throws DependencyInjectionException
 	 */
-	private void internalBind (final Class<?> interfaceClazz, final Class<?> implementationClazz, boolean overwriteImplementation
+	private void internalBind (final InternalInformationOfResolver internalInformation, final Class<?> interfaceClazz
+			                  ,final Class<?> implementationClazz, boolean overwriteImplementation
 			                  ,@Nullable final Object preinitializedObject) throws DependencyInjectionException {
 		try {
-			this.internalInformationOfResolver.addInformationOfElementToInject (interfaceClazz, implementationClazz, overwriteImplementation
+			internalInformation.addInformationOfElementToInject (interfaceClazz, implementationClazz, overwriteImplementation
 					                                                           ,preinitializedObject);
 		} catch (Exception e) {
 			throw new DependencyInjectionException (e);
@@ -439,13 +784,19 @@ public class DependencyInjectionResolver {
 	/**
 	 * Resolves the properties within the given object (the properties with the {@link WithDependencyInjection} annotation)
 	 * 
+	 * @param internalInformation
+	 *    {@link InternalInformationOfResolver} used to search the implementations managed by the current resolver
 	 * @param implementationObject
 	 *    Object whose properties need to be resolved using dependency injection 
 	 *    
 	 * @throws DependencyInjectionException
 	 */
 	@SuppressWarnings({ "unchecked" })
-	private void resolvePropertiesOfImplementation (Object implementationObject) throws DependencyInjectionException {
+	private void resolvePropertiesOfImplementation (InternalInformationOfResolver internalInformation, Object implementationObject)
+			                                           throws DependencyInjectionException {
+
+		boolean eventsEnabled = DependencyInjectionEvents.isEnabled();
+		long startTime = (eventsEnabled ? System.nanoTime() : 0);
 
 		// Get all clazz properties with WithDependencyInjection annotation
 		Set<Field> clazzProperties = ReflectionUtils.getAllFields (implementationObject.getClass(),
@@ -458,7 +809,7 @@ public class DependencyInjectionResolver {
 				field.setAccessible (true);
 				try {
 					// Searching inside "current resolver"
-					Object clazzPropertyImplementation = this.internalInformationOfResolver.getImplementationOfField (field);
+					Object clazzPropertyImplementation = internalInformation.getImplementationOfField (field);
 					if (clazzPropertyImplementation != null)
 						field.set (implementationObject, clazzPropertyImplementation);
 
@@ -479,6 +830,8 @@ public class DependencyInjectionResolver {
 					field.setAccessible (false);
 				}
 			}
+			if (eventsEnabled)
+				DependencyInjectionEvents.propertiesInjected (implementationObject.getClass(), clazzProperties.size(), System.nanoTime() - startTime);
 		}
 	}
 
@@ -0,0 +1,348 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.play.dependencyinjection.annotations.PreDestroy;
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.decorators.ImplementationDecorator;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.shutdown.ComponentShutdown;
+import org.play.dependencyinjection.shutdown.ShutdownStatus;
+
+/**
+ *    Closes the implementations of a pool: invokes their methods annotated with {@link PreDestroy} and, if they
+ * implement {@link AutoCloseable}, their close method. An implementation is closed after all the implementations that
+ * store it in their properties annotated with {@link WithDependencyInjection} (the reverse order of {@link LifecycleHooks}),
+ * and the ones that do not depend on each other are closed in parallel.
+ *
+ *    Every implementation has a timeout: when it expires the implementation is reported as slow and the ones it
+ * depends on are closed without waiting for it any more. The failures do not stop the shutdown either, so it always
+ * finishes.
+ */
+public final class DestructionHooks {
+
+	/**
+	 * Milliseconds to wait for the hooks of every implementation (if its {@link PreDestroy} methods do not set other one)
+	 */
+	private static long timeoutMillis = 10000;
+
+	/**
+	 * Used to give a different name to every thread
+	 */
+	private static final AtomicInteger threadNumber = new AtomicInteger (1);
+
+
+	/**
+	 * Prevents instantiation from external entities
+	 */
+	private DestructionHooks() {}
+
+
+	/**
+	 * Sets how long the hooks of every implementation are waited for (by default 10 seconds).
+	 *
+	 * @param newTimeoutMillis
+	 *    Milliseconds (greater than 0)
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public static void setTimeoutMillis (final long newTimeoutMillis) throws DependencyInjectionException {
+
+		if (newTimeoutMillis < 1)
+			throw new DependencyInjectionException ("The given timeoutMillis must be greater than 0");
+
+		timeoutMillis = newTimeoutMillis;
+	}
+
+
+	/**
+	 *    Closes the given implementations in reverse dependency order. The dependencies that are not included in the
+	 * given implementations are ignored.
+	 *
+	 * @param implementations
+	 *    {@link Collection} of implementations (or their decorators)
+	 *
+	 * @return {@link ComponentShutdown} of every implementation with hooks, in the order in which they finished
+	 */
+	public static List<ComponentShutdown> execute (final Collection<Object> implementations) {
+
+		Map<Object, Integer> indexes = new IdentityHashMap<Object, Integer>();
+		List<Object> nodes = new ArrayList<Object>();
+		for (Object element : implementations) {
+
+			// The hooks are invoked in the implementation itself
+			Object implementation = ImplementationDecorator.unwrap (element);
+			if (implementation != null && !indexes.containsKey (implementation)) {
+				indexes.put (implementation, nodes.size());
+				nodes.add (implementation);
+			}
+		}
+		List<ComponentShutdown> result = new ArrayList<ComponentShutdown>();
+		int numberOfNodes = nodes.size();
+		List<List<Method>> hooks = new ArrayList<List<Method>>();
+		long[] timeoutsNanos = new long[numberOfNodes];
+		boolean withHooks = false;
+		for (int i = 0; i < numberOfNodes; i++) {
+
+			Object node = nodes.get (i);
+			List<Method> preDestroyMethods = Collections.emptyList();
+			try {
+				preDestroyMethods = findPreDestroyMethods (node.getClass());
+
+			} catch (DependencyInjectionException e) {
+				result.add (new ComponentShutdown (node.getClass().getName(), ShutdownStatus.FAILED, 0, e));
+			}
+			hooks.add (preDestroyMethods);
+			timeoutsNanos[i] = TimeUnit.MILLISECONDS.toNanos (timeoutOf (preDestroyMethods));
+			withHooks |= !preDestroyMethods.isEmpty() || node instanceof AutoCloseable;
+		}
+		if (!withHooks)
+			return result;
+
+		ExecutorService executorService = Executors.newCachedThreadPool (new ThreadFactory() {
+
+			@Override
+			public Thread newThread (Runnable runnable) {
+
+				Thread thread = new Thread (runnable, "dependency-injection-shutdown-" + threadNumber.getAndIncrement());
+				thread.setDaemon (true);
+				return thread;
+			}
+		});
+		try {
+			closeInReverseOrder (executorService, nodes, indexes, hooks, timeoutsNanos, result);
+
+		} finally {
+			// Interrupts the slow hooks
+			executorService.shutdownNow();
+		}
+		return result;
+	}
+
+
+	/**
+	 *    Closes every implementation when all the implementations that depend on it have finished (or have exceeded
+	 * their timeout). Only a limited number of hooks are running at the same time, but the slow ones do not count.
+	 */
+	private static void closeInReverseOrder (final ExecutorService executorService, final List<Object> nodes
+			                                ,final Map<Object, Integer> indexes, final List<List<Method>> hooks
+			                                ,final long[] timeoutsNanos, final List<ComponentShutdown> result) {
+
+		int numberOfNodes = nodes.size();
+		List<List<Integer>> dependencies = new ArrayList<List<Integer>>();
+		int[] pendingDependents = new int[numberOfNodes];
+		for (int i = 0; i < numberOfNodes; i++) {
+
+			List<Integer> nodeDependencies = new ArrayList<Integer>();
+			for (Object dependency : dependenciesOf (nodes.get (i))) {
+
+				Integer dependencyIndex = indexes.get (dependency);
+				if (dependencyIndex != null && dependencyIndex != i && !nodeDependencies.contains (dependencyIndex)) {
+					nodeDependencies.add (dependencyIndex);
+					pendingDependents[dependencyIndex]++;
+				}
+			}
+			dependencies.add (nodeDependencies);
+		}
+		CompletionService<Integer> completionService = new ExecutorCompletionService<Integer> (executorService);
+		final Throwable[] failures = new Throwable[numberOfNodes];
+		long[] startTimes = new long[numberOfNodes];
+		boolean[] started = new boolean[numberOfNodes];
+		Deque<Integer> ready = new ArrayDeque<Integer>();
+		for (int i = 0; i < numberOfNodes; i++) {
+
+			if (pendingDependents[i] == 0)
+				ready.add (i);
+		}
+		// Deadline of every running implementation
+		Map<Integer, Long> running = new LinkedHashMap<Integer, Long>();
+		int finished = 0;
+		try {
+			while (finished < numberOfNodes) {
+
+				// Cross references: the implementation used by less pending ones is closed first
+				if (ready.isEmpty() && running.isEmpty())
+					ready.add (findLessUsedNode (started, pendingDependents));
+
+				while (!ready.isEmpty() && running.size() < LifecycleHooks.getNumberOfParallelThreads()) {
+
+					final int index = ready.poll();
+					started[index] = true;
+
+					final Object implementation = nodes.get (index);
+					final List<Method> methods = hooks.get (index);
+					if (methods.isEmpty() && !(implementation instanceof AutoCloseable)) {
+						finished++;
+						releaseDependencies (index, dependencies, pendingDependents, started, ready);
+						continue;
+					}
+					startTimes[index] = System.nanoTime();
+					running.put (index, startTimes[index] + timeoutsNanos[index]);
+					completionService.submit (new Callable<Integer>() {
+
+						@Override
+						public Integer call() {
+							try {
+								close (implementation, methods);
+
+							} catch (Throwable t) {
+								failures[index] = t;
+							}
+							return index;
+						}
+					});
+				}
+				if (running.isEmpty())
+					continue;
+
+				Future<Integer> future = completionService.poll (Math.max (0, nextDeadline (running) - System.nanoTime()), TimeUnit.NANOSECONDS);
+				long now = System.nanoTime();
+				if (future != null) {
+
+					int index = future.get();
+					// It could have been reported as slow
+					if (running.remove (index) != null) {
+						finished++;
+						result.add (new ComponentShutdown (nodes.get (index).getClass().getName()
+								                          ,(failures[index] == null ? ShutdownStatus.CLOSED : ShutdownStatus.FAILED)
+								                          ,now - startTimes[index], failures[index]));
+						releaseDependencies (index, dependencies, pendingDependents, started, ready);
+					}
+				}
+				for (Iterator<Map.Entry<Integer, Long>> iterator = running.entrySet().iterator(); iterator.hasNext();) {
+
+					Map.Entry<Integer, Long> entry = iterator.next();
+					if (entry.getValue() - now <= 0) {
+
+						int index = entry.getKey();
+						iterator.remove();
+						finished++;
+						result.add (new ComponentShutdown (nodes.get (index).getClass().getName(), ShutdownStatus.SLOW
+								                          ,now - startTimes[index], null));
+						releaseDependencies (index, dependencies, pendingDependents, started, ready);
+					}
+				}
+			}
+		} catch (ExecutionException e) {
+			// The tasks do not throw exceptions
+			throw new IllegalStateException (e.getCause());
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			for (Integer index : running.keySet())
+				result.add (new ComponentShutdown (nodes.get (index).getClass().getName(), ShutdownStatus.SLOW
+						                          ,System.nanoTime() - startTimes[index], null));
+		}
+	}
+
+
+	/**
+	 * Invokes the {@link PreDestroy} methods of the given implementation and its close method.
+	 */
+	private static void close (final Object implementation, final List<Method> preDestroyMethods) throws Exception {
+
+		boolean closeInvoked = false;
+		for (Method method : preDestroyMethods) {
+
+			LifecycleHooks.invoke (implementation, method);
+			closeInvoked |= "close".equals (method.getName());
+		}
+		if (implementation instanceof AutoCloseable && !closeInvoked)
+			((AutoCloseable) implementation).close();
+	}
+
+
+	/**
+	 * Returns the {@link PreDestroy} methods of the given class, the ones of the subclasses first.
+	 */
+	private static List<Method> findPreDestroyMethods (final Class<?> clazz) throws DependencyInjectionException {
+
+		List<Method> methods = LifecycleHooks.findHooks (clazz, PreDestroy.class);
+		Collections.reverse (methods);
+		return methods;
+	}
+
+
+	private static long timeoutOf (final List<Method> preDestroyMethods) {
+
+		long result = 0;
+		for (Method method : preDestroyMethods)
+			result = Math.max (result, method.getAnnotation (PreDestroy.class).timeoutMillis());
+
+		return (result > 0 ? result : timeoutMillis);
+	}
+
+
+	private static List<Object> dependenciesOf (final Object implementation) {
+		try {
+			return LifecycleHooks.findDependencies (implementation);
+
+		} catch (DependencyInjectionException e) {
+			return Collections.emptyList();
+		}
+	}
+
+
+	private static long nextDeadline (final Map<Integer, Long> running) {
+
+		Iterator<Long> deadlines = running.values().iterator();
+		long result = deadlines.next();
+		while (deadlines.hasNext()) {
+
+			long deadline = deadlines.next();
+			if (deadline - result < 0)
+				result = deadline;
+		}
+		return result;
+	}
+
+
+	/**
+	 * Adds to ready the dependencies of the given node that are not used by other pending nodes.
+	 */
+	private static void releaseDependencies (final int index, final List<List<Integer>> dependencies, final int[] pendingDependents
+			                                ,final boolean[] started, final Deque<Integer> ready) {
+
+		for (Integer dependency : dependencies.get (index)) {
+
+			if (--pendingDependents[dependency] == 0 && !started[dependency])
+				ready.add (dependency);
+		}
+	}
+
+
+	/**
+	 * Returns the not started node used by less pending nodes.
+	 */
+	private static int findLessUsedNode (final boolean[] started, final int[] pendingDependents) {
+
+		int result = -1;
+		for (int i = 0; i < started.length; i++) {
+
+			if (!started[i] && (result == -1 || pendingDependents[i] < pendingDependents[result]))
+				result = i;
+		}
+		return result;
+	}
+
+}
\ No newline at end of file
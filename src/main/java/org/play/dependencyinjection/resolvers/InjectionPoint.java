@@ -0,0 +1,149 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.reflections.ReflectionUtils;
+
+/**
+ *    Stores a pending value of a property annotated with {@link WithDependencyInjection}. Used to calculate all the changes
+ * before applying anyone of them.
+ */
+class InjectionPoint {
+
+	/**
+	 * Object that contains the property (the {@link Class} of a controller for static properties)
+	 */
+	private Object target;
+
+	/**
+	 * Property to update
+	 */
+	private Field field;
+
+	/**
+	 * New value of the property
+	 */
+	private Object value;
+
+
+	InjectionPoint (Object target, Field field, Object value) {
+
+		this.target = target;
+		this.field  = field;
+		this.value  = value;
+	}
+
+
+	/**
+	 * Stores the value in the property.
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	void apply() throws DependencyInjectionException {
+
+		// Due to is a private property
+		field.setAccessible (true);
+		try {
+			field.set (target, value);
+
+		} catch (Exception e) {
+			throw new DependencyInjectionException (e);
+		}
+		finally {
+			field.setAccessible (false);
+		}
+	}
+
+
+	/**
+	 *    Adds in injectionPoints the properties (annotated with {@link WithDependencyInjection}) of the given
+	 * object whose current value is one of the replaced implementations, or a {@link List}, a {@link Map} or an array of
+	 * implementations that has changed in the reloaded resolver.
+	 *
+	 * @param target
+	 *    Object whose properties will be checked (the {@link Class} of a controller for static properties)
+	 * @param clazz
+	 *    Class of the given target
+	 * @param replacedImplementations
+	 *    {@link Map} (by identity) with the current implementation as key and the one that replaces it as value
+	 * @param reloadedInformation
+	 *    {@link InternalInformationOfResolver} of the reloaded resolver
+	 * @param injectionPoints
+	 *    {@link List} in which the properties to update will be added
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	@SuppressWarnings("unchecked")
+	static void collectReplacedInjectionPoints (Object target, Class<?> clazz, Map<Object, Object> replacedImplementations
+			                                   ,InternalInformationOfResolver reloadedInformation, List<InjectionPoint> injectionPoints)
+			                                      throws DependencyInjectionException {
+
+		Set<Field> properties = ReflectionUtils.getAllFields (clazz, ReflectionUtils.withAnnotation (WithDependencyInjection.class));
+		for (Field field : properties) {
+
+			// Due to is a private property
+			field.setAccessible (true);
+			try {
+				Object currentValue = field.get (target);
+				if (currentValue == null)
+					continue;
+
+				if (MultiBinding.findInterfaceOf (field) != null)
+					collectReplacedMultiBinding (target, clazz, field, currentValue, replacedImplementations, reloadedInformation, injectionPoints);
+
+				else if (replacedImplementations.containsKey (currentValue)) {
+
+					Object newValue = replacedImplementations.get (currentValue);
+					if (newValue == null)
+						throw new DependencyInjectionException ("The property: " + field.getName() + " in the class: "
+								                              + clazz.getCanonicalName() + " points to an implementation that no longer exists");
+
+					injectionPoints.add (new InjectionPoint (target, field, newValue));
+				}
+			} catch (DependencyInjectionException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new DependencyInjectionException (e);
+			}
+			finally {
+				field.setAccessible (false);
+			}
+		}
+	}
+
+
+	/**
+	 *    Adds in injectionPoints the given property (a {@link List}, a {@link Map} or an array of implementations) if the reloaded
+	 * resolver manages its interface and the implementations are not the same.
+	 */
+	private static void collectReplacedMultiBinding (Object target, Class<?> clazz, Field field, Object currentValue
+			                                        ,Map<Object, Object> replacedImplementations, InternalInformationOfResolver reloadedInformation
+			                                        ,List<InjectionPoint> injectionPoints) throws DependencyInjectionException {
+
+		List<?> currentImplementations = MultiBinding.implementationsOf (currentValue);
+
+		Object newValue = reloadedInformation.getImplementationOfField (field);
+		if (newValue == null) {
+
+			for (Object implementation : currentImplementations)
+				if (replacedImplementations.containsKey (implementation))
+					throw new DependencyInjectionException ("The property: " + field.getName() + " in the class: "
+							                              + clazz.getCanonicalName() + " points to implementations that no longer exist");
+			return;
+		}
+		List<?> newImplementations = MultiBinding.implementationsOf (newValue);
+
+		boolean changed = (currentImplementations.size() != newImplementations.size());
+		for (int i = 0; !changed && i < currentImplementations.size(); i++)
+			changed = (currentImplementations.get (i) != newImplementations.get (i));
+
+		if (changed)
+			injectionPoints.add (new InjectionPoint (target, field, newValue));
+	}
+
+}
\ No newline at end of file
@@ -1,16 +1,39 @@
 package org.play.dependencyinjection.resolvers;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.annotations.Async;
+import org.play.dependencyinjection.annotations.Batched;
+import org.play.dependencyinjection.annotations.Cached;
 import org.play.dependencyinjection.annotations.DependencyInjectionQualifier;
 import org.play.dependencyinjection.annotations.Injectable;
+import org.play.dependencyinjection.annotations.Rebindable;
+import org.play.dependencyinjection.annotations.Timed;
 import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.async.AsyncDecorator;
+import org.play.dependencyinjection.async.ManagedExecutors;
+import org.play.dependencyinjection.batch.BatchedDecorator;
+import org.play.dependencyinjection.cache.CachedDecorator;
+import org.play.dependencyinjection.cache.TinyLfuCache;
+import org.play.dependencyinjection.decorators.RebindableDecorator;
+import org.play.dependencyinjection.events.DependencyInjectionEvents;
 import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.metrics.LatencyHistogram;
+import org.play.dependencyinjection.metrics.TimedDecorator;
 
 /**
  * Stores the necessary information that {@link DependencyInjectionResolver} needs to manage
@@ -28,6 +51,32 @@ public class InternalInformationOfResolver {
 	 */
 	private Map<String, Object> interfaceImplementationEquivalence;
 
+	/**
+	 *    Keys of {@link InternalInformationOfResolver#interfaceImplementationEquivalence} whose implementation
+	 * was bound manually (they must survive a rescan of the implementation package)
+	 */
+	private Set<String> manuallyBoundKeys;
+
+	/**
+	 *    Decorators (created by {@link BatchedDecorator}, {@link CachedDecorator}, {@link TimedDecorator}, {@link AsyncDecorator} and {@link RebindableDecorator})
+	 * of the implementations of {@link InternalInformationOfResolver#interfaceImplementationEquivalence} bound to an interface with {@link Batched},
+	 * {@link Cached}, {@link Timed} or {@link Async} methods, or annotated with {@link Rebindable}. They are returned instead of the implementations,
+	 * whose own properties are resolved without them
+	 */
+	private Map<String, Object> decoratedImplementations;
+
+	/**
+	 *    All implementations of every interface injected in a {@link List}, a {@link Map} or an array, built the first time they are
+	 * requested (and discarded when the implementations change)
+	 */
+	private Map<Class<?>, MultiBinding> multiBindings;
+
+	/**
+	 *    {@link DependencyInjectionResolver} that stores the current information, whose pool provides the {@link ManagedExecutors}
+	 * (null if it does not belong to a resolver)
+	 */
+	private final DependencyInjectionResolver owner;
+
 	/**
 	 * Use to separate the parts of a "composed string"
 	 */
@@ -36,8 +85,18 @@ public class InternalInformationOfResolver {
 
 	public InternalInformationOfResolver (String interfacesPackage) {
 
+		this (interfacesPackage, null);
+	}
+
+
+	public InternalInformationOfResolver (String interfacesPackage, @Nullable DependencyInjectionResolver owner) {
+
+		this.owner                              = owner;
 		this.interfacesPackage                  = interfacesPackage;
-		this.interfaceImplementationEquivalence = new HashMap<String, Object>(64); 
+		this.interfaceImplementationEquivalence = new HashMap<String, Object>(64);
+		this.manuallyBoundKeys                  = new HashSet<String>();
+		this.decoratedImplementations           = new HashMap<String, Object>();
+		this.multiBindings                      = new ConcurrentHashMap<Class<?>, MultiBinding>();
 	}
 
 
@@ -104,13 +163,222 @@ public class InternalInformationOfResolver {
                                                   + " has more than one implementation");
 
 		// Creates an unique instance of the given class
-		Object singletonObject = null;
-		try {
-			singletonObject = (preinitializedObject != null ? preinitializedObject : implementationClazz.newInstance());
-		} catch (Exception e) {
-			throw new DependencyInjectionException (e);
+		Object singletonObject = preinitializedObject;
+		if (singletonObject == null) {
+
+			boolean eventsEnabled = DependencyInjectionEvents.isEnabled();
+			long startTime = (eventsEnabled ? System.nanoTime() : 0);
+			try {
+				singletonObject = implementationClazz.newInstance();
+			} catch (Exception e) {
+				throw new DependencyInjectionException (e);
+			}
+			if (eventsEnabled)
+				DependencyInjectionEvents.implementationInstantiated (implementationClazz, System.nanoTime() - startTime);
 		}
 		this.interfaceImplementationEquivalence.put (interfaceKey, singletonObject);
+		this.multiBindings.clear();
+
+		Object decoratedObject = decorate (interfaceClazz, singletonObject);
+		if (decoratedObject != singletonObject)
+			this.decoratedImplementations.put (interfaceKey, decoratedObject);
+		else
+			this.decoratedImplementations.remove (interfaceKey);
+
+		if (overwriteImplementation)
+			this.manuallyBoundKeys.add (interfaceKey);
+		else
+			this.manuallyBoundKeys.remove (interfaceKey);
+	}
+
+
+	/**
+	 *    Returns the given implementation behind the decorators required by the annotations of the given interface, or
+	 * the implementation itself if it does not need anyone.
+	 * 
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param implementation
+	 *    Implementation of the given interface
+	 * 
+	 * @return the decorated implementation
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	Object decorate (Class<?> interfaceClazz, Object implementation) throws DependencyInjectionException {
+
+		// The latency of a cached method includes the lookup in its cache, and the one of an asynchronous method is measured in its executor.
+		// The cached results of a batched method do not wait for the other keys of its batch. The switch of a rebindable interface
+		// goes outside, so a new binding replaces all decorators at once
+		return RebindableDecorator.decorate (interfaceClazz
+				                            ,AsyncDecorator.decorate (interfaceClazz
+				                                                     ,TimedDecorator.decorate (interfaceClazz
+				                                                                              ,CachedDecorator.decorate (interfaceClazz
+				                                                                                                        ,BatchedDecorator.decorate (interfaceClazz, implementation)))
+				                                                     ,getManagedExecutors()));
+	}
+
+
+	/**
+	 *    Returns the implementation stored for the given relation between the interfaceClazz and implementationClazz,
+	 * only if that implementation is an instance of implementationClazz (that is, the relation has not changed).
+	 * 
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param implementationClazz
+	 *    Class of implementation of the given interface
+	 * 
+	 * @return the stored implementation (or null if there is no one or it belongs to other class)
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	public Object findReusableImplementation (Class<?> interfaceClazz, Class<?> implementationClazz) throws DependencyInjectionException {
+
+		String interfaceKey = buildKeyInInterfaceImplementationEquivalence (interfaceClazz
+				                                                           ,getQualifierValueInDependencyInjectionQualifierAnnotation (
+				                                                               implementationClazz));
+
+		Object implementation = this.interfaceImplementationEquivalence.get (interfaceKey);
+		return (implementation != null && implementation.getClass() == implementationClazz ? implementation : null);
+	}
+
+
+	/**
+	 * Copies into the current object the implementations that were bound manually in the given one.
+	 * 
+	 * @param other
+	 *    {@link InternalInformationOfResolver} with the manual bindings to keep
+	 */
+	public void keepManualBindingsOf (InternalInformationOfResolver other) {
+
+		for (String interfaceKey : other.manuallyBoundKeys) {
+
+			this.interfaceImplementationEquivalence.put (interfaceKey, other.interfaceImplementationEquivalence.get (interfaceKey));
+			this.manuallyBoundKeys.add (interfaceKey);
+			copyDecoratorOf (other, interfaceKey);
+		}
+		this.multiBindings.clear();
+	}
+
+
+	/**
+	 *    Uses the decorators of the given object for the implementations that the current one shares with it, so their
+	 * recorded latencies are kept (and the properties that point to them do not change).
+	 * 
+	 * @param other
+	 *    {@link InternalInformationOfResolver} whose decorators will be reused
+	 */
+	public void keepDecoratorsOf (InternalInformationOfResolver other) {
+
+		for (Map.Entry<String, Object> entry : this.interfaceImplementationEquivalence.entrySet()) {
+
+			if (entry.getValue() == other.interfaceImplementationEquivalence.get (entry.getKey()))
+				copyDecoratorOf (other, entry.getKey());
+		}
+		this.multiBindings.clear();
+	}
+
+
+	/**
+	 *    Uses the {@link RebindableDecorator}s of the given object for the interfaces whose implementation has changed in the
+	 * current one, so the properties that point to them do not change. Their new targets are returned instead of being
+	 * replaced, because the given object could still be in use.
+	 * 
+	 * @param other
+	 *    {@link InternalInformationOfResolver} whose switches will be reused
+	 * 
+	 * @return {@link Map} (by identity) with:
+	 *  - Key: reused {@link RebindableDecorator} (its proxy).
+	 *  - Value: the implementation (or decorator) that it must use when the current object is published
+	 */
+	public Map<Object, Object> keepSwitchesOf (InternalInformationOfResolver other) {
+
+		Map<Object, Object> newTargets = new IdentityHashMap<Object, Object>();
+		for (Map.Entry<String, Object> entry : this.decoratedImplementations.entrySet()) {
+
+			Object currentSwitch = other.decoratedImplementations.get (entry.getKey());
+			if (currentSwitch == null || currentSwitch == entry.getValue())
+				continue;
+
+			Object currentTarget = RebindableDecorator.targetOf (currentSwitch);
+			Object newTarget     = RebindableDecorator.targetOf (entry.getValue());
+			if (currentTarget != null && newTarget != null) {
+
+				newTargets.put (currentSwitch, newTarget);
+				entry.setValue (currentSwitch);
+			}
+		}
+		this.multiBindings.clear();
+		return newTargets;
+	}
+
+
+	/**
+	 *    Makes the {@link AsyncDecorator}s of the current implementations use the given executors (for example, the ones of
+	 * the pool to which the resolver has been added after binding them).
+	 * 
+	 * @param managedExecutors
+	 *    {@link ManagedExecutors} of the pool that manages the resolver
+	 */
+	public void useManagedExecutors (final ManagedExecutors managedExecutors) {
+
+		for (Object decoratedImplementation : this.decoratedImplementations.values())
+			AsyncDecorator.useExecutors (decoratedImplementation, managedExecutors);
+	}
+
+
+	/**
+	 * Sends to their bulk methods the pending keys of the {@link Batched} methods of the current implementations.
+	 */
+	public void dispatchPendingBatches() {
+
+		for (Object decoratedImplementation : this.decoratedImplementations.values())
+			BatchedDecorator.dispatchPending (decoratedImplementation);
+	}
+
+
+	/**
+	 * Returns a new {@link InternalInformationOfResolver} with the same bindings (and decorators) as the current one.
+	 * 
+	 * @return {@link InternalInformationOfResolver}
+	 */
+	public InternalInformationOfResolver copy() {
+
+		InternalInformationOfResolver copy = new InternalInformationOfResolver (this.interfacesPackage, this.owner);
+		copy.interfaceImplementationEquivalence.putAll (this.interfaceImplementationEquivalence);
+		copy.manuallyBoundKeys.addAll (this.manuallyBoundKeys);
+		copy.decoratedImplementations.putAll (this.decoratedImplementations);
+		return copy;
+	}
+
+
+	/**
+	 *    Compares the implementations of the current object with the ones stored in the given {@link InternalInformationOfResolver}
+	 * and returns the implementations that will be replaced if the given one is used instead of the current one.
+	 * 
+	 * @param reloaded
+	 *    {@link InternalInformationOfResolver} that will replace the current one
+	 * 
+	 * @return {@link Map} (by identity) with:
+	 *  - Key: current implementation (or its decorator).
+	 *  - Value: the implementation (or decorator) that replaces it (or null if the given {@link InternalInformationOfResolver}
+	 *           does not store anything with the same key)
+	 */
+	public Map<Object, Object> findReplacedImplementations (InternalInformationOfResolver reloaded) {
+
+		Map<Object, Object> replacedImplementations = new IdentityHashMap<Object, Object>();
+		for (Map.Entry<String, Object> entry : this.interfaceImplementationEquivalence.entrySet()) {
+
+			Object currentImplementation  = exposedImplementationOf (entry.getKey(), entry.getValue());
+			Object reloadedImplementation = reloaded.exposedImplementationOf (entry.getKey()
+					                                                         ,reloaded.interfaceImplementationEquivalence.get (entry.getKey()));
+			if (reloadedImplementation != currentImplementation) {
+
+				replacedImplementations.put (entry.getValue(), reloadedImplementation);
+				replacedImplementations.put (currentImplementation, reloadedImplementation);
+			}
+		}
+		return replacedImplementations;
 	}
 
 
@@ -127,16 +395,131 @@ public class InternalInformationOfResolver {
 	 * 
 	 * @throws DependencyInjectionException
 	 */
-	@SuppressWarnings("unchecked")
 	public <T> T getImplementation (final Class<T> interfaceClazz, @Nullable String qualifierValue) throws DependencyInjectionException {
 
 		if (interfaceClazz == null)
 			throw new DependencyInjectionException ("The given interfaceClazz must not be null");
 
+		return findImplementation (interfaceClazz, qualifierValue);
+	}
+
+
+	/**
+	 * Gets the implementation of the given interface (and qualifier value) without throwing any exception.
+	 * 
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param qualifierValue
+	 *    Value of {@link DependencyInjectionQualifier} in an implementation class
+	 * 
+	 * @return the implementation of the given interface (or null if the current {@link DependencyInjectionResolver}
+	 *         does not manage the given class of an interface)
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T findImplementation (final Class<T> interfaceClazz, @Nullable String qualifierValue) {
+
 		// Generates "the key" related with the given field (canonical name + qualifier value)
 		String interfaceKey = buildKeyInInterfaceImplementationEquivalence (interfaceClazz, qualifierValue);
 
-		return (T) this.interfaceImplementationEquivalence.get (interfaceKey);
+		return (T) exposedImplementationOf (interfaceKey, this.interfaceImplementationEquivalence.get (interfaceKey));
+	}
+
+
+	/**
+	 *    Gets all implementations of the given interface (whatever their qualifier value), sorted by the priority of
+	 * their {@link DependencyInjectionQualifier} annotation.
+	 * 
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * 
+	 * @return {@link List} of implementations (empty if the current {@link DependencyInjectionResolver} does not manage
+	 *         the given class of an interface)
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> List<T> getAllImplementations (final Class<T> interfaceClazz) throws DependencyInjectionException {
+
+		if (interfaceClazz == null)
+			throw new DependencyInjectionException ("The given interfaceClazz must not be null");
+
+		MultiBinding multiBinding = getMultiBinding (interfaceClazz);
+		return (List<T>) (multiBinding == null ? Collections.emptyList() : multiBinding.getImplementations());
+	}
+
+
+	/**
+	 *    Gets all implementations of the given interface by the value of their {@link DependencyInjectionQualifier}
+	 * annotation (an empty {@link String} for the implementation without qualifier).
+	 * 
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * 
+	 * @return {@link Map} of implementations (empty if the current {@link DependencyInjectionResolver} does not manage
+	 *         the given class of an interface)
+	 * 
+	 * @throws DependencyInjectionException
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Map<String, T> getImplementationsByQualifier (final Class<T> interfaceClazz) throws DependencyInjectionException {
+
+		if (interfaceClazz == null)
+			throw new DependencyInjectionException ("The given interfaceClazz must not be null");
+
+		MultiBinding multiBinding = getMultiBinding (interfaceClazz);
+		return (Map<String, T>) (multiBinding == null ? Collections.emptyMap() : multiBinding.getImplementationsByQualifier());
+	}
+
+
+	/**
+	 * Returns the content of {@link InternalInformationOfResolver#interfaceImplementationEquivalence}
+	 * 
+	 * @return unmodifiable {@link Map} with the key of every binding (canonical name + qualifier value) and its implementation
+	 */
+	public Map<String, Object> getImplementationsByKey() {
+
+		return Collections.unmodifiableMap (this.interfaceImplementationEquivalence);
+	}
+
+
+	/**
+	 *    Returns the histograms of the {@link Timed} methods of the decorated implementations, by the key of their binding
+	 * and the signature of the method (separated by #).
+	 * 
+	 * @return {@link Map} of {@link LatencyHistogram}s
+	 */
+	public Map<String, LatencyHistogram> getLatencyHistograms() {
+
+		Map<String, LatencyHistogram> latencyHistograms = new TreeMap<String, LatencyHistogram>();
+		for (Map.Entry<String, Object> entry : this.decoratedImplementations.entrySet()) {
+
+			Map<String, LatencyHistogram> histograms = TimedDecorator.histogramsOf (entry.getValue());
+			if (histograms != null)
+				for (Map.Entry<String, LatencyHistogram> histogram : histograms.entrySet())
+					latencyHistograms.put (entry.getKey() + "#" + histogram.getKey(), histogram.getValue());
+		}
+		return latencyHistograms;
+	}
+
+
+	/**
+	 *    Returns the caches of the {@link Cached} methods of the decorated implementations, by the key of their binding
+	 * and the signature of the method (separated by #).
+	 * 
+	 * @return {@link Map} of {@link TinyLfuCache}s
+	 */
+	public Map<String, TinyLfuCache<Object, Object>> getMethodCaches() {
+
+		Map<String, TinyLfuCache<Object, Object>> methodCaches = new TreeMap<String, TinyLfuCache<Object, Object>>();
+		for (Map.Entry<String, Object> entry : this.decoratedImplementations.entrySet()) {
+
+			Map<String, TinyLfuCache<Object, Object>> caches = CachedDecorator.cachesOf (entry.getValue());
+			if (caches != null)
+				for (Map.Entry<String, TinyLfuCache<Object, Object>> cache : caches.entrySet())
+					methodCaches.put (entry.getKey() + "#" + cache.getKey(), cache.getValue());
+		}
+		return methodCaches;
 	}
 
 
@@ -168,7 +551,60 @@ public class InternalInformationOfResolver {
 		if (field == null)
 			throw new DependencyInjectionException ("The given field must not be null");
 
-		return getImplementation (field.getType(), getQualifierValueInWithDependencyInjectionAnnotation (field));
+		String qualifier = getQualifierValueInWithDependencyInjectionAnnotation (field);
+
+		// An executor that has not been configured is reported instead of ignored
+		if (ManagedExecutors.isInjectable (field.getType()))
+			return getManagedExecutors().get (qualifier.isEmpty() ? ManagedExecutors.DEFAULT_EXECUTOR : qualifier);
+
+		return findImplementationOfField (field);
+	}
+
+
+	/**
+	 *    Returns the valid value (implementation) of the given {@link Field} if the current {@link DependencyInjectionResolver}
+	 * manages the relation interface-implementation of the field, without throwing any exception.
+	 * 
+	 * @param field
+	 *    {@link Field} annotated with {@link WithDependencyInjection}
+	 * 
+	 * @return the value of the given field (or null if the current {@link DependencyInjectionResolver}
+	 *         does not manage the given field or it is not annotated with {@link WithDependencyInjection})
+	 */
+	@Nullable
+	public Object findImplementationOfField (Field field) {
+
+		WithDependencyInjection annotation = field.getAnnotation (WithDependencyInjection.class);
+		if (annotation == null)
+			return null;
+
+		// List, Map or array with all implementations of an interface
+		Class<?> multiBindingInterfaceClazz = MultiBinding.findInterfaceOf (field);
+		if (multiBindingInterfaceClazz != null) {
+
+			MultiBinding multiBinding = getMultiBinding (multiBindingInterfaceClazz);
+			return (multiBinding == null ? null : multiBinding.getValueOf (field));
+		}
+		// Executor managed by the pool, whose name is the value of the annotation
+		if (ManagedExecutors.isInjectable (field.getType())) {
+			try {
+				return getManagedExecutors().get (annotation.value().isEmpty() ? ManagedExecutors.DEFAULT_EXECUTOR : annotation.value());
+
+			} catch (DependencyInjectionException e) {
+				return null;
+			}
+		}
+		return findImplementation (field.getType(), annotation.value());
+	}
+
+
+	/**
+	 *    Returns the executors of the pool that manages the owner of the current information, or the ones of the pool of the
+	 * context classloader of the current thread if it does not have owner.
+	 */
+	private ManagedExecutors getManagedExecutors() {
+
+		return (this.owner == null ? DependencyInjectionPool.instance() : this.owner.getPool()).getManagedExecutors();
 	}
 
 
@@ -201,6 +637,9 @@ public class InternalInformationOfResolver {
 	public void destroyResources() {
 		
 		this.interfaceImplementationEquivalence.clear();
+		this.manuallyBoundKeys.clear();
+		this.decoratedImplementations.clear();
+		this.multiBindings.clear();
 	}
 
 
@@ -215,7 +654,7 @@ public class InternalInformationOfResolver {
 	 *
 	 * @return {@link String} with the key value
 	 */
-	private String buildKeyInInterfaceImplementationEquivalence (Class<?> interfaceClazz, String qualifierValue) {
+	static String buildKeyInInterfaceImplementationEquivalence (Class<?> interfaceClazz, String qualifierValue) {
 
 		String key = interfaceClazz.getCanonicalName();
 
@@ -226,6 +665,58 @@ public class InternalInformationOfResolver {
 	}
 
 
+	/**
+	 *    Returns all implementations of the given interface, building them the first time they are requested.
+	 * 
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * 
+	 * @return {@link MultiBinding} (or null if the current {@link DependencyInjectionResolver} does not manage
+	 *         the given class of an interface)
+	 */
+	private MultiBinding getMultiBinding (Class<?> interfaceClazz) {
+
+		MultiBinding multiBinding = this.multiBindings.get (interfaceClazz);
+		if (multiBinding == null) {
+
+			String interfaceKey = interfaceClazz.getCanonicalName();
+			List<Object> implementations = new ArrayList<Object>();
+			for (Map.Entry<String, Object> entry : this.interfaceImplementationEquivalence.entrySet()) {
+
+				if (entry.getKey().equals (interfaceKey) || entry.getKey().startsWith (interfaceKey + separator))
+					implementations.add (exposedImplementationOf (entry.getKey(), entry.getValue()));
+			}
+			if (implementations.isEmpty())
+				return null;
+
+			multiBinding = new MultiBinding (interfaceClazz, implementations);
+			this.multiBindings.put (interfaceClazz, multiBinding);
+		}
+		return multiBinding;
+	}
+
+
+	/**
+	 * Returns the decorator of the given implementation (stored with the given key) or the implementation if it is not decorated.
+	 */
+	Object exposedImplementationOf (String interfaceKey, Object implementation) {
+
+		if (this.decoratedImplementations.isEmpty() || implementation == null)
+			return implementation;
+
+		Object decoratedImplementation = this.decoratedImplementations.get (interfaceKey);
+		return (decoratedImplementation == null ? implementation : decoratedImplementation);
+	}
+
+
+	private void copyDecoratorOf (InternalInformationOfResolver other, String interfaceKey) {
+
+		Object decoratedImplementation = other.decoratedImplementations.get (interfaceKey);
+		if (decoratedImplementation != null)
+			this.decoratedImplementations.put (interfaceKey, decoratedImplementation);
+	}
+
+
 	/**
 	 *    Returns the value of qualifier of {@link DependencyInjectionQualifier} annotation
 	 * of a class.
@@ -237,7 +728,7 @@ public class InternalInformationOfResolver {
 	 * 
 	 * @throws DependencyInjectionException 
 	 */
-	private String getQualifierValueInDependencyInjectionQualifierAnnotation (Class<?> implementationClazz) throws DependencyInjectionException {
+	static String getQualifierValueInDependencyInjectionQualifierAnnotation (Class<?> implementationClazz) throws DependencyInjectionException {
 
 		DependencyInjectionQualifier annotation = (DependencyInjectionQualifier)implementationClazz.getAnnotation (DependencyInjectionQualifier.class);
 		return (annotation == null ? null : annotation.value());
@@ -0,0 +1,492 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.play.dependencyinjection.annotations.PostInjection;
+import org.play.dependencyinjection.annotations.WarmUp;
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.decorators.ImplementationDecorator;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.reflections.ReflectionUtils;
+
+/**
+ *    Invokes the methods annotated with {@link PostInjection} and {@link WarmUp} of the implementations whose properties
+ * have been injected. An implementation is initialized after all the implementations stored in its properties annotated
+ * with {@link WithDependencyInjection}, and the ones that do not depend on each other are initialized in parallel.
+ * When several implementations depend on each other (cross references), the one with less pending dependencies goes first.
+ *
+ *    The threads are stopped when the hooks finish, so they do not keep any reference to the classloader of the application.
+ */
+public final class LifecycleHooks {
+
+	/**
+	 * Maximum number of hooks invoked at the same time
+	 */
+	private static int numberOfParallelThreads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Used to give a different name to every thread
+	 */
+	private static final AtomicInteger threadNumber = new AtomicInteger (1);
+
+
+	/**
+	 * Prevents instantiation from external entities
+	 */
+	private LifecycleHooks() {}
+
+
+	/**
+	 * Sets the maximum number of hooks invoked at the same time.
+	 *
+	 * @param newNumberOfParallelThreads
+	 *    Number of threads (greater than 0)
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public static void setNumberOfParallelThreads (final int newNumberOfParallelThreads) throws DependencyInjectionException {
+
+		if (newNumberOfParallelThreads < 1)
+			throw new DependencyInjectionException ("The given numberOfParallelThreads must be greater than 0");
+
+		numberOfParallelThreads = newNumberOfParallelThreads;
+	}
+
+
+	/**
+	 * Returns the maximum number of hooks invoked at the same time.
+	 *
+	 * @return number of threads
+	 */
+	static int getNumberOfParallelThreads() {
+
+		return numberOfParallelThreads;
+	}
+
+
+	/**
+	 *    Invokes the hooks of the implementations of the given resolvers whose hooks have not been invoked yet. The
+	 * properties of all of them must have been resolved before. The initializations of the pool are serialized, so the
+	 * hooks of a resolver are not invoked twice when several threads initialize it at the same time. If a hook fails,
+	 * the ones that have already finished are not invoked again when the initialization is retried.
+	 *
+	 * @param resolvers
+	 *    {@link Collection} of {@link DependencyInjectionResolver}
+	 *
+	 * @throws DependencyInjectionException if a hook fails or a method annotated with {@link PostInjection} or
+	 *                                      {@link WarmUp} is static or has parameters
+	 */
+	public static synchronized void executeHooksOf (final Collection<DependencyInjectionResolver> resolvers) throws DependencyInjectionException {
+
+		List<DependencyInjectionResolver> pendingResolvers = new ArrayList<DependencyInjectionResolver>();
+		List<Object> implementations = new ArrayList<Object>();
+		Map<Object, Set<Method>> invokedHooks = new IdentityHashMap<Object, Set<Method>>();
+		for (DependencyInjectionResolver resolver : resolvers) {
+
+			if (!resolver.lifecycleHooksExecuted) {
+				pendingResolvers.add (resolver);
+				for (Object element : resolver.getImplementations()) {
+
+					// The hooks invoked by a previous failed initialization are kept in the resolver
+					Object implementation = ImplementationDecorator.unwrap (element);
+					Set<Method> invokedHooksOfImplementation = resolver.invokedLifecycleHooks.get (implementation);
+					if (invokedHooksOfImplementation == null) {
+						invokedHooksOfImplementation = Collections.synchronizedSet (new HashSet<Method>());
+						resolver.invokedLifecycleHooks.put (implementation, invokedHooksOfImplementation);
+					}
+					invokedHooks.put (implementation, invokedHooksOfImplementation);
+					implementations.add (element);
+				}
+			}
+		}
+		execute (implementations, invokedHooks);
+
+		for (DependencyInjectionResolver resolver : pendingResolvers) {
+			resolver.lifecycleHooksExecuted = true;
+			resolver.invokedLifecycleHooks.clear();
+		}
+	}
+
+
+	/**
+	 *    Invokes the methods annotated with {@link PostInjection} of the given implementations in dependency order and,
+	 * once all of them have finished, the ones annotated with {@link WarmUp}. The dependencies that are not included
+	 * in the given implementations are considered initialized.
+	 *
+	 * @param implementations
+	 *    {@link Collection} of implementations whose properties have been resolved
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	static void execute (final Collection<Object> implementations) throws DependencyInjectionException {
+
+		execute (implementations, Collections.<Object, Set<Method>>emptyMap());
+	}
+
+
+	/**
+	 * Makes {@link LifecycleHooks#executeHooksOf(Collection)} invoke again the hooks of the given resolver.
+	 *
+	 * @param resolver
+	 *    {@link DependencyInjectionResolver} whose implementations have been destroyed
+	 */
+	static synchronized void forget (final DependencyInjectionResolver resolver) {
+
+		resolver.lifecycleHooksExecuted = false;
+		resolver.invokedLifecycleHooks.clear();
+	}
+
+
+	/**
+	 *    Invokes the hooks of the given implementations like {@link LifecycleHooks#execute(Collection)}, except the ones
+	 * included in invokedHooks. Every hook is added to them when it finishes.
+	 *
+	 * @param implementations
+	 *    {@link Collection} of implementations whose properties have been resolved
+	 * @param invokedHooks
+	 *    {@link Map} (by identity) with the hooks already invoked of every implementation
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	private static void execute (final Collection<Object> implementations, final Map<Object, Set<Method>> invokedHooks)
+			                        throws DependencyInjectionException {
+
+		Map<Object, Integer> indexes = new IdentityHashMap<Object, Integer>();
+		List<Object> nodes = new ArrayList<Object>();
+		for (Object element : implementations) {
+
+			// The hooks are invoked in the implementation itself, so they are not included in its latencies
+			Object implementation = ImplementationDecorator.unwrap (element);
+			if (!indexes.containsKey (implementation)) {
+				indexes.put (implementation, nodes.size());
+				nodes.add (implementation);
+			}
+		}
+		List<List<Method>> postInjectionMethods = new ArrayList<List<Method>>();
+		List<List<Method>> warmUpMethods = new ArrayList<List<Method>>();
+		List<Set<Method>> invokedMethods = new ArrayList<Set<Method>>();
+		boolean withHooks = false;
+		for (Object node : nodes) {
+
+			Set<Method> invoked = invokedHooks.get (node);
+			if (invoked == null)
+				invoked = Collections.synchronizedSet (new HashSet<Method>());
+
+			List<Method> postInjection = findHooks (node.getClass(), PostInjection.class);
+			List<Method> warmUp = findHooks (node.getClass(), WarmUp.class);
+			postInjection.removeAll (invoked);
+			warmUp.removeAll (invoked);
+
+			postInjectionMethods.add (postInjection);
+			warmUpMethods.add (warmUp);
+			invokedMethods.add (invoked);
+			withHooks |= !postInjection.isEmpty() || !warmUp.isEmpty();
+		}
+		if (!withHooks)
+			return;
+
+		ExecutorService executorService = Executors.newFixedThreadPool (numberOfParallelThreads, new ThreadFactory() {
+
+			@Override
+			public Thread newThread (Runnable runnable) {
+
+				Thread thread = new Thread (runnable, "dependency-injection-hooks-" + threadNumber.getAndIncrement());
+				thread.setDaemon (true);
+				return thread;
+			}
+		});
+		try {
+			executePostInjectionHooks (executorService, nodes, indexes, postInjectionMethods, invokedMethods);
+			executeWarmUpHooks (executorService, nodes, warmUpMethods, invokedMethods);
+
+		} catch (ExecutionException e) {
+			throw (e.getCause() instanceof DependencyInjectionException ? (DependencyInjectionException) e.getCause()
+					                                                    : new DependencyInjectionException (e.getCause()));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DependencyInjectionException (e);
+
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+
+	/**
+	 *    Invokes the methods annotated with {@link PostInjection}: every implementation is submitted when all the
+	 * implementations it depends on have finished.
+	 */
+	private static void executePostInjectionHooks (final ExecutorService executorService, final List<Object> nodes
+			                                      ,final Map<Object, Integer> indexes, final List<List<Method>> postInjectionMethods
+			                                      ,final List<Set<Method>> invokedMethods)
+			                                         throws DependencyInjectionException, ExecutionException, InterruptedException {
+
+		int numberOfNodes = nodes.size();
+		List<List<Integer>> dependents = new ArrayList<List<Integer>>();
+		for (int i = 0; i < numberOfNodes; i++)
+			dependents.add (new ArrayList<Integer>());
+
+		int[] pendingDependencies = new int[numberOfNodes];
+		for (int i = 0; i < numberOfNodes; i++) {
+
+			for (Object dependency : findDependencies (nodes.get (i))) {
+
+				Integer dependencyIndex = indexes.get (dependency);
+				if (dependencyIndex != null && dependencyIndex != i && !dependents.get (dependencyIndex).contains (i)) {
+					dependents.get (dependencyIndex).add (i);
+					pendingDependencies[i]++;
+				}
+			}
+		}
+		CompletionService<Integer> completionService = new ExecutorCompletionService<Integer> (executorService);
+		boolean[] started = new boolean[numberOfNodes];
+		Deque<Integer> ready = new ArrayDeque<Integer>();
+		for (int i = 0; i < numberOfNodes; i++) {
+
+			if (pendingDependencies[i] == 0)
+				ready.add (i);
+		}
+		int finished = 0;
+		int running  = 0;
+		while (finished < numberOfNodes) {
+
+			// Cross references: the implementation with less pending dependencies is initialized first
+			if (ready.isEmpty() && running == 0)
+				ready.add (findLessDependentNode (started, pendingDependencies, dependents));
+
+			while (!ready.isEmpty()) {
+
+				final int index = ready.poll();
+				started[index] = true;
+
+				if (postInjectionMethods.get (index).isEmpty()) {
+					finished++;
+					releaseDependents (index, dependents, pendingDependencies, started, ready);
+				}
+				else {
+					final Object implementation = nodes.get (index);
+					final List<Method> methods = postInjectionMethods.get (index);
+					final Set<Method> invoked = invokedMethods.get (index);
+					completionService.submit (new Callable<Integer>() {
+
+						@Override
+						public Integer call() throws DependencyInjectionException {
+
+							for (Method method : methods) {
+								invoke (implementation, method);
+								invoked.add (method);
+							}
+
+							return index;
+						}
+					});
+					running++;
+				}
+			}
+			if (running > 0) {
+				int index = completionService.take().get();
+				running--;
+				finished++;
+				releaseDependents (index, dependents, pendingDependencies, started, ready);
+			}
+		}
+	}
+
+
+	/**
+	 * Invokes in parallel the methods annotated with {@link WarmUp}, as many times as their iterations.
+	 */
+	private static void executeWarmUpHooks (final ExecutorService executorService, final List<Object> nodes
+			                               ,final List<List<Method>> warmUpMethods, final List<Set<Method>> invokedMethods)
+			                                  throws ExecutionException, InterruptedException {
+
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+		for (int i = 0; i < nodes.size(); i++) {
+
+			final Object implementation = nodes.get (i);
+			final Set<Method> invoked = invokedMethods.get (i);
+			for (final Method method : warmUpMethods.get (i)) {
+
+				tasks.add (new Callable<Void>() {
+
+					@Override
+					public Void call() throws DependencyInjectionException {
+
+						for (int iteration = method.getAnnotation (WarmUp.class).iterations(); iteration > 0; iteration--)
+							invoke (implementation, method);
+
+						invoked.add (method);
+						return null;
+					}
+				});
+			}
+		}
+		for (Future<Void> future : executorService.invokeAll (tasks))
+			future.get();
+	}
+
+
+	/**
+	 * Adds to ready the dependents of the given node without pending dependencies.
+	 */
+	private static void releaseDependents (final int index, final List<List<Integer>> dependents, final int[] pendingDependencies
+			                              ,final boolean[] started, final Deque<Integer> ready) {
+
+		for (Integer dependent : dependents.get (index)) {
+
+			if (--pendingDependencies[dependent] == 0 && !started[dependent])
+				ready.add (dependent);
+		}
+	}
+
+
+	/**
+	 *    Returns the not started node with less pending dependencies and, among them, the one used by more
+	 * implementations.
+	 */
+	private static int findLessDependentNode (final boolean[] started, final int[] pendingDependencies
+			                                 ,final List<List<Integer>> dependents) {
+
+		int result = -1;
+		for (int i = 0; i < started.length; i++) {
+
+			if (!started[i] && (result == -1 || pendingDependencies[i] < pendingDependencies[result]
+					                         || (pendingDependencies[i] == pendingDependencies[result]
+					                             && dependents.get (i).size() > dependents.get (result).size())))
+				result = i;
+		}
+		return result;
+	}
+
+
+	/**
+	 * Returns the values of the properties annotated with {@link WithDependencyInjection} of the given implementation.
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	@SuppressWarnings("unchecked")
+	static List<Object> findDependencies (final Object implementation) throws DependencyInjectionException {
+
+		List<Object> dependencies = new ArrayList<Object>();
+		for (Field field : ReflectionUtils.getAllFields (implementation.getClass(), ReflectionUtils.withAnnotation (WithDependencyInjection.class))) {
+
+			// Due to is a private property
+			field.setAccessible (true);
+			try {
+				Object value = field.get (implementation);
+				if (value != null) {
+					if (MultiBinding.findInterfaceOf (field) != null) {
+						for (Object element : MultiBinding.implementationsOf (value))
+							dependencies.add (ImplementationDecorator.unwrap (element));
+					}
+					else
+						dependencies.add (ImplementationDecorator.unwrap (value));
+				}
+			} catch (IllegalAccessException e) {
+				throw new DependencyInjectionException (e);
+			}
+			finally {
+				field.setAccessible (false);
+			}
+		}
+		return dependencies;
+	}
+
+
+	/**
+	 *    Returns the methods of the given class (and its superclasses) annotated with the given annotation, the ones of the
+	 * superclasses first. An overridden method is returned only once.
+	 *
+	 * @throws DependencyInjectionException if a method is static or has parameters
+	 */
+	@SuppressWarnings("unchecked")
+	static List<Method> findHooks (final Class<?> clazz, final Class<? extends java.lang.annotation.Annotation> annotation)
+			                                 throws DependencyInjectionException {
+
+		List<Method> methods = new ArrayList<Method> (ReflectionUtils.getAllMethods (clazz, ReflectionUtils.withAnnotation (annotation)));
+		if (methods.isEmpty())
+			return methods;
+
+		Collections.sort (methods, new Comparator<Method>() {
+
+			@Override
+			public int compare (Method first, Method second) {
+
+				int result = depthOf (first.getDeclaringClass()) - depthOf (second.getDeclaringClass());
+				return (result != 0 ? result : first.getName().compareTo (second.getName()));
+			}
+		});
+		Map<String, Method> methodsBySignature = new LinkedHashMap<String, Method>();
+		for (Method method : methods) {
+
+			if (Modifier.isStatic (method.getModifiers()) || method.getParameterTypes().length > 0)
+				throw new DependencyInjectionException ("The method: " + method.getName() + " in the class: " + clazz.getCanonicalName()
+						                              + " annotated with @" + annotation.getSimpleName() + " must not be static nor have parameters");
+
+			// Private methods can not be overridden
+			String signature = (Modifier.isPrivate (method.getModifiers()) ? method.getDeclaringClass().getName() + "." : "") + method.getName();
+			if (!methodsBySignature.containsKey (signature))
+				methodsBySignature.put (signature, method);
+		}
+		return new ArrayList<Method> (methodsBySignature.values());
+	}
+
+
+	private static int depthOf (final Class<?> clazz) {
+
+		int depth = 0;
+		for (Class<?> superClass = clazz.getSuperclass(); superClass != null; superClass = superClass.getSuperclass())
+			depth++;
+
+		return depth;
+	}
+
+
+	/**
+	 * Invokes the given method (without parameters) of the given implementation.
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	static void invoke (final Object implementation, final Method method) throws DependencyInjectionException {
+
+		// Due to it could be a private method
+		method.setAccessible (true);
+		try {
+			method.invoke (implementation);
+
+		} catch (InvocationTargetException e) {
+			throw new DependencyInjectionException ("The method: " + method.getName() + " in the class: "
+					                              + implementation.getClass().getCanonicalName() + " has failed", e.getCause());
+		} catch (IllegalAccessException e) {
+			throw new DependencyInjectionException (e);
+		}
+		finally {
+			method.setAccessible (false);
+		}
+	}
+
+}
\ No newline at end of file
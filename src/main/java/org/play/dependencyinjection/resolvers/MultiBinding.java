@@ -0,0 +1,177 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.annotations.DependencyInjectionQualifier;
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.decorators.ImplementationDecorator;
+
+/**
+ *    All implementations of an interface, used to inject them together in a property annotated with
+ * {@link WithDependencyInjection} whose type is a {@link List} or an array of that interface, or a {@link Map} from
+ * the qualifier value of every implementation to it. The {@link List} and the {@link Map} are built only once and shared
+ * by every property of the same type (they cannot be modified), while every array property receives its own copy.
+ */
+class MultiBinding {
+
+	/**
+	 *    Sorts the implementations by the priority of their {@link DependencyInjectionQualifier} annotation, then by
+	 * its value (implementations without qualifier first) and finally by the name of their class
+	 */
+	private static final Comparator<Object> implementationsComparator = new Comparator<Object>() {
+
+		@Override
+		public int compare (Object first, Object second) {
+
+			Class<?> firstClazz  = ImplementationDecorator.unwrap (first).getClass();
+			Class<?> secondClazz = ImplementationDecorator.unwrap (second).getClass();
+
+			DependencyInjectionQualifier firstQualifier  = firstClazz.getAnnotation (DependencyInjectionQualifier.class);
+			DependencyInjectionQualifier secondQualifier = secondClazz.getAnnotation (DependencyInjectionQualifier.class);
+
+			int firstPriority  = (firstQualifier  == null ? 0 : firstQualifier.priority());
+			int secondPriority = (secondQualifier == null ? 0 : secondQualifier.priority());
+			if (firstPriority != secondPriority)
+				return (firstPriority < secondPriority ? -1 : 1);
+
+			int result = (firstQualifier  == null ? "" : firstQualifier.value()).compareTo (secondQualifier == null ? "" : secondQualifier.value());
+			return (result != 0 ? result : firstClazz.getName().compareTo (secondClazz.getName()));
+		}
+	};
+
+	/**
+	 * Implementations in an array whose component type is the interface, never injected directly
+	 */
+	private final Object[] array;
+
+	/**
+	 * Unmodifiable view of a copy of {@link MultiBinding#array}
+	 */
+	private final List<Object> list;
+
+	/**
+	 *    Immutable {@link Map} with the value of {@link DependencyInjectionQualifier} of every implementation as key
+	 * (an empty {@link String} for the implementation without qualifier)
+	 */
+	private final Map<String, Object> map;
+
+
+	/**
+	 * Sorts the given implementations and stores them.
+	 *
+	 * @param interfaceClazz
+	 *    Class of interface
+	 * @param implementations
+	 *    Implementations of the given interface
+	 */
+	MultiBinding (Class<?> interfaceClazz, List<Object> implementations) {
+
+		Collections.sort (implementations, implementationsComparator);
+
+		Object[] sortedImplementations = implementations.toArray ((Object[]) Array.newInstance (interfaceClazz, implementations.size()));
+		this.array = sortedImplementations;
+		this.list  = Collections.unmodifiableList (Arrays.asList (sortedImplementations.clone()));
+
+		List<String> qualifierValues = new ArrayList<String>(sortedImplementations.length);
+		for (Object implementation : sortedImplementations) {
+
+			DependencyInjectionQualifier qualifier = ImplementationDecorator.unwrap (implementation).getClass().getAnnotation (DependencyInjectionQualifier.class);
+			qualifierValues.add (qualifier == null || qualifier.value().trim().isEmpty() ? "" : qualifier.value());
+		}
+		this.map = new QualifierMap<Object> (qualifierValues, this.list);
+	}
+
+
+	/**
+	 * Returns the implementations with the type of the given {@link Field} (a {@link List}, a {@link Map} or an array).
+	 *
+	 * @param field
+	 *    {@link Field} whose type is a {@link List}, a {@link Map} or an array of an interface
+	 *
+	 * @return a new array, the {@link List} or the {@link Map} of implementations
+	 */
+	Object getValueOf (Field field) {
+
+		// An array cannot be read-only, so the changes of a property must not be seen by the rest
+		if (field.getType().isArray())
+			return array.clone();
+
+		return (field.getType() == Map.class ? map : list);
+	}
+
+
+	/**
+	 * Returns the implementations in order.
+	 */
+	List<Object> getImplementations() {
+
+		return list;
+	}
+
+
+	/**
+	 * Returns the implementations by their qualifier value.
+	 */
+	Map<String, Object> getImplementationsByQualifier() {
+
+		return map;
+	}
+
+
+	/**
+	 *    Returns the interface whose implementations must be injected together in the given {@link Field}, that is,
+	 * the component type of an array, the type argument of a {@link List} or the type of the values of a {@link Map}
+	 * whose keys are {@link String}s.
+	 *
+	 * @param field
+	 *    {@link Field} to check
+	 *
+	 * @return the class of the interface (or null if the given {@link Field} does not store several implementations)
+	 */
+	@Nullable
+	static Class<?> findInterfaceOf (Field field) {
+
+		Class<?> fieldType = field.getType();
+		if (fieldType.isArray())
+			return (fieldType.getComponentType().isInterface() ? fieldType.getComponentType() : null);
+
+		if ((fieldType != List.class && fieldType != Map.class) || !(field.getGenericType() instanceof ParameterizedType))
+			return null;
+
+		Type[] typeArguments = ((ParameterizedType) field.getGenericType()).getActualTypeArguments();
+		if (fieldType == Map.class && typeArguments[0] != String.class)
+			return null;
+
+		Type elementType = typeArguments[typeArguments.length - 1];
+		return (elementType instanceof Class && ((Class<?>) elementType).isInterface() ? (Class<?>) elementType : null);
+	}
+
+
+	/**
+	 * Returns the implementations stored in the given value of a property (a {@link List}, a {@link Map} or an array).
+	 *
+	 * @param value
+	 *    Value returned by {@link MultiBinding#getValueOf(Field)}
+	 *
+	 * @return {@link List} of implementations
+	 */
+	static List<?> implementationsOf (Object value) {
+
+		if (value.getClass().isArray())
+			return Arrays.asList ((Object[]) value);
+
+		return (value instanceof Map ? new ArrayList<Object> (((Map<?, ?>) value).values()) : (List<?>) value);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,168 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ *    Immutable {@link Map} whose keys are known when it is created: the qualifier values of the implementations of
+ * an interface. The keys are stored in an open addressing table (with linear probing) at most half full, so a search
+ * usually compares only one key, without creating any object. The iteration order is the one of the given keys.
+ */
+final class QualifierMap<V> extends AbstractMap<String, V> {
+
+	/**
+	 * Keys in the position given by their hash (null in the empty positions)
+	 */
+	private final String[] tableKeys;
+
+	/**
+	 * Value of every key in {@link QualifierMap#tableKeys}
+	 */
+	private final Object[] tableValues;
+
+	/**
+	 * Keys in iteration order
+	 */
+	private final String[] keys;
+
+	/**
+	 * Values in iteration order
+	 */
+	private final Object[] values;
+
+	/**
+	 * Used to get a position of the table from a hash
+	 */
+	private final int mask;
+
+	/**
+	 * Set of entries, created the first time it is requested
+	 */
+	private Set<Map.Entry<String, V>> entrySet;
+
+
+	/**
+	 * Builds the table with the given keys and values.
+	 *
+	 * @param keys
+	 *    Keys of the map (they must be different)
+	 * @param values
+	 *    Value of every key
+	 */
+	QualifierMap (List<String> keys, List<?> values) {
+
+		int capacity = 2;
+		while (capacity < keys.size() * 2)
+			capacity <<= 1;
+
+		this.tableKeys   = new String[capacity];
+		this.tableValues = new Object[capacity];
+		this.keys        = keys.toArray (new String[keys.size()]);
+		this.values      = values.toArray();
+		this.mask        = capacity - 1;
+
+		for (int i = 0; i < this.keys.length; i++) {
+
+			int position = indexOf (this.keys[i]);
+			if (tableKeys[position] != null)
+				throw new IllegalArgumentException ("The key: " + this.keys[i] + " appears more than once");
+
+			tableKeys[position]   = this.keys[i];
+			tableValues[position] = this.values[i];
+		}
+	}
+
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get (Object key) {
+
+		if (!(key instanceof String))
+			return null;
+
+		return (V) tableValues[indexOf ((String) key)];
+	}
+
+
+	@Override
+	public boolean containsKey (Object key) {
+
+		return (key instanceof String && tableKeys[indexOf ((String) key)] != null);
+	}
+
+
+	@Override
+	public int size() {
+		return keys.length;
+	}
+
+
+	@Override
+	public Set<Map.Entry<String, V>> entrySet() {
+
+		if (entrySet == null) {
+			entrySet = new AbstractSet<Map.Entry<String, V>>() {
+
+				@Override
+				public Iterator<Map.Entry<String, V>> iterator() {
+					return new EntryIterator();
+				}
+
+				@Override
+				public int size() {
+					return keys.length;
+				}
+			};
+		}
+		return entrySet;
+	}
+
+
+	/**
+	 * Returns the position of the table that stores the given key, or the empty one in which it should be.
+	 */
+	private int indexOf (String key) {
+
+		int hash = key.hashCode();
+		int position = (hash ^ (hash >>> 16)) & mask;
+		while (tableKeys[position] != null && !tableKeys[position].equals (key))
+			position = (position + 1) & mask;
+
+		return position;
+	}
+
+
+	private final class EntryIterator implements Iterator<Map.Entry<String, V>> {
+
+		private int next = 0;
+
+
+		@Override
+		public boolean hasNext() {
+			return next < keys.length;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Map.Entry<String, V> next() {
+
+			if (next >= keys.length)
+				throw new NoSuchElementException();
+
+			Map.Entry<String, V> entry = new AbstractMap.SimpleImmutableEntry<String, V> (keys[next], (V) values[next]);
+			next++;
+			return entry;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,399 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nullable;
+
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+/**
+ *    Limits the classpath locations opened by {@link ClasspathScanner}. By default, every jar or directory that contains
+ * the scanned package is opened. This class allows to:
+ *
+ *  - Restrict the scan to a list of jars or directories (the ones that store the code of the application).
+ *  - Exclude the jars whose name matches a regular expression (for example: <i>"guava-.*\.jar"</i>).
+ *  - Keep the opened jars, so the following scans of the same jar do not open it again.
+ *  - Choose between the bytecode scanner of this library (by default) and {@link org.reflections.Reflections}.
+ *
+ *    The opened jars are kept until {@link ScanScope#close()} is invoked, so it should be used when all resolvers have
+ * been created. As the scope is shared by the pools of all classloaders, every jar remembers the classloaders whose
+ * scans have used it, and {@link org.play.dependencyinjection.DependencyInjectionPool#destroyResources()} only closes
+ * the ones that no other classloader has used (see {@link ScanScope#close(ClassLoader)}).
+ */
+public final class ScanScope implements Closeable {
+
+	/**
+	 * Normalized paths of the jars and directories that can be scanned (if it is empty there is no restriction)
+	 */
+	private final Set<String> includedLocations = new CopyOnWriteArraySet<String>();
+
+	/**
+	 * Patterns of the names of the jars that must not be scanned
+	 */
+	private final List<Pattern> excludedJarPatterns = new CopyOnWriteArrayList<Pattern>();
+
+	/**
+	 * Jars opened by the previous scans, by normalized path (guarded by the lock of the scope)
+	 */
+	private final Map<String, OpenedArchive<JarFile>> openedArchives = new HashMap<String, OpenedArchive<JarFile>>();
+
+	/**
+	 * Jars opened by the previous scans of the bytecode scanner, by normalized path (guarded by the lock of the scope)
+	 */
+	private final Map<String, OpenedArchive<ZipArchive>> openedZipArchives = new HashMap<String, OpenedArchive<ZipArchive>>();
+
+	/**
+	 * Indicates if the opened jars are reused between scans
+	 */
+	private volatile boolean reuseArchives = true;
+
+	/**
+	 * Indicates if the class files are read by the bytecode scanner of this library instead of {@link org.reflections.Reflections}
+	 */
+	private volatile boolean bytecodeScanner = true;
+
+
+	/**
+	 * Adds a jar or directory to the locations that can be scanned.
+	 *
+	 * @param url
+	 *    {@link URL} of the jar or directory
+	 *
+	 * @return instance of {@link ScanScope}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public ScanScope include (final URL url) throws DependencyInjectionException {
+
+		if (url == null)
+			throw new DependencyInjectionException ("The given url must not be null");
+
+		includedLocations.add (normalize (url));
+		return this;
+	}
+
+
+	/**
+	 * Adds a jar or directory to the locations that can be scanned.
+	 *
+	 * @param file
+	 *    {@link File} of the jar or directory
+	 *
+	 * @return instance of {@link ScanScope}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public ScanScope include (final File file) throws DependencyInjectionException {
+
+		if (file == null)
+			throw new DependencyInjectionException ("The given file must not be null");
+
+		try {
+			return include (file.toURI().toURL());
+
+		} catch (MalformedURLException e) {
+			throw new DependencyInjectionException (e);
+		}
+	}
+
+
+	/**
+	 * Excludes from the scans the jars whose file name matches the given regular expression.
+	 *
+	 * @param jarNameRegex
+	 *    Regular expression (for example: <i>"guava-.*\.jar"</i>)
+	 *
+	 * @return instance of {@link ScanScope}
+	 *
+	 * @throws DependencyInjectionException
+	 */
+	public ScanScope excludeJars (final String jarNameRegex) throws DependencyInjectionException {
+
+		if (jarNameRegex == null || jarNameRegex.trim().isEmpty())
+			throw new DependencyInjectionException ("The given jarNameRegex must not be null or empty");
+
+		excludedJarPatterns.add (Pattern.compile (jarNameRegex));
+		return this;
+	}
+
+
+	/**
+	 * Indicates if the jars opened by a scan are kept open to be reused by the following ones (true by default).
+	 *
+	 * @param reuseArchives
+	 *    True if the opened jars will be reused
+	 *
+	 * @return instance of {@link ScanScope}
+	 */
+	public ScanScope reuseArchives (final boolean reuseArchives) {
+
+		this.reuseArchives = reuseArchives;
+		if (!reuseArchives)
+			close();
+
+		return this;
+	}
+
+
+	/**
+	 *    Indicates if the class files are read by the bytecode scanner of this library (true by default), that does not
+	 * load any class until it has been bound, or by {@link org.reflections.Reflections}. The bytecode scanner uses
+	 * {@link org.reflections.Reflections} in the packages stored in locations different to jars or directories.
+	 *
+	 * @param bytecodeScanner
+	 *    True if the bytecode scanner will be used
+	 *
+	 * @return instance of {@link ScanScope}
+	 */
+	public ScanScope bytecodeScanner (final boolean bytecodeScanner) {
+
+		this.bytecodeScanner = bytecodeScanner;
+		return this;
+	}
+
+
+	/**
+	 * Indicates if the class files are read by the bytecode scanner of this library.
+	 *
+	 * @return true if the bytecode scanner is used
+	 */
+	public boolean isBytecodeScannerUsed() {
+
+		return bytecodeScanner;
+	}
+
+
+	/**
+	 * Returns the number of jars that are currently open.
+	 *
+	 * @return number of open jars
+	 */
+	public synchronized int getNumberOfOpenedArchives() {
+
+		return openedArchives.size() + openedZipArchives.size();
+	}
+
+
+	/**
+	 * Closes the jars opened by the previous scans. The following scans will open them again.
+	 */
+	@Override
+	public synchronized void close() {
+
+		closeArchives (openedArchives, null);
+		closeArchives (openedZipArchives, null);
+	}
+
+
+	/**
+	 *    Closes the jars opened by the previous scans that have not been used by the scans of other classloaders (for example,
+	 * because they belong to the application whose pool has been destroyed). The rest are kept open.
+	 *
+	 * @param classLoader
+	 *    {@link ClassLoader} whose scans will not use the opened jars any more
+	 */
+	public synchronized void close (final ClassLoader classLoader) {
+
+		if (classLoader != null) {
+			closeArchives (openedArchives, classLoader);
+			closeArchives (openedZipArchives, classLoader);
+		}
+	}
+
+
+	/**
+	 * Returns the given locations that can be scanned.
+	 *
+	 * @param candidateUrls
+	 *    Jars and directories that contain the package to scan
+	 *
+	 * @return {@link Collection} with the {@link URL}s that are included in this scope
+	 */
+	Collection<URL> select (final Collection<URL> candidateUrls) {
+
+		List<URL> selectedUrls = new ArrayList<URL>();
+		for (URL url : candidateUrls) {
+
+			String location = normalize (url);
+			if ((includedLocations.isEmpty() || includedLocations.contains (location)) && !isExcludedJar (location))
+				selectedUrls.add (url);
+		}
+		return selectedUrls;
+	}
+
+
+	/**
+	 *    Returns the opened jar of the given location, opening it if it is the first time. Returns null if the location
+	 * is not a jar or the jars must not be reused.
+	 *
+	 * @param url
+	 *    {@link URL} to scan
+	 * @param classLoader
+	 *    {@link ClassLoader} whose classes are scanned
+	 *
+	 * @return {@link JarFile}
+	 *
+	 * @throws IOException
+	 */
+	@Nullable
+	synchronized JarFile getArchive (final URL url, final ClassLoader classLoader) throws IOException {
+
+		if (!reuseArchives)
+			return null;
+
+		String location = normalize (url);
+		OpenedArchive<JarFile> openedArchive = openedArchives.get (location);
+		if (openedArchive == null) {
+
+			File file = new File (location);
+			if (!file.isFile() || !isJarName (file.getName()))
+				return null;
+
+			openedArchive = new OpenedArchive<JarFile> (new JarFile (file));
+			openedArchives.put (location, openedArchive);
+		}
+		openedArchive.users.add (classLoader);
+		return openedArchive.archive;
+	}
+
+
+	/**
+	 *    Returns the opened jar of the given location used by the bytecode scanner, opening it if it is the first time.
+	 * Returns null if the jars must not be reused, so the caller has to open and close it.
+	 *
+	 * @param jarFile
+	 *    Jar to scan
+	 * @param classLoader
+	 *    {@link ClassLoader} whose classes are scanned
+	 *
+	 * @return {@link ZipArchive}
+	 *
+	 * @throws IOException
+	 */
+	@Nullable
+	synchronized ZipArchive getZipArchive (final File jarFile, final ClassLoader classLoader) throws IOException {
+
+		if (!reuseArchives)
+			return null;
+
+		String location = jarFile.getAbsolutePath();
+		OpenedArchive<ZipArchive> openedArchive = openedZipArchives.get (location);
+		if (openedArchive == null) {
+
+			openedArchive = new OpenedArchive<ZipArchive> (ZipArchive.open (jarFile));
+			openedZipArchives.put (location, openedArchive);
+		}
+		openedArchive.users.add (classLoader);
+		return openedArchive.archive;
+	}
+
+
+	/**
+	 *    Closes the given jars that are not used by other classloaders than the given one (all of them if it is null).
+	 * It must be invoked with the lock of the scope.
+	 */
+	private static void closeArchives (final Map<String, ? extends OpenedArchive<?>> archives, @Nullable final ClassLoader classLoader) {
+
+		for (Iterator<? extends OpenedArchive<?>> iterator = archives.values().iterator(); iterator.hasNext();) {
+
+			OpenedArchive<?> openedArchive = iterator.next();
+			openedArchive.users.remove (classLoader);
+			if (classLoader == null || openedArchive.users.isEmpty()) {
+				closeQuietly (openedArchive.archive);
+				iterator.remove();
+			}
+		}
+	}
+
+
+	private boolean isExcludedJar (final String location) {
+
+		String fileName = location.substring (location.lastIndexOf (File.separatorChar) + 1);
+		if (!isJarName (fileName))
+			return false;
+
+		for (Pattern pattern : excludedJarPatterns)
+			if (pattern.matcher (fileName).matches())
+				return true;
+
+		return false;
+	}
+
+
+	private static boolean isJarName (final String fileName) {
+
+		return fileName.endsWith (".jar") || fileName.endsWith (".zip");
+	}
+
+
+	/**
+	 *    Returns the absolute path of the jar or directory of the given {@link URL}, so the same location is always
+	 * compared in the same way (for example: <i>jar:file:/lib/a.jar!/</i> and <i>file:/lib/a.jar</i>).
+	 */
+	static String normalize (final URL url) {
+
+		String externalForm = url.toExternalForm();
+		if ("jar".equals (url.getProtocol())) {
+
+			int separatorIndex = externalForm.indexOf ("!/");
+			externalForm = externalForm.substring ("jar:".length(), (separatorIndex < 0 ? externalForm.length() : separatorIndex));
+		}
+		if (!externalForm.startsWith ("file:"))
+			return externalForm;
+
+		try {
+			String path = new File (new URL (externalForm).toURI()).getAbsolutePath();
+			return (path.length() > 1 && path.endsWith (File.separator) ? path.substring (0, path.length() - 1) : path);
+
+		} catch (MalformedURLException | URISyntaxException | IllegalArgumentException e) {
+			return externalForm;
+		}
+	}
+
+
+	private static void closeQuietly (final Closeable archive) {
+
+		try {
+			archive.close();
+
+		} catch (IOException e) {
+			// The archive is not used any more
+		}
+	}
+
+
+	/**
+	 * Jar kept open and the classloaders whose scans have used it (weakly referenced).
+	 */
+	private static final class OpenedArchive<T extends Closeable> {
+
+		private final T archive;
+
+		private final Set<ClassLoader> users = Collections.newSetFromMap (new WeakHashMap<ClassLoader, Boolean>());
+
+
+		OpenedArchive (final T archive) {
+
+			this.archive = archive;
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.net.URL;
+import java.util.jar.JarFile;
+
+import org.reflections.Configuration;
+import org.reflections.Reflections;
+import org.reflections.ReflectionsException;
+import org.reflections.scanners.Scanner;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.vfs.Vfs;
+import org.reflections.vfs.ZipDir;
+
+import com.google.common.base.Predicate;
+
+/**
+ *    {@link Reflections} that scans the jars already opened by its {@link ScanScope} instead of opening them again.
+ * The rest of locations are scanned as always.
+ */
+final class ScopedReflections extends Reflections {
+
+
+	ScopedReflections (final ScopedConfiguration configuration) {
+		super (configuration);
+	}
+
+
+	@Override
+	protected void scan (final URL url) {
+
+		ScopedConfiguration scopedConfiguration = (ScopedConfiguration) configuration;
+		JarFile archive = null;
+		try {
+			archive = scopedConfiguration.scanScope.getArchive (url, scopedConfiguration.classLoader);
+
+		} catch (Exception e) {
+			throw new ReflectionsException ("Could not open the jar " + url, e);
+		}
+		if (archive == null) {
+			super.scan (url);
+			return;
+		}
+		// Same process that Reflections does, but the jar is not closed at the end
+		Predicate<String> inputsFilter = configuration.getInputsFilter();
+		for (Vfs.File file : new ZipDir (archive).getFiles()) {
+
+			String path = file.getRelativePath();
+			String fqn = path.replace ('/', '.');
+			if (inputsFilter == null || inputsFilter.apply (path) || inputsFilter.apply (fqn)) {
+
+				Object classObject = null;
+				for (Scanner scanner : configuration.getScanners()) {
+					try {
+						if (scanner.acceptsInput (path) || scanner.acceptResult (fqn))
+							classObject = scanner.scan (file, classObject);
+
+					} catch (Exception e) {
+						// Like Reflections does, the files that cannot be scanned are ignored
+					}
+				}
+			}
+		}
+	}
+
+
+	/**
+	 *    {@link Configuration} of a scan with the {@link ScanScope} that manages the opened jars and the {@link ClassLoader}
+	 * whose classes are scanned.
+	 */
+	static final class ScopedConfiguration extends ConfigurationBuilder {
+
+		private final ScanScope scanScope;
+
+		private final ClassLoader classLoader;
+
+
+		ScopedConfiguration (final ScanScope scanScope, final ClassLoader classLoader) {
+			this.scanScope   = scanScope;
+			this.classLoader = classLoader;
+		}
+	}
+
+}
\ No newline at end of file
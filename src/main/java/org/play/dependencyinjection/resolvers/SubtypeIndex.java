@@ -0,0 +1,192 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+
+import com.google.common.collect.Multimap;
+
+/**
+ *    Relations between the classes of a scan and their direct parent classes and interfaces. The subtypes of many
+ * types are calculated in a single pass: every class is visited once, reusing the result of its parents, so the cost
+ * depends on the number of classes and relations instead of being repeated for every requested type.
+ */
+final class SubtypeIndex {
+
+	/**
+	 * Names of the direct parent class and interfaces of every scanned class
+	 */
+	private final Map<String, List<String>> directSuperTypes;
+
+
+	private SubtypeIndex (final Map<String, List<String>> directSuperTypes) {
+		this.directSuperTypes = directSuperTypes;
+	}
+
+
+	/**
+	 * Builds the index of the given class files.
+	 *
+	 * @param classFiles
+	 *    Result of a scan of {@link BytecodeScanner}
+	 *
+	 * @return {@link SubtypeIndex}
+	 */
+	static SubtypeIndex of (final Map<String, ClassFileInfo> classFiles) {
+
+		Map<String, List<String>> directSuperTypes = new LinkedHashMap<String, List<String>>();
+		for (ClassFileInfo classFileInfo : classFiles.values()) {
+
+			List<String> superTypes = new ArrayList<String> (classFileInfo.getInterfaceNames());
+			if (classFileInfo.getSuperClassName() != null)
+				superTypes.add (classFileInfo.getSuperClassName());
+
+			directSuperTypes.put (classFileInfo.getClassName(), superTypes);
+		}
+		return new SubtypeIndex (directSuperTypes);
+	}
+
+
+	/**
+	 * Builds the index of the subtypes stored in the given {@link Reflections}.
+	 *
+	 * @param reflections
+	 *    Result of a scan of {@link Reflections}
+	 *
+	 * @return {@link SubtypeIndex}
+	 */
+	static SubtypeIndex of (final Reflections reflections) {
+
+		Map<String, List<String>> directSuperTypes = new LinkedHashMap<String, List<String>>();
+		if (reflections.getStore().keySet().contains (SubTypesScanner.class.getSimpleName())) {
+
+			// The store contains every parent with its direct subtypes
+			Multimap<String, String> subTypesByType = reflections.getStore().get (SubTypesScanner.class.getSimpleName());
+			for (Map.Entry<String, String> entry : subTypesByType.entries()) {
+
+				List<String> superTypes = directSuperTypes.get (entry.getValue());
+				if (superTypes == null) {
+					superTypes = new ArrayList<String>();
+					directSuperTypes.put (entry.getValue(), superTypes);
+				}
+				superTypes.add (entry.getKey());
+			}
+		}
+		return new SubtypeIndex (directSuperTypes);
+	}
+
+
+	/**
+	 * Returns the names of the classes that belong to this index.
+	 *
+	 * @return {@link Set} of class names
+	 */
+	Set<String> getClassNames() {
+
+		return Collections.unmodifiableSet (directSuperTypes.keySet());
+	}
+
+
+	/**
+	 *    Returns the classes of this index that extend or implement the given type (directly or through other classes
+	 * of this index), sorted by name.
+	 *
+	 * @param superTypeName
+	 *    Name of the parent class or interface
+	 *
+	 * @return {@link Set} of class names
+	 */
+	Set<String> findSubTypes (final String superTypeName) {
+
+		return findSubTypes (Collections.singleton (superTypeName)).get (superTypeName);
+	}
+
+
+	/**
+	 *    Returns the classes of this index that extend or implement every given type (directly or through other classes
+	 * of this index). Every class is visited only once.
+	 *
+	 * @param superTypeNames
+	 *    Names of the parent classes or interfaces
+	 *
+	 * @return {@link Map} with every given type and the names of its subtypes (sorted by name)
+	 */
+	Map<String, Set<String>> findSubTypes (final Collection<String> superTypeNames) {
+
+		Set<String> requestedTypes = new HashSet<String> (superTypeNames);
+		Map<String, Set<String>> subTypesByType = new LinkedHashMap<String, Set<String>>();
+		for (String superTypeName : superTypeNames)
+			subTypesByType.put (superTypeName, new TreeSet<String>());
+
+		// Requested types that every class extends or implements
+		Map<String, Set<String>> requestedSuperTypesByClass = new HashMap<String, Set<String>>();
+		for (String className : directSuperTypes.keySet())
+			for (String requestedSuperType : findRequestedSuperTypes (className, requestedTypes, requestedSuperTypesByClass))
+				subTypesByType.get (requestedSuperType).add (className);
+
+		return subTypesByType;
+	}
+
+
+	/**
+	 * Returns the names of the classes of this index that extend or implement any of the given types.
+	 *
+	 * @param superTypeNames
+	 *    Names of the parent classes or interfaces
+	 *
+	 * @return {@link Set} of class names sorted by name
+	 */
+	Set<String> findAllSubTypes (final Collection<String> superTypeNames) {
+
+		Set<String> result = new TreeSet<String>();
+		for (Set<String> subTypes : findSubTypes (superTypeNames).values())
+			result.addAll (subTypes);
+
+		return result;
+	}
+
+
+	/**
+	 *    Returns the requested types that the given class extends or implements, storing the result of every visited
+	 * class so it is calculated only once.
+	 */
+	private Set<String> findRequestedSuperTypes (final String className, final Set<String> requestedTypes
+			                                    ,final Map<String, Set<String>> requestedSuperTypesByClass) {
+
+		Set<String> result = requestedSuperTypesByClass.get (className);
+		if (result != null)
+			return result;
+
+		// Prevents infinite loops with invalid hierarchies
+		requestedSuperTypesByClass.put (className, Collections.<String>emptySet());
+
+		List<String> superTypes = directSuperTypes.get (className);
+		result = new HashSet<String>();
+		if (superTypes != null) {
+			for (String superType : superTypes) {
+
+				if (requestedTypes.contains (superType))
+					result.add (superType);
+
+				if (directSuperTypes.containsKey (superType))
+					result.addAll (findRequestedSuperTypes (superType, requestedTypes, requestedSuperTypesByClass));
+			}
+		}
+		if (result.isEmpty())
+			result = Collections.<String>emptySet();
+
+		requestedSuperTypesByClass.put (className, result);
+		return result;
+	}
+
+}
\ No newline at end of file
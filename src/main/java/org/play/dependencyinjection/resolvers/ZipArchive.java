@@ -0,0 +1,277 @@
+package org.play.dependencyinjection.resolvers;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ *    Reads the entries of a jar using NIO: the jars bigger than {@link ZipArchive#MAPPING_THRESHOLD} are memory-mapped,
+ * the rest are read into the heap. Only the entries of the requested package are decompressed.
+ *
+ *    The jars in ZIP64 format (more than 65535 entries or 4 GB) are read using {@link ZipFile}.
+ */
+final class ZipArchive implements Closeable {
+
+	/**
+	 * Size in bytes from which the jars are memory-mapped
+	 */
+	static final long MAPPING_THRESHOLD = 1024 * 1024;
+
+	private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054B50;
+	private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+	private static final int MAXIMUM_COMMENT_SIZE = 0xFFFF;
+
+	private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014B50;
+	private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034B50;
+	private static final int LOCAL_HEADER_SIZE = 30;
+
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+
+	private static final Charset UTF_8 = Charset.forName ("UTF-8");
+
+	private static final String CLASS_EXTENSION = ".class";
+
+	private final File file;
+
+	/**
+	 * Content of the jar (null if it is read with {@link ZipFile})
+	 */
+	private final ByteBuffer content;
+
+	private final int centralDirectoryOffset;
+
+	private final int numberOfEntries;
+
+	/**
+	 * Used with the jars in ZIP64 format
+	 */
+	private final ZipFile zipFile;
+
+
+	private ZipArchive (final File file, final ByteBuffer content, final int centralDirectoryOffset, final int numberOfEntries
+			           ,final ZipFile zipFile) {
+
+		this.file                   = file;
+		this.content                = content;
+		this.centralDirectoryOffset = centralDirectoryOffset;
+		this.numberOfEntries        = numberOfEntries;
+		this.zipFile                = zipFile;
+	}
+
+
+	/**
+	 * Opens the given jar.
+	 *
+	 * @param file
+	 *    Jar to open
+	 *
+	 * @return {@link ZipArchive}
+	 *
+	 * @throws IOException
+	 */
+	static ZipArchive open (final File file) throws IOException {
+
+		ByteBuffer content;
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile (file, "r")) {
+
+			FileChannel channel = randomAccessFile.getChannel();
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE)
+				return new ZipArchive (file, null, 0, 0, new ZipFile (file));
+
+			if (size >= MAPPING_THRESHOLD)
+				content = channel.map (FileChannel.MapMode.READ_ONLY, 0, size);
+			else {
+				content = ByteBuffer.allocate ((int) size);
+				while (content.hasRemaining() && channel.read (content) >= 0);
+				content.flip();
+			}
+		}
+		content.order (ByteOrder.LITTLE_ENDIAN);
+
+		int endOfCentralDirectory = findEndOfCentralDirectory (content);
+		if (endOfCentralDirectory < 0)
+			throw new IOException ("The file " + file + " is not a valid jar");
+
+		int numberOfEntries = content.getShort (endOfCentralDirectory + 10) & 0xFFFF;
+		long centralDirectoryOffset = content.getInt (endOfCentralDirectory + 16) & 0xFFFFFFFFL;
+		if (numberOfEntries == 0xFFFF || centralDirectoryOffset == 0xFFFFFFFFL)
+			return new ZipArchive (file, null, 0, 0, new ZipFile (file));
+
+		return new ZipArchive (file, content, (int) centralDirectoryOffset, numberOfEntries, null);
+	}
+
+
+	/**
+	 * Returns the content of the class files stored in the given package (or its subpackages).
+	 *
+	 * @param packagePath
+	 *    Path of the package (using slashes: <i>org/play/example/</i>)
+	 *
+	 * @return {@link List} with the content of the class files
+	 *
+	 * @throws IOException
+	 */
+	List<ByteBuffer> readClassFiles (final String packagePath) throws IOException {
+
+		if (zipFile != null)
+			return readClassFilesWithZipFile (packagePath);
+
+		byte[] prefix = packagePath.getBytes (UTF_8);
+		byte[] extension = CLASS_EXTENSION.getBytes (UTF_8);
+
+		List<ByteBuffer> classFiles = new ArrayList<ByteBuffer>();
+		int position = centralDirectoryOffset;
+		for (int i = 0; i < numberOfEntries; i++) {
+
+			if (content.getInt (position) != CENTRAL_DIRECTORY_SIGNATURE)
+				throw new IOException ("The central directory of " + file + " is not valid");
+
+			int method = content.getShort (position + 10) & 0xFFFF;
+			int compressedSize = content.getInt (position + 20);
+			int uncompressedSize = content.getInt (position + 24);
+			int nameLength = content.getShort (position + 28) & 0xFFFF;
+			int extraLength = content.getShort (position + 30) & 0xFFFF;
+			int commentLength = content.getShort (position + 32) & 0xFFFF;
+			int localHeaderOffset = content.getInt (position + 42);
+
+			int nameOffset = position + CENTRAL_DIRECTORY_HEADER_SIZE;
+			if (startsWith (nameOffset, nameLength, prefix) && endsWith (nameOffset, nameLength, extension))
+				classFiles.add (readEntry (localHeaderOffset, method, compressedSize, uncompressedSize));
+
+			position = nameOffset + nameLength + extraLength + commentLength;
+		}
+		return classFiles;
+	}
+
+
+	@Override
+	public void close() throws IOException {
+
+		// The memory-mapped content is released by the garbage collector
+		if (zipFile != null)
+			zipFile.close();
+	}
+
+
+	private ByteBuffer readEntry (final int localHeaderOffset, final int method, final int compressedSize
+			                     ,final int uncompressedSize) throws IOException {
+
+		if (content.getInt (localHeaderOffset) != LOCAL_HEADER_SIGNATURE)
+			throw new IOException ("The local header of an entry of " + file + " is not valid");
+
+		int dataOffset = localHeaderOffset + LOCAL_HEADER_SIZE + (content.getShort (localHeaderOffset + 26) & 0xFFFF)
+				                                               + (content.getShort (localHeaderOffset + 28) & 0xFFFF);
+		ByteBuffer data = content.duplicate();
+		data.position (dataOffset);
+		data.limit (dataOffset + compressedSize);
+
+		if (method == STORED)
+			return data.slice();
+
+		if (method != DEFLATED)
+			throw new IOException ("Unsupported compression method " + method + " in " + file);
+
+		byte[] compressedData = new byte[compressedSize];
+		data.get (compressedData);
+
+		byte[] uncompressedData = new byte[uncompressedSize];
+		Inflater inflater = new Inflater (true);
+		try {
+			inflater.setInput (compressedData);
+			int length = 0;
+			while (length < uncompressedSize && !inflater.finished()) {
+
+				int inflated = inflater.inflate (uncompressedData, length, uncompressedSize - length);
+				if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					break;
+
+				length += inflated;
+			}
+			if (length != uncompressedSize)
+				throw new IOException ("An entry of " + file + " is truncated");
+
+			return ByteBuffer.wrap (uncompressedData);
+
+		} catch (DataFormatException e) {
+			throw new IOException (e);
+
+		} finally {
+			inflater.end();
+		}
+	}
+
+
+	private List<ByteBuffer> readClassFilesWithZipFile (final String packagePath) throws IOException {
+
+		List<ByteBuffer> classFiles = new ArrayList<ByteBuffer>();
+		for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements();) {
+
+			ZipEntry entry = entries.nextElement();
+			if (!entry.getName().startsWith (packagePath) || !entry.getName().endsWith (CLASS_EXTENSION))
+				continue;
+
+			try (InputStream inputStream = zipFile.getInputStream (entry)) {
+
+				byte[] classFile = new byte[(int) entry.getSize()];
+				int length = 0;
+				for (int read = 0; length < classFile.length && (read = inputStream.read (classFile, length, classFile.length - length)) >= 0;)
+					length += read;
+
+				classFiles.add (ByteBuffer.wrap (classFile, 0, length));
+			}
+		}
+		return classFiles;
+	}
+
+
+	private boolean startsWith (final int offset, final int length, final byte[] prefix) {
+
+		if (length < prefix.length)
+			return false;
+
+		for (int i = 0; i < prefix.length; i++)
+			if (content.get (offset + i) != prefix[i])
+				return false;
+
+		return true;
+	}
+
+
+	private boolean endsWith (final int offset, final int length, final byte[] suffix) {
+
+		return (length >= suffix.length && startsWith (offset + length - suffix.length, suffix.length, suffix));
+	}
+
+
+	/**
+	 * Searches the "end of central directory record", that is at the end of the file followed by an optional comment.
+	 */
+	private static int findEndOfCentralDirectory (final ByteBuffer content) {
+
+		int lastPosition = content.limit() - END_OF_CENTRAL_DIRECTORY_SIZE;
+		int firstPosition = Math.max (0, lastPosition - MAXIMUM_COMMENT_SIZE);
+		for (int position = lastPosition; position >= firstPosition; position--)
+			if (content.getInt (position) == END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+				return position;
+
+		return -1;
+	}
+
+}
\ No newline at end of file
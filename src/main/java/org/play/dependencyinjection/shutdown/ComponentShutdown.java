@@ -0,0 +1,62 @@
+package org.play.dependencyinjection.shutdown;
+
+import javax.annotation.Nullable;
+
+/**
+ * How a component (implementation) of the pool was closed.
+ */
+public class ComponentShutdown {
+
+	/**
+	 * Name of the class of the component
+	 */
+	private final String className;
+
+	private final ShutdownStatus status;
+
+	/**
+	 * Time used by its hooks (the timeout if they did not finish)
+	 */
+	private final long durationNanos;
+
+	/**
+	 * Exception thrown by a hook (only if the status is {@link ShutdownStatus#FAILED})
+	 */
+	private final Throwable failure;
+
+
+	public ComponentShutdown (String className, ShutdownStatus status, long durationNanos, @Nullable Throwable failure) {
+
+		this.className     = className;
+		this.status        = status;
+		this.durationNanos = durationNanos;
+		this.failure       = failure;
+	}
+
+
+	public String getClassName() {
+		return className;
+	}
+
+	public ShutdownStatus getStatus() {
+		return status;
+	}
+
+	public long getDurationNanos() {
+		return durationNanos;
+	}
+
+	@Nullable
+	public Throwable getFailure() {
+		return failure;
+	}
+
+
+	@Override
+	public String toString() {
+
+		return className + ": " + status + " in " + (durationNanos / 1000000) + " ms"
+			 + (failure == null ? "" : " (" + failure + ")");
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package org.play.dependencyinjection.shutdown;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ *    Result of destroying a pool: how every component was closed (in the order in which they finished) and the
+ * executors whose tasks had to be interrupted.
+ */
+public class ShutdownReport {
+
+	private final List<ComponentShutdown> components;
+
+	/**
+	 * Names of the executors whose tasks did not finish within their timeout
+	 */
+	private final List<String> interruptedExecutors;
+
+	private final long durationNanos;
+
+
+	public ShutdownReport (List<ComponentShutdown> components, List<String> interruptedExecutors, long durationNanos) {
+
+		this.components           = Collections.unmodifiableList (components);
+		this.interruptedExecutors = Collections.unmodifiableList (interruptedExecutors);
+		this.durationNanos        = durationNanos;
+	}
+
+
+	public List<ComponentShutdown> getComponents() {
+		return components;
+	}
+
+	public List<String> getInterruptedExecutors() {
+		return interruptedExecutors;
+	}
+
+	public long getDurationNanos() {
+		return durationNanos;
+	}
+
+
+	/**
+	 * Returns the components that were not closed within their timeout.
+	 *
+	 * @return {@link List} of {@link ComponentShutdown}
+	 */
+	public List<ComponentShutdown> getSlowComponents() {
+
+		return withStatus (ShutdownStatus.SLOW);
+	}
+
+
+	/**
+	 * Returns the components whose hooks threw an exception.
+	 *
+	 * @return {@link List} of {@link ComponentShutdown}
+	 */
+	public List<ComponentShutdown> getFailedComponents() {
+
+		return withStatus (ShutdownStatus.FAILED);
+	}
+
+
+	/**
+	 * Returns true if all components were closed in time and no executor was interrupted.
+	 *
+	 * @return true if the shutdown was clean
+	 */
+	public boolean isClean() {
+
+		return interruptedExecutors.isEmpty() && getSlowComponents().isEmpty() && getFailedComponents().isEmpty();
+	}
+
+
+	@Override
+	public String toString() {
+
+		StringBuilder result = new StringBuilder ("Shutdown in ").append (durationNanos / 1000000).append (" ms");
+		for (ComponentShutdown component : components) {
+
+			if (component.getStatus() != ShutdownStatus.CLOSED)
+				result.append ("\n  ").append (component);
+		}
+		if (!interruptedExecutors.isEmpty())
+			result.append ("\n  Interrupted executors: ").append (interruptedExecutors);
+
+		return result.toString();
+	}
+
+
+	private List<ComponentShutdown> withStatus (final ShutdownStatus status) {
+
+		List<ComponentShutdown> result = new ArrayList<ComponentShutdown>();
+		for (ComponentShutdown component : components) {
+
+			if (component.getStatus() == status)
+				result.add (component);
+		}
+		return result;
+	}
+
+}
\ No newline at end of file
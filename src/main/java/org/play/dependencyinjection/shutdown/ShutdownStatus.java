@@ -0,0 +1,22 @@
+package org.play.dependencyinjection.shutdown;
+
+/**
+ * Result of closing a component of the pool.
+ */
+public enum ShutdownStatus {
+
+	/**
+	 * The component was closed in time
+	 */
+	CLOSED,
+
+	/**
+	 * The component was not closed within its timeout (its hooks were interrupted)
+	 */
+	SLOW,
+
+	/**
+	 * A hook of the component threw an exception
+	 */
+	FAILED
+}
\ No newline at end of file
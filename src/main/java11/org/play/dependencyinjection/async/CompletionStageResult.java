@@ -0,0 +1,40 @@
+package org.play.dependencyinjection.async;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+
+/**
+ *    Returns to the caller of an {@link org.play.dependencyinjection.annotations.Async} method a {@link CompletableFuture}
+ * completed with the result of the {@link CompletionStage} returned by the implementation (or with the value returned,
+ * if it is not a {@link CompletionStage}).
+ */
+final class CompletionStageResult implements AsyncResult {
+
+
+	@Override
+	public Object submit (final ExecutorService executor, final Callable<Object> invocation) {
+
+		CompletableFuture<Object> result = new CompletableFuture<>();
+		executor.execute (() -> {
+			try {
+				Object value = invocation.call();
+				if (value instanceof CompletionStage)
+					((CompletionStage<?>) value).whenComplete ((stageValue, error) -> {
+						if (error != null)
+							result.completeExceptionally (error);
+						else
+							result.complete (stageValue);
+					});
+				else
+					result.complete (value);
+
+			} catch (Throwable t) {
+				result.completeExceptionally (t);
+			}
+		});
+		return result;
+	}
+
+}
\ No newline at end of file
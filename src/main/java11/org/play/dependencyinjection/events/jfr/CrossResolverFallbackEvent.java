@@ -0,0 +1,28 @@
+package org.play.dependencyinjection.events.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.play.dependencyinjection.CrossResolverFallback")
+@Label("Cross Resolver Fallback")
+@Description("Implementation of a property found in a resolver different from the one of its class")
+@Category({ "Play Dependency Injection" })
+@StackTrace(false)
+class CrossResolverFallbackEvent extends jdk.jfr.Event {
+
+	@Label("Class")
+	Class<?> declaringClass;
+
+	@Label("Field")
+	String fieldName;
+
+	@Label("Interfaces Package")
+	String interfacesPackage;
+
+	@Label("Resolver Interfaces Package")
+	String resolverInterfacesPackage;
+
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package org.play.dependencyinjection.events.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("org.play.dependencyinjection.Injection")
+@Label("Properties Injection")
+@Description("Injection of the properties annotated with WithDependencyInjection of an implementation or a controller")
+@Category({ "Play Dependency Injection" })
+@StackTrace(false)
+class InjectionEvent extends jdk.jfr.Event {
+
+	@Label("Class")
+	Class<?> injectedClass;
+
+	@Label("Field Count")
+	int fieldCount;
+
+	@Label("Injection Duration")
+	@Timespan(Timespan.NANOSECONDS)
+	long injectionDuration;
+
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package org.play.dependencyinjection.events.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("org.play.dependencyinjection.Instantiation")
+@Label("Implementation Instantiation")
+@Description("Creation of an implementation using its default constructor")
+@Category({ "Play Dependency Injection" })
+@StackTrace(false)
+class InstantiationEvent extends jdk.jfr.Event {
+
+	@Label("Implementation Class")
+	Class<?> implementationClass;
+
+	@Label("Instantiation Duration")
+	@Timespan(Timespan.NANOSECONDS)
+	long instantiationDuration;
+
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package org.play.dependencyinjection.events.jfr;
+
+import org.play.dependencyinjection.events.DependencyInjectionEventListener;
+import org.play.dependencyinjection.events.DependencyInjectionEvents;
+
+/**
+ *    Emits a Java Flight Recorder event for every event of the dependency injection. Registered automatically by
+ * {@link DependencyInjectionEvents}; when there is no recording the events are discarded before setting their fields.
+ */
+public class JfrEventListener implements DependencyInjectionEventListener {
+
+
+	@Override
+	public void scanFinished (String packageName, int urlCount, int classCount, long durationNanos) {
+
+		ScanEvent event = new ScanEvent();
+		if (event.isEnabled()) {
+
+			event.packageName  = packageName;
+			event.urlCount     = urlCount;
+			event.classCount   = classCount;
+			event.scanDuration = durationNanos;
+			event.commit();
+		}
+	}
+
+
+	@Override
+	public void implementationInstantiated (Class<?> implementationClazz, long durationNanos) {
+
+		InstantiationEvent event = new InstantiationEvent();
+		if (event.isEnabled()) {
+
+			event.implementationClass   = implementationClazz;
+			event.instantiationDuration = durationNanos;
+			event.commit();
+		}
+	}
+
+
+	@Override
+	public void propertiesInjected (Class<?> clazz, int fieldCount, long durationNanos) {
+
+		InjectionEvent event = new InjectionEvent();
+		if (event.isEnabled()) {
+
+			event.injectedClass     = clazz;
+			event.fieldCount        = fieldCount;
+			event.injectionDuration = durationNanos;
+			event.commit();
+		}
+	}
+
+
+	@Override
+	public void crossResolverFallback (Class<?> clazz, String fieldName, String interfacesPackage, String resolverInterfacesPackage) {
+
+		CrossResolverFallbackEvent event = new CrossResolverFallbackEvent();
+		if (event.isEnabled()) {
+
+			event.declaringClass            = clazz;
+			event.fieldName                 = fieldName;
+			event.interfacesPackage         = interfacesPackage;
+			event.resolverInterfacesPackage = resolverInterfacesPackage;
+			event.commit();
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package org.play.dependencyinjection.events.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("org.play.dependencyinjection.Scan")
+@Label("Package Scan")
+@Description("Scan of the classpath looking for the classes of a package")
+@Category({ "Play Dependency Injection" })
+@StackTrace(false)
+class ScanEvent extends jdk.jfr.Event {
+
+	@Label("Package")
+	String packageName;
+
+	@Label("URL Count")
+	int urlCount;
+
+	@Label("Class Count")
+	int classCount;
+
+	@Label("Scan Duration")
+	@Timespan(Timespan.NANOSECONDS)
+	long scanDuration;
+
+}
\ No newline at end of file
@@ -0,0 +1,153 @@
+package org.play.dependencyinjection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.play.dependencyinjection.decorators.ImplementationDecorator;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi.IInterfaceMultiBinding;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi.ITestInterfaceMultiBinding;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi.ITestInterfaceMultiBindingChain;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.tenant.ImplementationMultiBindingTenantFirst;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.nested.spi.ITestInterfaceNested;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.alt.ImplementationSimpleAlt;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.impl.ImplementationSimple;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.spi.ITestInterfaceSimple;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.impl.ImplementationTimedRepository;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.impl.ImplementationTimedService;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.spi.ITestInterfaceTimedRepository;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.spi.ITestInterfaceTimedService;
+
+public class DependencyInjectionChildPoolTest {
+
+
+	@Before
+	public void initializePool() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().addNewResolver (new DependencyInjectionResolver (Constants.simpleDILInterfacesPath
+				                                                                           ,Constants.simpleDILImplementationPath
+				                                                                           ,ITestInterfaceSimple.class))
+		                                  .addNewResolver (new DependencyInjectionResolver (Constants.nestedDILInterfacesPath
+		                                                                                   ,Constants.nestedDILImplementationPath))
+		                                  .addNewResolver (new DependencyInjectionResolver (Constants.multiBindingDILInterfacesPath
+		                                                                                   ,Constants.multiBindingDILImplementationPath
+		                                                                                   ,IInterfaceMultiBinding.class))
+		                                  .initializeImplementations();
+	}
+
+
+	@After
+	public void destroyResources() {
+
+		DependencyInjectionPool.instance().destroyResources();
+	}
+
+
+	@Test
+    public void inheritBindingsOfParentTest() throws DependencyInjectionException {
+
+		DependencyInjectionChildPool child = DependencyInjectionPool.instance().createChildPool();
+
+		assertSame (DependencyInjectionPool.instance().getImplementation (ITestInterfaceNested.class, null)
+				   ,child.getImplementation (ITestInterfaceNested.class, null));
+		assertTrue (child.getBindings().isEmpty());
+    }
+
+
+	@Test
+    public void overrideBindingTest() throws DependencyInjectionException {
+
+		DependencyInjectionPool parent = DependencyInjectionPool.instance();
+		DependencyInjectionChildPool child = parent.createChildPool().bind (ITestInterfaceSimple.class, ImplementationSimpleAlt.class, null);
+
+		assertTrue (child.getImplementation (ITestInterfaceSimple.class, null) instanceof ImplementationSimpleAlt);
+		assertTrue (parent.getImplementation (ITestInterfaceSimple.class, null) instanceof ImplementationSimple);
+
+		// The implementation of the parent that uses the overridden one is created again
+		ITestInterfaceNested childNested = child.getImplementation (ITestInterfaceNested.class, null);
+		assertNotSame (parent.getImplementation (ITestInterfaceNested.class, null), childNested);
+		assertEquals ("testNestedInterface / testSimpleInterface alternative", childNested.testInterfaceNested());
+		assertEquals ("testNestedInterface / testSimpleInterface", parent.getImplementation (ITestInterfaceNested.class, null)
+				                                                         .testInterfaceNested());
+		// The rest of bindings are shared
+		assertEquals (2, child.getBindings().size());
+		assertSame (parent.getImplementation (ITestInterfaceMultiBindingChain.class, null)
+				   ,child.getImplementation (ITestInterfaceMultiBindingChain.class, null));
+    }
+
+
+	@Test
+    public void overrideOneOfAllImplementationsTest() throws DependencyInjectionException {
+
+		DependencyInjectionPool parent = DependencyInjectionPool.instance();
+		DependencyInjectionChildPool child = parent.createChildPool().bind (ITestInterfaceMultiBinding.class
+				                                                           ,ImplementationMultiBindingTenantFirst.class, null);
+
+		ITestInterfaceMultiBindingChain childChain = child.getImplementation (ITestInterfaceMultiBindingChain.class, null);
+		assertEquals (Arrays.asList ("tenant first", "default", "second"), childChain.testInterfaceMultiBindingWithList());
+		assertEquals (Arrays.asList ("tenant first", "default", "second"), childChain.testInterfaceMultiBindingWithArray());
+		assertEquals ("tenant first", childChain.testInterfaceMultiBindingWithMap ("first"));
+
+		assertEquals (Arrays.asList ("first", "default", "second"), parent.getImplementation (ITestInterfaceMultiBindingChain.class, null)
+				                                                          .testInterfaceMultiBindingWithList());
+    }
+
+
+	@Test
+    public void overrideWithPreinitializedObjectTest() throws DependencyInjectionException {
+
+		ImplementationSimpleAlt preinitializedObject = new ImplementationSimpleAlt();
+		DependencyInjectionChildPool child = DependencyInjectionPool.instance().createChildPool()
+				                                                    .bind (ITestInterfaceSimple.class, ImplementationSimpleAlt.class
+				                                                          ,preinitializedObject);
+
+		assertSame (preinitializedObject, child.getImplementation (ITestInterfaceSimple.class, null));
+
+		child.destroyResources();
+		assertTrue (child.getImplementation (ITestInterfaceSimple.class, null) instanceof ImplementationSimple);
+    }
+
+
+	@Test
+    public void decorateImplementationsOfChildTest() throws Exception {
+
+		DependencyInjectionPool parent = DependencyInjectionPool.instance();
+		parent.addNewResolver (new DependencyInjectionResolver (Constants.timedDILInterfacesPath, Constants.timedDILImplementationPath))
+		      .initializeImplementations();
+
+		DependencyInjectionChildPool child = parent.createChildPool().bind (ITestInterfaceTimedRepository.class
+				                                                           ,ImplementationTimedRepository.class, null);
+
+		// The override and the new instance of its dependent use the same decorators as the ones of the parent
+		ITestInterfaceTimedRepository childRepository = child.getImplementation (ITestInterfaceTimedRepository.class, null);
+		ITestInterfaceTimedService childService = child.getImplementation (ITestInterfaceTimedService.class, null);
+		assertTrue (Proxy.isProxyClass (childRepository.getClass()));
+		assertTrue (Proxy.isProxyClass (childService.getClass()));
+		assertNotSame (parent.getImplementation (ITestInterfaceTimedService.class, null), childService);
+		assertEquals (childRepository, child.getBindings().get (ITestInterfaceTimedRepository.class.getCanonicalName()));
+
+		Field repositoryProperty = ImplementationTimedService.class.getDeclaredField ("iTestInterfaceTimedRepository");
+		repositoryProperty.setAccessible (true);
+		assertSame (childRepository, repositoryProperty.get (ImplementationDecorator.unwrap (childService)));
+		assertEquals ("found key / found key", childService.findTwice ("key"));
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void bindClassThatDoesNotImplementInterfaceTest() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().createChildPool().bind (ITestInterfaceNested.class, ImplementationSimpleAlt.class, null);
+    }
+
+}
\ No newline at end of file
@@ -3,21 +3,45 @@ package org.play.dependencyinjection;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
-
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import org.junit.AfterClass;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.exceptions.DependencyNotFoundException;
+import org.play.dependencyinjection.footprint.BindingFootprint;
+import org.play.dependencyinjection.footprint.ResolverFootprint;
 import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
 import org.play.dependencyinjection.resources.Constants;
 import org.play.dependencyinjection.resources.controllers.ParentController;
 import org.play.dependencyinjection.resources.controllers.simple.SimpleController;
 import org.play.dependencyinjection.resources.controllers.withPropertiesWithoutSameQualifier.WithPropertiesWithoutSameQualifier;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.footprint.impl.ImplementationFootprint;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.footprint.spi.ITestInterfaceFootprint;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.manyImplementationsWithoutSameQualifier.impl.ImplementationManyImplementationsWithoutSameQualifierOne;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.manyImplementationsWithoutSameQualifier.impl.ImplementationManyImplementationsWithoutSameQualifierTwo;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.nested.impl.ImplementationNested;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.nested.spi.ITestInterfaceNested;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.impl.ImplementationSimple;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.spi.ITestInterfaceSimple;
@@ -26,6 +50,13 @@ import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.sp
 public class DependencyInjectionPoolTest {
 
 
+	@AfterClass
+	public static void destroyResources() {
+
+		DependencyInjectionPool.instance().destroyResources();
+	}
+
+
 	@Test
 	public void testA_ChecksSingletonPatternTest() throws DependencyInjectionException {
 
@@ -225,4 +256,323 @@ public class DependencyInjectionPoolTest {
 			         ,WithPropertiesWithoutSameQualifier.interfaceWithoutImplementationTwo());
     }
 
+
+	@Test
+    public void testN_ReloadResolverReusesUnchangedImplementationsTest() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().addNewResolver (new DependencyInjectionResolver (Constants.simpleDILInterfacesPath
+                                                                                           ,Constants.simpleDILImplementationPath
+                                                                                           ,ITestInterfaceSimple.class))
+
+                                          .addNewResolver (new DependencyInjectionResolver (Constants.nestedDILInterfacesPath
+                                                                                           ,Constants.nestedDILImplementationPath
+                                                                                           ,ITestInterfaceNested.class))
+
+                                          .initializeControllersResolver (Constants.controllerSimplePath, ParentController.class);
+
+		ITestInterfaceSimple simpleImplementation = DependencyInjectionPool.instance().getResolver (Constants.simpleDILInterfacesPath)
+				                                                                      .getImplementation (ITestInterfaceSimple.class, null);
+		ITestInterfaceNested nestedImplementation = DependencyInjectionPool.instance().getResolver (Constants.nestedDILInterfacesPath)
+				                                                                      .getImplementation (ITestInterfaceNested.class, null);
+
+		DependencyInjectionPool.instance().reload (Constants.simpleDILInterfacesPath);
+
+		assertSame (simpleImplementation, DependencyInjectionPool.instance().getResolver (Constants.simpleDILInterfacesPath)
+				                                                            .getImplementation (ITestInterfaceSimple.class, null));
+		assertSame (nestedImplementation, DependencyInjectionPool.instance().getResolver (Constants.nestedDILInterfacesPath)
+				                                                            .getImplementation (ITestInterfaceNested.class, null));
+
+		assertEquals ("testNestedInterface" + " / " + new ImplementationSimple().testSimpleInterface(),
+			          SimpleController.interfaceNested());
+    }
+
+
+	@Test
+    public void testO_ReloadResolverInjectsAgainReplacedImplementationsTest() throws Exception {
+
+		List<Object> preInitializedObjects = new ArrayList<Object>();
+		preInitializedObjects.add (new ImplementationSimple());
+
+		DependencyInjectionPool.instance().addNewResolver (new DependencyInjectionResolver (Constants.simpleDILInterfacesPath
+                                                                                           ,Constants.simpleDILImplementationPath
+                                                                                           ,ITestInterfaceSimple.class
+                                                                                           ,preInitializedObjects))
+
+                                          .addNewResolver (new DependencyInjectionResolver (Constants.nestedDILInterfacesPath
+                                                                                           ,Constants.nestedDILImplementationPath
+                                                                                           ,ITestInterfaceNested.class))
+
+                                          .initializeControllersResolver (Constants.controllerSimplePath, ParentController.class);
+
+		// Replaces the implementation of ITestInterfaceSimple
+		ImplementationSimple newSimpleImplementation = new ImplementationSimple();
+		preInitializedObjects.set (0, newSimpleImplementation);
+
+		DependencyInjectionPool.instance().reload (Constants.simpleDILInterfacesPath);
+
+		assertSame (newSimpleImplementation, DependencyInjectionPool.instance().getResolver (Constants.simpleDILInterfacesPath)
+				                                                               .getImplementation (ITestInterfaceSimple.class, null));
+
+		ITestInterfaceNested nestedImplementation = DependencyInjectionPool.instance().getResolver (Constants.nestedDILInterfacesPath)
+                                                                                      .getImplementation (ITestInterfaceNested.class, null);
+		Field nestedProperty = ImplementationNested.class.getDeclaredField ("iTestInterfaceSimple");
+		nestedProperty.setAccessible (true);
+		assertSame (newSimpleImplementation, nestedProperty.get (nestedImplementation));
+
+		Field controllerProperty = SimpleController.class.getDeclaredField ("iTestInterfaceSimple");
+		controllerProperty.setAccessible (true);
+		assertSame (newSimpleImplementation, controllerProperty.get (null));
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void testP_ReloadResolverThatPoolDoesNotManageTest() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().reload (Constants.withoutImplementationDILInterfacesPath);
+    }
+
+
+	@Test
+    public void testQ_PoolsOfDifferentClassLoadersAreReleasedTest() throws Exception {
+
+		DependencyInjectionPool currentPool = DependencyInjectionPool.instance();
+
+		bindFixturesInPoolOfClassLoader (new FixturesClassLoader (Thread.currentThread().getContextClassLoader()), currentPool, true);
+		assertSame (currentPool, DependencyInjectionPool.instance());
+		assertTrue (DependencyInjectionPool.findRetainedClassLoaders().isEmpty());
+    }
+
+
+	@Test
+    public void testR_TryGetImplementationWithoutExceptionsTest() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().addNewResolver (new DependencyInjectionResolver (Constants.simpleDILInterfacesPath
+                                                                                           ,Constants.simpleDILImplementationPath
+                                                                                           ,ITestInterfaceSimple.class));
+
+		assertNotNull (DependencyInjectionPool.instance().tryGetResolver (Constants.simpleDILInterfacesPath));
+		assertNull (DependencyInjectionPool.instance().tryGetResolver (Constants.withoutImplementationDILInterfacesPath));
+		assertNull (DependencyInjectionPool.instance().tryGetResolver (null));
+
+		assertTrue (DependencyInjectionPool.instance().tryGetImplementation (ITestInterfaceSimple.class, null) instanceof ImplementationSimple);
+		assertSame (DependencyInjectionPool.instance().tryGetImplementation (ITestInterfaceSimple.class, null)
+				   ,DependencyInjectionPool.instance().getImplementation (ITestInterfaceSimple.class, null));
+		assertNull (DependencyInjectionPool.instance().tryGetImplementation (ITestInterfaceSimple.class, "unknownQualifier"));
+		assertNull (DependencyInjectionPool.instance().tryGetImplementation (null, null));
+    }
+
+
+	@Test
+    public void testS_ExpectedMissesDoNotFillInStackTraceTest() throws DependencyInjectionException {
+
+		try {
+			DependencyInjectionPool.instance().getImplementation (ITestInterfaceSimple.class, "unknownQualifier");
+			fail();
+
+		} catch (DependencyNotFoundException e) {
+			assertEquals (0, e.getStackTrace().length);
+		}
+		try {
+			DependencyInjectionPool.instance().getResolver (Constants.withoutImplementationDILInterfacesPath);
+			fail();
+
+		} catch (DependencyNotFoundException e) {
+			assertEquals (0, e.getStackTrace().length);
+		}
+    }
+
+
+	@Test
+    public void testT_EstimateHeapFootprintTest() throws Exception {
+
+		DependencyInjectionPool.instance().addNewResolver (new DependencyInjectionResolver (Constants.footprintDILInterfacesPath
+                                                                                           ,Constants.footprintDILImplementationPath));
+		DependencyInjectionPool.instance().initializeControllersResolver (Constants.controllerSimplePath, ParentController.class);
+
+		ResolverFootprint footprintResolver = null;
+		for (ResolverFootprint resolver : DependencyInjectionPool.instance().estimateHeapFootprint()) {
+
+			assertTrue (resolver.getContainerOverheadBytes() > 0);
+			if (resolver.getInterfacesPackage().equals (Constants.footprintDILInterfacesPath))
+				footprintResolver = resolver;
+		}
+		assertNotNull (footprintResolver);
+		assertEquals (1, footprintResolver.getBindings().size());
+
+		// The injected implementation of other resolver is not included
+		BindingFootprint binding = footprintResolver.getBindings().get (0);
+		assertEquals (ITestInterfaceFootprint.class.getCanonicalName(), binding.getKey());
+		assertEquals (ImplementationFootprint.class.getName(), binding.getImplementationClassName());
+		assertTrue (binding.getRetainedBytes() >= ImplementationFootprint.CACHE_SIZE);
+		assertTrue (binding.getRetainedBytes() < ImplementationFootprint.CACHE_SIZE + 128);
+
+		// The same information is published through JMX
+		ObjectName name = DependencyInjectionPool.instance().registerHeapFootprintMBean();
+		assertSame (name, DependencyInjectionPool.instance().registerHeapFootprintMBean());
+		assertTrue ((Long) ManagementFactory.getPlatformMBeanServer().getAttribute (name, "TotalRetainedBytes") >= ImplementationFootprint.CACHE_SIZE);
+		assertTrue (ManagementFactory.getPlatformMBeanServer().getAttribute (name, "RetainedBytesByBinding") instanceof TabularData);
+    }
+
+
+	@Test
+    public void testU_ReloadResolverFromThreadOfOtherClassLoaderTest() throws Exception {
+
+		List<Object> preInitializedObjects = new ArrayList<Object>();
+		preInitializedObjects.add (new ImplementationSimple());
+
+		DependencyInjectionResolver simpleResolver = new DependencyInjectionResolver (Constants.simpleDILInterfacesPath
+                                                                                     ,Constants.simpleDILImplementationPath
+                                                                                     ,ITestInterfaceSimple.class
+                                                                                     ,preInitializedObjects);
+		DependencyInjectionPool.instance().addNewResolver (simpleResolver)
+                                          .addNewResolver (new DependencyInjectionResolver (Constants.nestedDILInterfacesPath
+                                                                                           ,Constants.nestedDILImplementationPath
+                                                                                           ,ITestInterfaceNested.class))
+                                          .initializeImplementations();
+
+		assertSame (DependencyInjectionPool.instance(), simpleResolver.getPool());
+
+		ImplementationSimple newSimpleImplementation = new ImplementationSimple();
+		preInitializedObjects.set (0, newSimpleImplementation);
+
+		// The pool of the context classloader of the current thread is not the one that manages the resolver
+		ClassLoader currentClassLoader = Thread.currentThread().getContextClassLoader();
+		URLClassLoader otherClassLoader = new URLClassLoader (new URL[0], currentClassLoader);
+		try {
+			Thread.currentThread().setContextClassLoader (otherClassLoader);
+			simpleResolver.reload();
+			DependencyInjectionPool.instance().destroyResources();
+		}
+		finally {
+			Thread.currentThread().setContextClassLoader (currentClassLoader);
+			otherClassLoader.close();
+		}
+		ITestInterfaceNested nestedImplementation = DependencyInjectionPool.instance().getResolver (Constants.nestedDILInterfacesPath)
+                                                                                      .getImplementation (ITestInterfaceNested.class, null);
+		Field nestedProperty = ImplementationNested.class.getDeclaredField ("iTestInterfaceSimple");
+		nestedProperty.setAccessible (true);
+		assertSame (newSimpleImplementation, nestedProperty.get (nestedImplementation));
+    }
+
+
+	@Test
+    public void testV_RetainedClassLoaderOfDestroyedPoolIsReportedTest() throws Exception {
+
+		DependencyInjectionPool currentPool = DependencyInjectionPool.instance();
+
+		// Something of the application keeps its classloader
+		ClassLoader retainedClassLoader = new FixturesClassLoader (Thread.currentThread().getContextClassLoader());
+		bindFixturesInPoolOfClassLoader (retainedClassLoader, currentPool, true);
+		assertTrue (DependencyInjectionPool.findRetainedClassLoaders().contains (retainedClassLoader));
+
+		retainedClassLoader = null;
+		assertTrue (DependencyInjectionPool.findRetainedClassLoaders().isEmpty());
+    }
+
+
+	@Test
+    public void testW_PoolsNotDestroyedDoNotRetainTheirClassLoaderTest() throws Exception {
+
+		ClassLoader applicationClassLoader = new FixturesClassLoader (Thread.currentThread().getContextClassLoader());
+		WeakReference<ClassLoader> applicationClassLoaderReference = new WeakReference<ClassLoader> (applicationClassLoader);
+
+		bindFixturesInPoolOfClassLoader (applicationClassLoader, DependencyInjectionPool.instance(), false);
+		applicationClassLoader = null;
+
+		for (int i = 0; i < 10 && applicationClassLoaderReference.get() != null; i++) {
+			System.gc();
+			Thread.sleep (100);
+		}
+		assertNull (applicationClassLoaderReference.get());
+    }
+
+
+	/**
+	 *    Binds the fixtures of the simple resolver in the pool of the given classloader, which must define the classes of
+	 * the implementations, and destroys that pool if destroyPool is true.
+	 */
+	private void bindFixturesInPoolOfClassLoader (ClassLoader applicationClassLoader, DependencyInjectionPool currentPool
+			                                     ,boolean destroyPool) throws Exception {
+
+		ClassLoader currentClassLoader = Thread.currentThread().getContextClassLoader();
+		try {
+			Thread.currentThread().setContextClassLoader (applicationClassLoader);
+
+			DependencyInjectionPool applicationPool = DependencyInjectionPool.instance();
+			assertNotSame (currentPool, applicationPool);
+			assertSame (applicationPool, DependencyInjectionPool.instance());
+
+			applicationPool.addNewResolver (new DependencyInjectionResolver (Constants.simpleDILInterfacesPath
+                                                                             ,Constants.simpleDILImplementationPath))
+                           .initializeImplementations();
+
+			Class<?> interfaceClazz = applicationClassLoader.loadClass (ITestInterfaceSimple.class.getName());
+			assertNotSame (ITestInterfaceSimple.class, interfaceClazz);
+			assertSame (applicationClassLoader, applicationPool.getImplementation (interfaceClazz, null).getClass().getClassLoader());
+
+			if (destroyPool)
+				applicationPool.destroyResources();
+		}
+		finally {
+			Thread.currentThread().setContextClassLoader (currentClassLoader);
+		}
+	}
+
+
+	/**
+	 *    Classloader of a reloaded application: it defines again the classes of the fixtures (so they do not belong to the
+	 * classloader of the tests) and delegates the rest of them to its parent.
+	 */
+	private static class FixturesClassLoader extends ClassLoader {
+
+		private static final String FIXTURES_PACKAGE = Constants.class.getPackage().getName() + ".";
+
+
+		FixturesClassLoader (ClassLoader parent) {
+			super (parent);
+		}
+
+
+		@Override
+		protected Class<?> loadClass (String name, boolean resolve) throws ClassNotFoundException {
+
+			if (!name.startsWith (FIXTURES_PACKAGE))
+				return super.loadClass (name, resolve);
+
+			synchronized (getClassLoadingLock (name)) {
+
+				Class<?> clazz = findLoadedClass (name);
+				if (clazz == null) {
+
+					byte[] bytecode = readBytecode (name);
+					clazz = defineClass (name, bytecode, 0, bytecode.length);
+				}
+				if (resolve)
+					resolveClass (clazz);
+
+				return clazz;
+			}
+		}
+
+
+		private byte[] readBytecode (String name) throws ClassNotFoundException {
+
+			try (InputStream inputStream = getParent().getResourceAsStream (name.replace ('.', '/') + ".class")) {
+
+				if (inputStream == null)
+					throw new ClassNotFoundException (name);
+
+				ByteArrayOutputStream bytecode = new ByteArrayOutputStream();
+				byte[] buffer = new byte[4096];
+				for (int read = inputStream.read (buffer); read != -1; read = inputStream.read (buffer))
+					bytecode.write (buffer, 0, read);
+
+				return bytecode.toByteArray();
+
+			} catch (IOException e) {
+				throw new ClassNotFoundException (name, e);
+			}
+		}
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package org.play.dependencyinjection.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMX;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.annotations.Async;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.async.spi.ITestInterfaceAsyncWorker;
+
+public class AsyncDecoratorTest {
+
+
+	@Before
+	public void initializePool() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().getManagedExecutors().configure ("bounded", new ExecutorSettings().threads (1)
+				                                                                                            .queueCapacity (1)
+				                                                                                            .rejectionPolicy (RejectionPolicy.ABORT));
+
+		DependencyInjectionPool.instance().addNewResolver (new DependencyInjectionResolver (Constants.asyncDILInterfacesPath
+				                                                                           ,Constants.asyncDILImplementationPath))
+		                                  .initializeImplementations();
+	}
+
+
+	@After
+	public void destroyResources() {
+
+		DependencyInjectionPool.instance().destroyResources();
+	}
+
+
+	@Test
+    public void executeInManagedThreadTest() throws DependencyInjectionException, InterruptedException {
+
+		ITestInterfaceAsyncWorker worker = DependencyInjectionPool.instance().getImplementation (ITestInterfaceAsyncWorker.class, null);
+
+		CountDownLatch finished = new CountDownLatch (1);
+		worker.execute (finished);
+
+		assertTrue (finished.await (5, TimeUnit.SECONDS));
+		assertTrue (worker.getLastThreadName().startsWith ("dependency-injection-default-"));
+    }
+
+
+	@Test
+    public void returnResultInFutureTest() throws Exception {
+
+		ITestInterfaceAsyncWorker worker = DependencyInjectionPool.instance().getImplementation (ITestInterfaceAsyncWorker.class, null);
+
+		CountDownLatch release = new CountDownLatch (0);
+		assertTrue (worker.waitFor (release).get (5, TimeUnit.SECONDS).startsWith ("dependency-injection-bounded-"));
+    }
+
+
+	@Test
+    public void propagateExceptionInFutureTest() throws Exception {
+
+		ITestInterfaceAsyncWorker worker = DependencyInjectionPool.instance().getImplementation (ITestInterfaceAsyncWorker.class, null);
+		try {
+			worker.fail ("wrong").get (5, TimeUnit.SECONDS);
+			fail ("The implementation must throw an exception");
+
+		} catch (ExecutionException e) {
+			assertTrue (e.getCause() instanceof IllegalArgumentException);
+			assertEquals ("wrong", e.getCause().getMessage());
+		}
+    }
+
+
+	@Test
+    public void rejectWhenQueueIsFullTest() throws Exception {
+
+		DependencyInjectionPool pool = DependencyInjectionPool.instance();
+		ITestInterfaceAsyncWorker worker = pool.getImplementation (ITestInterfaceAsyncWorker.class, null);
+
+		CountDownLatch release = new CountDownLatch (1);
+		Future<String> running = worker.waitFor (release);
+		Future<String> queued = worker.waitFor (release);
+		try {
+			worker.waitFor (release);
+			fail ("The executor must reject the task");
+
+		} catch (RejectedExecutionException e) {}
+
+		ObjectName name = pool.registerExecutorUsageMBean();
+		ExecutorUsageMXBean bean = JMX.newMXBeanProxy (ManagementFactory.getPlatformMBeanServer(), name, ExecutorUsageMXBean.class);
+		assertEquals (Long.valueOf (1), bean.getQueueDepth().get ("bounded"));
+		assertEquals (Long.valueOf (1), bean.getRejectedTaskCount().get ("bounded"));
+
+		release.countDown();
+		running.get (5, TimeUnit.SECONDS);
+		queued.get (5, TimeUnit.SECONDS);
+		assertEquals (Long.valueOf (0), bean.getQueueDepth().get ("bounded"));
+    }
+
+
+	@Test
+    public void useExecutorsOfPoolThatManagesTheResolverTest() throws Exception {
+
+		// The resolver is created in a thread whose context classloader has other pool
+		ClassLoader currentClassLoader = Thread.currentThread().getContextClassLoader();
+		URLClassLoader otherClassLoader = new URLClassLoader (new URL[0], currentClassLoader);
+		DependencyInjectionResolver resolver = null;
+		try {
+			Thread.currentThread().setContextClassLoader (otherClassLoader);
+			resolver = new DependencyInjectionResolver (Constants.asyncDILInterfacesPath, Constants.asyncDILImplementationPath);
+			DependencyInjectionPool.instance().destroyResources();
+		}
+		finally {
+			Thread.currentThread().setContextClassLoader (currentClassLoader);
+			otherClassLoader.close();
+		}
+		DependencyInjectionPool.instance().addNewResolver (resolver).initializeImplementations();
+		ITestInterfaceAsyncWorker worker = resolver.getImplementation (ITestInterfaceAsyncWorker.class, null);
+
+		// Only the bounded executor of the current pool rejects the third task
+		CountDownLatch release = new CountDownLatch (1);
+		Future<String> running = worker.waitFor (release);
+		Future<String> queued = worker.waitFor (release);
+		try {
+			worker.waitFor (release);
+			fail ("The executor must reject the task");
+
+		} catch (RejectedExecutionException e) {}
+
+		release.countDown();
+		running.get (5, TimeUnit.SECONDS);
+		queued.get (5, TimeUnit.SECONDS);
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void asyncMethodWithUnsupportedResultTest() throws DependencyInjectionException {
+
+		AsyncDecorator.decorate (IWithUnsupportedResult.class, new IWithUnsupportedResult() {
+
+			@Override
+			public String find (String key) {
+				return key;
+			}
+		}, DependencyInjectionPool.instance().getManagedExecutors());
+    }
+
+
+	@Test
+    public void finishAsyncMethodsBeforeClosingImplementationsTest() throws Exception {
+
+		ITestInterfaceAsyncWorker worker = DependencyInjectionPool.instance().getImplementation (ITestInterfaceAsyncWorker.class, null);
+
+		final CountDownLatch release = new CountDownLatch (1);
+		Future<String> result = worker.waitFor (release);
+		Thread releaser = new Thread (new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					Thread.sleep (200);
+
+				} catch (InterruptedException e) {}
+				release.countDown();
+			}
+		});
+		releaser.start();
+
+		// The running method finishes while the worker is still open
+		DependencyInjectionPool.instance().destroyResources();
+		assertTrue (result.isDone());
+		assertFalse (result.get().endsWith ("(closed)"));
+		releaser.join();
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void configureExecutorInUseTest() throws DependencyInjectionException {
+
+		ManagedExecutors executors = DependencyInjectionPool.instance().getManagedExecutors();
+		executors.get (ManagedExecutors.DEFAULT_EXECUTOR);
+		executors.configure (ManagedExecutors.DEFAULT_EXECUTOR, new ExecutorSettings());
+    }
+
+
+	public interface IWithUnsupportedResult {
+
+		@Async
+		public String find (String key);
+	}
+
+}
\ No newline at end of file
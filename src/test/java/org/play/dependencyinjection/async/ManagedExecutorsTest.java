@@ -0,0 +1,160 @@
+package org.play.dependencyinjection.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.metrics.LatencyHistogram;
+import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.executors.spi.ITestInterfaceExecutorsService;
+
+public class ManagedExecutorsTest {
+
+
+	@Before
+	public void initializePool() throws DependencyInjectionException {
+
+		Properties properties = new Properties();
+		properties.setProperty ("executor.io-pool.threads", "2");
+		properties.setProperty ("executor.io-pool.queueCapacity", "10");
+		properties.setProperty ("other.property", "ignored");
+
+		DependencyInjectionPool.instance().getManagedExecutors().configure (properties);
+		DependencyInjectionPool.instance().addNewResolver (new DependencyInjectionResolver (Constants.executorsDILInterfacesPath
+				                                                                           ,Constants.executorsDILImplementationPath))
+		                                  .initializeImplementations();
+	}
+
+
+	@After
+	public void destroyResources() {
+
+		DependencyInjectionPool.instance().destroyResources();
+	}
+
+
+	@Test
+    public void injectNamedExecutorsTest() throws Exception {
+
+		ManagedExecutors executors = DependencyInjectionPool.instance().getManagedExecutors();
+		ITestInterfaceExecutorsService service = DependencyInjectionPool.instance().getImplementation (ITestInterfaceExecutorsService.class, null);
+
+		assertSame (executors.get ("io-pool"), service.getIoPool());
+		assertSame (executors.get (ManagedExecutors.DEFAULT_EXECUTOR), service.getDefaultExecutor());
+		assertTrue (service.getThreadNameInIoPool().get (5, TimeUnit.SECONDS).startsWith ("dependency-injection-io-pool-"));
+		assertEquals (2, ((ManagedExecutor) service.getIoPool()).getMaximumPoolSize());
+    }
+
+
+	@Test(expected=UnsupportedOperationException.class)
+    public void implementationsCannotStopExecutorTest() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().getImplementation (ITestInterfaceExecutorsService.class, null)
+		                                  .getIoPool().shutdown();
+    }
+
+
+	@Test
+    public void recordTaskLatenciesTest() throws Exception {
+
+		ManagedExecutors executors = DependencyInjectionPool.instance().getManagedExecutors();
+		ExecutorService ioPool = executors.get ("io-pool");
+		LatencyHistogram queueWaits = executors.getQueueWaits().get ("io-pool");
+		LatencyHistogram taskDurations = executors.getTaskDurations().get ("io-pool");
+
+		for (int i = 0; i < 3; i++)
+			ioPool.execute (new Runnable() {
+
+				@Override
+				public void run() {
+					try {
+						Thread.sleep (10);
+
+					} catch (InterruptedException e) {}
+				}
+			});
+
+		// Waits until the submitted tasks have finished
+		assertEquals (Collections.<String>emptyList(), executors.shutdown());
+		assertEquals (3, queueWaits.getCount());
+		assertEquals (3, taskDurations.getCount());
+		assertTrue (taskDurations.getMeanNanos() >= TimeUnit.MILLISECONDS.toNanos (10));
+    }
+
+
+	@Test
+    public void interruptTasksAfterShutdownTimeoutTest() throws Exception {
+
+		ManagedExecutors executors = DependencyInjectionPool.instance().getManagedExecutors();
+		executors.configure ("slow", new ExecutorSettings().threads (1).shutdownTimeoutMillis (0));
+
+		final CountDownLatch started = new CountDownLatch (1);
+		executors.get ("slow").execute (new Runnable() {
+
+			@Override
+			public void run() {
+				try {
+					started.countDown();
+					Thread.sleep (TimeUnit.MINUTES.toMillis (1));
+
+				} catch (InterruptedException e) {}
+			}
+		});
+		assertTrue (started.await (5, TimeUnit.SECONDS));
+		assertEquals (Arrays.asList ("slow"), executors.shutdown());
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void executorNotConfiguredTest() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().getManagedExecutors().get ("not-configured");
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void wrongPropertyValueTest() throws DependencyInjectionException {
+
+		Properties properties = new Properties();
+		properties.setProperty ("executor.other-pool.threads", "none");
+
+		DependencyInjectionPool.instance().getManagedExecutors().configure (properties);
+    }
+
+
+	@Test
+    public void configureNothingIfAnExecutorIsInUseTest() throws DependencyInjectionException {
+
+		ManagedExecutors managedExecutors = DependencyInjectionPool.instance().getManagedExecutors();
+		managedExecutors.get ("io-pool");
+
+		Properties properties = new Properties();
+		properties.setProperty ("executor.io-pool.threads", "4");
+		for (String name : Arrays.asList ("cpu-pool", "db-pool", "mail-pool", "report-pool"))
+			properties.setProperty ("executor." + name + ".threads", "1");
+		try {
+			managedExecutors.configure (properties);
+			fail ("The executor io-pool is already in use");
+
+		} catch (DependencyInjectionException e) {}
+
+		for (String name : Arrays.asList ("cpu-pool", "db-pool", "mail-pool", "report-pool"))
+			assertFalse (managedExecutors.isConfigured (name));
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,300 @@
+package org.play.dependencyinjection.batch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.annotations.Batched;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.batched.spi.ITestInterfaceBatchedDao;
+
+public class BatchedDecoratorTest {
+
+
+	@Before
+	public void initializePool() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().addNewResolver (new DependencyInjectionResolver (Constants.batchedDILInterfacesPath
+				                                                                           ,Constants.batchedDILImplementationPath))
+		                                  .initializeImplementations();
+	}
+
+
+	@After
+	public void destroyResources() {
+
+		DependencyInjectionPool.instance().destroyResources();
+	}
+
+
+	@Test
+    public void groupKeysOfThreadTest() throws Exception {
+
+		ITestInterfaceBatchedDao dao = DependencyInjectionPool.instance().getImplementation (ITestInterfaceBatchedDao.class, null);
+
+		Future<String> first = dao.findLater (1);
+		Future<String> notFound = dao.findLater (500);
+		assertSame (first, dao.findLater (1));
+		assertFalse (first.isDone());
+		assertTrue (dao.getBulkInvocations().isEmpty());
+
+		assertEquals ("user 1", first.get());
+		assertTrue (notFound.isDone());
+		assertNull (notFound.get());
+		assertEquals (1, dao.getBulkInvocations().size());
+		assertEquals (Arrays.asList (1, 500), new ArrayList<Integer> (dao.getBulkInvocations().get (0)));
+    }
+
+
+	@Test
+    public void dispatchWhenBatchIsFullTest() throws Exception {
+
+		ITestInterfaceBatchedDao dao = DependencyInjectionPool.instance().getImplementation (ITestInterfaceBatchedDao.class, null);
+
+		List<Future<String>> users = new ArrayList<Future<String>>();
+		for (int id = 1; id <= 4; id++)
+			users.add (dao.findLater (id));
+
+		assertEquals (1, dao.getBulkInvocations().size());
+		assertTrue (users.get (2).isDone());
+		assertFalse (users.get (3).isDone());
+
+		assertEquals ("user 4", users.get (3).get());
+		assertEquals (2, dao.getBulkInvocations().size());
+    }
+
+
+	@Test
+    public void groupConcurrentCallersTest() throws Exception {
+
+		final ITestInterfaceBatchedDao dao = DependencyInjectionPool.instance().getImplementation (ITestInterfaceBatchedDao.class, null);
+		final CountDownLatch start = new CountDownLatch (1);
+
+		ExecutorService executor = Executors.newFixedThreadPool (4);
+		try {
+			List<Future<String>> users = new ArrayList<Future<String>>();
+			for (int id = 1; id <= 4; id++) {
+
+				final int userId = id;
+				users.add (executor.submit (new Callable<String>() {
+
+					@Override
+					public String call() throws Exception {
+
+						start.await();
+						return dao.findById (userId);
+					}
+				}));
+			}
+			start.countDown();
+			for (int id = 1; id <= 4; id++)
+				assertEquals ("user " + id, users.get (id - 1).get());
+
+			assertEquals (1, dao.getBulkInvocations().size());
+			assertEquals (4, dao.getBulkInvocations().get (0).size());
+
+		} finally {
+			executor.shutdownNow();
+		}
+    }
+
+
+	@Test
+    public void dispatchPendingBatchesWhenPoolIsDestroyedTest() throws Exception {
+
+		final ITestInterfaceBatchedDao dao = DependencyInjectionPool.instance().getImplementation (ITestInterfaceBatchedDao.class, null);
+
+		// The thread finishes without needing the result of its batch
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		Future<String> user;
+		try {
+			user = executor.submit (new Callable<Future<String>>() {
+
+				@Override
+				public Future<String> call() {
+					return dao.findLater (2);
+				}
+			}).get();
+
+		} finally {
+			executor.shutdownNow();
+		}
+		assertFalse (user.isDone());
+
+		DependencyInjectionPool.instance().destroyResources();
+		assertTrue (user.isDone());
+		assertEquals ("user 2", user.get());
+		assertEquals (1, dao.getBulkInvocations().size());
+    }
+
+
+	@Test
+    public void propagateFailureOfBulkMethodTest() throws Exception {
+
+		ITestInterfaceBatchedDao dao = DependencyInjectionPool.instance().getImplementation (ITestInterfaceBatchedDao.class, null);
+		try {
+			dao.findLater (-1).get();
+			fail ("The bulk method must throw an exception");
+
+		} catch (ExecutionException e) {
+			assertTrue (e.getCause() instanceof IllegalArgumentException);
+		}
+		try {
+			dao.findById (-1);
+			fail ("The bulk method must throw an exception");
+
+		} catch (IllegalArgumentException e) {}
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void batchedMethodWithoutBulkMethodTest() throws DependencyInjectionException {
+
+		BatchedDecorator.decorate (IWithoutBulkMethod.class, new IWithoutBulkMethod() {
+
+			@Override
+			public String find (Integer id) {
+				return null;
+			}
+
+			@Override
+			public Map<Integer, String> findAll (Integer id) {
+				return null;
+			}
+		});
+    }
+
+
+	@Test
+    public void waitForBatchDispatchedByOtherThreadWithTimeoutTest() throws Exception {
+
+		final CountDownLatch bulkInvoked = new CountDownLatch (1);
+		final CountDownLatch release = new CountDownLatch (1);
+		ISlowBulkMethod slow = (ISlowBulkMethod) BatchedDecorator.decorate (ISlowBulkMethod.class, new ISlowBulkMethod() {
+
+			@Override
+			public Future<String> findLater (Integer id) {
+				return null;
+			}
+
+			@Override
+			public Map<Integer, String> findAll (List<Integer> ids) {
+
+				bulkInvoked.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return Collections.singletonMap (ids.get (0), "user " + ids.get (0));
+			}
+		});
+		final Future<String> user = slow.findLater (1);
+
+		ExecutorService executor = Executors.newFixedThreadPool (2);
+		try {
+			Future<String> dispatcher = executor.submit (new Callable<String>() {
+
+				@Override
+				public String call() throws Exception {
+					return user.get();
+				}
+			});
+			bulkInvoked.await();
+
+			// The first thread is invoking the bulk method, so the second one only waits the given time
+			Future<Boolean> timedOut = executor.submit (new Callable<Boolean>() {
+
+				@Override
+				public Boolean call() throws Exception {
+					try {
+						user.get (50, TimeUnit.MILLISECONDS);
+						return false;
+
+					} catch (TimeoutException e) {
+						return true;
+					}
+				}
+			});
+			assertTrue (timedOut.get (5, TimeUnit.SECONDS));
+
+			release.countDown();
+			assertEquals ("user 1", dispatcher.get());
+			assertEquals ("user 1", user.get (5, TimeUnit.SECONDS));
+
+		} finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void batchedMethodReturningSubtypeOfFutureTest() throws DependencyInjectionException {
+
+		BatchedDecorator.decorate (ISubtypeOfFuture.class, new ISubtypeOfFuture() {
+
+			@Override
+			public FutureTask<String> findLater (Integer id) {
+				return null;
+			}
+
+			@Override
+			public Map<Integer, String> findAll (List<Integer> ids) {
+				return null;
+			}
+		});
+    }
+
+
+	public interface ISlowBulkMethod {
+
+		@Batched(bulkMethod="findAll")
+		public Future<String> findLater (Integer id);
+
+		public Map<Integer, String> findAll (List<Integer> ids);
+	}
+
+
+	public interface ISubtypeOfFuture {
+
+		@Batched(bulkMethod="findAll")
+		public FutureTask<String> findLater (Integer id);
+
+		public Map<Integer, String> findAll (List<Integer> ids);
+	}
+
+
+	public interface IWithoutBulkMethod {
+
+		@Batched(bulkMethod="findAll")
+		public String find (Integer id);
+
+		public Map<Integer, String> findAll (Integer id);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package org.play.dependencyinjection.blueprint;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.controllers.ParentController;
+import org.play.dependencyinjection.resources.controllers.simple.SimpleController;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.crossReferences.spi.IInterfaceCrossReferences;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.nested.impl.ImplementationNested;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.nested.spi.ITestInterfaceNested;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.alt.ImplementationSimpleAlt;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.impl.ImplementationSimple;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.spi.ITestInterfaceSimple;
+
+public class ContainerBlueprintTest {
+
+
+	@Test
+    public void generateAndReadBlueprintTest() throws Exception {
+
+		ContainerBlueprint blueprint = new BlueprintGenerator().addResolver (Constants.simpleDILInterfacesPath, Constants.simpleDILImplementationPath
+				                                                            ,ITestInterfaceSimple.class)
+				                                               .addResolver (Constants.nestedDILInterfacesPath, Constants.nestedDILImplementationPath
+				                                                            ,null)
+				                                               .addControllers (Constants.controllerSimplePath, ParentController.class)
+				                                               .generate();
+
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		blueprint.write (content);
+		ContainerBlueprint readBlueprint = ContainerBlueprint.read (ByteBuffer.wrap (content.toByteArray()));
+
+		assertEquals (2, readBlueprint.getResolvers().size());
+		assertEquals (1, readBlueprint.getControllers().size());
+
+		ResolverBlueprint simpleResolver = readBlueprint.findResolver (Constants.simpleDILInterfacesPath, Constants.simpleDILImplementationPath
+				                                                      ,ITestInterfaceSimple.class);
+		assertNotNull (simpleResolver);
+		assertEquals (1, simpleResolver.getBindings().size());
+		assertEquals (ITestInterfaceSimple.class.getName(), simpleResolver.getBindings().get (0).getInterfaceClassName());
+		assertEquals (ImplementationSimple.class.getName(), simpleResolver.getBindings().get (0).getImplementationClassName());
+		assertNull (simpleResolver.getBindings().get (0).getQualifierValue());
+
+		ResolverBlueprint nestedResolver = readBlueprint.findResolver (Constants.nestedDILInterfacesPath, Constants.nestedDILImplementationPath, null);
+		assertNotNull (nestedResolver);
+		assertEquals (1, nestedResolver.getInjectionPoints().size());
+		assertEquals (ImplementationNested.class.getName(), nestedResolver.getInjectionPoints().get (0).getDeclaringClassName());
+		assertEquals (ITestInterfaceSimple.class.getName(), nestedResolver.getInjectionPoints().get (0).getFieldTypeName());
+
+		ControllersBlueprint controllers = readBlueprint.findControllers (Constants.controllerSimplePath, ParentController.class);
+		assertNotNull (controllers);
+		assertEquals (Arrays.asList (SimpleController.class.getName()), controllers.getControllerClassNames());
+		assertEquals (2, controllers.getInjectionPoints().size());
+    }
+
+
+	@Test
+    public void generateBlueprintWithCrossReferencesTest() throws DependencyInjectionException {
+
+		ContainerBlueprint blueprint = new BlueprintGenerator().addResolver (Constants.crossReferencesDILInterfacesPath
+				                                                            ,Constants.crossReferencesDILImplementationPath
+				                                                            ,IInterfaceCrossReferences.class)
+				                                               .generate();
+
+		assertEquals (2, blueprint.getResolvers().get (0).getBindings().size());
+		assertEquals (2, blueprint.getResolvers().get (0).getInjectionPoints().size());
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void readInvalidBlueprintTest() throws DependencyInjectionException {
+
+		ContainerBlueprint.read (ByteBuffer.wrap (new byte[] { 1, 2, 3, 4, 5, 6 }));
+    }
+
+
+	@Test
+    public void resolverUsesBlueprintInsteadOfScanningTest() throws Exception {
+
+		// The blueprint binds the alternative implementation, that is not inside the implementation package
+		ContainerBlueprint blueprint = new ContainerBlueprint (Arrays.asList (new ResolverBlueprint (Constants.simpleDILInterfacesPath
+				                                                                                   ,Constants.simpleDILImplementationPath
+				                                                                                   ,ITestInterfaceSimple.class.getName()
+				                                                                                   ,Arrays.asList (new BindingBlueprint (ITestInterfaceSimple.class.getName()
+				                                                                                                                        ,null
+				                                                                                                                        ,ImplementationSimpleAlt.class.getName()))
+				                                                                                   ,new ArrayList<InjectionPointBlueprint>()))
+				                                              ,new ArrayList<ControllersBlueprint>());
+
+		File blueprintDirectory = Files.createTempDirectory ("blueprint").toFile();
+		File blueprintFile = new File (blueprintDirectory, ContainerBlueprint.RESOURCE_NAME);
+		blueprintFile.getParentFile().mkdirs();
+
+		FileOutputStream outputStream = new FileOutputStream (blueprintFile);
+		try {
+			blueprint.write (outputStream);
+		}
+		finally {
+			outputStream.close();
+		}
+		ClassLoader currentClassLoader = Thread.currentThread().getContextClassLoader();
+		URLClassLoader applicationClassLoader = new URLClassLoader (new URL[] { blueprintDirectory.toURI().toURL() }, currentClassLoader);
+		try {
+			Thread.currentThread().setContextClassLoader (applicationClassLoader);
+
+			DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.simpleDILInterfacesPath
+                                                                                   ,Constants.simpleDILImplementationPath
+                                                                                   ,ITestInterfaceSimple.class);
+
+			assertTrue (resolver.getImplementation (ITestInterfaceSimple.class, null).getClass() == ImplementationSimpleAlt.class);
+
+			// Resolvers not included in the blueprint scan the classpath
+			assertNotNull (new DependencyInjectionResolver (Constants.nestedDILInterfacesPath, Constants.nestedDILImplementationPath
+					                                       ,ITestInterfaceNested.class).getImplementation (ITestInterfaceNested.class, null));
+		}
+		finally {
+			Thread.currentThread().setContextClassLoader (currentClassLoader);
+			applicationClassLoader.close();
+
+			blueprintFile.delete();
+			blueprintFile.getParentFile().delete();
+			blueprintFile.getParentFile().getParentFile().delete();
+			blueprintDirectory.delete();
+		}
+    }
+
+}
\ No newline at end of file
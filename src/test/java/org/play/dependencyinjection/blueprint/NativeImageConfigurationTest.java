@@ -0,0 +1,64 @@
+package org.play.dependencyinjection.blueprint;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import org.junit.Test;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.controllers.ParentController;
+import org.play.dependencyinjection.resources.controllers.simple.SimpleController;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.nested.impl.ImplementationNested;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.nested.spi.ITestInterfaceNested;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.impl.ImplementationSimple;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.spi.ITestInterfaceSimple;
+
+public class NativeImageConfigurationTest {
+
+
+	@Test
+    public void generateConfigurationTest() throws Exception {
+
+		ContainerBlueprint blueprint = new BlueprintGenerator().addResolver (Constants.simpleDILInterfacesPath, Constants.simpleDILImplementationPath
+				                                                            ,ITestInterfaceSimple.class)
+				                                               .addResolver (Constants.nestedDILInterfacesPath, Constants.nestedDILImplementationPath
+				                                                            ,null)
+				                                               .addControllers (Constants.controllerSimplePath, ParentController.class)
+				                                               .generate();
+
+		NativeImageConfiguration configuration = NativeImageConfiguration.of (blueprint);
+		List<String> classNames = configuration.getClassNames();
+
+		assertTrue (classNames.contains (ITestInterfaceSimple.class.getName()));
+		assertTrue (classNames.contains (ImplementationSimple.class.getName()));
+		assertTrue (classNames.contains (ITestInterfaceNested.class.getName()));
+		assertTrue (classNames.contains (ImplementationNested.class.getName()));
+		assertTrue (classNames.contains (SimpleController.class.getName()));
+		assertTrue (classNames.contains (ParentController.class.getName()));
+		assertFalse (classNames.contains (Object.class.getName()));
+
+		ByteArrayOutputStream reflectConfiguration = new ByteArrayOutputStream();
+		configuration.writeReflectConfiguration (reflectConfiguration);
+		String reflectJson = reflectConfiguration.toString ("UTF-8");
+
+		// Implementations are created and injected by reflection, interfaces are only loaded by name
+		assertTrue (reflectJson.contains ("\"name\" : \"" + ImplementationNested.class.getName() + "\",\n    \"allDeclaredConstructors\" : true"));
+		assertTrue (reflectJson.contains ("\"name\" : \"" + ITestInterfaceNested.class.getName() + "\"\n  }"));
+		assertTrue (reflectJson.startsWith ("[") && reflectJson.trim().endsWith ("]"));
+
+		ByteArrayOutputStream resourceConfiguration = new ByteArrayOutputStream();
+		configuration.writeResourceConfiguration (resourceConfiguration);
+		assertTrue (resourceConfiguration.toString ("UTF-8").contains ("\"\\\\Q" + ContainerBlueprint.RESOURCE_NAME + "\\\\E\""));
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void generateConfigurationOfNullBlueprintTest() throws DependencyInjectionException {
+
+		NativeImageConfiguration.of (null);
+    }
+
+}
\ No newline at end of file
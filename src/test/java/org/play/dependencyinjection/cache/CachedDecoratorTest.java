@@ -0,0 +1,133 @@
+package org.play.dependencyinjection.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.management.JMX;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.annotations.Cached;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.cached.spi.ITestInterfaceCachedDao;
+
+public class CachedDecoratorTest {
+
+	private static final String DAO_KEY = ITestInterfaceCachedDao.class.getCanonicalName();
+
+
+	@Before
+	public void initializePool() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().addNewResolver (new DependencyInjectionResolver (Constants.cachedDILInterfacesPath
+				                                                                           ,Constants.cachedDILImplementationPath))
+		                                  .initializeImplementations();
+	}
+
+
+	@After
+	public void destroyResources() {
+
+		DependencyInjectionPool.instance().destroyResources();
+	}
+
+
+	@Test
+    public void storeResultsByArgumentsTest() throws DependencyInjectionException {
+
+		ITestInterfaceCachedDao dao = DependencyInjectionPool.instance().getImplementation (ITestInterfaceCachedDao.class, null);
+
+		assertEquals ("found key", dao.find ("key"));
+		assertEquals ("found key", dao.find ("key"));
+		assertEquals ("found other", dao.find ("other"));
+		assertEquals (2, dao.getNumberOfInvocations());
+
+		assertEquals ("found 1a", dao.find (1, "a"));
+		assertEquals ("found 1a", dao.find (1, "a"));
+		assertEquals ("found 1b", dao.find (1, "b"));
+		assertEquals (4, dao.getNumberOfInvocations());
+
+		assertNull (dao.findNothing());
+		assertNull (dao.findNothing());
+		assertEquals (5, dao.getNumberOfInvocations());
+
+		Map<String, TinyLfuCache<Object, Object>> caches = DependencyInjectionPool.instance().getMethodCaches();
+		assertEquals (4, caches.size());
+		assertEquals (1, caches.get (DAO_KEY + "#find(String)").getHitCount());
+		assertEquals (2, caches.get (DAO_KEY + "#find(String)").getMissCount());
+		assertEquals (10, caches.get (DAO_KEY + "#find(int,String)").getMaximumSize());
+    }
+
+
+	@Test
+    public void expireAfterWriteTest() throws DependencyInjectionException, InterruptedException {
+
+		ITestInterfaceCachedDao dao = DependencyInjectionPool.instance().getImplementation (ITestInterfaceCachedDao.class, null);
+
+		long currentTime = dao.getCurrentTime();
+		assertEquals (currentTime, dao.getCurrentTime());
+
+		Thread.sleep (100);
+		assertNotEquals (currentTime, dao.getCurrentTime());
+		assertEquals (2, dao.getNumberOfInvocations());
+    }
+
+
+	@Test
+    public void timeCachedMethodsTest() throws DependencyInjectionException {
+
+		ITestInterfaceCachedDao dao = DependencyInjectionPool.instance().getImplementation (ITestInterfaceCachedDao.class, null);
+		dao.find ("key");
+		dao.find ("key");
+
+		assertEquals (2, DependencyInjectionPool.instance().getLatencyHistograms().get (DAO_KEY + "#find(String)").getCount());
+		assertEquals (1, dao.getNumberOfInvocations());
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void cachedMethodWithoutResultTest() throws DependencyInjectionException {
+
+		CachedDecorator.decorate (IWithoutResult.class, new IWithoutResult() {
+
+			@Override
+			public void execute (String key) {}
+		});
+    }
+
+
+	@Test
+    public void publishStatisticsThroughJmxTest() throws DependencyInjectionException {
+
+		DependencyInjectionPool pool = DependencyInjectionPool.instance();
+		ITestInterfaceCachedDao dao = pool.getImplementation (ITestInterfaceCachedDao.class, null);
+		dao.find ("key");
+		dao.find ("key");
+
+		ObjectName name = pool.registerMethodCacheMBean();
+		MethodCacheMXBean bean = JMX.newMXBeanProxy (ManagementFactory.getPlatformMBeanServer(), name, MethodCacheMXBean.class);
+
+		assertEquals (Long.valueOf (1), bean.getHitCount().get (DAO_KEY + "#find(String)"));
+		assertEquals (Long.valueOf (1), bean.getSize().get (DAO_KEY + "#find(String)"));
+
+		bean.invalidateAll();
+		assertEquals (Long.valueOf (0), bean.getSize().get (DAO_KEY + "#find(String)"));
+    }
+
+
+	public interface IWithoutResult {
+
+		@Cached
+		public void execute (String key);
+	}
+
+}
\ No newline at end of file
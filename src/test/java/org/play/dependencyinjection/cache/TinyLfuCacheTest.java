@@ -0,0 +1,129 @@
+package org.play.dependencyinjection.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+public class TinyLfuCacheTest {
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void invalidMaximumSizeTest() throws DependencyInjectionException {
+
+		new TinyLfuCache<String, String> (0, 0);
+    }
+
+
+	@Test
+    public void storeAndCountLookupsTest() throws DependencyInjectionException {
+
+		TinyLfuCache<String, String> cache = new TinyLfuCache<String, String> (10, 0);
+		assertNull (cache.get ("key"));
+
+		cache.put ("key", "value");
+		assertEquals ("value", cache.get ("key"));
+		assertEquals ("value", cache.get ("key"));
+
+		assertEquals (2, cache.getHitCount());
+		assertEquals (1, cache.getMissCount());
+		assertEquals (1, cache.size());
+
+		cache.invalidateAll();
+		assertNull (cache.get ("key"));
+		assertEquals (0, cache.size());
+    }
+
+
+	@Test
+    public void respectMaximumSizeTest() throws DependencyInjectionException {
+
+		TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<Integer, Integer> (100, 0);
+		for (int i = 0; i < 1000; i++)
+			cache.put (i, i);
+
+		assertEquals (100, cache.size());
+		assertEquals (900, cache.getEvictionCount());
+    }
+
+
+	@Test
+    public void keepFrequentlyUsedEntriesTest() throws DependencyInjectionException {
+
+		TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<Integer, Integer> (100, 0);
+		for (int i = 0; i < 50; i++) {
+			cache.put (i, i);
+			cache.get (i);
+		}
+		/*
+		 *    A scan of keys used only once must not evict the popular ones, although every popular key is used once
+		 * every 500 insertions (so a LRU cache would have evicted all of them before using them again)
+		 */
+		for (int i = 0; i < 50000; i++) {
+			cache.put (1000 + i, i);
+			if (i % 10 == 0 && cache.get ((i / 10) % 50) == null)
+				cache.put ((i / 10) % 50, i);
+		}
+		int popularEntries = 0;
+		for (int i = 0; i < 50; i++)
+			if (cache.get (i) != null)
+				popularEntries++;
+
+		assertTrue ("Only " + popularEntries + " popular entries have been kept", popularEntries >= 45);
+		assertEquals (100, cache.size());
+    }
+
+
+	@Test
+    public void expireAfterWriteTest() throws DependencyInjectionException, InterruptedException {
+
+		TinyLfuCache<String, String> cache = new TinyLfuCache<String, String> (10, 50);
+		cache.put ("key", "value");
+		assertEquals ("value", cache.get ("key"));
+
+		Thread.sleep (100);
+		assertNull (cache.get ("key"));
+		assertEquals (0, cache.size());
+    }
+
+
+	@Test
+    public void useFromSeveralThreadsTest() throws DependencyInjectionException, InterruptedException {
+
+		final TinyLfuCache<Integer, Integer> cache = new TinyLfuCache<Integer, Integer> (500, 0);
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < 4; i++) {
+
+			final int seed = i;
+			threads.add (new Thread() {
+
+				@Override
+				public void run() {
+					for (int j = 0; j < 50000; j++) {
+
+						int key = (j * (seed + 1)) % 2000;
+						Integer value = cache.get (key);
+						if (value == null)
+							cache.put (key, key);
+						else if (value != key)
+							throw new IllegalStateException ("The key: " + key + " has the value: " + value);
+					}
+				}
+			});
+		}
+		for (Thread thread : threads)
+			thread.start();
+
+		for (Thread thread : threads)
+			thread.join();
+
+		assertTrue (cache.size() <= 500);
+		assertEquals (200000, cache.getHitCount() + cache.getMissCount());
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package org.play.dependencyinjection.cds;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.impl.ImplementationLifecycleService;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi.IInterfaceLifecycle;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi.ITestInterfaceLifecycleRepository;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi.ITestInterfaceLifecycleService;
+
+public class ClassListRecorderTest {
+
+
+	@Test
+    public void recordInjectedGraphTest() throws Exception {
+
+		ClassListRecorder recorder = new ClassListRecorder().start();
+		try {
+			new DependencyInjectionResolver (Constants.lifecycleDILInterfacesPath, Constants.lifecycleDILImplementationPath
+					                        ,IInterfaceLifecycle.class).resolveAllClassPropertiesOfImplementations();
+		}
+		finally {
+			recorder.stop();
+		}
+		List<String> classNames = recorder.getClassNames();
+
+		int rootInterfaceIndex = classNames.indexOf (internalName (IInterfaceLifecycle.class));
+		int interfaceIndex = classNames.indexOf (internalName (ITestInterfaceLifecycleService.class));
+		int implementationIndex = classNames.indexOf (internalName (ImplementationLifecycleService.class));
+
+		// Supertypes go first
+		assertTrue (rootInterfaceIndex >= 0);
+		assertTrue (rootInterfaceIndex < interfaceIndex);
+		assertTrue (interfaceIndex < implementationIndex);
+
+		// Types of the properties
+		assertTrue (classNames.contains (internalName (ITestInterfaceLifecycleRepository.class)));
+		assertTrue (classNames.contains ("java/util/concurrent/atomic/AtomicInteger"));
+		assertFalse (classNames.contains ("int"));
+
+		File classListFile = File.createTempFile ("classes", ".lst");
+		try {
+			recorder.write (classListFile);
+			assertEquals (classNames, Files.readAllLines (classListFile.toPath(), Charset.forName ("UTF-8")));
+		}
+		finally {
+			classListFile.delete();
+		}
+    }
+
+
+	@Test
+    public void trainingRunOfPoolTest() throws Exception {
+
+		DependencyInjectionPool.instance().startTrainingRun();
+		new DependencyInjectionResolver (Constants.lifecycleDILInterfacesPath, Constants.lifecycleDILImplementationPath
+				                        ,IInterfaceLifecycle.class);
+
+		File classListFile = File.createTempFile ("classes", ".lst");
+		try {
+			List<String> classNames = DependencyInjectionPool.instance().finishTrainingRun (classListFile, null);
+
+			assertTrue (classNames.contains (internalName (ImplementationLifecycleService.class)));
+			assertTrue (classListFile.length() > 0);
+		}
+		finally {
+			classListFile.delete();
+		}
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void finishTrainingRunNotStartedTest() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().finishTrainingRun (new File ("classes.lst"), null);
+    }
+
+
+	@Test
+    public void dumpSharedArchiveTest() throws Exception {
+
+		// The shared archives of application classes are available since Java 10
+		assumeFalse (System.getProperty ("java.specification.version").matches ("1\\..*|9"));
+
+		File directory = Files.createTempDirectory ("cds").toFile();
+		File classListFile = new File (directory, "classes.lst");
+		File sharedArchiveFile = new File (directory, "application.jsa");
+		try {
+			Files.write (classListFile.toPath(), Arrays.asList ("java/lang/Object", "java/lang/String", "java/util/ArrayList")
+					    ,Charset.forName ("UTF-8"));
+
+			SharedArchiveGenerator.dump (classListFile, sharedArchiveFile, directory.getAbsolutePath());
+			assertTrue (sharedArchiveFile.length() > 0);
+		}
+		finally {
+			classListFile.delete();
+			sharedArchiveFile.delete();
+			directory.delete();
+		}
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void dumpWithoutClassListTest() throws DependencyInjectionException {
+
+		SharedArchiveGenerator.dump (new File ("notExists.lst"), new File ("application.jsa"), ".");
+    }
+
+
+	private static String internalName (Class<?> clazz) {
+
+		return clazz.getName().replace ('.', '/');
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package org.play.dependencyinjection.events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.nested.impl.ImplementationNested;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.nested.spi.ITestInterfaceNested;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.impl.ImplementationSimple;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.spi.ITestInterfaceSimple;
+
+public class DependencyInjectionEventsTest {
+
+
+	@Test
+    public void listenerReceivesEventsTest() throws DependencyInjectionException {
+
+		RecordingListener listener = new RecordingListener();
+		DependencyInjectionEvents.addListener (listener);
+		try {
+			assertTrue (DependencyInjectionEvents.isEnabled());
+
+			DependencyInjectionPool.instance().addNewResolver (new DependencyInjectionResolver (Constants.simpleDILInterfacesPath
+					                                                                           ,Constants.simpleDILImplementationPath
+					                                                                           ,ITestInterfaceSimple.class));
+			DependencyInjectionResolver nestedResolver = new DependencyInjectionResolver (Constants.nestedDILInterfacesPath
+					                                                                     ,Constants.nestedDILImplementationPath
+					                                                                     ,ITestInterfaceNested.class);
+			DependencyInjectionPool.instance().addNewResolver (nestedResolver);
+			nestedResolver.resolveAllClassPropertiesOfImplementations();
+
+			assertTrue (listener.scannedPackages.contains (Constants.simpleDILImplementationPath));
+			assertTrue (listener.scannedPackages.contains (Constants.nestedDILImplementationPath));
+			assertTrue (listener.instantiatedClasses.contains (ImplementationSimple.class));
+			assertTrue (listener.instantiatedClasses.contains (ImplementationNested.class));
+			assertTrue (listener.injectedClasses.contains (ImplementationNested.class));
+
+			// The property of ImplementationNested is managed by the resolver of the simple package
+			assertEquals (1, listener.fallbacks.size());
+			assertEquals ("iTestInterfaceSimple@" + Constants.nestedDILInterfacesPath + "->" + Constants.simpleDILInterfacesPath
+					     ,listener.fallbacks.get (0));
+		}
+		finally {
+			DependencyInjectionEvents.removeListener (listener);
+			DependencyInjectionPool.instance().destroyResources();
+		}
+    }
+
+
+	private static class RecordingListener implements DependencyInjectionEventListener {
+
+		private List<String> scannedPackages = new ArrayList<String>();
+
+		private List<Class<?>> instantiatedClasses = new ArrayList<Class<?>>();
+
+		private List<Class<?>> injectedClasses = new ArrayList<Class<?>>();
+
+		private List<String> fallbacks = new ArrayList<String>();
+
+
+		@Override
+		public void scanFinished (String packageName, int urlCount, int classCount, long durationNanos) {
+
+			assertTrue (urlCount > 0 && classCount > 0 && durationNanos > 0);
+			scannedPackages.add (packageName);
+		}
+
+		@Override
+		public void implementationInstantiated (Class<?> implementationClazz, long durationNanos) {
+			instantiatedClasses.add (implementationClazz);
+		}
+
+		@Override
+		public void propertiesInjected (Class<?> clazz, int fieldCount, long durationNanos) {
+			injectedClasses.add (clazz);
+		}
+
+		@Override
+		public void crossResolverFallback (Class<?> clazz, String fieldName, String interfacesPackage, String resolverInterfacesPackage) {
+			fallbacks.add (fieldName + "@" + interfacesPackage + "->" + resolverInterfacesPackage);
+		}
+	}
+
+}
\ No newline at end of file
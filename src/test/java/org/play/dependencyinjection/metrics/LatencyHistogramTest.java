@@ -0,0 +1,92 @@
+package org.play.dependencyinjection.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+
+	@Test
+    public void emptyHistogramTest() {
+
+		LatencyHistogram histogram = new LatencyHistogram();
+
+		assertEquals (0, histogram.getCount());
+		assertEquals (0, histogram.getMeanNanos());
+		assertEquals (0, histogram.getMaxNanos());
+		assertEquals (0, histogram.getValueAtPercentile (99));
+    }
+
+
+	@Test
+    public void bucketsContainTheirValuesTest() {
+
+		for (long value = 0; value < 1000000; value += (value < 1000 ? 1 : 997)) {
+
+			int index = LatencyHistogram.indexOf (value);
+			assertTrue (value <= LatencyHistogram.highestValueOf (index));
+			assertTrue (index == 0 || value > LatencyHistogram.highestValueOf (index - 1));
+		}
+    }
+
+
+	@Test
+    public void percentilesTest() {
+
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long value = 1; value <= 10000; value++)
+			histogram.record (value);
+
+		assertEquals (10000, histogram.getCount());
+		assertEquals (5000, histogram.getMeanNanos());
+		assertEquals (10000, histogram.getMaxNanos());
+		assertEquals (1, histogram.getValueAtPercentile (0));
+
+		assertRelativeError (5000, histogram.getValueAtPercentile (50));
+		assertRelativeError (9900, histogram.getValueAtPercentile (99));
+		assertEquals (10000, histogram.getValueAtPercentile (100));
+    }
+
+
+	@Test
+    public void recordFromSeveralThreadsTest() throws InterruptedException {
+
+		final LatencyHistogram histogram = new LatencyHistogram();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int i = 0; i < 4; i++) {
+
+			final long latency = (i + 1) * 1000;
+			threads.add (new Thread() {
+
+				@Override
+				public void run() {
+					for (int j = 0; j < 100000; j++)
+						histogram.record (latency);
+				}
+			});
+		}
+		for (Thread thread : threads)
+			thread.start();
+
+		for (Thread thread : threads)
+			thread.join();
+
+		assertEquals (400000, histogram.getCount());
+		assertEquals (2500, histogram.getMeanNanos());
+		assertEquals (4000, histogram.getMaxNanos());
+		assertRelativeError (2000, histogram.getValueAtPercentile (50));
+    }
+
+
+	private static void assertRelativeError (long expected, long actual) {
+
+		assertTrue ("Expected: " + expected + " but was: " + actual
+				   ,actual >= expected && actual - expected <= expected * 0.032);
+	}
+
+}
\ No newline at end of file
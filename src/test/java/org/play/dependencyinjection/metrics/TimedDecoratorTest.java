@@ -0,0 +1,189 @@
+package org.play.dependencyinjection.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+import javax.management.JMX;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.annotations.Cached;
+import org.play.dependencyinjection.annotations.Timed;
+import org.play.dependencyinjection.cache.CachedDecorator;
+import org.play.dependencyinjection.decorators.ImplementationDecorator;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.impl.ImplementationSimple;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.spi.ITestInterfaceSimple;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.impl.ImplementationTimedRepository;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.spi.IInterfaceTimed;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.spi.ITestInterfaceTimedRepository;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.spi.ITestInterfaceTimedService;
+
+public class TimedDecoratorTest {
+
+	private static final String REPOSITORY_KEY = ITestInterfaceTimedRepository.class.getCanonicalName();
+
+	private static final String SERVICE_KEY = ITestInterfaceTimedService.class.getCanonicalName();
+
+
+	@Before
+	public void initializePool() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().addNewResolver (new DependencyInjectionResolver (Constants.timedDILInterfacesPath
+				                                                                           ,Constants.timedDILImplementationPath
+				                                                                           ,IInterfaceTimed.class))
+		                                  .initializeImplementations();
+	}
+
+
+	@After
+	public void destroyResources() {
+
+		DependencyInjectionPool.instance().destroyResources();
+	}
+
+
+	@Test
+    public void recordLatencyOfTimedMethodsTest() throws DependencyInjectionException {
+
+		ITestInterfaceTimedService service = DependencyInjectionPool.instance().getImplementation (ITestInterfaceTimedService.class, null);
+
+		assertTrue (Proxy.isProxyClass (service.getClass()));
+		assertEquals ("found key / found key", service.findTwice ("key"));
+		assertEquals (1, service.getNumberOfInvocations());
+
+		Map<String, LatencyHistogram> histograms = DependencyInjectionPool.instance().getLatencyHistograms();
+		assertEquals (4, histograms.size());
+		assertEquals (1, histograms.get (SERVICE_KEY + "#findTwice(String)").getCount());
+		assertFalse (histograms.containsKey (SERVICE_KEY + "#getNumberOfInvocations()"));
+
+		// The post-injection hook of the service uses the decorated repository too
+		assertEquals (3, histograms.get (REPOSITORY_KEY + "#find(String)").getCount());
+		assertEquals (0, histograms.get (REPOSITORY_KEY + "#find(String,int)").getCount());
+		assertTrue (histograms.get (REPOSITORY_KEY + "#find(String)").getMaxNanos() > 0);
+    }
+
+
+	@Test
+    public void recordLatencyOfExceptionsTest() throws DependencyInjectionException {
+
+		ITestInterfaceTimedRepository repository = DependencyInjectionPool.instance().getImplementation (ITestInterfaceTimedRepository.class, null);
+		try {
+			repository.fail();
+			fail ("The exception of the implementation must be thrown");
+
+		} catch (IllegalStateException e) {
+			assertEquals ("The repository is not available", e.getMessage());
+		}
+		assertEquals (1, DependencyInjectionPool.instance().getLatencyHistograms().get (REPOSITORY_KEY + "#fail()").getCount());
+    }
+
+
+	@Test
+    public void decorateOnlyTimedInterfacesTest() {
+
+		Object implementation = new ImplementationSimple();
+
+		assertSame (implementation, TimedDecorator.decorate (ITestInterfaceSimple.class, implementation));
+		assertSame (implementation, ImplementationDecorator.unwrap (implementation));
+		assertNull (TimedDecorator.histogramsOf (implementation));
+
+		Object decorated = TimedDecorator.decorate (ITestInterfaceTimedRepository.class, new ImplementationTimedRepository());
+		assertTrue (ImplementationDecorator.unwrap (decorated) instanceof ImplementationTimedRepository);
+		assertSame (decorated, TimedDecorator.decorate (ITestInterfaceTimedRepository.class, decorated));
+    }
+
+
+	@Test
+    public void decoratedImplementationsAreEqualOnlyToThemselvesTest() throws DependencyInjectionException {
+
+		DependencyInjectionResolver resolver = DependencyInjectionPool.instance().getResolver (Constants.timedDILInterfacesPath);
+		ITestInterfaceTimedRepository repository = resolver.getImplementation (ITestInterfaceTimedRepository.class, null);
+
+		assertTrue (Proxy.isProxyClass (repository.getClass()));
+		assertTrue (repository.equals (repository));
+		assertEquals (System.identityHashCode (repository), repository.hashCode());
+		assertEquals (ImplementationDecorator.unwrap (repository).toString(), repository.toString());
+		assertTrue (resolver.getAllImplementations (ITestInterfaceTimedRepository.class).contains (repository));
+
+		// A decorator is not equal to the implementation that it decorates
+		assertFalse (repository.equals (ImplementationDecorator.unwrap (repository)));
+		assertFalse (ImplementationDecorator.unwrap (repository).equals (repository));
+    }
+
+
+	@Test
+    public void invokeStackedDecoratorsThroughOneProxyTest() throws DependencyInjectionException {
+
+		IStackedDecorators decorated = (IStackedDecorators) TimedDecorator.decorate (IStackedDecorators.class
+				                                                                    ,CachedDecorator.decorate (IStackedDecorators.class, new IStackedDecorators() {
+
+			@Override
+			public Integer countProxyFrames (String key) {
+
+				int proxyFrames = 0;
+				for (StackTraceElement frame : Thread.currentThread().getStackTrace())
+					if (frame.getClassName().contains ("$Proxy"))
+						proxyFrames++;
+
+				return proxyFrames;
+			}
+		}));
+		assertEquals (Integer.valueOf (1), decorated.countProxyFrames ("key"));
+		assertEquals (1, TimedDecorator.histogramsOf (decorated).size());
+		assertEquals (1, CachedDecorator.cachesOf (decorated).size());
+    }
+
+
+	@Test
+    public void keepDecoratorsAfterReloadTest() throws DependencyInjectionException {
+
+		DependencyInjectionPool pool = DependencyInjectionPool.instance();
+		ITestInterfaceTimedService service = pool.getImplementation (ITestInterfaceTimedService.class, null);
+		service.findTwice ("key");
+
+		pool.reload (Constants.timedDILInterfacesPath);
+
+		assertSame (service, pool.getImplementation (ITestInterfaceTimedService.class, null));
+		assertEquals (1, pool.getLatencyHistograms().get (SERVICE_KEY + "#findTwice(String)").getCount());
+    }
+
+
+	@Test
+    public void publishLatenciesThroughJmxTest() throws DependencyInjectionException {
+
+		DependencyInjectionPool pool = DependencyInjectionPool.instance();
+		pool.getImplementation (ITestInterfaceTimedService.class, null).findTwice ("key");
+
+		ObjectName name = pool.registerMethodLatencyMBean();
+		MethodLatencyMXBean bean = JMX.newMXBeanProxy (ManagementFactory.getPlatformMBeanServer(), name, MethodLatencyMXBean.class);
+
+		assertEquals (Long.valueOf (1), bean.getInvocationCount().get (SERVICE_KEY + "#findTwice(String)"));
+		assertTrue (bean.getPercentile99Nanos().get (SERVICE_KEY + "#findTwice(String)") > 0);
+
+		pool.destroyResources();
+		assertFalse (ManagementFactory.getPlatformMBeanServer().isRegistered (name));
+    }
+
+
+	public interface IStackedDecorators {
+
+		@Timed
+		@Cached
+		public Integer countProxyFrames (String key);
+	}
+
+}
\ No newline at end of file
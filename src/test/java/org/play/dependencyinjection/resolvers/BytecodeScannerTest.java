@@ -0,0 +1,176 @@
+package org.play.dependencyinjection.resolvers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import org.junit.After;
+import org.junit.Test;
+import org.play.dependencyinjection.annotations.DependencyInjectionQualifier;
+import org.play.dependencyinjection.annotations.Injectable;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.controllers.ParentController;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.impl.ImplementationMultiBindingDefault;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.impl.ImplementationMultiBindingFirst;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi.IInterfaceMultiBinding;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi.ITestInterfaceMultiBinding;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.impl.ImplementationSimple;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.spi.ITestInterfaceSimple;
+
+public class BytecodeScannerTest {
+
+
+	@After
+	public void restoreScanScope() throws DependencyInjectionException {
+
+		ClasspathScanner.setScanScope (new ScanScope());
+	}
+
+
+	@Test
+    public void parseClassFileTest() throws Exception {
+
+		ClassFileInfo implementation = ClassFileParser.parse (readClassFile (ImplementationMultiBindingFirst.class));
+
+		assertEquals (ImplementationMultiBindingFirst.class.getName(), implementation.getClassName());
+		assertEquals (Object.class.getName(), implementation.getSuperClassName());
+		assertEquals (Arrays.asList (ITestInterfaceMultiBinding.class.getName()), implementation.getInterfaceNames());
+		assertTrue (implementation.getAnnotationNames().contains (DependencyInjectionQualifier.class.getName()));
+		assertEquals ("first", implementation.getQualifierValue());
+		assertEquals (-10, implementation.getQualifierPriority());
+		assertFalse (implementation.isInterface());
+
+		ClassFileInfo injectableInterface = ClassFileParser.parse (readClassFile (ITestInterfaceSimple.class));
+
+		assertTrue (injectableInterface.isInterface());
+		assertTrue (injectableInterface.getAnnotationNames().contains (Injectable.class.getName()));
+		assertNull (injectableInterface.getQualifierValue());
+
+		assertNull (ClassFileParser.parse (readClassFile (ImplementationMultiBindingDefault.class)).getQualifierValue());
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void parseInvalidClassFileTest() throws DependencyInjectionException {
+
+		ClassFileParser.parse (ByteBuffer.wrap (new byte[] { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0 }));
+    }
+
+
+	@Test
+    public void readJarTest() throws Exception {
+
+		// Small jars are read into the heap and big ones are memory-mapped
+		for (int paddingSize : new int[] { 0, (int) ZipArchive.MAPPING_THRESHOLD }) {
+
+			File jarFile = createJar (paddingSize, ImplementationSimple.class, ITestInterfaceSimple.class, BytecodeScannerTest.class);
+			try (ZipArchive archive = ZipArchive.open (jarFile)) {
+
+				Set<String> classNames = new HashSet<String>();
+				for (ByteBuffer classFile : archive.readClassFiles (Constants.simpleDILInterfacesPath.replace ('.', '/') + "/"))
+					classNames.add (ClassFileParser.parse (classFile).getClassName());
+
+				assertEquals (new HashSet<String> (Arrays.asList (ITestInterfaceSimple.class.getName())), classNames);
+				assertEquals (2, archive.readClassFiles ("org/play/dependencyinjection/resources/").size());
+			}
+			finally {
+				jarFile.delete();
+			}
+		}
+    }
+
+
+	@Test
+    public void sameResultAsReflectionsTest() throws DependencyInjectionException {
+
+		List<String[]> packages = Arrays.asList (new String[] { Constants.simpleDILInterfacesPath, Constants.simpleDILImplementationPath }
+		                                        ,new String[] { Constants.nestedDILInterfacesPath, Constants.nestedDILImplementationPath }
+		                                        ,new String[] { Constants.multiBindingDILInterfacesPath, Constants.multiBindingDILImplementationPath }
+		                                        ,new String[] { Constants.differentBranchesDILInterfacesPath, Constants.differentBranchesDILImplementationPath });
+		for (Class<?> interfaceToResolve : Arrays.<Class<?>>asList (null, IInterfaceMultiBinding.class)) {
+			for (String[] packageNames : packages) {
+
+				ClasspathScanner.setScanScope (new ScanScope());
+				Map<Class<?>, Set<Class<?>>> bytecodeResult = ClasspathScanner.findImplementationsOfInjectableInterfaces (packageNames[0], packageNames[1]
+						                                                                                                 ,interfaceToResolve);
+				ClasspathScanner.setScanScope (new ScanScope().bytecodeScanner (false));
+				Map<Class<?>, Set<Class<?>>> reflectionsResult = ClasspathScanner.findImplementationsOfInjectableInterfaces (packageNames[0], packageNames[1]
+						                                                                                                    ,interfaceToResolve);
+				assertEquals (reflectionsResult, bytecodeResult);
+			}
+		}
+		ClasspathScanner.setScanScope (new ScanScope().bytecodeScanner (false));
+		Set<Class<? extends ParentController>> reflectionsControllers = ClasspathScanner.findControllers (Constants.controllerSimplePath, ParentController.class);
+
+		ClasspathScanner.setScanScope (new ScanScope());
+		assertEquals (reflectionsControllers, ClasspathScanner.findControllers (Constants.controllerSimplePath, ParentController.class));
+    }
+
+
+	private static ByteBuffer readClassFile (final Class<?> clazz) throws IOException {
+
+		try (InputStream inputStream = clazz.getResourceAsStream (clazz.getSimpleName() + ".class")) {
+
+			ByteArrayOutputStream classFile = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			for (int read = inputStream.read (buffer); read >= 0; read = inputStream.read (buffer))
+				classFile.write (buffer, 0, read);
+
+			return ByteBuffer.wrap (classFile.toByteArray());
+		}
+	}
+
+
+	/**
+	 * Creates a jar with the given classes (the first one stored without compression) and an entry of paddingSize random bytes.
+	 */
+	private static File createJar (final int paddingSize, final Class<?>... classes) throws IOException {
+
+		File jarFile = Files.createTempFile ("bytecode-scanner", ".jar").toFile();
+		try (JarOutputStream outputStream = new JarOutputStream (new FileOutputStream (jarFile))) {
+
+			for (int i = 0; i < classes.length; i++) {
+
+				ByteBuffer classFile = readClassFile (classes[i]);
+				ZipEntry entry = new ZipEntry (classes[i].getName().replace ('.', '/') + ".class");
+				if (i == 0) {
+
+					CRC32 crc = new CRC32();
+					crc.update (classFile.array());
+					entry.setMethod (ZipEntry.STORED);
+					entry.setSize (classFile.limit());
+					entry.setCrc (crc.getValue());
+				}
+				outputStream.putNextEntry (entry);
+				outputStream.write (classFile.array());
+				outputStream.closeEntry();
+			}
+			byte[] padding = new byte[paddingSize];
+			new Random (1).nextBytes (padding);
+			outputStream.putNextEntry (new ZipEntry ("padding.bin"));
+			outputStream.write (padding);
+			outputStream.closeEntry();
+		}
+		return jarFile;
+	}
+
+}
\ No newline at end of file
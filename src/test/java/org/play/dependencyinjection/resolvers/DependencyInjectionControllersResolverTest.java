@@ -1,15 +1,38 @@
 package org.play.dependencyinjection.resolvers;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
 import org.junit.Test;
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.events.DependencyInjectionEventListener;
+import org.play.dependencyinjection.events.DependencyInjectionEvents;
 import org.play.dependencyinjection.exceptions.DependencyInjectionException;
 import org.play.dependencyinjection.resources.Constants;
 import org.play.dependencyinjection.resources.controllers.ParentController;
+import org.play.dependencyinjection.resources.controllers.simple.SimpleController;
+import org.play.dependencyinjection.resources.controllers.withPropertiesWithoutSameQualifier.WithPropertiesWithoutSameQualifier;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.alt.ImplementationSimpleAlt;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.impl.ImplementationSimple;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.spi.ITestInterfaceSimple;
 
 public class DependencyInjectionControllersResolverTest {
 
 
+	@After
+	public void destroyResources() {
+
+		DependencyInjectionPool.instance().destroyResources();
+	}
+
+
 	@Test
     public void checksSingletonPatternTest() throws DependencyInjectionException {
 
@@ -31,4 +54,95 @@ public class DependencyInjectionControllersResolverTest {
 				                                               ,ParentController.class);
     }
 
+
+	@Test(expected=DependencyInjectionException.class)
+    public void initializeWithEmptyControllersPackagesTest() throws DependencyInjectionException {
+
+		DependencyInjectionControllersResolver.instance().initPackages (Collections.<String>emptyList(), ParentController.class);
+    }
+
+
+	@Test
+    public void initializeSeveralControllersPackagesTest() throws DependencyInjectionException {
+
+		addResolvers();
+		int wiredControllers = DependencyInjectionControllersResolver.instance().initPackages (Arrays.asList (Constants.controllerSimplePath
+				                                                                                             ,Constants.controllerWithPropertiesWithoutSameQualifierPath
+				                                                                                             ,Constants.controllerSimplePath)
+				                                                                              ,ParentController.class);
+		assertEquals (2, wiredControllers);
+		assertTrue (DependencyInjectionControllersResolver.instance().getResolvedControllers().containsAll (
+				        Arrays.<Class<?>>asList (SimpleController.class, WithPropertiesWithoutSameQualifier.class)));
+		assertEquals (new ImplementationSimple().testSimpleInterface(), SimpleController.interfaceSimple());
+    }
+
+
+	@Test
+    public void initializeAgainOnlyWiresChangedControllersTest() throws DependencyInjectionException {
+
+		addResolvers();
+		DependencyInjectionControllersResolver controllersResolver = DependencyInjectionControllersResolver.instance();
+
+		assertEquals (1, controllersResolver.init (Constants.controllerSimplePath, ParentController.class));
+		assertEquals (0, controllersResolver.init (Constants.controllerSimplePath, ParentController.class));
+
+		// The implementation of one property changes
+		DependencyInjectionPool.instance().getResolver (Constants.simpleDILInterfacesPath).bind (ITestInterfaceSimple.class
+				                                                                                ,ImplementationSimpleAlt.class, null);
+		assertEquals (1, controllersResolver.init (Constants.controllerSimplePath, ParentController.class));
+		assertEquals ("testSimpleInterface alternative", SimpleController.interfaceSimple());
+		assertEquals (0, controllersResolver.init (Constants.controllerSimplePath, ParentController.class));
+    }
+
+
+	@Test
+    public void initializeAgainDoesNotScanPackageAgainTest() throws DependencyInjectionException {
+
+		addResolvers();
+		DependencyInjectionControllersResolver controllersResolver = DependencyInjectionControllersResolver.instance();
+
+		final List<String> scannedPackages = Collections.synchronizedList (new ArrayList<String>());
+		DependencyInjectionEventListener listener = new DependencyInjectionEventListener() {
+
+			@Override
+			public void scanFinished (String packageName, int urlCount, int classCount, long durationNanos) {
+				scannedPackages.add (packageName);
+			}
+
+			@Override
+			public void implementationInstantiated (Class<?> implementationClazz, long durationNanos) {}
+
+			@Override
+			public void propertiesInjected (Class<?> clazz, int fieldCount, long durationNanos) {}
+
+			@Override
+			public void crossResolverFallback (Class<?> clazz, String fieldName, String interfacesPackage, String resolverInterfacesPackage) {}
+		};
+		DependencyInjectionEvents.addListener (listener);
+		try {
+			assertEquals (1, controllersResolver.init (Constants.controllerSimplePath, ParentController.class));
+			assertEquals (Arrays.asList (Constants.controllerSimplePath), scannedPackages);
+
+			DependencyInjectionPool.instance().getResolver (Constants.simpleDILInterfacesPath).bind (ITestInterfaceSimple.class
+					                                                                                ,ImplementationSimpleAlt.class, null);
+			assertEquals (1, controllersResolver.init (Constants.controllerSimplePath, ParentController.class));
+			assertEquals (Arrays.asList (Constants.controllerSimplePath), scannedPackages);
+
+		} finally {
+			DependencyInjectionEvents.removeListener (listener);
+		}
+    }
+
+
+	private void addResolvers() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().addNewResolver (new DependencyInjectionResolver (Constants.simpleDILInterfacesPath
+				                                                                           ,Constants.simpleDILImplementationPath))
+		                                  .addNewResolver (new DependencyInjectionResolver (Constants.nestedDILInterfacesPath
+				                                                                           ,Constants.nestedDILImplementationPath))
+		                                  .addNewResolver (new DependencyInjectionResolver (Constants.manyImplementationsWithoutSameQualifierDILInterfacesPath
+				                                                                           ,Constants.manyImplementationsWithoutSameQualifierDILImplementationPath))
+		                                  .initializeImplementations();
+	}
+
 }
\ No newline at end of file
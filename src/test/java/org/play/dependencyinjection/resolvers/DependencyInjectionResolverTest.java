@@ -3,14 +3,23 @@ package org.play.dependencyinjection.resolvers;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 import org.play.dependencyinjection.annotations.DependencyInjectionQualifier;
+import org.play.dependencyinjection.decorators.ImplementationDecorator;
 import org.play.dependencyinjection.exceptions.DependencyInjectionException;
 import org.play.dependencyinjection.resources.Constants;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.crossReferences.impl.ImplementationCrossReferencesOne;
@@ -25,6 +34,12 @@ import org.play.dependencyinjection.resources.dependencyInjectionLayer.different
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.manyImplementationsWithoutSameQualifier.impl.ImplementationManyImplementationsWithoutSameQualifierOne;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.manyImplementationsWithoutSameQualifier.impl.ImplementationManyImplementationsWithoutSameQualifierTwo;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.manyImplementationsWithoutSameQualifier.spi.ITestInterfaceManyImplementationsWithoutSameQualifier;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.impl.ImplementationMultiBindingChain;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.impl.ImplementationMultiBindingDefault;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.impl.ImplementationMultiBindingFirst;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.impl.ImplementationMultiBindingSecond;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi.ITestInterfaceMultiBinding;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi.ITestInterfaceMultiBindingChain;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.nested.impl.ImplementationNested;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.nested.spi.ITestInterfaceNested;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.preInitializedObjects.impl.ImplementationPreInitializedObjectsOne_Default;
@@ -35,6 +50,13 @@ import org.play.dependencyinjection.resources.dependencyInjectionLayer.preInitia
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.preInitializedObjects.spi.ITestInterfacePreInitializedObjectsOne;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.preInitializedObjects.spi.ITestInterfacePreInitializedObjectsThree;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.preInitializedObjects.spi.ITestInterfacePreInitializedObjectsTwo;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.alt.ImplementationRebindPlainDegraded;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.alt.ImplementationRebindSwitchDegraded;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.impl.ImplementationRebindPlain;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.impl.ImplementationRebindSwitch;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.spi.ITestInterfaceRebindPlain;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.spi.ITestInterfaceRebindService;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.spi.ITestInterfaceRebindSwitch;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.alt.ImplementationSimpleAlt;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.impl.ImplementationSimple;
 import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.spi.ITestInterfaceSimple;
@@ -373,4 +395,220 @@ public class DependencyInjectionResolverTest {
 		assertNull (resolver.getImplementation (ITestInterfacePreInitializedObjectsThree.class, qualifierValue));
 	}
 
+
+	@Test(expected=DependencyInjectionException.class)
+    public void reloadWithoutImplementationPackageTest() throws DependencyInjectionException {
+
+		new DependencyInjectionResolver (Constants.simpleDILInterfacesPath).reload();
+    }
+
+
+	@Test
+    public void testingMultiBinding() throws DependencyInjectionException {
+
+		DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.multiBindingDILInterfacesPath
+				                                                               ,Constants.multiBindingDILImplementationPath);
+		resolver.resolveAllClassPropertiesOfImplementations();
+
+		// Sorted by priority, then by qualifier value
+		List<ITestInterfaceMultiBinding> implementations = resolver.getAllImplementations (ITestInterfaceMultiBinding.class);
+		assertEquals (3, implementations.size());
+		assertTrue (implementations.get (0) instanceof ImplementationMultiBindingFirst);
+		assertTrue (implementations.get (1) instanceof ImplementationMultiBindingDefault);
+		assertTrue (implementations.get (2) instanceof ImplementationMultiBindingSecond);
+
+		// Built only once
+		assertTrue (implementations == resolver.getAllImplementations (ITestInterfaceMultiBinding.class));
+		assertTrue (resolver.getAllImplementations (ITestInterfaceSimple.class).isEmpty());
+
+		ITestInterfaceMultiBindingChain chain = resolver.getImplementation (ITestInterfaceMultiBindingChain.class, null);
+		assertEquals (Arrays.asList ("first", "default", "second"), chain.testInterfaceMultiBindingWithList());
+		assertEquals (Arrays.asList ("first", "default", "second"), chain.testInterfaceMultiBindingWithArray());
+	}
+
+
+	@Test(expected=UnsupportedOperationException.class)
+    public void testingMultiBindingIsImmutable() throws DependencyInjectionException {
+
+		DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.multiBindingDILInterfacesPath
+				                                                               ,Constants.multiBindingDILImplementationPath);
+
+		resolver.getAllImplementations (ITestInterfaceMultiBinding.class).clear();
+	}
+
+
+	@Test
+    public void testingMultiBindingArrayIsCopied() throws Exception {
+
+		DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.multiBindingDILInterfacesPath
+				                                                               ,Constants.multiBindingDILImplementationPath);
+		resolver.resolveAllClassPropertiesOfImplementations();
+
+		ITestInterfaceMultiBindingChain chain = resolver.getImplementation (ITestInterfaceMultiBindingChain.class, null);
+		Field arrayField = ImplementationMultiBindingChain.class.getDeclaredField ("iTestInterfaceMultiBindingArray");
+		arrayField.setAccessible (true);
+
+		// The implementation modifies its own array
+		ITestInterfaceMultiBinding[] array = (ITestInterfaceMultiBinding[]) arrayField.get (chain);
+		array[0] = array[2];
+
+		assertTrue (resolver.getAllImplementations (ITestInterfaceMultiBinding.class).get (0) instanceof ImplementationMultiBindingFirst);
+		assertTrue (resolver.getImplementationsByQualifier (ITestInterfaceMultiBinding.class).get ("first") instanceof ImplementationMultiBindingFirst);
+		assertEquals (Arrays.asList ("first", "default", "second"), chain.testInterfaceMultiBindingWithList());
+		assertEquals (Arrays.asList ("second", "default", "second"), chain.testInterfaceMultiBindingWithArray());
+	}
+
+
+	@Test
+    public void testingMultiBindingByQualifier() throws DependencyInjectionException {
+
+		DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.multiBindingDILInterfacesPath
+				                                                               ,Constants.multiBindingDILImplementationPath);
+		resolver.resolveAllClassPropertiesOfImplementations();
+
+		Map<String, ITestInterfaceMultiBinding> implementations = resolver.getImplementationsByQualifier (ITestInterfaceMultiBinding.class);
+		assertEquals (3, implementations.size());
+		assertEquals (Arrays.asList ("first", "", "second"), new ArrayList<String> (implementations.keySet()));
+		assertTrue (implementations.get ("") instanceof ImplementationMultiBindingDefault);
+		assertTrue (implementations.get ("first") == resolver.getImplementation (ITestInterfaceMultiBinding.class, "first"));
+		assertNull (implementations.get ("third"));
+		assertNull (implementations.get (null));
+		assertTrue (implementations.containsKey ("second"));
+		assertFalse (implementations.containsKey ("third"));
+		assertTrue (resolver.getImplementationsByQualifier (ITestInterfaceSimple.class).isEmpty());
+
+		ITestInterfaceMultiBindingChain chain = resolver.getImplementation (ITestInterfaceMultiBindingChain.class, null);
+		assertEquals ("second", chain.testInterfaceMultiBindingWithMap ("second"));
+		assertEquals ("default", chain.testInterfaceMultiBindingWithMap (""));
+		assertNull (chain.testInterfaceMultiBindingWithMap ("third"));
+	}
+
+
+	@Test(expected=UnsupportedOperationException.class)
+    public void testingMultiBindingByQualifierIsImmutable() throws DependencyInjectionException {
+
+		DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.multiBindingDILInterfacesPath
+				                                                               ,Constants.multiBindingDILImplementationPath);
+
+		resolver.getImplementationsByQualifier (ITestInterfaceMultiBinding.class).remove ("first");
+	}
+
+
+	@Test
+    public void tryGetImplementationTest() throws DependencyInjectionException {
+
+		DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.multiBindingDILInterfacesPath
+				                                                               ,Constants.multiBindingDILImplementationPath);
+
+		assertTrue (resolver.tryGetImplementation (ITestInterfaceMultiBinding.class, "second") instanceof ImplementationMultiBindingSecond);
+		assertTrue (resolver.tryGetImplementation (ITestInterfaceMultiBinding.class, null) instanceof ImplementationMultiBindingDefault);
+		assertNull (resolver.tryGetImplementation (ITestInterfaceMultiBinding.class, "third"));
+		assertNull (resolver.tryGetImplementation (ITestInterfaceSimple.class, null));
+		assertNull (resolver.tryGetImplementation (null, null));
+	}
+
+
+	@Test
+    public void rebindInjectsAgainReplacedImplementationTest() throws DependencyInjectionException {
+
+		DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.rebindDILInterfacesPath
+				                                                               ,Constants.rebindDILImplementationPath);
+		resolver.resolveAllClassPropertiesOfImplementations();
+
+		ITestInterfaceRebindService service = resolver.getImplementation (ITestInterfaceRebindService.class, null);
+		ITestInterfaceRebindPlain normal = service.getPlain();
+		assertEquals ("normal", normal.mode());
+
+		resolver.rebind (ITestInterfaceRebindPlain.class, ImplementationRebindPlainDegraded.class, null);
+
+		assertTrue (resolver.getImplementation (ITestInterfaceRebindPlain.class, null) instanceof ImplementationRebindPlainDegraded);
+		assertSame (resolver.getImplementation (ITestInterfaceRebindPlain.class, null), service.getPlain());
+		assertEquals ("degraded", service.getPlain().mode());
+
+		// The replaced implementation is closed
+		assertTrue (((ImplementationRebindPlain) normal).isClosed());
+
+		resolver.rebind (ITestInterfaceRebindPlain.class, ImplementationRebindPlain.class, null);
+		assertTrue (service.getPlain() instanceof ImplementationRebindPlain);
+		assertNotSame (normal, service.getPlain());
+		assertSame (service, resolver.getImplementation (ITestInterfaceRebindService.class, null));
+	}
+
+
+	@Test
+    public void rebindReplacesOnlyTargetOfRebindableInterfaceTest() throws DependencyInjectionException {
+
+		DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.rebindDILInterfacesPath
+				                                                               ,Constants.rebindDILImplementationPath);
+		resolver.resolveAllClassPropertiesOfImplementations();
+
+		ITestInterfaceRebindService service = resolver.getImplementation (ITestInterfaceRebindService.class, null);
+		ITestInterfaceRebindSwitch rebindSwitch = service.getSwitch();
+		assertSame (rebindSwitch, resolver.getImplementation (ITestInterfaceRebindSwitch.class, null));
+		assertEquals ("normal", rebindSwitch.mode());
+		ImplementationRebindSwitch normal = (ImplementationRebindSwitch) ImplementationDecorator.unwrap (rebindSwitch);
+
+		resolver.rebind (ITestInterfaceRebindSwitch.class, ImplementationRebindSwitchDegraded.class, null);
+		assertTrue (normal.isClosed());
+
+		// The properties keep the same switch
+		assertSame (rebindSwitch, service.getSwitch());
+		assertSame (rebindSwitch, resolver.getImplementation (ITestInterfaceRebindSwitch.class, null));
+		assertEquals ("degraded", rebindSwitch.mode());
+		assertEquals (1, resolver.getAllImplementations (ITestInterfaceRebindSwitch.class).size());
+	}
+
+
+	@Test
+    public void rebindWhileImplementationsAreUsedTest() throws Exception {
+
+		final DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.rebindDILInterfacesPath
+				                                                                     ,Constants.rebindDILImplementationPath);
+		resolver.resolveAllClassPropertiesOfImplementations();
+
+		final ITestInterfaceRebindService service = resolver.getImplementation (ITestInterfaceRebindService.class, null);
+		final AtomicBoolean running = new AtomicBoolean (true);
+		final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		final CountDownLatch readersStarted = new CountDownLatch (4);
+
+		List<Thread> readers = new ArrayList<Thread>();
+		for (int i = 0; i < 4; i++) {
+			Thread reader = new Thread() {
+				@Override
+				public void run() {
+					readersStarted.countDown();
+					try {
+						while (running.get()) {
+
+							String switchMode = service.getSwitch().mode();
+							String plainMode  = resolver.getImplementation (ITestInterfaceRebindPlain.class, null).mode();
+							if (!("normal".equals (switchMode) || "degraded".equals (switchMode))
+									|| !("normal".equals (plainMode) || "degraded".equals (plainMode)))
+								throw new IllegalStateException (switchMode + " / " + plainMode);
+						}
+					} catch (Throwable t) {
+						failure.compareAndSet (null, t);
+					}
+				}
+			};
+			reader.start();
+			readers.add (reader);
+		}
+		readersStarted.await();
+		for (int i = 0; i < 200; i++) {
+
+			boolean degraded = (i % 2 == 0);
+			resolver.rebind (ITestInterfaceRebindSwitch.class
+					        ,degraded ? ImplementationRebindSwitchDegraded.class : ImplementationRebindSwitch.class, null);
+			resolver.rebind (ITestInterfaceRebindPlain.class
+					        ,degraded ? ImplementationRebindPlainDegraded.class : ImplementationRebindPlain.class, null);
+		}
+		running.set (false);
+		for (Thread reader : readers)
+			reader.join();
+
+		assertNull (failure.get());
+		assertEquals ("normal", service.getSwitch().mode());
+	}
+
 }
\ No newline at end of file
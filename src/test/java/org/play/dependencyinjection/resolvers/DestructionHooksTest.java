@@ -0,0 +1,99 @@
+package org.play.dependencyinjection.resolvers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.impl.ClosedComponents;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.impl.ImplementationDestructionAudit;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.impl.ImplementationDestructionCache;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.spi.ITestInterfaceDestructionCache;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.spi.ITestInterfaceDestructionRepository;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.spi.ITestInterfaceDestructionService;
+import org.play.dependencyinjection.shutdown.ComponentShutdown;
+import org.play.dependencyinjection.shutdown.ShutdownReport;
+import org.play.dependencyinjection.shutdown.ShutdownStatus;
+
+public class DestructionHooksTest {
+
+
+	@Before
+	public void clearClosedComponents() {
+
+		ClosedComponents.NAMES.clear();
+	}
+
+
+	@Test
+    public void closeInReverseDependencyOrderTest() throws DependencyInjectionException {
+
+		DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.destructionDILInterfacesPath
+				                                                               ,Constants.destructionDILImplementationPath);
+		resolver.resolveAllClassPropertiesOfImplementations();
+
+		List<ComponentShutdown> components = DestructionHooks.execute (resolver.getImplementations());
+
+		assertTrue (resolver.getImplementation (ITestInterfaceDestructionService.class, null).isClosed());
+		assertTrue (resolver.getImplementation (ITestInterfaceDestructionRepository.class, null).isClosed());
+		assertFalse (resolver.getImplementation (ITestInterfaceDestructionCache.class, null).isClosed());
+
+		// The service is closed while the repository is still open
+		assertEquals (Arrays.asList ("service", "repository"), ClosedComponents.NAMES);
+		assertEquals (4, components.size());
+    }
+
+
+	@Test
+    public void reportSlowAndFailedComponentsTest() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().addNewResolver (new DependencyInjectionResolver (Constants.destructionDILInterfacesPath
+				                                                                           ,Constants.destructionDILImplementationPath))
+		                                  .initializeImplementations();
+
+		ShutdownReport report = DependencyInjectionPool.instance().destroyResources();
+		assertFalse (report.isClean());
+
+		// The slow cache does not delay the rest of components
+		assertTrue (report.getDurationNanos() < TimeUnit.SECONDS.toNanos (10));
+		assertEquals (Arrays.asList ("service", "repository"), ClosedComponents.NAMES);
+
+		assertEquals (1, report.getSlowComponents().size());
+		assertEquals (ImplementationDestructionCache.class.getName(), report.getSlowComponents().get (0).getClassName());
+
+		assertEquals (1, report.getFailedComponents().size());
+		ComponentShutdown audit = report.getFailedComponents().get (0);
+		assertEquals (ImplementationDestructionAudit.class.getName(), audit.getClassName());
+		assertEquals (ShutdownStatus.FAILED, audit.getStatus());
+		assertTrue (audit.getFailure().getCause() instanceof IllegalStateException);
+    }
+
+
+	@Test
+    public void destroyWithoutHooksTest() throws DependencyInjectionException {
+
+		DependencyInjectionPool.instance().addNewResolver (new DependencyInjectionResolver (Constants.simpleDILInterfacesPath
+				                                                                           ,Constants.simpleDILImplementationPath))
+		                                  .initializeImplementations();
+
+		ShutdownReport report = DependencyInjectionPool.instance().destroyResources();
+		assertTrue (report.isClean());
+		assertTrue (report.getComponents().isEmpty());
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void wrongTimeoutTest() throws DependencyInjectionException {
+
+		DestructionHooks.setTimeoutMillis (0);
+    }
+
+}
\ No newline at end of file
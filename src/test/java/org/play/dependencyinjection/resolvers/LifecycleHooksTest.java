@@ -0,0 +1,302 @@
+package org.play.dependencyinjection.resolvers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.play.dependencyinjection.annotations.PostInjection;
+import org.play.dependencyinjection.annotations.WarmUp;
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi.IInterfaceLifecycle;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi.ITestInterfaceLifecycleCache;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi.ITestInterfaceLifecycleRepository;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi.ITestInterfaceLifecycleService;
+
+public class LifecycleHooksTest {
+
+
+	@Test
+    public void executeHooksInDependencyOrderTest() throws DependencyInjectionException {
+
+		DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.lifecycleDILInterfacesPath
+				                                                               ,Constants.lifecycleDILImplementationPath
+				                                                               ,IInterfaceLifecycle.class);
+		resolver.resolveAllClassPropertiesOfImplementations();
+
+		LifecycleHooks.setNumberOfParallelThreads (2);
+		LifecycleHooks.executeHooksOf (Arrays.asList (resolver));
+
+		ITestInterfaceLifecycleRepository repository = resolver.getImplementation (ITestInterfaceLifecycleRepository.class, null);
+		ITestInterfaceLifecycleCache cache = resolver.getImplementation (ITestInterfaceLifecycleCache.class, null);
+		ITestInterfaceLifecycleService service = resolver.getImplementation (ITestInterfaceLifecycleService.class, null);
+
+		assertTrue (repository.isInitialized());
+		assertTrue (cache.isInitialized());
+		assertTrue (service.isInitialized());
+		assertTrue (service.wasRepositoryInitializedBefore());
+
+		// Repository and cache do not depend on each other
+		assertTrue (repository.getStartOfInitialization() < cache.getEndOfInitialization());
+		assertTrue (cache.getStartOfInitialization() < repository.getEndOfInitialization());
+
+		// Warm-up hooks are invoked after all initializations
+		assertEquals (100, service.getNumberOfWarmUpInvocations());
+
+		// The hooks of a resolver are invoked only once
+		LifecycleHooks.executeHooksOf (Arrays.asList (resolver));
+		assertEquals (100, service.getNumberOfWarmUpInvocations());
+    }
+
+
+	@Test
+    public void retryHooksAfterFailureTest() throws DependencyInjectionException {
+
+		DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.lifecycleDILInterfacesPath
+				                                                               ,Constants.lifecycleDILImplementationPath
+				                                                               ,IInterfaceLifecycle.class);
+		resolver.resolveAllClassPropertiesOfImplementations();
+
+		ITestInterfaceLifecycleRepository repository = resolver.getImplementation (ITestInterfaceLifecycleRepository.class, null);
+		ITestInterfaceLifecycleService service = resolver.getImplementation (ITestInterfaceLifecycleService.class, null);
+
+		// Fails the first time, after the initialization of the repository
+		FailedOnceHook failedOnceHook = new FailedOnceHook (repository);
+		resolver.bind (Runnable.class, FailedOnceHook.class, failedOnceHook);
+		try {
+			LifecycleHooks.executeHooksOf (Arrays.asList (resolver));
+			fail();
+
+		} catch (DependencyInjectionException e) {
+			assertTrue (repository.isInitialized());
+			assertEquals (0, service.getNumberOfWarmUpInvocations());
+		}
+		long startOfRepositoryInitialization = repository.getStartOfInitialization();
+
+		// The hooks that have already finished are not invoked again
+		LifecycleHooks.executeHooksOf (Arrays.asList (resolver));
+		assertEquals (2, failedOnceHook.invocations.get());
+		assertEquals (startOfRepositoryInitialization, repository.getStartOfInitialization());
+		assertEquals (100, service.getNumberOfWarmUpInvocations());
+
+		LifecycleHooks.executeHooksOf (Arrays.asList (resolver));
+		assertEquals (2, failedOnceHook.invocations.get());
+		assertEquals (100, service.getNumberOfWarmUpInvocations());
+    }
+
+
+	@Test
+    public void executeHooksAgainAfterDestroyingResolverTest() throws DependencyInjectionException {
+
+		DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.lifecycleDILInterfacesPath
+				                                                               ,Constants.lifecycleDILImplementationPath
+				                                                               ,IInterfaceLifecycle.class);
+		resolver.resolveAllClassPropertiesOfImplementations();
+		LifecycleHooks.executeHooksOf (Arrays.asList (resolver));
+
+		// The resolver is filled again after destroying its implementations
+		resolver.destroyResources();
+		CountedHook countedHook = new CountedHook();
+		resolver.bind (Runnable.class, CountedHook.class, countedHook);
+		resolver.resolveAllClassPropertiesOfImplementations();
+		LifecycleHooks.executeHooksOf (Arrays.asList (resolver));
+
+		assertEquals (1, countedHook.invocations.get());
+    }
+
+
+	@Test
+    public void executeHooksWithCrossReferencesTest() throws DependencyInjectionException {
+
+		List<String> initializations = new CopyOnWriteArrayList<String>();
+		CrossReference first = new CrossReference ("first", initializations);
+		CrossReference second = new CrossReference ("second", initializations);
+		CrossReference third = new CrossReference ("third", initializations);
+		first.other = second;
+		second.other = first;
+		third.other = first;
+
+		LifecycleHooks.execute (Arrays.<Object>asList (third, first, second));
+
+		assertEquals (3, initializations.size());
+		// The implementation used by the other two is initialized first
+		assertEquals ("first", initializations.get (0));
+    }
+
+
+	@Test
+    public void executeSuperClassHooksFirstTest() throws DependencyInjectionException {
+
+		List<String> initializations = new CopyOnWriteArrayList<String>();
+		LifecycleHooks.execute (Collections.<Object>singletonList (new ChildHooks (initializations)));
+
+		assertEquals (Arrays.asList ("parent", "overridden", "child"), initializations);
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void executeFailedHookTest() throws DependencyInjectionException {
+
+		LifecycleHooks.execute (Collections.<Object>singletonList (new FailedHook()));
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void executeHookWithParametersTest() throws DependencyInjectionException {
+
+		LifecycleHooks.execute (Collections.<Object>singletonList (new HookWithParameters()));
+    }
+
+
+	@Test(expected=DependencyInjectionException.class)
+    public void setInvalidNumberOfParallelThreadsTest() throws DependencyInjectionException {
+
+		LifecycleHooks.setNumberOfParallelThreads (0);
+    }
+
+
+
+	private static class CrossReference {
+
+		@WithDependencyInjection
+		private CrossReference other;
+
+		private final String name;
+
+		private final List<String> initializations;
+
+
+		CrossReference (String name, List<String> initializations) {
+
+			this.name = name;
+			this.initializations = initializations;
+		}
+
+
+		@PostInjection
+		void init() {
+
+			initializations.add (name);
+		}
+	}
+
+
+	private static class ParentHooks {
+
+		protected final List<String> initializations;
+
+
+		ParentHooks (List<String> initializations) {
+
+			this.initializations = initializations;
+		}
+
+
+		@PostInjection
+		void initParent() {
+
+			initializations.add ("parent");
+		}
+
+
+		@PostInjection
+		void overridden() {
+
+			initializations.add ("not overridden");
+		}
+	}
+
+
+	private static class ChildHooks extends ParentHooks {
+
+		ChildHooks (List<String> initializations) {
+
+			super (initializations);
+		}
+
+
+		@PostInjection
+		void initChild() {
+
+			initializations.add ("child");
+		}
+
+
+		@Override
+		@PostInjection
+		void overridden() {
+
+			initializations.add ("overridden");
+		}
+	}
+
+
+	private static class FailedHook {
+
+		@PostInjection
+		void init() {
+
+			throw new IllegalStateException ("Initialization failed");
+		}
+	}
+
+
+	private static class FailedOnceHook implements Runnable {
+
+		@WithDependencyInjection
+		private ITestInterfaceLifecycleRepository iTestInterfaceLifecycleRepository;
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+
+		FailedOnceHook (ITestInterfaceLifecycleRepository iTestInterfaceLifecycleRepository) {
+
+			this.iTestInterfaceLifecycleRepository = iTestInterfaceLifecycleRepository;
+		}
+
+
+		@PostInjection
+		void init() {
+
+			if (invocations.incrementAndGet() == 1)
+				throw new IllegalStateException ("Initialization failed");
+		}
+
+
+		@Override
+		public void run() {}
+	}
+
+
+	private static class CountedHook implements Runnable {
+
+		private final AtomicInteger invocations = new AtomicInteger();
+
+
+		@PostInjection
+		void init() {
+
+			invocations.incrementAndGet();
+		}
+
+
+		@Override
+		public void run() {}
+	}
+
+
+	private static class HookWithParameters {
+
+		@WarmUp
+		void warmUp (int value) {}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,128 @@
+package org.play.dependencyinjection.resolvers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.Describable;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Runner;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.spi.ITestInterfaceSimple;
+
+public class ScanScopeTest {
+
+	private static final String JUNIT_PACKAGE = JUnitCore.class.getPackage().getName();
+
+
+	@After
+	public void restoreScanScope() throws DependencyInjectionException {
+
+		ClasspathScanner.setScanScope (new ScanScope());
+	}
+
+
+	@Test
+    public void selectIncludedLocationsTest() throws Exception {
+
+		URL jarUrl = new URL ("jar:" + new File ("/lib/vendor.jar").toURI().toURL() + "!/");
+		URL directoryUrl = new File ("/application/classes").toURI().toURL();
+
+		Collection<URL> selectedUrls = new ScanScope().include (new File ("/application/classes"))
+				                                      .select (Arrays.asList (jarUrl, directoryUrl));
+
+		assertEquals (Arrays.asList (directoryUrl), selectedUrls);
+		assertEquals (Arrays.asList (jarUrl, directoryUrl), new ScanScope().select (Arrays.asList (jarUrl, directoryUrl)));
+    }
+
+
+	@Test
+    public void excludeJarsTest() throws Exception {
+
+		URL jarUrl = new URL ("jar:" + new File ("/lib/vendor-1.0.jar").toURI().toURL() + "!/");
+		URL otherJarUrl = new File ("/lib/application.jar").toURI().toURL();
+		URL directoryUrl = new File ("/lib/vendor-1.0.jar-classes").toURI().toURL();
+
+		Collection<URL> selectedUrls = new ScanScope().excludeJars ("vendor-.*\\.jar")
+				                                      .select (Arrays.asList (jarUrl, otherJarUrl, directoryUrl));
+
+		assertEquals (Arrays.asList (otherJarUrl, directoryUrl), selectedUrls);
+		assertTrue (ClasspathScanner.scan (JUNIT_PACKAGE).getSubTypesOf (Describable.class).contains (Runner.class));
+
+		ClasspathScanner.setScanScope (new ScanScope().excludeJars ("junit-.*\\.jar"));
+		assertTrue (ClasspathScanner.scan (JUNIT_PACKAGE).getSubTypesOf (Describable.class).isEmpty());
+    }
+
+
+	@Test
+    public void reuseOpenedArchivesTest() throws DependencyInjectionException {
+
+		ScanScope scanScope = new ScanScope();
+		ClasspathScanner.setScanScope (scanScope);
+
+		assertTrue (ClasspathScanner.scan (JUNIT_PACKAGE).getSubTypesOf (Describable.class).contains (Runner.class));
+		assertEquals (1, scanScope.getNumberOfOpenedArchives());
+
+		// The second scan uses the same jar
+		assertTrue (ClasspathScanner.scan (JUNIT_PACKAGE).getSubTypesOf (Describable.class).contains (Runner.class));
+		assertEquals (1, scanScope.getNumberOfOpenedArchives());
+
+		scanScope.close();
+		assertEquals (0, scanScope.getNumberOfOpenedArchives());
+
+		scanScope.reuseArchives (false);
+		ClasspathScanner.scan (JUNIT_PACKAGE);
+		assertEquals (0, scanScope.getNumberOfOpenedArchives());
+    }
+
+
+	@Test
+    public void closeOnlyArchivesOfGivenClassLoaderTest() throws Exception {
+
+		ScanScope scanScope = new ScanScope();
+		ClasspathScanner.setScanScope (scanScope);
+
+		ClassLoader currentClassLoader = Thread.currentThread().getContextClassLoader();
+		URLClassLoader otherClassLoader = new URLClassLoader (new URL[0], currentClassLoader);
+		try {
+			// The jar is scanned by two applications
+			ClasspathScanner.scan (JUNIT_PACKAGE);
+			Thread.currentThread().setContextClassLoader (otherClassLoader);
+			ClasspathScanner.scan (JUNIT_PACKAGE);
+		}
+		finally {
+			Thread.currentThread().setContextClassLoader (currentClassLoader);
+			otherClassLoader.close();
+		}
+		assertEquals (1, scanScope.getNumberOfOpenedArchives());
+
+		scanScope.close (otherClassLoader);
+		assertEquals (1, scanScope.getNumberOfOpenedArchives());
+
+		scanScope.close (currentClassLoader);
+		assertEquals (0, scanScope.getNumberOfOpenedArchives());
+    }
+
+
+	@Test
+    public void resolverWithIncludedDirectoryTest() throws Exception {
+
+		File testClassesDirectory = new File (ScanScopeTest.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+		ClasspathScanner.setScanScope (new ScanScope().include (testClassesDirectory).excludeJars (".*"));
+
+		DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.simpleDILInterfacesPath
+				                                                               ,Constants.simpleDILImplementationPath
+				                                                               ,ITestInterfaceSimple.class);
+		assertNotNull (resolver.getImplementation (ITestInterfaceSimple.class, null));
+    }
+
+}
\ No newline at end of file
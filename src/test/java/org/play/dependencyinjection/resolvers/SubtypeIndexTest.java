@@ -0,0 +1,271 @@
+package org.play.dependencyinjection.resolvers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+
+import org.junit.After;
+import org.junit.Test;
+import org.play.dependencyinjection.annotations.Injectable;
+import org.play.dependencyinjection.exceptions.DependencyInjectionException;
+
+public class SubtypeIndexTest {
+
+	private static final int NUMBER_OF_GENERATED_INTERFACES = 2000;
+
+	private static final String GENERATED_INTERFACES_PACKAGE = "org.play.dependencyinjection.generated.spi";
+
+	private static final String GENERATED_IMPLEMENTATION_PACKAGE = "org.play.dependencyinjection.generated.impl";
+
+
+	@After
+	public void restoreScanScope() throws DependencyInjectionException {
+
+		ClasspathScanner.setScanScope (new ScanScope());
+	}
+
+
+	@Test
+    public void findSubTypesTest() {
+
+		Map<String, ClassFileInfo> classFiles = new LinkedHashMap<String, ClassFileInfo>();
+		addClassFile (classFiles, "IFirst", null);
+		addClassFile (classFiles, "ISecond", null, "IFirst");
+		addClassFile (classFiles, "A", "Object", "IFirst");
+		addClassFile (classFiles, "B", "A");
+		addClassFile (classFiles, "C", "B", "ISecond");
+		addClassFile (classFiles, "D", "NotScanned");
+
+		Map<String, Set<String>> subTypes = SubtypeIndex.of (classFiles).findSubTypes (Arrays.asList ("IFirst", "ISecond", "NotScanned", "IThird"));
+
+		assertEquals (new HashSet<String> (Arrays.asList ("A", "B", "C", "ISecond")), subTypes.get ("IFirst"));
+		assertEquals (Collections.singleton ("C"), subTypes.get ("ISecond"));
+		assertEquals (Collections.singleton ("D"), subTypes.get ("NotScanned"));
+		assertTrue (subTypes.get ("IThird").isEmpty());
+    }
+
+
+	@Test(timeout=5000)
+    public void findSubTypesInBigHierarchyTest() {
+
+		// Every implementation has its own interface and extends one of the classes of a deep hierarchy
+		int numberOfClasses = 50000;
+		int depthOfHierarchy = 50;
+		Map<String, ClassFileInfo> classFiles = new LinkedHashMap<String, ClassFileInfo>();
+		for (int i = 0; i < depthOfHierarchy; i++)
+			addClassFile (classFiles, "Base" + i, (i == 0 ? "Object" : "Base" + (i - 1)), "IBase");
+
+		String[] interfaceNames = new String[numberOfClasses + 1];
+		for (int i = 0; i < numberOfClasses; i++) {
+
+			interfaceNames[i] = "I" + i;
+			addClassFile (classFiles, interfaceNames[i], null);
+			addClassFile (classFiles, "C" + i, "Base" + (i % depthOfHierarchy), interfaceNames[i]);
+		}
+		interfaceNames[numberOfClasses] = "IBase";
+		Map<String, Set<String>> subTypes = SubtypeIndex.of (classFiles).findSubTypes (Arrays.asList (interfaceNames));
+
+		assertEquals (Collections.singleton ("C0"), subTypes.get ("I0"));
+		assertEquals (Collections.singleton ("C" + (numberOfClasses - 1)), subTypes.get ("I" + (numberOfClasses - 1)));
+		assertEquals (numberOfClasses + depthOfHierarchy, subTypes.get ("IBase").size());
+    }
+
+
+	@Test
+    public void resolverWithThousandsOfInterfacesTest() throws Exception {
+
+		File classesDirectory = generateInterfacesAndImplementations();
+		ClassLoader currentClassLoader = Thread.currentThread().getContextClassLoader();
+		URLClassLoader generatedClassLoader = new URLClassLoader (new URL[] { classesDirectory.toURI().toURL() }, currentClassLoader);
+		try {
+			Thread.currentThread().setContextClassLoader (generatedClassLoader);
+			for (boolean bytecodeScanner : new boolean[] { true, false }) {
+
+				ClasspathScanner.setScanScope (new ScanScope().bytecodeScanner (bytecodeScanner));
+				DependencyInjectionResolver resolver = new DependencyInjectionResolver (GENERATED_INTERFACES_PACKAGE, GENERATED_IMPLEMENTATION_PACKAGE);
+
+				assertEquals (NUMBER_OF_GENERATED_INTERFACES, resolver.getBindings().size());
+
+				Class<?> lastInterface = generatedClassLoader.loadClass (GENERATED_INTERFACES_PACKAGE + ".IGenerated" + (NUMBER_OF_GENERATED_INTERFACES - 1));
+				assertTrue (lastInterface.isInstance (resolver.getImplementation (lastInterface, null)));
+			}
+		}
+		finally {
+			Thread.currentThread().setContextClassLoader (currentClassLoader);
+			generatedClassLoader.close();
+			deleteRecursively (classesDirectory);
+		}
+    }
+
+
+	private static void addClassFile (final Map<String, ClassFileInfo> classFiles, final String className, final String superClassName
+			                         ,final String... interfaceNames) {
+
+		classFiles.put (className, new ClassFileInfo (className, superClassName, Arrays.asList (interfaceNames), Collections.<String>emptySet()
+				                                     ,null, 0, (superClassName == null ? 0x0200 : 0)));
+	}
+
+
+	/**
+	 *    Writes the class files of NUMBER_OF_GENERATED_INTERFACES "injectable interfaces" with one implementation each one
+	 * (without a compiler, so the test does not depend on the JDK).
+	 */
+	private static File generateInterfacesAndImplementations() throws IOException {
+
+		File directory = Files.createTempDirectory ("generated-interfaces").toFile();
+		File interfacesDirectory = new File (directory, GENERATED_INTERFACES_PACKAGE.replace ('.', File.separatorChar));
+		File implementationDirectory = new File (directory, GENERATED_IMPLEMENTATION_PACKAGE.replace ('.', File.separatorChar));
+		interfacesDirectory.mkdirs();
+		implementationDirectory.mkdirs();
+
+		for (int i = 0; i < NUMBER_OF_GENERATED_INTERFACES; i++) {
+
+			String interfaceName = GENERATED_INTERFACES_PACKAGE.replace ('.', '/') + "/IGenerated" + i;
+			String implementationName = GENERATED_IMPLEMENTATION_PACKAGE.replace ('.', '/') + "/ImplementationGenerated" + i;
+
+			writeInterface (new File (interfacesDirectory, "IGenerated" + i + ".class"), interfaceName);
+			writeImplementation (new File (implementationDirectory, "ImplementationGenerated" + i + ".class"), implementationName, interfaceName);
+		}
+		return directory;
+	}
+
+
+	/**
+	 * Writes a public interface annotated with {@link Injectable}.
+	 */
+	private static void writeInterface (final File file, final String interfaceName) throws IOException {
+
+		try (DataOutputStream output = new DataOutputStream (new BufferedOutputStream (new FileOutputStream (file)))) {
+
+			writeHeader (output, 7);
+			writeUtf8 (output, interfaceName);                                                  // #1
+			writeClass (output, 1);                                                             // #2
+			writeUtf8 (output, "java/lang/Object");                                             // #3
+			writeClass (output, 3);                                                             // #4
+			writeUtf8 (output, "RuntimeVisibleAnnotations");                                    // #5
+			writeUtf8 (output, "L" + Injectable.class.getName().replace ('.', '/') + ";");      // #6
+
+			// public abstract interface, this class, super class, interfaces, fields and methods
+			output.writeShort (0x0601);
+			output.writeShort (2);
+			output.writeShort (4);
+			output.writeShort (0);
+			output.writeShort (0);
+			output.writeShort (0);
+
+			// RuntimeVisibleAnnotations with one annotation without values
+			output.writeShort (1);
+			output.writeShort (5);
+			output.writeInt (6);
+			output.writeShort (1);
+			output.writeShort (6);
+			output.writeShort (0);
+		}
+	}
+
+
+	/**
+	 * Writes a public class that implements the given interface and has a public constructor without parameters.
+	 */
+	private static void writeImplementation (final File file, final String implementationName, final String interfaceName) throws IOException {
+
+		try (DataOutputStream output = new DataOutputStream (new BufferedOutputStream (new FileOutputStream (file)))) {
+
+			writeHeader (output, 12);
+			writeUtf8 (output, implementationName);                                             // #1
+			writeClass (output, 1);                                                             // #2
+			writeUtf8 (output, "java/lang/Object");                                             // #3
+			writeClass (output, 3);                                                             // #4
+			writeUtf8 (output, interfaceName);                                                  // #5
+			writeClass (output, 5);                                                             // #6
+			writeUtf8 (output, "<init>");                                                       // #7
+			writeUtf8 (output, "()V");                                                          // #8
+			output.writeByte (12);                                                              // #9: NameAndType
+			output.writeShort (7);
+			output.writeShort (8);
+			output.writeByte (10);                                                              // #10: Methodref
+			output.writeShort (4);
+			output.writeShort (9);
+			writeUtf8 (output, "Code");                                                         // #11
+
+			// public class, this class, super class and interfaces
+			output.writeShort (0x0021);
+			output.writeShort (2);
+			output.writeShort (4);
+			output.writeShort (1);
+			output.writeShort (6);
+
+			// Without fields, and a constructor: aload_0, invokespecial Object.<init>, return
+			output.writeShort (0);
+			output.writeShort (1);
+			output.writeShort (0x0001);
+			output.writeShort (7);
+			output.writeShort (8);
+			output.writeShort (1);
+			output.writeShort (11);
+			output.writeInt (17);
+			output.writeShort (1);
+			output.writeShort (1);
+			output.writeInt (5);
+			output.write (new byte[] { 0x2A, (byte) 0xB7, 0, 10, (byte) 0xB1 });
+			output.writeShort (0);
+			output.writeShort (0);
+
+			// Without class attributes
+			output.writeShort (0);
+		}
+	}
+
+
+	/**
+	 * Writes the magic number, the version (Java 7) and the size of the constant pool.
+	 */
+	private static void writeHeader (final DataOutputStream output, final int constantPoolCount) throws IOException {
+
+		output.writeInt (0xCAFEBABE);
+		output.writeShort (0);
+		output.writeShort (51);
+		output.writeShort (constantPoolCount);
+	}
+
+
+	private static void writeUtf8 (final DataOutputStream output, final String value) throws IOException {
+
+		output.writeByte (1);
+		output.writeUTF (value);
+	}
+
+
+	private static void writeClass (final DataOutputStream output, final int nameIndex) throws IOException {
+
+		output.writeByte (7);
+		output.writeShort (nameIndex);
+	}
+
+
+	private static void deleteRecursively (final File file) {
+
+		File[] children = file.listFiles();
+		if (children != null)
+			for (File child : children)
+				deleteRecursively (child);
+
+		file.delete();
+	}
+
+}
\ No newline at end of file
@@ -10,6 +10,9 @@ public class Constants {
 	public static final String differentBranchesDILInterfacesPath     = "org.play.dependencyinjection.resources.dependencyInjectionLayer.differentBranches.spi";
 	public static final String differentBranchesDILImplementationPath = "org.play.dependencyinjection.resources.dependencyInjectionLayer.differentBranches.impl";
 
+	public static final String footprintDILInterfacesPath     = "org.play.dependencyinjection.resources.dependencyInjectionLayer.footprint.spi";
+	public static final String footprintDILImplementationPath = "org.play.dependencyinjection.resources.dependencyInjectionLayer.footprint.impl";
+
 	public static final String simpleDILAlternativePath    = "org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.alt";
 	public static final String simpleDILInterfacesPath     = "org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.spi";
 	public static final String simpleDILImplementationPath = "org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.impl";
@@ -26,6 +29,33 @@ public class Constants {
 	public static final String manyImplementationsWithSameQualifierDILInterfacesPath     = "org.play.dependencyinjection.resources.dependencyInjectionLayer.manyImplementationsWithSameQualifier.spi";
 	public static final String manyImplementationsWithSameQualifierDILImplementationPath = "org.play.dependencyinjection.resources.dependencyInjectionLayer.manyImplementationsWithSameQualifier.impl";
 
+	public static final String multiBindingDILInterfacesPath     = "org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi";
+	public static final String multiBindingDILImplementationPath = "org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.impl";
+
+	public static final String lifecycleDILInterfacesPath     = "org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi";
+	public static final String lifecycleDILImplementationPath = "org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.impl";
+
+	public static final String destructionDILInterfacesPath     = "org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.spi";
+	public static final String destructionDILImplementationPath = "org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.impl";
+
+	public static final String timedDILInterfacesPath     = "org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.spi";
+	public static final String timedDILImplementationPath = "org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.impl";
+
+	public static final String cachedDILInterfacesPath     = "org.play.dependencyinjection.resources.dependencyInjectionLayer.cached.spi";
+	public static final String cachedDILImplementationPath = "org.play.dependencyinjection.resources.dependencyInjectionLayer.cached.impl";
+
+	public static final String asyncDILInterfacesPath     = "org.play.dependencyinjection.resources.dependencyInjectionLayer.async.spi";
+	public static final String asyncDILImplementationPath = "org.play.dependencyinjection.resources.dependencyInjectionLayer.async.impl";
+
+	public static final String executorsDILInterfacesPath     = "org.play.dependencyinjection.resources.dependencyInjectionLayer.executors.spi";
+	public static final String executorsDILImplementationPath = "org.play.dependencyinjection.resources.dependencyInjectionLayer.executors.impl";
+
+	public static final String batchedDILInterfacesPath     = "org.play.dependencyinjection.resources.dependencyInjectionLayer.batched.spi";
+	public static final String batchedDILImplementationPath = "org.play.dependencyinjection.resources.dependencyInjectionLayer.batched.impl";
+
+	public static final String rebindDILInterfacesPath     = "org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.spi";
+	public static final String rebindDILImplementationPath = "org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.impl";
+
 	public static final String preInitializedObjectsDILInterfacesPath     = "org.play.dependencyinjection.resources.dependencyInjectionLayer.preInitializedObjects.spi";
 	public static final String preInitializedObjectsDILImplementationPath = "org.play.dependencyinjection.resources.dependencyInjectionLayer.preInitializedObjects.impl";
 
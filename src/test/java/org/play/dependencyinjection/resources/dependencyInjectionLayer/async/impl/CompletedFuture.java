@@ -0,0 +1,51 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.async.impl;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class CompletedFuture implements Future<String> {
+
+	private final String value;
+
+
+	public CompletedFuture (String value) {
+
+		this.value = value;
+	}
+
+
+	@Override
+	public boolean cancel (boolean mayInterruptIfRunning) {
+
+		return false;
+	}
+
+
+	@Override
+	public boolean isCancelled() {
+
+		return false;
+	}
+
+
+	@Override
+	public boolean isDone() {
+
+		return true;
+	}
+
+
+	@Override
+	public String get() {
+
+		return value;
+	}
+
+
+	@Override
+	public String get (long timeout, TimeUnit unit) {
+
+		return value;
+	}
+
+}
\ No newline at end of file
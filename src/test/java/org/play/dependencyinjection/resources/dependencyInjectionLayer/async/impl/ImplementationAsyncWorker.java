@@ -0,0 +1,58 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.async.impl;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import org.play.dependencyinjection.annotations.PreDestroy;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.async.spi.ITestInterfaceAsyncWorker;
+
+public class ImplementationAsyncWorker implements ITestInterfaceAsyncWorker {
+
+	private volatile String lastThreadName;
+
+	private volatile boolean closed;
+
+
+	@Override
+	public void execute (CountDownLatch finished) {
+
+		lastThreadName = Thread.currentThread().getName();
+		finished.countDown();
+	}
+
+
+	@Override
+	public Future<String> waitFor (CountDownLatch release) {
+
+		try {
+			release.await();
+
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		// The decorator returns the Future to the caller, so the implementation only needs the value
+		return new CompletedFuture (Thread.currentThread().getName() + (closed ? " (closed)" : ""));
+	}
+
+
+	@Override
+	public Future<String> fail (String message) {
+
+		throw new IllegalArgumentException (message);
+	}
+
+
+	@Override
+	public String getLastThreadName() {
+
+		return lastThreadName;
+	}
+
+
+	@PreDestroy
+	public void close() {
+
+		closed = true;
+	}
+
+}
\ No newline at end of file
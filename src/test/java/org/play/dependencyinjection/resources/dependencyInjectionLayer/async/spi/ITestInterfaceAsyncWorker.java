@@ -0,0 +1,23 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.async.spi;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import org.play.dependencyinjection.annotations.Async;
+import org.play.dependencyinjection.annotations.Injectable;
+
+@Injectable
+public interface ITestInterfaceAsyncWorker {
+
+	@Async
+	public void execute (CountDownLatch finished);
+
+	@Async(executor="bounded")
+	public Future<String> waitFor (CountDownLatch release);
+
+	@Async
+	public Future<String> fail (String message);
+
+	public String getLastThreadName();
+
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.batched.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.batched.spi.ITestInterfaceBatchedDao;
+
+public class ImplementationBatchedDao implements ITestInterfaceBatchedDao {
+
+	private final List<Collection<Integer>> bulkInvocations = new CopyOnWriteArrayList<Collection<Integer>>();
+
+
+	@Override
+	public String findById (Integer id) {
+
+		return findByIds (Collections.singletonList (id)).get (id);
+	}
+
+
+	@Override
+	public Future<String> findLater (Integer id) {
+
+		throw new UnsupportedOperationException ("The decorator must invoke findByIds");
+	}
+
+
+	@Override
+	public Map<Integer, String> findByIds (Collection<Integer> ids) {
+
+		bulkInvocations.add (ids);
+		Map<Integer, String> result = new HashMap<Integer, String>();
+		for (Integer id : ids) {
+
+			if (id < 0)
+				throw new IllegalArgumentException ("Wrong id: " + id);
+
+			if (id < 100)
+				result.put (id, "user " + id);
+		}
+		return result;
+	}
+
+
+	@Override
+	public List<Collection<Integer>> getBulkInvocations() {
+
+		return bulkInvocations;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.batched.spi;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+import org.play.dependencyinjection.annotations.Batched;
+import org.play.dependencyinjection.annotations.Injectable;
+
+@Injectable
+public interface ITestInterfaceBatchedDao {
+
+	@Batched(bulkMethod="findByIds", windowMillis=200)
+	public String findById (Integer id);
+
+	@Batched(bulkMethod="findByIds", maxBatchSize=3)
+	public Future<String> findLater (Integer id);
+
+	public Map<Integer, String> findByIds (Collection<Integer> ids);
+
+	public List<Collection<Integer>> getBulkInvocations();
+
+}
\ No newline at end of file
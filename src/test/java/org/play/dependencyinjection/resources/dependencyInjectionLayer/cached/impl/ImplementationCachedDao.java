@@ -0,0 +1,50 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.cached.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.cached.spi.ITestInterfaceCachedDao;
+
+public class ImplementationCachedDao implements ITestInterfaceCachedDao {
+
+	private final AtomicInteger numberOfInvocations = new AtomicInteger();
+
+
+	@Override
+	public String find (String key) {
+
+		numberOfInvocations.incrementAndGet();
+		return "found " + key;
+	}
+
+
+	@Override
+	public String find (int id, String suffix) {
+
+		numberOfInvocations.incrementAndGet();
+		return "found " + id + suffix;
+	}
+
+
+	@Override
+	public String findNothing() {
+
+		numberOfInvocations.incrementAndGet();
+		return null;
+	}
+
+
+	@Override
+	public long getCurrentTime() {
+
+		numberOfInvocations.incrementAndGet();
+		return System.nanoTime();
+	}
+
+
+	@Override
+	public int getNumberOfInvocations() {
+
+		return numberOfInvocations.get();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.cached.spi;
+
+import org.play.dependencyinjection.annotations.Cached;
+import org.play.dependencyinjection.annotations.Injectable;
+import org.play.dependencyinjection.annotations.Timed;
+
+@Injectable
+@Timed
+public interface ITestInterfaceCachedDao {
+
+	@Cached
+	public String find (String key);
+
+	@Cached(maximumSize=10)
+	public String find (int id, String suffix);
+
+	@Cached
+	public String findNothing();
+
+	@Cached(expireAfterWriteMillis=50)
+	public long getCurrentTime();
+
+	public int getNumberOfInvocations();
+
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.impl;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Names of the closed components, in the order in which they were closed
+ */
+public class ClosedComponents {
+
+	public static final List<String> NAMES = new CopyOnWriteArrayList<String>();
+
+}
\ No newline at end of file
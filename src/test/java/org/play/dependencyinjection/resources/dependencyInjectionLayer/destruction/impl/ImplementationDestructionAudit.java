@@ -0,0 +1,22 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.impl;
+
+import org.play.dependencyinjection.annotations.PreDestroy;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.spi.ITestInterfaceDestructionAudit;
+
+public class ImplementationDestructionAudit implements ITestInterfaceDestructionAudit {
+
+
+	@PreDestroy
+	public void stop() {
+
+		throw new IllegalStateException ("The audit log is not available");
+	}
+
+
+	@Override
+	public boolean isClosed() {
+
+		return false;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.play.dependencyinjection.annotations.PreDestroy;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.spi.ITestInterfaceDestructionCache;
+
+public class ImplementationDestructionCache implements ITestInterfaceDestructionCache {
+
+	private volatile boolean closed;
+
+
+	@PreDestroy(timeoutMillis=100)
+	public void flush() {
+		try {
+			Thread.sleep (TimeUnit.SECONDS.toMillis (30));
+			closed = true;
+
+		} catch (InterruptedException e) {}
+	}
+
+
+	@Override
+	public boolean isClosed() {
+
+		return closed;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.impl;
+
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.spi.ITestInterfaceDestructionRepository;
+
+public class ImplementationDestructionRepository implements ITestInterfaceDestructionRepository, AutoCloseable {
+
+	private volatile boolean closed;
+
+
+	@Override
+	public void close() {
+
+		closed = true;
+		ClosedComponents.NAMES.add ("repository");
+	}
+
+
+	@Override
+	public boolean isClosed() {
+
+		return closed;
+	}
+
+}
\ No newline at end of file
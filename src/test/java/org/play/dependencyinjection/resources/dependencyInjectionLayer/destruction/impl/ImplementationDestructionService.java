@@ -0,0 +1,32 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.impl;
+
+import org.play.dependencyinjection.annotations.PreDestroy;
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.spi.ITestInterfaceDestructionRepository;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.spi.ITestInterfaceDestructionService;
+
+public class ImplementationDestructionService implements ITestInterfaceDestructionService {
+
+	@WithDependencyInjection
+	private ITestInterfaceDestructionRepository repository;
+
+	private volatile boolean closed;
+
+
+	@PreDestroy
+	public void stop() {
+
+		if (!repository.isClosed())
+			ClosedComponents.NAMES.add ("service");
+
+		closed = true;
+	}
+
+
+	@Override
+	public boolean isClosed() {
+
+		return closed;
+	}
+
+}
\ No newline at end of file
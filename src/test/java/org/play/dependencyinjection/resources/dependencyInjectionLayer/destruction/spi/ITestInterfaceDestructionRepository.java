@@ -0,0 +1,10 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.destruction.spi;
+
+import org.play.dependencyinjection.annotations.Injectable;
+
+@Injectable
+public interface ITestInterfaceDestructionRepository {
+
+	public boolean isClosed();
+
+}
\ No newline at end of file
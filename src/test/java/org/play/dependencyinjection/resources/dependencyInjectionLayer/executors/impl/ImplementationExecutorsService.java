@@ -0,0 +1,46 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.executors.impl;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.executors.spi.ITestInterfaceExecutorsService;
+
+public class ImplementationExecutorsService implements ITestInterfaceExecutorsService {
+
+	@WithDependencyInjection("io-pool")
+	private ExecutorService ioPool;
+
+	@WithDependencyInjection
+	private Executor defaultExecutor;
+
+
+	@Override
+	public Future<String> getThreadNameInIoPool() {
+
+		return ioPool.submit (new Callable<String>() {
+
+			@Override
+			public String call() {
+				return Thread.currentThread().getName();
+			}
+		});
+	}
+
+
+	@Override
+	public ExecutorService getIoPool() {
+
+		return ioPool;
+	}
+
+
+	@Override
+	public Executor getDefaultExecutor() {
+
+		return defaultExecutor;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.executors.spi;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.play.dependencyinjection.annotations.Injectable;
+
+@Injectable
+public interface ITestInterfaceExecutorsService {
+
+	public Future<String> getThreadNameInIoPool();
+
+	public ExecutorService getIoPool();
+
+	public Executor getDefaultExecutor();
+
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.footprint.impl;
+
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.footprint.spi.ITestInterfaceFootprint;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.spi.ITestInterfaceSimple;
+
+public class ImplementationFootprint implements ITestInterfaceFootprint {
+
+	public static final int CACHE_SIZE = 100000;
+
+	private byte[] cache = new byte[CACHE_SIZE];
+
+	@WithDependencyInjection
+	private ITestInterfaceSimple iTestInterfaceSimple;
+
+
+	@Override
+	public int testInterfaceFootprint() {
+
+		return cache.length + iTestInterfaceSimple.testSimpleInterface().length();
+	}
+
+}
\ No newline at end of file
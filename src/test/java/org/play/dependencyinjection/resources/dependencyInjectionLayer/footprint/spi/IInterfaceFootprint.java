@@ -0,0 +1,3 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.footprint.spi;
+
+public interface IInterfaceFootprint { }
\ No newline at end of file
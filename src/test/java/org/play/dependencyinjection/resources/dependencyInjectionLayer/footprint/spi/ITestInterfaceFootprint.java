@@ -0,0 +1,10 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.footprint.spi;
+
+import org.play.dependencyinjection.annotations.Injectable;
+
+@Injectable
+public interface ITestInterfaceFootprint extends IInterfaceFootprint {
+
+	public int testInterfaceFootprint();
+
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.impl;
+
+import org.play.dependencyinjection.annotations.PostInjection;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi.ITestInterfaceLifecycleCache;
+
+public class ImplementationLifecycleCache implements ITestInterfaceLifecycleCache {
+
+	private volatile boolean initialized;
+
+	private long startOfInitialization;
+
+	private long endOfInitialization;
+
+
+	@PostInjection
+	private void init() throws InterruptedException {
+
+		startOfInitialization = System.nanoTime();
+		Thread.sleep (200);
+		endOfInitialization = System.nanoTime();
+		initialized = true;
+	}
+
+
+	@Override
+	public boolean isInitialized() {
+
+		return initialized;
+	}
+
+
+	@Override
+	public long getStartOfInitialization() {
+
+		return startOfInitialization;
+	}
+
+
+	@Override
+	public long getEndOfInitialization() {
+
+		return endOfInitialization;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,79 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.play.dependencyinjection.annotations.PostInjection;
+import org.play.dependencyinjection.annotations.WarmUp;
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi.ITestInterfaceLifecycleRepository;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi.ITestInterfaceLifecycleService;
+
+public class ImplementationLifecycleService implements ITestInterfaceLifecycleService {
+
+	@WithDependencyInjection
+	private ITestInterfaceLifecycleRepository iTestInterfaceLifecycleRepository;
+
+	private volatile boolean initialized;
+
+	private boolean repositoryInitializedBefore;
+
+	private long startOfInitialization;
+
+	private long endOfInitialization;
+
+	private final AtomicInteger numberOfWarmUpInvocations = new AtomicInteger();
+
+
+	@PostInjection
+	public void init() {
+
+		startOfInitialization = System.nanoTime();
+		repositoryInitializedBefore = iTestInterfaceLifecycleRepository.isInitialized();
+		endOfInitialization = System.nanoTime();
+		initialized = true;
+	}
+
+
+	@WarmUp(iterations=100)
+	public void warmUp() {
+
+		if (initialized)
+			numberOfWarmUpInvocations.incrementAndGet();
+	}
+
+
+	@Override
+	public boolean wasRepositoryInitializedBefore() {
+
+		return repositoryInitializedBefore;
+	}
+
+
+	@Override
+	public int getNumberOfWarmUpInvocations() {
+
+		return numberOfWarmUpInvocations.get();
+	}
+
+
+	@Override
+	public boolean isInitialized() {
+
+		return initialized;
+	}
+
+
+	@Override
+	public long getStartOfInitialization() {
+
+		return startOfInitialization;
+	}
+
+
+	@Override
+	public long getEndOfInitialization() {
+
+		return endOfInitialization;
+	}
+
+}
\ No newline at end of file
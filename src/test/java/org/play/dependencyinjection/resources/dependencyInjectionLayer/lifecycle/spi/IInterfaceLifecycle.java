@@ -0,0 +1,11 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi;
+
+public interface IInterfaceLifecycle {
+
+	public boolean isInitialized();
+
+	public long getStartOfInitialization();
+
+	public long getEndOfInitialization();
+
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi;
+
+import org.play.dependencyinjection.annotations.Injectable;
+
+@Injectable
+public interface ITestInterfaceLifecycleRepository extends IInterfaceLifecycle { }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi;
+
+import org.play.dependencyinjection.annotations.Injectable;
+
+@Injectable
+public interface ITestInterfaceLifecycleService extends IInterfaceLifecycle {
+
+	public boolean wasRepositoryInitializedBefore();
+
+	public int getNumberOfWarmUpInvocations();
+
+}
\ No newline at end of file
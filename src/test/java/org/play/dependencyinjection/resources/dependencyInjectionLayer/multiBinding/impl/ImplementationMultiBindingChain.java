@@ -0,0 +1,52 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi.ITestInterfaceMultiBinding;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi.ITestInterfaceMultiBindingChain;
+
+public class ImplementationMultiBindingChain implements ITestInterfaceMultiBindingChain {
+
+	@WithDependencyInjection
+	private List<ITestInterfaceMultiBinding> iTestInterfaceMultiBindingList;
+
+	@WithDependencyInjection
+	private ITestInterfaceMultiBinding[] iTestInterfaceMultiBindingArray;
+
+	@WithDependencyInjection
+	private Map<String, ITestInterfaceMultiBinding> iTestInterfaceMultiBindingMap;
+
+
+	@Override
+	public List<String> testInterfaceMultiBindingWithList() {
+
+		List<String> result = new ArrayList<String>();
+		for (ITestInterfaceMultiBinding iTestInterfaceMultiBinding : iTestInterfaceMultiBindingList)
+			result.add (iTestInterfaceMultiBinding.testInterfaceMultiBinding());
+
+		return result;
+	}
+
+
+	@Override
+	public List<String> testInterfaceMultiBindingWithArray() {
+
+		List<String> result = new ArrayList<String>();
+		for (ITestInterfaceMultiBinding iTestInterfaceMultiBinding : iTestInterfaceMultiBindingArray)
+			result.add (iTestInterfaceMultiBinding.testInterfaceMultiBinding());
+
+		return result;
+	}
+
+
+	@Override
+	public String testInterfaceMultiBindingWithMap (String qualifierValue) {
+
+		ITestInterfaceMultiBinding iTestInterfaceMultiBinding = iTestInterfaceMultiBindingMap.get (qualifierValue);
+		return (iTestInterfaceMultiBinding == null ? null : iTestInterfaceMultiBinding.testInterfaceMultiBinding());
+	}
+
+}
\ No newline at end of file
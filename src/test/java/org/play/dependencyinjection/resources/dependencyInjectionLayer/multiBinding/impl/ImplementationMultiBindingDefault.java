@@ -0,0 +1,14 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.impl;
+
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi.ITestInterfaceMultiBinding;
+
+public class ImplementationMultiBindingDefault implements ITestInterfaceMultiBinding {
+
+
+	@Override
+	public String testInterfaceMultiBinding() {
+
+		return "default";
+	}
+
+}
\ No newline at end of file
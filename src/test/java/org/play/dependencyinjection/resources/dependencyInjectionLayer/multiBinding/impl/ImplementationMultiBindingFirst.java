@@ -0,0 +1,16 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.impl;
+
+import org.play.dependencyinjection.annotations.DependencyInjectionQualifier;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi.ITestInterfaceMultiBinding;
+
+@DependencyInjectionQualifier(value="first", priority=-10)
+public class ImplementationMultiBindingFirst implements ITestInterfaceMultiBinding {
+
+
+	@Override
+	public String testInterfaceMultiBinding() {
+
+		return "first";
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.impl;
+
+import org.play.dependencyinjection.annotations.DependencyInjectionQualifier;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi.ITestInterfaceMultiBinding;
+
+@DependencyInjectionQualifier("second")
+public class ImplementationMultiBindingSecond implements ITestInterfaceMultiBinding {
+
+
+	@Override
+	public String testInterfaceMultiBinding() {
+
+		return "second";
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,3 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi;
+
+public interface IInterfaceMultiBinding { }
\ No newline at end of file
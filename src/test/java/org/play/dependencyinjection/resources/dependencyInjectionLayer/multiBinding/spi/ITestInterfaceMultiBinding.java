@@ -0,0 +1,10 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi;
+
+import org.play.dependencyinjection.annotations.Injectable;
+
+@Injectable
+public interface ITestInterfaceMultiBinding extends IInterfaceMultiBinding {
+
+	public String testInterfaceMultiBinding();
+
+}
\ No newline at end of file
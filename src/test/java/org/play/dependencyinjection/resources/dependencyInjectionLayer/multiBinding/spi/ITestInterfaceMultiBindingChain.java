@@ -0,0 +1,16 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi;
+
+import java.util.List;
+
+import org.play.dependencyinjection.annotations.Injectable;
+
+@Injectable
+public interface ITestInterfaceMultiBindingChain extends IInterfaceMultiBinding {
+
+	public List<String> testInterfaceMultiBindingWithList();
+
+	public List<String> testInterfaceMultiBindingWithArray();
+
+	public String testInterfaceMultiBindingWithMap (String qualifierValue);
+
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.tenant;
+
+import org.play.dependencyinjection.annotations.DependencyInjectionQualifier;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.multiBinding.spi.ITestInterfaceMultiBinding;
+
+@DependencyInjectionQualifier(value="first", priority=-10)
+public class ImplementationMultiBindingTenantFirst implements ITestInterfaceMultiBinding {
+
+
+	@Override
+	public String testInterfaceMultiBinding() {
+
+		return "tenant first";
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.alt;
+
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.spi.ITestInterfaceRebindPlain;
+
+public class ImplementationRebindPlainDegraded implements ITestInterfaceRebindPlain {
+
+
+	@Override
+	public String mode() {
+
+		return "degraded";
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,14 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.alt;
+
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.spi.ITestInterfaceRebindSwitch;
+
+public class ImplementationRebindSwitchDegraded implements ITestInterfaceRebindSwitch {
+
+
+	@Override
+	public String mode() {
+
+		return "degraded";
+	}
+
+}
\ No newline at end of file
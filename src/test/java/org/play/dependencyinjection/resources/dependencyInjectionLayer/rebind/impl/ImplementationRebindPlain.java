@@ -0,0 +1,31 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.impl;
+
+import org.play.dependencyinjection.annotations.PreDestroy;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.spi.ITestInterfaceRebindPlain;
+
+public class ImplementationRebindPlain implements ITestInterfaceRebindPlain {
+
+	private volatile boolean closed;
+
+
+	@Override
+	public String mode() {
+
+		return "normal";
+	}
+
+
+
+	@PreDestroy
+	public void close() {
+
+		closed = true;
+	}
+
+
+	public boolean isClosed() {
+
+		return closed;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.impl;
+
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.spi.ITestInterfaceRebindPlain;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.spi.ITestInterfaceRebindService;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.spi.ITestInterfaceRebindSwitch;
+
+public class ImplementationRebindService implements ITestInterfaceRebindService {
+
+	@WithDependencyInjection
+	private ITestInterfaceRebindSwitch rebindSwitch;
+
+	@WithDependencyInjection
+	private ITestInterfaceRebindPlain plain;
+
+
+	@Override
+	public ITestInterfaceRebindSwitch getSwitch() {
+
+		return rebindSwitch;
+	}
+
+
+	@Override
+	public ITestInterfaceRebindPlain getPlain() {
+
+		return plain;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.spi;
+
+import org.play.dependencyinjection.annotations.Injectable;
+
+@Injectable
+public interface ITestInterfaceRebindService {
+
+	public ITestInterfaceRebindSwitch getSwitch();
+
+	public ITestInterfaceRebindPlain getPlain();
+
+}
\ No newline at end of file
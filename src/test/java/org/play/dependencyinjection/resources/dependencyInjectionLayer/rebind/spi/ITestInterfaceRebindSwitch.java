@@ -0,0 +1,12 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.rebind.spi;
+
+import org.play.dependencyinjection.annotations.Injectable;
+import org.play.dependencyinjection.annotations.Rebindable;
+
+@Injectable
+@Rebindable
+public interface ITestInterfaceRebindSwitch {
+
+	public String mode();
+
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.impl;
+
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.spi.ITestInterfaceTimedRepository;
+
+public class ImplementationTimedRepository implements ITestInterfaceTimedRepository {
+
+
+	@Override
+	public String find (String key) {
+
+		return "found " + key;
+	}
+
+
+	@Override
+	public String find (String key, int version) {
+
+		return "found " + key + " v" + version;
+	}
+
+
+	@Override
+	public void fail() {
+
+		throw new IllegalStateException ("The repository is not available");
+	}
+
+}
\ No newline at end of file
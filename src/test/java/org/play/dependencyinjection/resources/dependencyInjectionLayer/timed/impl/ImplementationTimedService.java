@@ -0,0 +1,39 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.impl;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.play.dependencyinjection.annotations.PostInjection;
+import org.play.dependencyinjection.annotations.WithDependencyInjection;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.spi.ITestInterfaceTimedRepository;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.spi.ITestInterfaceTimedService;
+
+public class ImplementationTimedService implements ITestInterfaceTimedService {
+
+	@WithDependencyInjection
+	private ITestInterfaceTimedRepository iTestInterfaceTimedRepository;
+
+	private final AtomicInteger numberOfInvocations = new AtomicInteger();
+
+
+	@PostInjection
+	public void init() {
+
+		iTestInterfaceTimedRepository.find ("init");
+	}
+
+
+	@Override
+	public String findTwice (String key) {
+
+		numberOfInvocations.incrementAndGet();
+		return iTestInterfaceTimedRepository.find (key) + " / " + iTestInterfaceTimedRepository.find (key);
+	}
+
+
+	@Override
+	public int getNumberOfInvocations() {
+
+		return numberOfInvocations.get();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,3 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.spi;
+
+public interface IInterfaceTimed { }
\ No newline at end of file
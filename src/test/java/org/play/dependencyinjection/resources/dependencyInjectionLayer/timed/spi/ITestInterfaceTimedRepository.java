@@ -0,0 +1,16 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.spi;
+
+import org.play.dependencyinjection.annotations.Injectable;
+import org.play.dependencyinjection.annotations.Timed;
+
+@Injectable
+@Timed
+public interface ITestInterfaceTimedRepository extends IInterfaceTimed {
+
+	public String find (String key);
+
+	public String find (String key, int version);
+
+	public void fail();
+
+}
\ No newline at end of file
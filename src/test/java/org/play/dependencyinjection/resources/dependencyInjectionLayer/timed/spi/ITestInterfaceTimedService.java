@@ -0,0 +1,14 @@
+package org.play.dependencyinjection.resources.dependencyInjectionLayer.timed.spi;
+
+import org.play.dependencyinjection.annotations.Injectable;
+import org.play.dependencyinjection.annotations.Timed;
+
+@Injectable
+public interface ITestInterfaceTimedService extends IInterfaceTimed {
+
+	@Timed
+	public String findTwice (String key);
+
+	public int getNumberOfInvocations();
+
+}
\ No newline at end of file
@@ -0,0 +1,367 @@
+package org.play.dependencyinjection.stress;
+
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.exceptions.DependencyNotFoundException;
+import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+import org.play.dependencyinjection.resources.Constants;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.impl.ImplementationLifecycleService;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi.ITestInterfaceLifecycleRepository;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.lifecycle.spi.ITestInterfaceLifecycleService;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.nested.impl.ImplementationNested;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.nested.spi.ITestInterfaceNested;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.alt.ImplementationSimpleAlt;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.impl.ImplementationSimple;
+import org.play.dependencyinjection.resources.dependencyInjectionLayer.simple.spi.ITestInterfaceSimple;
+
+/**
+ *    Runs the operations of the container against each other. Every test uses a new pool in every iteration (the pools
+ * are stored by context classloader), and its actors invoke the container at the same time. Run with: mvn test -Pstress
+ */
+public class ContainerStressTest {
+
+
+	@Test
+    public void getImplementationWhileBindingTest() throws Exception {
+
+		StressHarness.run (new StressCase() {
+
+			private DependencyInjectionResolver resolver;
+			private volatile String torn;
+
+			@Override
+			public int getNumberOfActors() {
+				return 3;
+			}
+
+			@Override
+			public void setUp() throws Exception {
+
+				resolver = new DependencyInjectionResolver (Constants.simpleDILInterfacesPath);
+				resolver.bind (ITestInterfaceSimple.class, ImplementationSimple.class, null);
+				torn = null;
+			}
+
+			@Override
+			public void actor (int actor) throws Exception {
+
+				if (actor == 0)
+					resolver.bind (ITestInterfaceSimple.class, ImplementationSimpleAlt.class, null);
+
+				else if (actor == 1)
+					resolver.bind (ITestInterfaceNested.class, ImplementationNested.class, null);
+
+				else {
+					for (int i = 0; i < 50 && torn == null; i++) {
+
+						if (resolver.tryGetImplementation (ITestInterfaceSimple.class, null) == null)
+							torn = "TORN_IMPLEMENTATION";
+						else if (resolver.getAllImplementations (ITestInterfaceSimple.class).size() != 1)
+							torn = "TORN_ALL_IMPLEMENTATIONS";
+					}
+				}
+			}
+
+			@Override
+			public String arbiter() throws Exception {
+
+				if (torn != null)
+					return torn;
+
+				// Both bindings must survive
+				boolean simpleBound = resolver.tryGetImplementation (ITestInterfaceSimple.class, null) instanceof ImplementationSimpleAlt;
+				boolean nestedBound = resolver.tryGetImplementation (ITestInterfaceNested.class, null) != null;
+				return (simpleBound && nestedBound ? "BOUND" : "LOST_BINDING");
+			}
+
+		}, 10000, "BOUND");
+    }
+
+
+	@Test
+    public void getImplementationOfFieldWhileBindingTest() throws Exception {
+
+		final Field field = ImplementationNested.class.getDeclaredField ("iTestInterfaceSimple");
+		StressHarness.run (new StressCase() {
+
+			private DependencyInjectionResolver resolver;
+			private volatile Object seen;
+
+			@Override
+			public int getNumberOfActors() {
+				return 2;
+			}
+
+			@Override
+			public void setUp() throws Exception {
+
+				resolver = new DependencyInjectionResolver (Constants.simpleDILInterfacesPath);
+				resolver.bind (ITestInterfaceSimple.class, ImplementationSimple.class, null);
+			}
+
+			@Override
+			public void actor (int actor) throws Exception {
+
+				if (actor == 0)
+					resolver.bind (ITestInterfaceSimple.class, ImplementationSimpleAlt.class, null);
+				else
+					seen = resolver.getImplementationOfField (field);
+			}
+
+			@Override
+			public String arbiter() {
+
+				return (seen instanceof ImplementationSimpleAlt ? "NEW" : seen instanceof ImplementationSimple ? "OLD" : "TORN");
+			}
+
+		}, 10000, "OLD", "NEW");
+    }
+
+
+	@Test
+    public void addNewResolverWhileReadingTest() throws Exception {
+
+		StressHarness.run (new PoolStressCase() {
+
+			private DependencyInjectionResolver simpleResolver;
+			private DependencyInjectionResolver nestedResolver;
+
+			@Override
+			public int getNumberOfActors() {
+				return 3;
+			}
+
+			@Override
+			public void setUp() throws Exception {
+
+				super.setUp();
+				simpleResolver = new DependencyInjectionResolver (Constants.simpleDILInterfacesPath);
+				simpleResolver.bind (ITestInterfaceSimple.class, ImplementationSimple.class, null);
+
+				nestedResolver = new DependencyInjectionResolver (Constants.nestedDILInterfacesPath);
+				nestedResolver.bind (ITestInterfaceNested.class, ImplementationNested.class, null);
+			}
+
+			@Override
+			public void poolActor (int actor) throws Exception {
+
+				if (actor == 0)
+					DependencyInjectionPool.instance().addNewResolver (simpleResolver);
+
+				else if (actor == 1)
+					DependencyInjectionPool.instance().addNewResolver (nestedResolver);
+
+				else {
+					for (int i = 0; i < 50; i++)
+						DependencyInjectionPool.instance().tryGetImplementation (ITestInterfaceNested.class, null);
+				}
+			}
+
+			@Override
+			public String arbiter() throws Exception {
+
+				DependencyInjectionPool pool = instanceOfIteration();
+				return (pool.tryGetResolver (Constants.simpleDILInterfacesPath) != null
+						&& pool.tryGetResolver (Constants.nestedDILInterfacesPath) != null ? "ADDED" : "LOST_RESOLVER");
+			}
+
+		}, 10000, "ADDED");
+    }
+
+
+	@Test
+    public void destroyResourcesWhileReadingTest() throws Exception {
+
+		StressHarness.run (new PoolStressCase() {
+
+			private DependencyInjectionResolver resolver;
+			private volatile String seen;
+
+			@Override
+			public int getNumberOfActors() {
+				return 2;
+			}
+
+			@Override
+			public void setUp() throws Exception {
+
+				super.setUp();
+				resolver = new DependencyInjectionResolver (Constants.simpleDILInterfacesPath);
+				resolver.bind (ITestInterfaceSimple.class, ImplementationSimple.class, null);
+				instanceOfIteration().addNewResolver (resolver);
+			}
+
+			@Override
+			public void poolActor (int actor) throws Exception {
+
+				if (actor == 0)
+					DependencyInjectionPool.instance().destroyResources();
+
+				else {
+					try {
+						resolver.getAllImplementations (ITestInterfaceSimple.class);
+						DependencyInjectionPool.instance().getImplementation (ITestInterfaceSimple.class, null);
+						seen = "FOUND";
+
+					} catch (DependencyNotFoundException e) {
+						seen = "DESTROYED";
+					}
+				}
+			}
+
+			@Override
+			public String arbiter() {
+				return seen;
+			}
+
+		}, 2000, "FOUND", "DESTROYED");
+    }
+
+
+	@Test
+    public void concurrentInitializationInvokesHooksOnceTest() throws Exception {
+
+		StressHarness.run (new PoolStressCase() {
+
+			private ITestInterfaceLifecycleService service;
+
+			@Override
+			public int getNumberOfActors() {
+				return 2;
+			}
+
+			@Override
+			public void setUp() throws Exception {
+
+				super.setUp();
+				// A repository without the slow initialization of ImplementationLifecycleRepository
+				ITestInterfaceLifecycleRepository repository = new ITestInterfaceLifecycleRepository() {
+
+					@Override
+					public boolean isInitialized() {
+						return true;
+					}
+
+					@Override
+					public long getStartOfInitialization() {
+						return 0;
+					}
+
+					@Override
+					public long getEndOfInitialization() {
+						return 0;
+					}
+				};
+				DependencyInjectionResolver resolver = new DependencyInjectionResolver (Constants.lifecycleDILInterfacesPath);
+				resolver.bind (ITestInterfaceLifecycleRepository.class, repository.getClass(), repository)
+				        .bind (ITestInterfaceLifecycleService.class, ImplementationLifecycleService.class, null);
+
+				instanceOfIteration().addNewResolver (resolver);
+				service = resolver.getImplementation (ITestInterfaceLifecycleService.class, null);
+			}
+
+			@Override
+			public void poolActor (int actor) throws Exception {
+
+				DependencyInjectionPool.instance().initializeImplementations();
+			}
+
+			@Override
+			public String arbiter() {
+
+				return (service.getNumberOfWarmUpInvocations() == 100 ? "ONCE" : "HOOKS_INVOKED_" + service.getNumberOfWarmUpInvocations());
+			}
+
+		}, 2000, "ONCE");
+    }
+
+
+	@Test
+    public void concurrentInstanceCreatesOnePoolTest() throws Exception {
+
+		StressHarness.run (new PoolStressCase() {
+
+			private final DependencyInjectionPool[] pools = new DependencyInjectionPool[4];
+
+			@Override
+			public int getNumberOfActors() {
+				return pools.length;
+			}
+
+			@Override
+			public void poolActor (int actor) {
+
+				pools[actor] = DependencyInjectionPool.instance();
+			}
+
+			@Override
+			public String arbiter() {
+
+				for (DependencyInjectionPool pool : pools)
+					if (pool != pools[0])
+						return "DIFFERENT_POOLS";
+
+				return "SAME_POOL";
+			}
+
+		}, 10000, "SAME_POOL");
+    }
+
+
+	/**
+	 *    Test whose actors use the pool of a new classloader in every iteration, so the pool of other tests is not
+	 * modified and no iteration sees the state of the previous one.
+	 */
+	private abstract static class PoolStressCase extends StressCase {
+
+		private volatile ClassLoader classLoader;
+
+
+		@Override
+		public void setUp() throws Exception {
+
+			classLoader = new URLClassLoader (new URL[0], ContainerStressTest.class.getClassLoader());
+		}
+
+
+		@Override
+		public final void actor (int actor) throws Exception {
+
+			Thread currentThread = Thread.currentThread();
+			ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+			currentThread.setContextClassLoader (classLoader);
+			try {
+				poolActor (actor);
+			}
+			finally {
+				currentThread.setContextClassLoader (previousClassLoader);
+			}
+		}
+
+
+		public abstract void poolActor (int actor) throws Exception;
+
+
+		/**
+		 * Returns the pool used by the actors of the current iteration.
+		 */
+		DependencyInjectionPool instanceOfIteration() {
+
+			Thread currentThread = Thread.currentThread();
+			ClassLoader previousClassLoader = currentThread.getContextClassLoader();
+			currentThread.setContextClassLoader (classLoader);
+			try {
+				return DependencyInjectionPool.instance();
+			}
+			finally {
+				currentThread.setContextClassLoader (previousClassLoader);
+			}
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package org.play.dependencyinjection.stress;
+
+/**
+ *    State of a concurrency test, created again for every iteration of {@link StressHarness}. Its actors are invoked at
+ * the same time, each one in its own thread, and the arbiter observes the state when all of them have finished.
+ */
+public abstract class StressCase {
+
+
+	/**
+	 * Number of actors (and threads) of the test.
+	 */
+	public abstract int getNumberOfActors();
+
+
+	/**
+	 * Prepares the state of a new iteration (invoked before the actors, in the thread of the harness).
+	 */
+	public void setUp() throws Exception {}
+
+
+	/**
+	 *    Action of the given actor. The actors can record what they see in the state of the test, and an exception
+	 * is reported as the outcome of the iteration.
+	 *
+	 * @param actor
+	 *    Index of the actor (between 0 and {@link StressCase#getNumberOfActors()} - 1)
+	 */
+	public abstract void actor (int actor) throws Exception;
+
+
+	/**
+	 * Returns the outcome of the current iteration, observed when all actors have finished.
+	 */
+	public abstract String arbiter() throws Exception;
+
+
+	/**
+	 * Releases the state of the current iteration (invoked after the arbiter, even if an actor has failed).
+	 */
+	public void tearDown() throws Exception {}
+
+}
\ No newline at end of file
@@ -0,0 +1,148 @@
+package org.play.dependencyinjection.stress;
+
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ *    Runs a {@link StressCase} many times in the style of jcstress: in every iteration a new state is prepared, all actors
+ * are released at the same time by a barrier (each one in its own thread, reused between iterations) and the arbiter
+ * observes the result. The outcomes are counted, so a failure shows how often every interleaving happened.
+ *
+ *    The number of iterations can be changed with the system property {@link StressHarness#ITERATIONS_PROPERTY}.
+ */
+public final class StressHarness {
+
+	/**
+	 * System property with the number of iterations of every test
+	 */
+	public static final String ITERATIONS_PROPERTY = "stress.iterations";
+
+	/**
+	 * Outcome of an iteration in which an actor has thrown an exception (followed by its class)
+	 */
+	public static final String EXCEPTION_OUTCOME = "EXCEPTION ";
+
+
+	private StressHarness() {}
+
+
+	/**
+	 * Runs the given test and fails if any iteration has an outcome that is not one of the given ones.
+	 *
+	 * @param stressCase
+	 *    {@link StressCase} to run
+	 * @param defaultIterations
+	 *    Number of iterations if {@link StressHarness#ITERATIONS_PROPERTY} is not defined
+	 * @param acceptableOutcomes
+	 *    Outcomes allowed for the test
+	 *
+	 * @return {@link Map} with the number of iterations of every outcome
+	 */
+	public static Map<String, Integer> run (final StressCase stressCase, final int defaultIterations, final String... acceptableOutcomes)
+			                                   throws Exception {
+
+		Map<String, Integer> outcomes = run (stressCase, Integer.getInteger (ITERATIONS_PROPERTY, defaultIterations));
+		List<String> acceptable = Arrays.asList (acceptableOutcomes);
+		for (String outcome : outcomes.keySet()) {
+
+			if (!acceptable.contains (outcome))
+				fail ("Forbidden outcome: " + outcome + ". All outcomes: " + outcomes);
+		}
+		return outcomes;
+	}
+
+
+	/**
+	 * Runs the given test the given number of times.
+	 *
+	 * @param stressCase
+	 *    {@link StressCase} to run
+	 * @param iterations
+	 *    Number of iterations
+	 *
+	 * @return {@link Map} with the number of iterations of every outcome
+	 */
+	public static Map<String, Integer> run (final StressCase stressCase, final int iterations) throws Exception {
+
+		final int numberOfActors = stressCase.getNumberOfActors();
+		final CyclicBarrier start = new CyclicBarrier (numberOfActors + 1);
+		final CyclicBarrier end = new CyclicBarrier (numberOfActors + 1);
+		final AtomicReferenceArray<Throwable> failures = new AtomicReferenceArray<Throwable> (numberOfActors);
+		final int[] remainingIterations = { iterations };
+
+		Thread[] threads = new Thread[numberOfActors];
+		for (int i = 0; i < numberOfActors; i++) {
+
+			final int actor = i;
+			threads[i] = new Thread ("stress-actor-" + i) {
+
+				@Override
+				public void run() {
+					try {
+						while (true) {
+
+							start.await();
+							if (remainingIterations[0] == 0)
+								return;
+							try {
+								stressCase.actor (actor);
+
+							} catch (Throwable t) {
+								failures.set (actor, t);
+							}
+							end.await();
+						}
+					} catch (InterruptedException | BrokenBarrierException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+			};
+			threads[i].setContextClassLoader (Thread.currentThread().getContextClassLoader());
+			threads[i].setDaemon (true);
+			threads[i].start();
+		}
+		Map<String, Integer> outcomes = new TreeMap<String, Integer>();
+		try {
+			for (int iteration = 0; iteration < iterations; iteration++) {
+
+				stressCase.setUp();
+				try {
+					start.await();
+					end.await();
+
+					String outcome = null;
+					for (int i = 0; i < numberOfActors && outcome == null; i++) {
+
+						Throwable failure = failures.getAndSet (i, null);
+						if (failure != null)
+							outcome = EXCEPTION_OUTCOME + failure.getClass().getName();
+					}
+					if (outcome == null)
+						outcome = stressCase.arbiter();
+
+					Integer count = outcomes.get (outcome);
+					outcomes.put (outcome, (count == null ? 1 : count + 1));
+				}
+				finally {
+					stressCase.tearDown();
+				}
+			}
+		}
+		finally {
+			// The actors see that there are no more iterations
+			remainingIterations[0] = 0;
+			start.await();
+			for (Thread thread : threads)
+				thread.join();
+		}
+		return outcomes;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package org.play.dependencyinjection.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+import org.play.dependencyinjection.DependencyInjectionPool;
+import org.play.dependencyinjection.annotations.Async;
+
+public class CompletionStageResultTest {
+
+
+	@After
+	public void destroyResources() {
+
+		DependencyInjectionPool.instance().destroyResources();
+	}
+
+
+	@Test
+    public void completeWithResultOfImplementationTest() throws Exception {
+
+		IStageService service = (IStageService) AsyncDecorator.decorate (IStageService.class, new StageService()
+				                                                                ,DependencyInjectionPool.instance().getManagedExecutors());
+
+		assertTrue (service.getThreadName().get (5, TimeUnit.SECONDS).startsWith ("dependency-injection-default-"));
+		assertEquals ("value", service.find ("value").toCompletableFuture().get (5, TimeUnit.SECONDS));
+    }
+
+
+	@Test
+    public void completeExceptionallyTest() throws Exception {
+
+		IStageService service = (IStageService) AsyncDecorator.decorate (IStageService.class, new StageService()
+				                                                                ,DependencyInjectionPool.instance().getManagedExecutors());
+		try {
+			service.fail().get (5, TimeUnit.SECONDS);
+
+		} catch (ExecutionException e) {
+			assertTrue (e.getCause() instanceof IllegalStateException);
+			return;
+		}
+		throw new AssertionError ("The result must complete exceptionally");
+    }
+
+
+	public interface IStageService {
+
+		@Async
+		public CompletableFuture<String> getThreadName();
+
+		@Async
+		public CompletionStage<String> find (String key);
+
+		@Async
+		public CompletableFuture<String> fail();
+	}
+
+
+	public static class StageService implements IStageService {
+
+		@Override
+		public CompletableFuture<String> getThreadName() {
+
+			return CompletableFuture.completedFuture (Thread.currentThread().getName());
+		}
+
+		@Override
+		public CompletionStage<String> find (String key) {
+
+			return CompletableFuture.supplyAsync (() -> key);
+		}
+
+		@Override
+		public CompletableFuture<String> fail() {
+
+			throw new IllegalStateException ("wrong");
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package org.play.dependencyinjection.events.jfr;
+
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.Test;
+import org.play.dependencyinjection.resolvers.DependencyInjectionResolver;
+import org.play.dependencyinjection.resources.Constants;
+
+public class JfrEventListenerTest {
+
+
+	@Test
+    public void eventsAreRecordedTest() throws Exception {
+
+		Path recordingFile = Files.createTempFile ("dependency-injection", ".jfr");
+		try (Recording recording = new Recording()) {
+
+			recording.enable ("org.play.dependencyinjection.Scan");
+			recording.enable ("org.play.dependencyinjection.Instantiation");
+			recording.enable ("org.play.dependencyinjection.Injection");
+			recording.start();
+
+			new DependencyInjectionResolver (Constants.simpleDILInterfacesPath, Constants.simpleDILImplementationPath)
+			   .resolveAllClassPropertiesOfImplementations();
+
+			recording.stop();
+			recording.dump (recordingFile);
+
+			Set<String> eventNames = new HashSet<String>();
+			for (RecordedEvent event : RecordingFile.readAllEvents (recordingFile))
+				eventNames.add (event.getEventType().getName());
+
+			assertTrue (eventNames.contains ("org.play.dependencyinjection.Scan"));
+			assertTrue (eventNames.contains ("org.play.dependencyinjection.Instantiation"));
+			assertTrue (eventNames.contains ("org.play.dependencyinjection.Injection"));
+		}
+		finally {
+			Files.deleteIfExists (recordingFile);
+		}
+    }
+
+}
\ No newline at end of file